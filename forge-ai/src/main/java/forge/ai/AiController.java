@@ -1690,7 +1690,16 @@ public class AiController {
             return null;
         });
 
-        Thread t = new Thread(future);
+        // the choice is made on another thread, which has to draw from the same generator as a seeded game
+        final Random random = MyRandom.getThreadRandom();
+        Thread t = new Thread(() -> {
+            MyRandom.setThreadRandom(random);
+            try {
+                future.run();
+            } finally {
+                MyRandom.clearThreadRandom();
+            }
+        });
         t.start();
         try {
             // instead of computing all available concurrently just add a simple timeout depending on the user prefs
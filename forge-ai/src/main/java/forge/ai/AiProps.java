@@ -145,9 +145,9 @@ public enum AiProps { /** */
     SIDEBOARDING_CHANCE_ON_WIN("0"),
     SIDEBOARDING_IN_LIMITED_FORMATS("false"),
     SIDEBOARDING_SHARED_TYPE_ONLY("false"),
-    SIDEBOARDING_PLANESWALKER_EQ_CREATURE("false");
+    SIDEBOARDING_PLANESWALKER_EQ_CREATURE("false"),
     // Experimental features, must be promoted or removed after extensive testing and, ideally, defaulting
-    // <-- There are no experimental options here -->
+    SIMULATION_WORKER_THREADS("1");
 
 
     private final String strDefaultVal;
@@ -552,7 +552,7 @@ public class ComputerUtilCard {
         return ComputerUtilAbility.saEvaluator.compareEvaluator(a, b, true);
     };
 
-    private static final CreatureEvaluator creatureEvaluator = new CreatureEvaluator();
+    private static final CreatureEvaluator creatureEvaluator = new MemoizedCreatureEvaluator();
     private static final LandEvaluator landEvaluator = new LandEvaluator();
 
     /**
@@ -16,6 +16,7 @@ import forge.card.mana.ManaCostShard;
 import forge.game.CardTraitPredicates;
 import forge.game.Game;
 import forge.game.GameActionUtil;
+import forge.game.StateVersionCache;
 import forge.game.ability.AbilityKey;
 import forge.game.ability.AbilityUtils;
 import forge.game.ability.ApiType;
@@ -1446,7 +1447,17 @@ public class ComputerUtilMana {
         return availableMana;
     }
 
+    // the sources of a player only change with its game, and the AI looks for them many times while thinking
+    private static final StateVersionCache<Player, CardCollectionView> manaSources = StateVersionCache.byGame(Player::getGame);
+    private static final StateVersionCache<Player, CardCollectionView> playableManaSources = StateVersionCache.byGame(Player::getGame);
+
     public static CardCollection getAvailableManaSources(final Player ai, final boolean checkPlayable) {
+        final StateVersionCache<Player, CardCollectionView> cache = checkPlayable ? playableManaSources : manaSources;
+        // callers change the list they get
+        return new CardCollection(cache.get(ai, p -> findAvailableManaSources(p, checkPlayable)));
+    }
+
+    private static CardCollection findAvailableManaSources(final Player ai, final boolean checkPlayable) {
         final CardCollectionView list = CardCollection.combine(ai.getCardsIn(ZoneType.Battlefield), ai.getCardsIn(ZoneType.Hand));
         final List<Card> manaSources = CardLists.filter(list, c -> {
             for (final SpellAbility am : getAIPlayableMana(c)) {
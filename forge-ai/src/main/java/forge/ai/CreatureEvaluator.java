@@ -47,7 +47,7 @@ public class CreatureEvaluator implements Function<Card, Integer> {
 
         if (considerPT) {
             value += addValue(power * 15, "power");
-            value += addValue(toughness * 10, "toughness: " + toughness);
+            value += addValue(toughness * 10, isDebugging() ? "toughness: " + toughness : "toughness");
 
             // because backside is always stronger the potential makes it better than a single faced card
             if (c.hasKeyword(Keyword.DAYBOUND) && c.isDoubleFaced()) {
@@ -219,7 +219,7 @@ public class CreatureEvaluator implements Function<Card, Integer> {
 
         for (final SpellAbility sa : c.getSpellAbilities()) {
             if (sa.isAbility()) {
-                value += addValue(evaluateSpellAbility(sa), "sa: " + sa);
+                value += addValue(evaluateSpellAbility(sa), isDebugging() ? "sa: " + sa : "sa");
             }
         }
 
@@ -312,6 +312,13 @@ public class CreatureEvaluator implements Function<Card, Integer> {
         return 10;
     }
 
+    /**
+     * Whether the texts given to {@link #addValue} are shown, the ones that take building are left short otherwise.
+     */
+    protected boolean isDebugging() {
+        return false;
+    }
+
     protected int addValue(int value, String text) {
         return value;
     }
@@ -0,0 +1,33 @@
+package forge.ai;
+
+import java.util.List;
+
+import forge.game.StateVersionCache;
+import forge.game.card.Card;
+
+/**
+ * A {@link CreatureEvaluator} remembering the score of each card until the card or the game it's in changes.
+ * <p>
+ * The score of a card depends on more than the card itself, like the static abilities of other permanents or the
+ * counters of its controller, so scores are kept in a {@link StateVersionCache#byCard()}, which drops them as soon as
+ * anything happens in the game. They only survive as long as the AI is thinking, which is where the same creatures
+ * get evaluated over and over, for example while sorting.
+ * <p>
+ * Safe to use from several threads, like the caches it's made of. The last known information copies of a card don't
+ * share its scores.
+ */
+public class MemoizedCreatureEvaluator extends CreatureEvaluator {
+
+    // by considerPT and considerCMC
+    private final List<StateVersionCache<Card, Integer>> scores = List.of(
+            StateVersionCache.byCard(), StateVersionCache.byCard(), StateVersionCache.byCard(), StateVersionCache.byCard());
+
+    @Override
+    public int evaluateCreature(final Card c, final boolean considerPT, final boolean considerCMC) {
+        if (c == null) {
+            return super.evaluateCreature(c, considerPT, considerCMC);
+        }
+        final int index = (considerPT ? 2 : 0) + (considerCMC ? 1 : 0);
+        return scores.get(index).get(c, card -> super.evaluateCreature(card, considerPT, considerCMC));
+    }
+}
@@ -43,7 +43,8 @@ public class ChangeZoneAi extends SpellAbilityAi {
 
     // multipleCardsToChoose is used by Intuition and can be adapted to be used by other
     // cards where multiple cards are fetched at once and they need to be coordinated
-    private static CardCollection multipleCardsToChoose = new CardCollection();
+    // (kept per thread so that concurrently simulated games don't share the choice)
+    private static final ThreadLocal<CardCollection> multipleCardsToChoose = ThreadLocal.withInitial(CardCollection::new);
 
     protected boolean willPayCosts(Player payer, SpellAbility sa, Cost cost, Card source) {
         if (sa.isHidden()) {
@@ -150,7 +151,7 @@ public class ChangeZoneAi extends SpellAbilityAi {
 
     @Override
     protected AiAbilityDecision checkApiLogic(Player aiPlayer, SpellAbility sa) {
-        multipleCardsToChoose.clear();
+        multipleCardsToChoose.get().clear();
         String aiLogic = sa.getParam("AILogic");
         if (aiLogic != null) {
             if (aiLogic.equals("Always")) {
@@ -170,7 +171,7 @@ public class ChangeZoneAi extends SpellAbilityAi {
             } else if (aiLogic.equals("Intuition")) {
                 // This logic only fills the multiple cards array, the decision to play is made
                 // separately in hiddenOriginCanPlayAI later.
-                multipleCardsToChoose = SpecialCardAi.Intuition.considerMultiple(aiPlayer, sa);
+                multipleCardsToChoose.set(SpecialCardAi.Intuition.considerMultiple(aiPlayer, sa));
             } else if (aiLogic.equals("MazesEnd")) {
                 return SpecialCardAi.MazesEnd.consider(aiPlayer, sa);
             } else if (aiLogic.equals("Pongify")) {
@@ -1526,9 +1527,10 @@ public class ChangeZoneAi extends SpellAbilityAi {
             } else if ("MazesEnd".equals(logic)) {
                 return SpecialCardAi.MazesEnd.considerCardToGet(decider, sa);
             } else if ("Intuition".equals(logic)) {
-                if (!multipleCardsToChoose.isEmpty()) {
-                    Card choice = multipleCardsToChoose.get(0);
-                    multipleCardsToChoose.remove(0);
+                final CardCollection multiple = multipleCardsToChoose.get();
+                if (!multiple.isEmpty()) {
+                    Card choice = multiple.get(0);
+                    multiple.remove(0);
                     return choice;
                 }
             } else if (logic.startsWith("ExilePreference")) {
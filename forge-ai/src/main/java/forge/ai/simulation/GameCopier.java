@@ -1,5 +1,8 @@
 package forge.ai.simulation;
 
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
 import com.google.common.collect.*;
 import forge.LobbyPlayer;
 import forge.ai.AIOption;
@@ -11,6 +14,7 @@ import forge.game.ability.effects.DetachedCardEffect;
 import forge.game.card.Card;
 import forge.game.card.CardCloneStates;
 import forge.game.card.CardCopyService;
+import forge.game.card.CardFactory;
 import forge.game.card.CounterType;
 import forge.game.card.token.TokenInfo;
 import forge.game.combat.Combat;
@@ -25,11 +29,13 @@ import forge.game.staticability.StaticAbility;
 import forge.game.trigger.TriggerType;
 import forge.game.zone.PlayerZoneBattlefield;
 import forge.game.zone.ZoneType;
+import forge.item.IPaperCard;
 import forge.item.PaperCard;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 public class GameCopier {
     private static final ZoneType[] ZONES = new ZoneType[] {
@@ -47,6 +53,7 @@ public class GameCopier {
     private BiMap<Card, Card> cardMap = HashBiMap.create();
     private CopiedGameObjectMap gameObjectMap;
     private GameSnapshot snapshot = null;
+    private boolean usePristineCards = true;
 
     public GameCopier(Game origGame) {
         this.origGame = origGame;
@@ -55,6 +62,13 @@ public class GameCopier {
         }
     }
 
+    /**
+     * Copy cards from pristine ones made once per card instead of reading their card script again for every copy.
+     */
+    public void setUsePristineCards(boolean usePristineCards) {
+        this.usePristineCards = usePristineCards;
+    }
+
     public Game getOriginalGame() {
         return origGame;
     }
@@ -81,7 +95,10 @@ public class GameCopier {
         GameRules currentRules = origGame.getRules();
         Match newMatch = new Match(currentRules, newPlayers, origGame.getView().getTitle());
         Game newGame = new Game(newPlayers, currentRules, newMatch);
+        // nobody reads the log of a copy
+        newGame.getGameLog().setEnabled(false);
         newGame.dangerouslySetTimestamp(origGame.getTimestamp());
+        newGame.dangerouslySetTriggerIdsAfter(origGame);
 
         for (int i = 0; i < origGame.getPlayers().size(); i++) {
             Player origPlayer = origGame.getPlayers().get(i);
@@ -148,6 +165,9 @@ public class GameCopier {
                     }
                 }
             }
+            if (c.hasDeferredTraits()) {
+                continue; // abilities still to be built have no activating player yet
+            }
             for (SpellAbility sa : c.getSpellAbilities()) {
                 Player activatingPlayer = sa.getActivatingPlayer();
                 if (activatingPlayer != null && activatingPlayer.getGame() != newGame) {
@@ -284,6 +304,19 @@ public class GameCopier {
     private static PaperCard hidden_info_card = new PaperCard(CardRules.fromScript(Lists.newArrayList("Name:hidden", "Types:Artifact", "Oracle:")), "", CardRarity.Common);
     private static final boolean PRUNE_HIDDEN_INFO = false;
     private static final boolean USE_FROM_PAPER_CARD = true;
+    // cards as they come out of the card factory, or empty for the few that can't be made without a game; enough for
+    // the cards of a few games, the ones not used for the longest time make room for those of later games
+    private static final LoadingCache<IPaperCard, Optional<Card>> PRISTINE_CARDS = CacheBuilder.newBuilder()
+            .maximumSize(1000)
+            .build(CacheLoader.from(GameCopier::makePristineCard));
+    private static Optional<Card> makePristineCard(IPaperCard pc) {
+        try {
+            // any positive id will do, as long as the abilities get built
+            return Optional.of(CardFactory.getCard(pc, null, 1, null));
+        } catch (RuntimeException e) {
+            return Optional.empty();
+        }
+    }
     private Card createCardCopy(Game newGame, Player newOwner, Card c, Player aiPlayer) {
         if (c.isToken() && !c.isImmutable()) {
             Card result = new TokenInfo(c).makeOneToken(newOwner);
@@ -296,8 +329,17 @@ public class GameCopier {
                 // TODO also check REVEALED_CARDS memory
                 newCard = new Card(newGame.nextCardId(), hidden_info_card, newGame);
                 newCard.setOwner(newOwner);
+            } else if (c.hasDeferredTraits()) {
+                // still in the library without its abilities, the copy doesn't need them either
+                newCard = CardFactory.getLibraryCard(c.getPaperCard(), newOwner, newGame.nextCardId(), newGame);
             } else {
-                newCard = Card.fromPaperCard(c.getPaperCard(), newOwner);
+                final Optional<Card> pristine = usePristineCards
+                        ? PRISTINE_CARDS.getUnchecked(c.getPaperCard()) : Optional.empty();
+                if (pristine.isPresent()) {
+                    newCard = CardFactory.copyPristineCard(pristine.get(), newOwner, newGame.nextCardId(), newGame);
+                } else {
+                    newCard = Card.fromPaperCard(c.getPaperCard(), newOwner);
+                }
             }
             newCard.setCommander(c.isCommander());
             return newCard;
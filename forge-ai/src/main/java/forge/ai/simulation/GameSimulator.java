@@ -36,7 +36,7 @@ public class GameSimulator {
         eval = new GameStateEvaluator();
 
         origLines = new ArrayList<>();
-        debugLines = origLines;
+        debugLines.set(origLines);
 
         debugPrint = false;
         origScore = eval.getScoreForGameState(origGame, origAiPlayer);
@@ -50,7 +50,7 @@ public class GameSimulator {
         // want to compare to the eval score after simulating.
         if (COPY_STACK && !origGame.getStackZone().isEmpty()) {
             origLines = new ArrayList<>();
-            debugLines = origLines;
+            debugLines.set(origLines);
             Game copyOrigGame = copier.makeCopy();
             Player copyOrigAiPlayer = copyOrigGame.getPlayers().get(1);
             resolveStack(copyOrigGame, copyOrigGame.getPlayers().get(0));
@@ -58,18 +58,18 @@ public class GameSimulator {
         }
 
         debugPrint = false;
-        debugLines = null;
+        debugLines.remove();
     }
 
     private void ensureGameCopyScoreMatches(Game origGame, Player origAiPlayer) {
         eval.setDebugging(true);
         List<String> simLines = new ArrayList<>();
-        debugLines = simLines;
+        debugLines.set(simLines);
         Score simScore = eval.getScoreForGameState(simGame, aiPlayer);
         if (!simScore.equals(origScore)) {
             // Re-eval orig with debug printing.
             origLines = new ArrayList<>();
-            debugLines = origLines;
+            debugLines.set(origLines);
             eval.getScoreForGameState(origGame, origAiPlayer);
             // Print debug info.
             printDiff(origLines, simLines);
@@ -113,13 +113,15 @@ public class GameSimulator {
     }
 
     public static boolean debugPrint;
-    public static List<String> debugLines;
+    // per thread, as the root candidates of a search may be simulated in parallel
+    private static final ThreadLocal<List<String>> debugLines = new ThreadLocal<>();
     public static void debugPrint(String str) {
         if (debugPrint) {
             System.out.println(str);
         }
-        if (debugLines != null) {
-            debugLines.add(str);
+        List<String> lines = debugLines.get();
+        if (lines != null) {
+            lines.add(str);
         }
     }
 
@@ -235,12 +237,12 @@ public class GameSimulator {
         if (debugPrint) {
             debugPrint("SimGame:");
             simLines = new ArrayList<>();
-            debugLines = simLines;
+            debugLines.set(simLines);
             debugPrint = false;
         }
         Score score = eval.getScoreForGameState(simGame, aiPlayer);
         if (simLines != null) {
-            debugLines = null;
+            debugLines.remove();
             debugPrint = true;
             printDiff(origLines, simLines);
         }
@@ -285,6 +285,11 @@ public class GameStateEvaluator {
     }
 
     private class SimulationCreatureEvaluator extends CreatureEvaluator {
+        @Override
+        protected boolean isDebugging() {
+            return debugging;
+        }
+
         @Override
         protected int addValue(int value, String text) {
             if (debugging && value != 0) {
@@ -21,6 +21,7 @@ public class SimulationController {
     private Score bestScore;
     private List<CachedEffect> effectCache = new ArrayList<>();
     private GameObject[] currentHostAndTarget;
+    private long deadline = Long.MAX_VALUE;
 
     private static class CachedEffect {
         final GameObject hostCard;
@@ -50,8 +51,17 @@ public class SimulationController {
         return scoreStack.size() - 1;
     }
 
+    /**
+     * Stop looking deeper into sequences of spells and abilities once the given time (in milliseconds) has passed,
+     * so that whatever was found by then can still be returned.
+     */
+    public void setDeadline(long deadline) {
+        this.deadline = deadline;
+    }
+
     public boolean shouldRecurse() {
-        return bestScore.value != Integer.MAX_VALUE && getRecursionDepth() < MAX_DEPTH;
+        return bestScore.value != Integer.MAX_VALUE && getRecursionDepth() < MAX_DEPTH
+                && System.currentTimeMillis() < deadline;
     }
 
     public Plan.Decision getLastDecision() {
@@ -17,11 +17,33 @@ import forge.util.MyRandom;
 import forge.util.TextUtil;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class SpellAbilityPicker {
+    private static final String WORKER_THREAD_NAME = "Simulation-";
+    // Shared by all pickers, at most one thread per core; the workers of a search queue up behind those of others.
+    private static final ExecutorService WORKER_POOL = Executors.newFixedThreadPool(
+            Runtime.getRuntime().availableProcessors(), new ThreadFactory() {
+                private final AtomicInteger count = new AtomicInteger();
+
+                @Override
+                public Thread newThread(Runnable r) {
+                    Thread t = new Thread(r, WORKER_THREAD_NAME + count.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                }
+            });
+
     private Game game;
     private Player player;
     private Score bestScore;
@@ -29,7 +51,8 @@ public class SpellAbilityPicker {
     private SpellAbilityChoicesIterator interceptor;
 
     private Plan plan;
-    private int numSimulations;
+    private final AtomicInteger numSimulations = new AtomicInteger();
+    private int workerThreads;
 
     public SpellAbilityPicker(Game game, Player player) {
         this.game = game;
@@ -40,6 +63,20 @@ public class SpellAbilityPicker {
         this.interceptor = in;
     }
 
+    /**
+     * Overrides the SIMULATION_WORKER_THREADS property of the AI profile of the player.
+     */
+    public void setWorkerThreads(int workerThreads) {
+        this.workerThreads = workerThreads;
+    }
+
+    private int getWorkerThreads() {
+        if (workerThreads > 0) {
+            return workerThreads;
+        }
+        return AiProfileUtil.getIntProperty(player, AiProps.SIMULATION_WORKER_THREADS);
+    }
+
     private void print(String str) {
         if (printOutput) {
             System.out.println(str);
@@ -106,6 +143,15 @@ public class SpellAbilityPicker {
     }
 
     private Plan formulatePlanWithPhase(Score origGameScore, List<SpellAbility> candidateSAs, PhaseType phase) {
+        int threads = Math.min(getWorkerThreads(), candidateSAs.size());
+        // a worker waiting for workers of its own could wait for a thread that's never free
+        if (threads > 1 && !Thread.currentThread().getName().startsWith(WORKER_THREAD_NAME)) {
+            return formulatePlanInParallel(origGameScore, candidateSAs, phase, threads);
+        }
+        return formulatePlan(origGameScore, candidateSAs, phase);
+    }
+
+    private Plan formulatePlan(Score origGameScore, List<SpellAbility> candidateSAs, PhaseType phase) {
         SimulationController controller = new SimulationController(origGameScore);
         SpellAbility sa = chooseSpellAbilityToPlayImpl(controller, candidateSAs, origGameScore, phase);
         if (sa != null) {
@@ -114,6 +160,148 @@ public class SpellAbilityPicker {
         return null;
     }
 
+    /**
+     * Simulates the candidates on the shared worker threads and merges the results in the order of the candidates,
+     * so that ties go to the same candidate as when simulating them one by one. Candidates that haven't started once
+     * the AI timeout has passed are skipped, and those still running stop recursing into longer sequences.
+     * <p>
+     * Each worker simulates against a copy of the game of its own, made on this thread before the workers start. The
+     * game and its cards fill some caches lazily while they're read, so the original game is never read by more than
+     * one thread; what's shared between games, like the parsed card scripts, is safe to use from several threads.
+     */
+    private Plan formulatePlanInParallel(Score origGameScore, List<SpellAbility> candidateSAs, PhaseType phase, int threads) {
+        long startTime = System.currentTimeMillis();
+        long deadline = startTime + game.getAITimeout() * 1000L;
+        final List<Worker> workers = new ArrayList<>(threads);
+        for (int i = 0; i < threads; i++) {
+            Worker worker = makeWorker(origGameScore, candidateSAs);
+            if (worker == null) {
+                print("Couldn't copy the game for the workers, evaluating one by one");
+                return formulatePlan(origGameScore, candidateSAs, phase);
+            }
+            workers.add(worker);
+        }
+        // Draw the seeds in order on this thread, so every candidate gets the seed it would get sequentially.
+        final long[] seeds = new long[candidateSAs.size()];
+        for (int i = 0; i < seeds.length; i++) {
+            seeds[i] = MyRandom.getRandom().nextLong();
+        }
+        // Once a candidate wins the game, the ones after it can't be picked over it anymore.
+        final AtomicInteger firstWin = new AtomicInteger(Integer.MAX_VALUE);
+        final AtomicInteger nextCandidate = new AtomicInteger();
+        final Score[] values = new Score[candidateSAs.size()];
+        final SimulationController[] controllers = new SimulationController[candidateSAs.size()];
+
+        print("Evaluating on " + threads + " threads... (orig score = " + origGameScore + ")");
+        final List<Future<?>> futures = new ArrayList<>(threads);
+        for (final Worker worker : workers) {
+            futures.add(WORKER_POOL.submit(() -> {
+                for (int i = nextCandidate.getAndIncrement(); i < values.length; i = nextCandidate.getAndIncrement()) {
+                    if (System.currentTimeMillis() >= deadline || firstWin.get() < i) {
+                        continue;
+                    }
+                    SimulationController controller = new SimulationController(origGameScore);
+                    controller.setDeadline(deadline);
+                    Score value = worker.picker.evaluateSa(controller, phase, worker.candidateSAs, i, seeds[i]);
+                    values[i] = value;
+                    controllers[i] = controller;
+                    if (value.value == Integer.MAX_VALUE) {
+                        firstWin.accumulateAndGet(i, Math::min);
+                    }
+                }
+            }));
+        }
+
+        try {
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            for (Worker worker : workers) {
+                numSimulations.addAndGet(worker.picker.getNumSimulations());
+            }
+        } catch (InterruptedException e) {
+            cancel(futures);
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException e) {
+            cancel(futures);
+            throw new RuntimeException(e.getCause());
+        }
+
+        SimulationController bestController = null;
+        SpellAbility bestSa = null;
+        Score bestSaValue = origGameScore;
+        for (int i = 0; i < values.length; i++) {
+            if (controllers[i] != null && values[i].value > bestSaValue.value) {
+                bestSaValue = values[i];
+                bestSa = candidateSAs.get(i);
+                bestController = controllers[i];
+            }
+        }
+
+        // See chooseSpellAbilityToPlayImpl()
+        if (bestSa != null && bestSaValue.summonSickValue <= origGameScore.summonSickValue) {
+            bestSa = null;
+        }
+
+        long execTime = System.currentTimeMillis() - startTime;
+        print("BEST: " + abilityToString(bestSa) + " SCORE: " + bestSaValue.summonSickValue + " TIME: " + execTime);
+        this.bestScore = bestSaValue;
+        return bestSa != null ? bestController.getBestPlan() : null;
+    }
+
+    private static void cancel(List<Future<?>> futures) {
+        for (Future<?> future : futures) {
+            future.cancel(true);
+        }
+    }
+
+    /**
+     * A picker for a copy of the game and the candidates in that copy, or null if the copy doesn't score the same as
+     * the game or a candidate can't be found in it.
+     */
+    private Worker makeWorker(Score origGameScore, List<SpellAbility> candidateSAs) {
+        GameCopier copier = new GameCopier(game);
+        Game copy = copier.makeCopy(null, player);
+        Player copyPlayer = (Player) copier.find(player);
+        if (!new GameStateEvaluator().getScoreForGameState(copy, copyPlayer).equals(origGameScore)) {
+            return null;
+        }
+        // Found among the same abilities of the copied card the candidates were picked from, by what plans refer to
+        // them with.
+        Map<Card, List<SpellAbility>> copiedAbilities = new HashMap<>();
+        List<SpellAbility> copiedSAs = new ArrayList<>(candidateSAs.size());
+        for (SpellAbility sa : candidateSAs) {
+            List<SpellAbility> abilities = copiedAbilities.computeIfAbsent(sa.getHostCard(), host ->
+                    ComputerUtilAbility.getOriginalAndAltCostAbilities(ComputerUtilAbility.getSpellAbilities(
+                            new CardCollection((Card) copier.find(host)), copyPlayer), copyPlayer));
+            String saStr = sa.toString();
+            SpellAbility copiedSa = null;
+            for (SpellAbility ability : abilities) {
+                if (ability.toString().equals(saStr)) {
+                    copiedSa = ability;
+                    break;
+                }
+            }
+            if (copiedSa == null) {
+                return null;
+            }
+            copiedSa.setActivatingPlayer(copyPlayer);
+            copiedSAs.add(copiedSa);
+        }
+        return new Worker(new SpellAbilityPicker(copy, copyPlayer), copiedSAs);
+    }
+
+    private static class Worker {
+        final SpellAbilityPicker picker;
+        final List<SpellAbility> candidateSAs;
+
+        Worker(SpellAbilityPicker picker, List<SpellAbility> candidateSAs) {
+            this.picker = picker;
+            this.candidateSAs = candidateSAs;
+        }
+    }
+
     private void printPlan(Plan plan, String intro) {
         if (plan == null) {
             print(intro + ": no plan!");
@@ -353,33 +541,39 @@ public class SpellAbilityPicker {
     }
 
     public Score evaluateSa(final SimulationController controller, PhaseType phase, List<SpellAbility> saList, int saIndex) {
+        return evaluateSa(controller, phase, saList, saIndex, MyRandom.getRandom().nextLong());
+    }
+
+    private Score evaluateSa(final SimulationController controller, PhaseType phase, List<SpellAbility> saList, int saIndex, long randomSeedToUse) {
         controller.evaluateSpellAbility(saList, saIndex);
         SpellAbility sa = saList.get(saIndex);
 
         // Use a deterministic random seed when evaluating different choices of a spell ability.
         // This is needed as otherwise random effects may result in a different number of choices
         // each iteration, which will break the logic in SpellAbilityChoicesIterator.
-        Random origRandom = MyRandom.getRandom();
-        long randomSeedToUse = origRandom.nextLong();
+        // The seed is set for this thread only, so that games simulated in parallel don't interfere.
+        Random origThreadRandom = MyRandom.getThreadRandom();
 
         Score bestScore = new Score(Integer.MIN_VALUE);
         final SpellAbilityChoicesIterator choicesIterator = new SpellAbilityChoicesIterator(controller);
         Score lastScore;
         do {
-            // TODO: MyRandom should be an instance on the game object, so that we could do
-            // simulations in parallel without messing up global state.
-            MyRandom.setRandom(new Random(randomSeedToUse));
+            MyRandom.setThreadRandom(new Random(randomSeedToUse));
             GameSimulator simulator = new GameSimulator(controller, game, player, phase);
             simulator.setInterceptor(choicesIterator);
             // I feel like something here is making a wrong assumption about what the target is
             lastScore = simulator.simulateSpellAbility(sa);
-            numSimulations++;
+            numSimulations.incrementAndGet();
             if (lastScore.value > bestScore.value) {
                 bestScore = lastScore;
             }
         } while (choicesIterator.advance(lastScore));
         controller.doneEvaluating(bestScore);
-        MyRandom.setRandom(origRandom);
+        if (origThreadRandom != null) {
+            MyRandom.setThreadRandom(origThreadRandom);
+        } else {
+            MyRandom.clearThreadRandom();
+        }
         return bestScore;
     }
 
@@ -457,6 +651,6 @@ public class SpellAbilityPicker {
     }
 
     public int getNumSimulations() {
-        return numSimulations;
+        return numSimulations.get();
     }
 }
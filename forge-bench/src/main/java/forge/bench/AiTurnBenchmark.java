@@ -0,0 +1,66 @@
+package forge.bench;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import forge.game.Game;
+import forge.game.player.Player;
+import forge.util.MyRandom;
+
+/**
+ * A whole turn of an AI player on the board of {@link StateEffectsBenchmark}, from its upkeep until the other player's
+ * turn begins: casting spells, attacking, blocking and everything the opponent decides in between. Each turn is played
+ * on a new copy of the board set up before it's measured, with the same random seed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 10, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AiTurnBenchmark {
+
+    private List<String> state;
+    private Game game;
+
+    @Setup(Level.Trial)
+    public void setupState() {
+        state = new ArrayList<>(StateEffectsBenchmark.BOARD);
+        state.replaceAll(line -> line.startsWith("activephase=") ? "activephase=UPKEEP" : line);
+    }
+
+    @Setup(Level.Invocation)
+    public void setup() {
+        MyRandom.setThreadRandom(new Random(1));
+        game = BenchGames.newGameFromState(state);
+    }
+
+    @TearDown(Level.Invocation)
+    public void tearDown() {
+        MyRandom.clearThreadRandom();
+    }
+
+    @Benchmark
+    public Game playTurn() {
+        final Player current = game.getPhaseHandler().getPlayerTurn();
+        do {
+            game.getPhaseHandler().mainLoopStep();
+        } while (!game.isGameOver() && game.getPhaseHandler().getPlayerTurn().equals(current));
+        return game;
+    }
+}
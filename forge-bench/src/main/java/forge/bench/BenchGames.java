@@ -0,0 +1,187 @@
+package forge.bench;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+import forge.CardStorageReader;
+import forge.ImageKeys;
+import forge.StaticData;
+import forge.ai.GameState;
+import forge.ai.LobbyPlayerAi;
+import forge.deck.Deck;
+import forge.game.Game;
+import forge.game.GameRules;
+import forge.game.GameStage;
+import forge.game.GameType;
+import forge.game.Match;
+import forge.game.card.Card;
+import forge.game.card.CardFactory;
+import forge.game.phase.PhaseType;
+import forge.game.player.Player;
+import forge.game.player.RegisteredPlayer;
+import forge.game.zone.ZoneType;
+import forge.item.IPaperCard;
+import forge.item.PaperCard;
+import forge.util.Lang;
+import forge.util.Localizer;
+
+/**
+ * Builds games for benchmarks without starting them. Cards are blank placeholders, so no card database
+ * needs to be loaded, unless real cards are asked for by name. Those are read lazily from the card scripts.
+ * <p>
+ * The resource folder of forge-gui is looked up at {@code ../forge-gui/res/} unless the {@code forge.bench.res}
+ * system property points elsewhere.
+ */
+public final class BenchGames {
+    private static boolean initialized = false;
+    private static StaticData cardDb = null;
+
+    private BenchGames() {
+    }
+
+    public static String getResDir() {
+        String dir = System.getProperty("forge.bench.res", ".." + File.separator + "forge-gui" + File.separator + "res");
+        return dir.endsWith(File.separator) ? dir : dir + File.separator;
+    }
+
+    public static synchronized void init() {
+        if (initialized) {
+            return;
+        }
+        Localizer.getInstance().initialize("en-US", getResDir() + "languages" + File.separator);
+        initialized = true;
+    }
+
+    public static synchronized StaticData initCardDb() {
+        if (cardDb != null) {
+            return cardDb;
+        }
+        init();
+        Lang.createInstance("en-US");
+        final String tmp = System.getProperty("java.io.tmpdir") + File.separator;
+        ImageKeys.initializeDirs(tmp, new HashMap<>(), tmp, tmp, tmp, tmp, tmp, tmp, tmp);
+        final String res = getResDir();
+        // no custom editions, but the folder has to exist
+        final File customEditions = new File(tmp, "forge-bench-editions");
+        customEditions.mkdirs();
+        final CardStorageReader cardReader = new CardStorageReader(res + "cardsfolder", null, true);
+        final CardStorageReader tokenReader = new CardStorageReader(res + "tokenscripts", null, true);
+        cardDb = new StaticData(cardReader, tokenReader, null, null, res + "editions", customEditions.getPath(),
+                res + "blockdata", res + "setlookup", "LATEST_ART_ALL_EDITIONS", true, true, false, false);
+        return cardDb;
+    }
+
+    public static PaperCard getPaperCard(final String name) {
+        final PaperCard pc = initCardDb().getOrLoadCommonCard(name, null, 0, false);
+        if (pc == null) {
+            throw new IllegalArgumentException("No card named " + name);
+        }
+        return pc;
+    }
+
+    /**
+     * A two player game in the first main phase of the first player, with the same real cards in the zones of
+     * both players.
+     */
+    public static Game newGame(final List<String> library, final List<String> hand, final List<String> battlefield,
+            final List<String> graveyard) {
+        final Game game = newGame(2, 0, 0, 0, 0);
+        for (final Player p : game.getPlayers()) {
+            addCards(p, ZoneType.Library, library);
+            addCards(p, ZoneType.Hand, hand);
+            addCards(p, ZoneType.Battlefield, battlefield);
+            addCards(p, ZoneType.Graveyard, graveyard);
+        }
+        game.getPhaseHandler().devModeSet(PhaseType.MAIN1, game.getPlayers().get(0));
+        game.getAction().checkStateEffects(true);
+        return game;
+    }
+
+    /**
+     * A two player game set up from a game state in the format of puzzles and of the developer mode dumps, for example
+     * {@code humanbattlefield=Forest;Grizzly Bears|Tapped}. The first player is the human one of the state, both are
+     * played by the AI.
+     */
+    public static Game newGameFromState(final List<String> state) {
+        final Game game = newGame(2, 0, 0, 0, 0);
+        game.setAge(GameStage.Play);
+        final BenchGameState gameState = new BenchGameState();
+        gameState.parse(state);
+        gameState.apply(game);
+        return game;
+    }
+
+    /**
+     * A game between AI players whose zones are filled with the given number of blank cards each.
+     */
+    public static Game newGame(final int nPlayers, final int library, final int hand, final int battlefield, final int graveyard) {
+        init();
+        final List<RegisteredPlayer> players = new ArrayList<>();
+        for (int i = 0; i < nPlayers; i++) {
+            final RegisteredPlayer rp = new RegisteredPlayer(new Deck());
+            rp.setPlayer(new LobbyPlayerAi("Player " + (i + 1), null));
+            players.add(rp);
+        }
+        final GameRules rules = new GameRules(GameType.Constructed);
+        final Game game = new Game(players, rules, new Match(rules, players, "Benchmark"));
+        for (final Player p : game.getPlayers()) {
+            addCards(game, p, ZoneType.Library, library);
+            addCards(game, p, ZoneType.Hand, hand);
+            addCards(game, p, ZoneType.Battlefield, battlefield);
+            addCards(game, p, ZoneType.Graveyard, graveyard);
+        }
+        return game;
+    }
+
+    /**
+     * A match between two AI players playing the same deck of real cards, with a library of the given cards.
+     */
+    public static Match newAiMatch(final List<String> deck) {
+        final List<RegisteredPlayer> players = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            final Deck d = new Deck("Deck " + (i + 1));
+            for (final String name : deck) {
+                d.getMain().add(getPaperCard(name));
+            }
+            final RegisteredPlayer rp = new RegisteredPlayer(d);
+            rp.setPlayer(new LobbyPlayerAi("Player " + (i + 1), null));
+            players.add(rp);
+        }
+        final GameRules rules = new GameRules(GameType.Constructed);
+        rules.setHeadless(true);
+        return new Match(rules, players, "Benchmark");
+    }
+
+    private static final class BenchGameState extends GameState {
+        @Override
+        public IPaperCard getPaperCard(final String cardName, final String setCode, final int artID) {
+            return BenchGames.getPaperCard(cardName);
+        }
+
+        // applyToGame hands the work to a game thread, there is none in a benchmark
+        void apply(final Game game) {
+            applyGameOnThread(game);
+        }
+    }
+
+    private static void addCards(final Player p, final ZoneType zone, final List<String> names) {
+        for (final String name : names) {
+            final Card c = CardFactory.getCard(getPaperCard(name), p, p.getGame());
+            if (zone == ZoneType.Battlefield) {
+                c.setSickness(false);
+            }
+            p.getZone(zone).add(c);
+        }
+    }
+
+    private static void addCards(final Game game, final Player p, final ZoneType zone, final int count) {
+        for (int i = 0; i < count; i++) {
+            final Card c = new Card(game.nextCardId(), game);
+            c.setName("Card " + c.getId());
+            c.setOwner(p);
+            p.getZone(zone).add(c);
+        }
+    }
+}
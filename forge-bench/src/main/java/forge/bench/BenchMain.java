@@ -0,0 +1,37 @@
+package forge.bench;
+
+import java.io.File;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+import org.openjdk.jmh.Main;
+
+/**
+ * Runs the benchmarks like JMH's own main class does, taking the same arguments, but writes the results to a JSON file
+ * unless another result format is asked for. Every run gets a file of its own named after the time it started, so the
+ * results of several runs can be put side by side to follow trends.
+ * <p>
+ * The files go to the current directory unless the {@code forge.bench.results} system property names another one.
+ */
+public final class BenchMain {
+
+    private BenchMain() {
+    }
+
+    public static void main(final String[] args) throws Exception {
+        final List<String> options = new ArrayList<>(Arrays.asList(args));
+        if (!options.contains("-rf") && !options.contains("-l") && !options.contains("-h")) {
+            final File dir = new File(System.getProperty("forge.bench.results", "."));
+            dir.mkdirs();
+            final String name = "forge-bench-" + new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date()) + ".json";
+            options.add(0, "-rf");
+            options.add(1, "json");
+            options.add(2, "-rff");
+            options.add(3, new File(dir, name).getPath());
+        }
+        Main.main(options.toArray(new String[0]));
+    }
+}
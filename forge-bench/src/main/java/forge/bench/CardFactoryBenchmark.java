@@ -0,0 +1,53 @@
+package forge.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import forge.game.Game;
+import forge.game.card.Card;
+import forge.game.card.CardFactory;
+import forge.game.player.Player;
+import forge.item.PaperCard;
+
+/**
+ * Creating a card of a game from its paper card, which parses all abilities, triggers, statics and replacement
+ * effects of its script. The cards go from a vanilla creature to a planeswalker with several abilities.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CardFactoryBenchmark {
+
+    @Param({"Grizzly Bears", "Baneslayer Angel", "Jace, the Mind Sculptor"})
+    public String cardName;
+
+    private Game game;
+    private Player owner;
+    private PaperCard paperCard;
+
+    @Setup
+    public void setup() {
+        game = BenchGames.newGame(2, 0, 0, 0, 0);
+        owner = game.getPlayers().get(0);
+        paperCard = BenchGames.getPaperCard(cardName);
+    }
+
+    @Benchmark
+    public Card getCard() {
+        return CardFactory.getCard(paperCard, owner, game);
+    }
+}
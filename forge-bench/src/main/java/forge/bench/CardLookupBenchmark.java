@@ -0,0 +1,87 @@
+package forge.bench;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import forge.game.Game;
+import forge.game.card.Card;
+import forge.game.card.CardCollectionView;
+import forge.util.Visitor;
+
+/**
+ * Looking up a card by id in a four player game with full libraries, through the id index of the game and
+ * by walking all zones as {@code Game.findById} used to.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CardLookupBenchmark {
+
+    @Param({"60", "100"})
+    public int librarySize;
+
+    private Game game;
+    private int[] ids;
+    private Card[] cards;
+    private int next;
+
+    @Setup
+    public void setup() {
+        game = BenchGames.newGame(4, librarySize, 7, 15, 10);
+        final CardCollectionView all = game.getCardsInGame();
+        final Random r = new Random(42);
+        ids = new int[1024];
+        cards = new Card[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            cards[i] = all.get(r.nextInt(all.size()));
+            ids[i] = cards[i].getId();
+        }
+    }
+
+    private int nextIndex() {
+        next = (next + 1) & (ids.length - 1);
+        return next;
+    }
+
+    @Benchmark
+    public Card findById() {
+        return game.findById(ids[nextIndex()]);
+    }
+
+    @Benchmark
+    public Card getCardState() {
+        return game.getCardState(cards[nextIndex()]);
+    }
+
+    @Benchmark
+    public Card findByIdScan() {
+        final int id = ids[nextIndex()];
+        final Card[] found = new Card[1];
+        game.forEachCardInGame(new Visitor<Card>() {
+            @Override
+            public boolean visit(final Card c) {
+                if (c.getId() == id) {
+                    found[0] = c;
+                    return false;
+                }
+                return true;
+            }
+        });
+        return found[0];
+    }
+}
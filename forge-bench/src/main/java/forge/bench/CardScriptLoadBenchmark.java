@@ -0,0 +1,60 @@
+package forge.bench;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import forge.CardStorageReader;
+import forge.card.CardRules;
+import forge.util.Lang;
+
+/**
+ * Reading all card scripts at startup, once from the card folder and once from a snapshot of it written in the setup.
+ * Each measurement is a single load, the first one is taken in a new JVM like a start of Forge is.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 5)
+@Fork(1)
+public class CardScriptLoadBenchmark {
+
+    @Param({"folder", "snapshot"})
+    public String source;
+
+    private File snapshot;
+
+    @Setup
+    public void setup() {
+        BenchGames.init();
+        Lang.createInstance("en-US");
+        if ("snapshot".equals(source)) {
+            snapshot = new File(System.getProperty("java.io.tmpdir"), "forge-bench-cardsfolder.snapshot");
+            snapshot.delete();
+            load();
+        }
+    }
+
+    @Benchmark
+    public int load() {
+        final CardStorageReader reader = new CardStorageReader(BenchGames.getResDir() + "cardsfolder", null, false);
+        reader.setSnapshotFile(snapshot);
+        int n = 0;
+        for (final CardRules ignored : reader.loadCards()) {
+            n++;
+        }
+        return n;
+    }
+}
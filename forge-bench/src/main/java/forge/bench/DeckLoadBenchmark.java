@@ -0,0 +1,84 @@
+package forge.bench;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import forge.game.Game;
+import forge.game.card.Card;
+import forge.game.card.CardFactory;
+import forge.game.player.Player;
+import forge.item.PaperCard;
+
+/**
+ * Creating the cards of a 100 card Commander deck for a game, as it's done for every deck at the start of each game
+ * and whenever a game is rebuilt from paper cards. With {@code lazyLibraryCards} they are made as library cards whose
+ * abilities are built when needed, see {@link CardFactory#getLibraryCard}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DeckLoadBenchmark {
+
+    static final List<String> COMMANDER_DECK;
+    static {
+        final List<String> deck = new ArrayList<>(List.of("Sol Ring", "Arcane Signet", "Command Tower",
+                "Counterspell", "Swords to Plowshares", "Path to Exile", "Wrath of God", "Cultivate",
+                "Kodama's Reach", "Rampant Growth", "Llanowar Elves", "Birds of Paradise", "Elvish Mystic",
+                "Serra Angel", "Baneslayer Angel", "Primeval Titan", "Eternal Witness", "Solemn Simulacrum",
+                "Mulldrifter", "Wall of Omens", "Brainstorm", "Ponder", "Preordain", "Rhystic Study", "Mystic Remora",
+                "Cyclonic Rift", "Beast Within", "Swan Song", "Lightning Greaves", "Swiftfoot Boots",
+                "Jace, the Mind Sculptor", "Soul Warden", "Blood Artist", "Glorious Anthem", "Craterhoof Behemoth",
+                "Avenger of Zendikar", "Restoration Angel", "Reclamation Sage", "Sun Titan", "Farseek",
+                "Three Visits", "Nature's Lore", "Heroic Intervention", "Teferi's Protection", "Smothering Tithe",
+                "Esper Sentinel", "Prodigal Sorcerer", "Condemn", "Oblivion Ring", "Council's Judgment",
+                "Generous Gift", "Harmonize", "Return to Nature", "Selesnya Signet", "Azorius Signet", "Simic Signet",
+                "Mind Stone", "Thought Vessel", "Fellwar Stone", "Rishkar's Expertise", "Tamiyo's Safekeeping",
+                "Seedborn Muse", "Rhythm of the Wild", "Trostani, Selesnya's Voice", "Sythis, Harvest's Hand"));
+        final String[] basics = {"Forest", "Plains", "Island"};
+        for (int i = 0; deck.size() < 100; i++) {
+            deck.add(basics[i % basics.length]);
+        }
+        COMMANDER_DECK = List.copyOf(deck);
+    }
+
+    @Param({"false", "true"})
+    public boolean lazyLibraryCards;
+
+    private Game game;
+    private Player owner;
+    private final List<PaperCard> deck = new ArrayList<>();
+
+    @Setup
+    public void setup() {
+        game = BenchGames.newGame(2, 0, 0, 0, 0);
+        owner = game.getPlayers().get(0);
+        for (final String name : COMMANDER_DECK) {
+            deck.add(BenchGames.getPaperCard(name));
+        }
+    }
+
+    @Benchmark
+    public List<Card> loadDeck() {
+        final List<Card> cards = new ArrayList<>(deck.size());
+        for (final PaperCard pc : deck) {
+            cards.add(lazyLibraryCards ? CardFactory.getLibraryCard(pc, owner, game) : CardFactory.getCard(pc, owner, game));
+        }
+        return cards;
+    }
+}
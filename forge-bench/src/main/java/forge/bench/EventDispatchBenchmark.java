@@ -0,0 +1,126 @@
+package forge.bench;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.google.common.eventbus.EventBus;
+import com.google.common.eventbus.Subscribe;
+
+import forge.game.Game;
+import forge.game.GameLog;
+import forge.game.GameLogFormatter;
+import forge.game.Match;
+import forge.game.event.EventDispatcher;
+import forge.game.event.GameEvent;
+import forge.game.event.IGameEventVisitor;
+import forge.util.MyRandom;
+
+/**
+ * Delivering the events of a whole game to the subscribers a game watched in the UI has: the game log, and two
+ * visitors standing in for the UI and the sound system. The events are recorded once from a game played by two AI
+ * players like in a {@code sim} run, then replayed through the {@link EventDispatcher} of the game or through the
+ * Guava {@code EventBus} it replaced. The {@code events} counter gives the events per second.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventDispatchBenchmark {
+
+    static final List<String> DECK;
+    static {
+        final String[] names = {"Forest", "Plains", "Forest", "Plains", "Llanowar Elves", "Grizzly Bears",
+                "Serra Angel", "Giant Growth", "Wall of Omens", "Glorious Anthem"};
+        final String[] deck = new String[40];
+        for (int i = 0; i < deck.length; i++) {
+            deck[i] = names[i % names.length];
+        }
+        DECK = List.of(deck);
+    }
+
+    @Param({"EventDispatcher", "EventBus"})
+    public String dispatcher;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Counters {
+        public long events;
+    }
+
+    /**
+     * The subscribers, with the method Guava's {@code EventBus} looks for.
+     */
+    public static final class Subscriber {
+        private final IGameEventVisitor<?> visitor;
+        Object last;
+
+        Subscriber(final IGameEventVisitor<?> visitor) {
+            this.visitor = visitor;
+        }
+
+        @Subscribe
+        public void receive(final GameEvent ev) {
+            last = ev.visit(visitor);
+        }
+    }
+
+    private final List<GameEvent> events = new ArrayList<>();
+    private EventDispatcher typed;
+    private EventBus bus;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        final Match match = BenchGames.newAiMatch(DECK);
+        MyRandom.setThreadRandom(new Random(1));
+        try {
+            final Game game = match.createGame();
+            game.subscribeToEvents(GameEvent.class, events::add);
+            match.startGame(game);
+        } finally {
+            MyRandom.clearThreadRandom();
+        }
+
+        final GameLogFormatter log = new GameLog().getEventVisitor();
+        final List<Subscriber> subscribers = List.of(new Subscriber(log),
+                new Subscriber(new IGameEventVisitor.Base<Void>() { }),
+                new Subscriber(new IGameEventVisitor.Base<Void>() { }));
+        typed = new EventDispatcher("benchmark events");
+        bus = new EventBus("benchmark events");
+        for (final Subscriber s : subscribers) {
+            typed.subscribe(GameEvent.class, s::receive);
+            bus.register(s);
+        }
+    }
+
+    @Benchmark
+    public void replayGame(final Counters counters) {
+        if ("EventBus".equals(dispatcher)) {
+            for (final GameEvent ev : events) {
+                bus.post(ev);
+            }
+        } else {
+            for (final GameEvent ev : events) {
+                typed.post(ev);
+            }
+        }
+        counters.events += events.size();
+    }
+}
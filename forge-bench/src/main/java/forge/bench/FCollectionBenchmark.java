@@ -0,0 +1,98 @@
+package forge.bench;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import forge.game.card.Card;
+import forge.game.card.CardCollection;
+import forge.util.collect.FCollection;
+
+/**
+ * The basic operations of card collections of a few sizes, as a plain {@link FCollection} and as a
+ * {@link CardCollection}. {@code add} fills a new collection with all cards, {@code addAndRemove} also removes them
+ * again one by one, {@code contains} looks up every card plus one that isn't there, and {@code iterate} walks the
+ * collection.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FCollectionBenchmark {
+
+    @Param({"1", "8", "64", "1000"})
+    public int size;
+
+    @Param({"FCollection", "CardCollection"})
+    public String type;
+
+    private List<Card> cards;
+    private Card absent;
+    private FCollection<Card> collection;
+
+    @Setup
+    public void setup() {
+        final Card[] array = new Card[size];
+        for (int i = 0; i < size; i++) {
+            array[i] = new Card(i + 1, null);
+        }
+        cards = Arrays.asList(array);
+        absent = new Card(size + 1, null);
+        collection = fill();
+    }
+
+    private FCollection<Card> fill() {
+        return "CardCollection".equals(type) ? new CardCollection(cards) : new FCollection<>(cards);
+    }
+
+    @Benchmark
+    public FCollection<Card> add() {
+        return fill();
+    }
+
+    @Benchmark
+    public FCollection<Card> addAndRemove() {
+        final FCollection<Card> result = fill();
+        for (int i = cards.size() - 1; i >= 0; i--) {
+            result.remove(cards.get(i));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public int contains() {
+        int found = 0;
+        for (final Card c : cards) {
+            if (collection.contains(c)) {
+                found++;
+            }
+        }
+        if (collection.contains(absent)) {
+            found++;
+        }
+        return found;
+    }
+
+    @Benchmark
+    public int iterate() {
+        int sum = 0;
+        for (final Card c : collection) {
+            sum += c.getId();
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,68 @@
+package forge.bench;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import forge.ai.simulation.GameCopier;
+import forge.game.Game;
+
+/**
+ * Copying a two player game for the simulating AI, in copies per second. Both players have lands, creatures and
+ * anthems on the battlefield, a hand of spells and a 40 card library. Cards are either copied from the pristine cards
+ * the copier keeps or read from their card script again. Copying runs through so much code that it takes a long warmup
+ * before it's all compiled.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 25, time = 2)
+@Measurement(iterations = 8, time = 2)
+@Fork(1)
+public class GameCopierBenchmark {
+
+    static final List<String> BATTLEFIELD = List.of("Forest", "Forest", "Plains", "Plains", "Island",
+            "Llanowar Elves", "Grizzly Bears", "Serra Angel", "Wall of Omens", "Glorious Anthem",
+            "Honor of the Pure", "Prodigal Sorcerer");
+    static final List<String> HAND = List.of("Lightning Bolt", "Counterspell", "Giant Growth", "Divination",
+            "Shock", "Opt", "Llanowar Elves");
+    static final List<String> GRAVEYARD = List.of("Lightning Bolt", "Grizzly Bears", "Opt");
+    static final List<String> LIBRARY;
+    static {
+        final String[] names = {"Forest", "Island", "Plains", "Mountain", "Llanowar Elves", "Grizzly Bears",
+                "Serra Angel", "Lightning Bolt", "Counterspell", "Giant Growth"};
+        final String[] library = new String[40];
+        for (int i = 0; i < library.length; i++) {
+            library[i] = names[i % names.length];
+        }
+        LIBRARY = List.of(library);
+    }
+
+    @Param({"true", "false"})
+    public boolean pristineCards;
+
+    private Game game;
+
+    @Setup
+    public void setup() {
+        game = BenchGames.newGame(LIBRARY, HAND, BATTLEFIELD, GRAVEYARD);
+    }
+
+    @Benchmark
+    public Game makeCopy() {
+        final GameCopier copier = new GameCopier(game);
+        copier.setUsePristineCards(pristineCards);
+        return copier.makeCopy();
+    }
+}
@@ -0,0 +1,73 @@
+package forge.bench;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import forge.game.Game;
+import forge.game.ability.AbilityKey;
+import forge.game.card.Card;
+import forge.game.card.CounterEnumType;
+import forge.game.player.Player;
+import forge.game.replacement.ReplacementHandler;
+import forge.game.replacement.ReplacementResult;
+import forge.game.replacement.ReplacementType;
+import forge.game.zone.ZoneType;
+
+/**
+ * Looking for replacement effects when a creature would die, with 200 creatures on the battlefield of a four player
+ * game. Every fifth creature has a replacement effect of its own for dying and every tenth has a shield counter, but
+ * none of them applies to the creature that dies.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReplacementBenchmark {
+
+    private Game game;
+    private Card dying;
+
+    @Setup
+    public void setup() {
+        game = BenchGames.newGame(4, 60, 7, 50, 10);
+        int i = 0;
+        for (final Player p : game.getPlayers()) {
+            for (final Card c : p.getCardsIn(ZoneType.Battlefield)) {
+                c.addType("Creature");
+                if (i % 5 == 0) {
+                    c.addReplacementEffect(ReplacementHandler.parseReplacement("Event$ Moved | ActiveZones$ Battlefield"
+                            + " | Origin$ Battlefield | Destination$ Graveyard | ValidCard$ Card.Self"
+                            + " | Description$ If CARDNAME would die, exile it instead.", c, true));
+                }
+                if (i % 10 == 0) {
+                    c.setCounters(CounterEnumType.SHIELD, 1);
+                }
+                i++;
+            }
+        }
+        dying = game.getPlayers().get(0).getCardsIn(ZoneType.Battlefield).get(1);
+    }
+
+    @Benchmark
+    public ReplacementResult movedToGraveyard() {
+        final Map<AbilityKey, Object> runParams = AbilityKey.mapFromAffected(dying);
+        runParams.put(AbilityKey.CardLKI, dying);
+        runParams.put(AbilityKey.Cause, null);
+        runParams.put(AbilityKey.Origin, ZoneType.Battlefield);
+        runParams.put(AbilityKey.Destination, ZoneType.Graveyard);
+        return game.getReplacementHandler().run(ReplacementType.Moved, runParams);
+    }
+}
@@ -0,0 +1,72 @@
+package forge.bench;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import forge.game.Game;
+
+/**
+ * Checking state-based actions and applying static abilities on a midgame board where nothing changes between the
+ * checks, as it happens whenever a player gets priority. Both players have lands, creatures, anthems and a few
+ * cards with triggers on the battlefield. Static abilities are either all reapplied on each check or only when
+ * something they depend on changed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StateEffectsBenchmark {
+
+    static final List<String> BOARD;
+    static {
+        final String battlefield = "Forest;Forest;Forest;Plains;Plains;Plains;Island;Llanowar Elves;Grizzly Bears;"
+                + "Serra Angel;Baneslayer Angel;Soul Warden;Blood Artist;Wall of Omens;Prodigal Sorcerer;"
+                + "Glorious Anthem;Honor of the Pure";
+        final String hand = "Lightning Bolt;Giant Growth;Shivan Dragon;Counterspell;Forest";
+        final String library = "Forest;Island;Plains;Grizzly Bears;Serra Angel;Lightning Bolt;Giant Growth;"
+                + "Llanowar Elves;Counterspell;Wall of Omens";
+        BOARD = List.of("turn=5", "activeplayer=human", "activephase=MAIN1", "removesummoningsickness=true",
+                "humanlife=20", "ailife=20",
+                "humanbattlefield=" + battlefield, "aibattlefield=" + battlefield,
+                "humanhand=" + hand, "aihand=" + hand,
+                "humanlibrary=" + library + ";" + library, "ailibrary=" + library + ";" + library,
+                "humangraveyard=Lightning Bolt;Grizzly Bears", "aigraveyard=Lightning Bolt;Grizzly Bears");
+    }
+
+    @Param({"false", "true"})
+    public boolean incrementalStaticAbilities;
+
+    private Game game;
+
+    @Setup
+    public void setup() {
+        game = BenchGames.newGameFromState(BOARD);
+        game.getRules().setIncrementalStaticAbilities(incrementalStaticAbilities);
+        game.getAction().checkStateEffects(true);
+    }
+
+    @Benchmark
+    public boolean checkStateEffects() {
+        return game.getAction().checkStateEffects(true);
+    }
+
+    @Benchmark
+    public Game checkStaticAbilities() {
+        game.getAction().checkStaticAbilities();
+        return game;
+    }
+}
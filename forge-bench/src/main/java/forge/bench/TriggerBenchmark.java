@@ -0,0 +1,82 @@
+package forge.bench;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import forge.game.Game;
+import forge.game.ability.AbilityKey;
+import forge.game.card.Card;
+import forge.game.trigger.TriggerType;
+import forge.game.zone.ZoneType;
+
+/**
+ * Running the triggers for a creature entering the battlefield and for one dying, on the board of
+ * {@link StateEffectsBenchmark}. The Soul Wardens trigger on the first and the Blood Artists on the second, the
+ * abilities they put on the stack are dropped again after each run.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TriggerBenchmark {
+
+    private Game game;
+    private Card entering;
+    private Card dying;
+
+    @Setup
+    public void setup() {
+        game = BenchGames.newGameFromState(StateEffectsBenchmark.BOARD);
+        game.getAction().checkStateEffects(true);
+        for (final Card c : game.getPlayers().get(0).getCardsIn(ZoneType.Hand)) {
+            if (c.getName().equals("Shivan Dragon")) {
+                entering = c;
+            }
+        }
+        for (final Card c : game.getPlayers().get(0).getCardsIn(ZoneType.Battlefield)) {
+            if (c.getName().equals("Grizzly Bears")) {
+                dying = c;
+            }
+        }
+    }
+
+    @Benchmark
+    public boolean creatureEnters() {
+        final Map<AbilityKey, Object> runParams = AbilityKey.mapFromCard(entering);
+        runParams.put(AbilityKey.CardLKI, entering);
+        runParams.put(AbilityKey.Cause, null);
+        runParams.put(AbilityKey.Origin, ZoneType.Hand.name());
+        runParams.put(AbilityKey.Destination, ZoneType.Battlefield.name());
+        return run(runParams);
+    }
+
+    @Benchmark
+    public boolean creatureDies() {
+        final Map<AbilityKey, Object> runParams = AbilityKey.mapFromCard(dying);
+        runParams.put(AbilityKey.CardLKI, dying);
+        runParams.put(AbilityKey.Cause, null);
+        runParams.put(AbilityKey.Origin, ZoneType.Battlefield.name());
+        runParams.put(AbilityKey.Destination, ZoneType.Graveyard.name());
+        return run(runParams);
+    }
+
+    private boolean run(final Map<AbilityKey, Object> runParams) {
+        game.getTriggerHandler().runTrigger(TriggerType.ChangesZone, runParams, false);
+        final boolean triggered = game.getStack().hasSimultaneousStackEntries();
+        game.getStack().clearSimultaneousStack();
+        return triggered;
+    }
+}
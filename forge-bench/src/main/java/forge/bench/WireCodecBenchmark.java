@@ -0,0 +1,249 @@
+package forge.bench;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import forge.game.Game;
+import forge.game.Match;
+import forge.game.card.Card;
+import forge.game.card.CardView;
+import forge.game.event.GameEvent;
+import forge.game.event.GameEventCardChangeZone;
+import forge.game.event.GameEventCardStatsChanged;
+import forge.game.event.GameEventCardTapped;
+import forge.game.event.GameEventPlayerLivesChanged;
+import forge.game.event.GameEventTurnPhase;
+import forge.game.player.Player;
+import forge.game.player.PlayerView;
+import forge.game.zone.Zone;
+import forge.gamemodes.net.CompatibleObjectDecoder;
+import forge.gamemodes.net.CompatibleObjectEncoder;
+import forge.gamemodes.net.ProtocolMethod;
+import forge.gamemodes.net.event.GuiGameEvent;
+import forge.player.PlayerZoneUpdate;
+import forge.player.PlayerZoneUpdates;
+import forge.trackable.TrackableCollection;
+import forge.trackable.TrackableObject;
+import forge.trackable.TrackableProperty;
+import forge.util.MyRandom;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.serialization.ClassResolvers;
+
+/**
+ * Sending the calls a server makes to the GUI of a network client during a whole game, with trackable sync, through
+ * the serialized frames or through the compact binary ones. The calls are recorded once from a game played by two
+ * AI players, standing in for what the UI of a client is told while it watches: views opened, zones and cards
+ * updated, phases, prompts and life totals. Along with each call the state of the views it reaches is recorded, and
+ * put back before it's encoded again, so every replay sees the views change like the game did.
+ * <p>
+ * {@code encodeGame} writes all calls, {@code decodeGame} reads the frames written for them; the {@code messages}
+ * counter gives the calls per second and the {@code bytes} counter the size of their frames per second, so bytes
+ * divided by messages is the frame size per call of the codec.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WireCodecBenchmark {
+
+    @Param({"serialized", "binary"})
+    public String codec;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Counters {
+        public long messages;
+        public long bytes;
+    }
+
+    /** A call and the state of the views it reaches that changed since the call before. */
+    private record Recorded(GuiGameEvent call, List<TrackableObject> objects, List<Map<TrackableProperty, Object>> props) { }
+
+    private final List<Recorded> calls = new ArrayList<>();
+    private final Map<TrackableObject, Integer> recordedChanges = new IdentityHashMap<>();
+    private final List<ByteBuf> frames = new ArrayList<>();
+    private long frameBytes;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        final Match match = BenchGames.newAiMatch(EventDispatchBenchmark.DECK);
+        MyRandom.setThreadRandom(new Random(1));
+        try {
+            final Game game = match.createGame();
+            final TrackableCollection<PlayerView> players = new TrackableCollection<>();
+            for (final Player p : game.getPlayers()) {
+                players.add(p.getView());
+            }
+            record(ProtocolMethod.openView, players);
+            record(ProtocolMethod.setGameView, game.getView());
+            game.subscribeToEvents(GameEvent.class, this::record);
+            match.startGame(game);
+        } finally {
+            MyRandom.clearThreadRandom();
+        }
+
+        final EmbeddedChannel channel = newEncoder();
+        for (final Recorded r : calls) {
+            final ByteBuf frame = encode(channel, r);
+            frameBytes += frame.readableBytes();
+            frames.add(frame);
+        }
+    }
+
+    private void record(final GameEvent ev) {
+        if (ev instanceof GameEventCardChangeZone) {
+            final GameEventCardChangeZone e = (GameEventCardChangeZone) ev;
+            final PlayerZoneUpdates zones = new PlayerZoneUpdates();
+            for (final Zone z : new Zone[] {e.from(), e.to()}) {
+                if (z != null && z.getPlayer() != null) {
+                    zones.add(new PlayerZoneUpdate(z.getPlayer().getView(), z.getZoneType()));
+                }
+            }
+            record(ProtocolMethod.updateZones, zones);
+            record(ProtocolMethod.updateCards, views(Collections.singletonList(e.card())));
+        } else if (ev instanceof GameEventCardTapped) {
+            record(ProtocolMethod.updateCards, views(Collections.singletonList(((GameEventCardTapped) ev).card())));
+        } else if (ev instanceof GameEventCardStatsChanged) {
+            record(ProtocolMethod.updateCards, views(((GameEventCardStatsChanged) ev).cards()));
+        } else if (ev instanceof GameEventTurnPhase) {
+            final GameEventTurnPhase e = (GameEventTurnPhase) ev;
+            final PlayerView player = e.playerTurn().getView();
+            record(ProtocolMethod.updatePhase, Boolean.TRUE);
+            record(ProtocolMethod.showPromptMessage, player, e.phaseDesc());
+            record(ProtocolMethod.updateButtons, player, "OK", "Cancel", Boolean.FALSE, Boolean.TRUE, Boolean.FALSE);
+        } else if (ev instanceof GameEventPlayerLivesChanged) {
+            final List<PlayerView> players = new ArrayList<>();
+            players.add(((GameEventPlayerLivesChanged) ev).player().getView());
+            record(ProtocolMethod.updateLives, players);
+        }
+    }
+
+    private static List<CardView> views(final Iterable<Card> cards) {
+        final List<CardView> views = new ArrayList<>();
+        for (final Card c : cards) {
+            views.add(c.getView());
+        }
+        return views;
+    }
+
+    private void record(final ProtocolMethod method, final Object... args) {
+        final List<TrackableObject> objects = new ArrayList<>();
+        final List<Map<TrackableProperty, Object>> props = new ArrayList<>();
+        collectChanged(args, Collections.newSetFromMap(new IdentityHashMap<>()), objects, props);
+        calls.add(new Recorded(new GuiGameEvent(method, args), objects, props));
+    }
+
+    private void collectChanged(final Object obj, final Set<Object> visited, final List<TrackableObject> objects,
+            final List<Map<TrackableProperty, Object>> props) {
+        if (obj instanceof TrackableObject) {
+            final TrackableObject trackable = (TrackableObject) obj;
+            if (!visited.add(trackable)) {
+                return;
+            }
+            final Map<TrackableProperty, Object> current = trackable.getProps();
+            final Integer changes = recordedChanges.put(trackable, trackable.getChangeCount());
+            if (changes == null || changes != trackable.getChangeCount()) {
+                objects.add(trackable);
+                props.add(copy(current));
+            }
+            for (final Object value : current.values()) {
+                collectChanged(value, visited, objects, props);
+            }
+        } else if (obj instanceof PlayerZoneUpdate) {
+            collectChanged(((PlayerZoneUpdate) obj).getPlayer(), visited, objects, props);
+        } else if (obj instanceof Iterable) {
+            if (visited.add(obj)) {
+                for (final Object item : (Iterable<?>) obj) {
+                    collectChanged(item, visited, objects, props);
+                }
+            }
+        } else if (obj instanceof Object[]) {
+            for (final Object item : (Object[]) obj) {
+                collectChanged(item, visited, objects, props);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<TrackableProperty, Object> copy(final Map<TrackableProperty, Object> props) {
+        // collections are changed in place as the game goes on
+        final Map<TrackableProperty, Object> copy = new EnumMap<>(TrackableProperty.class);
+        for (final Map.Entry<TrackableProperty, Object> e : props.entrySet()) {
+            Object value = e.getValue();
+            if (value instanceof TrackableCollection) {
+                value = new TrackableCollection<>((TrackableCollection<TrackableObject>) value);
+            } else if (value != null && value.getClass() == HashMap.class) {
+                value = new HashMap<>((Map<?, ?>) value);
+            }
+            copy.put(e.getKey(), value);
+        }
+        return copy;
+    }
+
+    private EmbeddedChannel newEncoder() {
+        final CompatibleObjectEncoder encoder = new CompatibleObjectEncoder();
+        if ("binary".equals(codec)) {
+            encoder.enableBinaryCodec();
+        } else {
+            encoder.enableTrackableSync();
+        }
+        return new EmbeddedChannel(encoder);
+    }
+
+    private static ByteBuf encode(final EmbeddedChannel channel, final Recorded r) {
+        for (int i = 0; i < r.objects().size(); i++) {
+            r.objects().get(i).replaceProps(r.props().get(i));
+        }
+        channel.writeOutbound(r.call());
+        return channel.readOutbound();
+    }
+
+    @Benchmark
+    public void encodeGame(final Counters counters) {
+        final EmbeddedChannel channel = newEncoder();
+        long size = 0;
+        for (final Recorded r : calls) {
+            final ByteBuf frame = encode(channel, r);
+            size += frame.readableBytes();
+            frame.release();
+        }
+        counters.messages += calls.size();
+        counters.bytes += size;
+    }
+
+    @Benchmark
+    public void decodeGame(final Counters counters) {
+        final EmbeddedChannel channel = new EmbeddedChannel(new CompatibleObjectDecoder(9766 * 1024, ClassResolvers.cacheDisabled(null)));
+        for (final ByteBuf frame : frames) {
+            channel.writeInbound(frame.retainedDuplicate());
+            channel.readInbound();
+        }
+        counters.messages += frames.size();
+        counters.bytes += frameBytes;
+    }
+}
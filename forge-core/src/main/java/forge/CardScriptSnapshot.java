@@ -0,0 +1,129 @@
+package forge;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeSet;
+
+import forge.card.CardRules;
+import forge.card.CardRulesCodec;
+import forge.card.CardType;
+
+/**
+ * The card rules parsed from the scripts of a folder read by {@link CardStorageReader}, kept together in a single file
+ * so that later starts read that one file instead of opening and parsing every script on its own.
+ * <p>
+ * A snapshot is only used while it's up to date with the folder, told by a hash of the contents of all the scripts
+ * read from it. Hashing them takes a fraction of the time parsing them does.
+ */
+final class CardScriptSnapshot {
+    private static final int MAGIC = 0x46435353;
+    private static final int FORMAT_VERSION = 2;
+    private static final int HASH_LENGTH = 32;
+
+    private CardScriptSnapshot() {
+    }
+
+    /**
+     * A hash of the given files in the given folder, the rules parsed from them change with nothing else.
+     */
+    static byte[] hash(final File folder, final Collection<File> files) throws IOException {
+        final MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (final NoSuchAlgorithmException e) {
+            throw new IOException(e);
+        }
+        // the folder is part of the paths kept in the rules
+        update(digest, folder.getAbsolutePath());
+        // and the multiword types part of how types are split up
+        for (final String type : new TreeSet<>(CardType.Constant.MultiwordTypes)) {
+            update(digest, type);
+        }
+        // listing the files doesn't always give the same order
+        final String prefix = folder.getPath() + File.separator;
+        final List<File> sorted = new ArrayList<>(files);
+        sorted.sort((a, b) -> a.getPath().compareTo(b.getPath()));
+        for (final File file : sorted) {
+            update(digest, file.getPath().startsWith(prefix) ? file.getPath().substring(prefix.length()) : file.getPath());
+            final byte[] content = Files.readAllBytes(file.toPath());
+            update(digest, content.length);
+            digest.update(content);
+        }
+        return digest.digest();
+    }
+
+    private static void update(final MessageDigest digest, final String s) {
+        final byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        update(digest, bytes.length);
+        digest.update(bytes);
+    }
+
+    private static void update(final MessageDigest digest, final int value) {
+        digest.update(new byte[] { (byte) (value >>> 24), (byte) (value >>> 16), (byte) (value >>> 8), (byte) value });
+    }
+
+    /**
+     * The rules kept in the given file, or null if there is none or it's not for scripts with the given hash.
+     *
+     * @throws IOException if the file couldn't be read or is damaged
+     */
+    static List<CardRules> read(final File file, final byte[] hash) throws IOException {
+        if (!file.isFile()) {
+            return null;
+        }
+        final DataInputStream in = new DataInputStream(new ByteArrayInputStream(Files.readAllBytes(file.toPath())));
+        if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION) {
+            return null;
+        }
+        final byte[] written = new byte[HASH_LENGTH];
+        in.readFully(written);
+        if (!MessageDigest.isEqual(written, hash)) {
+            return null;
+        }
+        final int count = in.readInt();
+        if (count < 0 || count > in.available()) {
+            throw new IOException("Corrupt card count " + count);
+        }
+        final List<CardRules> rules = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            rules.add(CardRulesCodec.read(in));
+        }
+        return rules;
+    }
+
+    static void write(final File file, final byte[] hash, final Collection<CardRules> rules) throws IOException {
+        final File parent = file.getAbsoluteFile().getParentFile();
+        if (parent != null) {
+            parent.mkdirs();
+        }
+        // written aside first, so that a start reading it meanwhile never sees half of it
+        final File tmp = new File(file.getPath() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp.toPath()), 1 << 16))) {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.write(hash);
+            out.writeInt(rules.size());
+            for (final CardRules r : rules) {
+                CardRulesCodec.write(out, r);
+            }
+        }
+        try {
+            Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (final AtomicMoveNotSupportedException e) {
+            Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
@@ -73,6 +73,8 @@ public class CardStorageReader {
 
     private final boolean loadCardsLazily;
 
+    private File snapshotFile = null;
+
     public CardStorageReader(final String cardDataDir, final CardStorageReader.ProgressObserver progressObserver, boolean loadCardsLazily) {
         this.progressObserver = progressObserver != null ? progressObserver : CardStorageReader.ProgressObserver.emptyObserver;
         this.cardsfolder = new File(cardDataDir);
@@ -103,6 +105,14 @@ public class CardStorageReader {
         this.charset = Charset.forName(CardStorageReader.DEFAULT_CHARSET_NAME);
     } // CardReader()
 
+    /**
+     * Keep the rules of all cards in the given file once they were parsed, and read them from there on later starts
+     * for as long as no script in the card folder changed.
+     */
+    public void setSnapshotFile(final File snapshotFile) {
+        this.snapshotFile = snapshotFile;
+    }
+
     private List<CardRules> loadCardsInRange(final List<File> files, final int from, final int to) {
         final CardRules.Reader rulesReader = new CardRules.Reader();
 
@@ -238,8 +248,13 @@ public class CardStorageReader {
         if (loadCardsLazily) {
             return result;
         }
- 
+
         final List<File> allFiles = collectCardFiles(new ArrayList<>(), this.cardsfolder);
+        byte[] snapshotHash = snapshotFile == null ? null : hashCardFiles(allFiles);
+        if (snapshotHash != null && loadCardsFromSnapshot(result, snapshotHash)) {
+            return result;
+        }
+
         if (!allFiles.isEmpty()) {
             int fileParts = zip == null ? NUMBER_OF_PARTS : 1 + NUMBER_OF_PARTS / 3;
             if (allFiles.size() < fileParts * 100) {
@@ -251,9 +266,11 @@ public class CardStorageReader {
             progressObserver.report(0, taskFiles.size());
             final StopWatch sw = new StopWatch();
             sw.start();
-            executeLoadTask(result, taskFiles, cdlFiles);
+            if (!executeLoadTask(result, taskFiles, cdlFiles)) {
+                snapshotHash = null; // not all were read
+            }
             sw.stop();
-            final long timeOnParse = sw.getTime(TimeUnit.SECONDS);
+            final long timeOnParse = sw.getTime();
             System.out.printf("Read cards: %s files in %d ms (%d parts) %s%n", allFiles.size(), timeOnParse, taskFiles.size(), useThreadPool ? "using thread pool" : "in same thread");
         }
 
@@ -265,15 +282,64 @@ public class CardStorageReader {
             progressObserver.report(0, taskZip.size());
             final StopWatch sw = new StopWatch();
             sw.start();
-            executeLoadTask(result, taskZip, cdlZip);
+            if (!executeLoadTask(result, taskZip, cdlZip)) {
+                snapshotHash = null;
+            }
             sw.stop();
-            final long timeOnParse = sw.getTime(TimeUnit.SECONDS);
+            final long timeOnParse = sw.getTime();
             System.out.printf("Read cards: %s archived files in %d ms (%d parts) %s%n", this.zip.size(), timeOnParse, taskZip.size(), useThreadPool ? "using thread pool" : "in same thread");
         }
 
+        if (snapshotHash != null) {
+            try {
+                CardScriptSnapshot.write(snapshotFile, snapshotHash, result);
+            } catch (final IOException e) {
+                System.err.println("Could not write card snapshot " + snapshotFile + ": " + e.getMessage());
+            }
+        }
         return result;
     }
 
+    /**
+     * A hash of the scripts to read, or null if they couldn't be read to check them against the snapshot.
+     */
+    private byte[] hashCardFiles(final List<File> files) {
+        final List<File> hashed = new ArrayList<>(files);
+        if (zip != null) {
+            hashed.add(new File(zip.getName()));
+        }
+        try {
+            return CardScriptSnapshot.hash(cardsfolder, hashed);
+        } catch (final IOException e) {
+            System.err.println("Could not check card snapshot " + snapshotFile + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Read the rules from the snapshot if it's up to date with the scripts.
+     *
+     * @return false if there is no such snapshot
+     */
+    private boolean loadCardsFromSnapshot(final Collection<CardRules> result, final byte[] hash) {
+        final StopWatch sw = new StopWatch();
+        sw.start();
+        final List<CardRules> rules;
+        try {
+            rules = CardScriptSnapshot.read(snapshotFile, hash);
+        } catch (final IOException e) {
+            System.err.println("Could not read card snapshot " + snapshotFile + ": " + e.getMessage());
+            return false;
+        }
+        if (rules == null) {
+            return false;
+        }
+        result.addAll(rules);
+        sw.stop();
+        System.out.printf("Read cards: %s rules from snapshot in %d ms%n", rules.size(), sw.getTime());
+        return true;
+    }
+
     private List<ZipEntry> getZipEntries() {
         ZipEntry entry;
         final List<ZipEntry> entries = new ArrayList<>();
@@ -289,7 +355,10 @@ public class CardStorageReader {
         return entries;
     }
 
-    private void executeLoadTask(final Collection<CardRules> result, final List<Callable<List<CardRules>>> tasks, final CountDownLatch cdl) {
+    /**
+     * @return false if some of the tasks failed
+     */
+    private boolean executeLoadTask(final Collection<CardRules> result, final List<Callable<List<CardRules>>> tasks, final CountDownLatch cdl) {
         try {
             if (useThreadPool) {
                 final ExecutorService executor = ThreadUtil.getComputingPool(0.5f);
@@ -306,9 +375,11 @@ public class CardStorageReader {
             }
         } catch (InterruptedException | ExecutionException e) {
             e.printStackTrace();
+            return false;
         } catch (final Exception e) { // this clause comes from non-threaded branch
             throw new RuntimeException(e);
         }
+        return true;
     }
 
     private List<Callable<List<CardRules>>> makeTaskListForZip(final List<ZipEntry> entries, final CountDownLatch cdl) {
@@ -4,6 +4,9 @@ import forge.card.mana.ManaCost;
 import forge.util.Lang;
 import org.apache.commons.lang3.StringUtils;
 
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
 import java.util.*;
 import java.util.Map.Entry;
 import java.util.regex.PatternSyntaxException;
@@ -248,6 +251,98 @@ final class CardFace implements ICardFace, Cloneable {
     }
 
 
+    // as it is once its missing fields were assigned, see CardRulesCodec
+    void write(final DataOutputStream out) throws IOException {
+        CardRulesCodec.writeString(out, name);
+        CardRulesCodec.writeString(out, flavorName);
+        CardRulesCodec.writeType(out, type);
+        CardRulesCodec.writeManaCost(out, manaCost);
+        CardRulesCodec.writeColor(out, color);
+        CardRulesCodec.writeString(out, oracleText);
+        out.writeInt(iPower);
+        out.writeInt(iToughness);
+        CardRulesCodec.writeString(out, power);
+        CardRulesCodec.writeString(out, toughness);
+        CardRulesCodec.writeString(out, initialLoyalty);
+        CardRulesCodec.writeString(out, defense);
+        out.writeInt(attractionLights == null ? -1 : attractionLights.size());
+        if (attractionLights != null) {
+            for (final int light : attractionLights) {
+                out.writeInt(light);
+            }
+        }
+        CardRulesCodec.writeString(out, nonAbilityText);
+        CardRulesCodec.writeStrings(out, keywords);
+        CardRulesCodec.writeStrings(out, abilities);
+        CardRulesCodec.writeStrings(out, staticAbilities);
+        CardRulesCodec.writeStrings(out, triggers);
+        CardRulesCodec.writeStrings(out, draftActions);
+        CardRulesCodec.writeStrings(out, replacements);
+        out.writeInt(variables == null ? -1 : variables.size());
+        if (variables != null) {
+            for (final Entry<String, String> e : variables.entrySet()) {
+                CardRulesCodec.writeString(out, e.getKey());
+                CardRulesCodec.writeString(out, e.getValue());
+            }
+        }
+        out.writeInt(functionalVariants == null ? -1 : functionalVariants.size());
+        if (functionalVariants != null) {
+            for (final Entry<String, CardFace> e : functionalVariants.entrySet()) {
+                CardRulesCodec.writeString(out, e.getKey());
+                e.getValue().write(out);
+            }
+        }
+    }
+
+    static CardFace read(final DataInputStream in) throws IOException {
+        final CardFace face = new CardFace(CardRulesCodec.readString(in));
+        face.flavorName = CardRulesCodec.readString(in);
+        face.type = CardRulesCodec.readType(in);
+        face.manaCost = CardRulesCodec.readManaCost(in);
+        face.color = CardRulesCodec.readColor(in);
+        face.oracleText = CardRulesCodec.readString(in);
+        face.iPower = in.readInt();
+        face.iToughness = in.readInt();
+        face.power = CardRulesCodec.readString(in);
+        face.toughness = CardRulesCodec.readString(in);
+        face.initialLoyalty = CardRulesCodec.readString(in);
+        face.defense = CardRulesCodec.readString(in);
+        final int lights = CardRulesCodec.readLength(in, 4);
+        if (lights != -1) {
+            face.attractionLights = lights == 0 ? emptySet : new HashSet<>();
+            for (int i = 0; i < lights; i++) {
+                face.attractionLights.add(in.readInt());
+            }
+        }
+        face.nonAbilityText = CardRulesCodec.readString(in);
+        // empty ones are the shared ones assigned to fields a script left out
+        face.keywords = orEmpty(CardRulesCodec.readStrings(in, new ArrayList<>()));
+        face.abilities = orEmpty(CardRulesCodec.readStrings(in, new ArrayList<>()));
+        face.staticAbilities = orEmpty(CardRulesCodec.readStrings(in, new ArrayList<>()));
+        face.triggers = orEmpty(CardRulesCodec.readStrings(in, new ArrayList<>()));
+        face.draftActions = orEmpty(CardRulesCodec.readStrings(in, new ArrayList<>()));
+        face.replacements = orEmpty(CardRulesCodec.readStrings(in, new ArrayList<>()));
+        final int nVariables = CardRulesCodec.readLength(in, 8);
+        if (nVariables != -1) {
+            face.variables = nVariables == 0 ? emptyMap : new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+            for (int i = 0; i < nVariables; i++) {
+                face.variables.put(CardRulesCodec.readString(in), CardRulesCodec.readString(in));
+            }
+        }
+        final int nVariants = CardRulesCodec.readLength(in, 8);
+        if (nVariants != -1) {
+            face.functionalVariants = new HashMap<>();
+            for (int i = 0; i < nVariants; i++) {
+                face.functionalVariants.put(CardRulesCodec.readString(in), read(in));
+            }
+        }
+        return face;
+    }
+
+    private static List<String> orEmpty(final List<String> list) {
+        return list != null && list.isEmpty() ? emptyList : list;
+    }
+
     @Override
     public String toString() {
         return getName();
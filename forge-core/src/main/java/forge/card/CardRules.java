@@ -26,6 +26,9 @@ import forge.card.mana.ManaCostShard;
 import forge.util.TextUtil;
 import org.apache.commons.lang3.StringUtils;
 
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -530,6 +533,75 @@ public final class CardRules implements ICardCharacteristics {
         return crr.getCard();
     }
 
+    // the faces in the order the reader keeps them
+    private static final CardStateName[] SPECIALIZED_FACES = {
+            CardStateName.SpecializeW, CardStateName.SpecializeU, CardStateName.SpecializeB,
+            CardStateName.SpecializeR, CardStateName.SpecializeG };
+
+    /** Writes these rules as they were read, see {@link CardRulesCodec}. */
+    void write(final DataOutputStream out) throws IOException {
+        CardRulesCodec.writeEnum(out, splitType);
+        final List<ICardFace> faces = Lists.newArrayList(mainPart, otherPart);
+        for (final CardStateName state : SPECIALIZED_FACES) {
+            faces.add(specializedParts.get(state));
+        }
+        for (final ICardFace face : faces) {
+            out.writeBoolean(face != null);
+            if (face != null) {
+                ((CardFace) face).write(out);
+            }
+        }
+        out.writeBoolean(aiHints.getRemAIDecks());
+        out.writeBoolean(aiHints.getRemRandomDecks());
+        out.writeBoolean(aiHints.getRemNonCommanderDecks());
+        CardRulesCodec.writeHints(out, aiHints.getDeckHints());
+        CardRulesCodec.writeHints(out, aiHints.getDeckNeeds());
+        CardRulesCodec.writeHints(out, aiHints.getDeckHas());
+        CardRulesCodec.writeString(out, normalizedName);
+        CardRulesCodec.writeString(out, path);
+        CardRulesCodec.writeString(out, meldWith);
+        CardRulesCodec.writeString(out, partnerWith);
+        out.writeBoolean(addsWildCardColor);
+        out.writeInt(setColorID);
+        out.writeInt(deltaHand);
+        out.writeInt(deltaLife);
+        CardRulesCodec.writeStrings(out, tokens);
+        CardRulesCodec.writeStrings(out, supportedFunctionalVariants);
+        out.writeBoolean(custom);
+        out.writeBoolean(unsupported);
+    }
+
+    static CardRules read(final DataInputStream in) throws IOException {
+        final CardSplitType splitType = CardRulesCodec.readEnum(in, CardSplitType.class);
+        final ICardFace[] faces = new ICardFace[2 + SPECIALIZED_FACES.length];
+        for (int i = 0; i < faces.length; i++) {
+            faces[i] = in.readBoolean() ? CardFace.read(in) : null;
+        }
+        if (splitType == null || faces[0] == null) {
+            throw new IOException("Corrupt card rules");
+        }
+        final boolean remAi = in.readBoolean();
+        final boolean remRandom = in.readBoolean();
+        final boolean remNonCommander = in.readBoolean();
+        final CardAiHints hints = new CardAiHints(remAi, remRandom, remNonCommander,
+                CardRulesCodec.readHints(in), CardRulesCodec.readHints(in), CardRulesCodec.readHints(in));
+        final CardRules result = new CardRules(faces, splitType, hints);
+        result.normalizedName = CardRulesCodec.readString(in);
+        result.path = CardRulesCodec.readString(in);
+        result.meldWith = CardRulesCodec.readString(in);
+        result.partnerWith = CardRulesCodec.readString(in);
+        result.addsWildCardColor = in.readBoolean();
+        result.setColorID = in.readInt();
+        result.deltaHand = in.readInt();
+        result.deltaLife = in.readInt();
+        final List<String> tokens = CardRulesCodec.readStrings(in, new ArrayList<>());
+        result.tokens = tokens == null || tokens.isEmpty() ? Collections.emptyList() : tokens;
+        result.supportedFunctionalVariants = CardRulesCodec.readStrings(in, new HashSet<>());
+        result.custom = in.readBoolean();
+        result.unsupported = in.readBoolean();
+        return result;
+    }
+
     // Reads cardname.txt
     public static class Reader {
         // fields to build
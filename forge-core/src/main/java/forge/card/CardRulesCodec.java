@@ -0,0 +1,243 @@
+package forge.card;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+
+import org.apache.commons.lang3.tuple.Pair;
+
+import forge.card.mana.IParserManaCost;
+import forge.card.mana.ManaCost;
+import forge.card.mana.ManaCostShard;
+
+/**
+ * Writes parsed card rules to a stream and reads them back, so that later starts don't need to parse the scripts
+ * again.
+ * <p>
+ * Enums are written by name, so that rules written before an enum changed fail to read instead of reading wrong.
+ * Every length read is checked against what's left of the stream: damaged data ends in an {@link IOException}, not in
+ * a huge allocation.
+ */
+public final class CardRulesCodec {
+
+    private CardRulesCodec() {
+    }
+
+    public static void write(final DataOutputStream out, final CardRules rules) throws IOException {
+        rules.write(out);
+    }
+
+    public static CardRules read(final DataInputStream in) throws IOException {
+        try {
+            return CardRules.read(in);
+        } catch (final IllegalArgumentException e) {
+            // an enum constant that's gone, or a face without a name
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * A length or count written before, -1 standing for null, checked to fit into what's left of the stream given the
+     * number of bytes each element takes at least.
+     */
+    static int readLength(final DataInputStream in, final int minBytesEach) throws IOException {
+        final int length = in.readInt();
+        if (length < -1 || (long) length * minBytesEach > in.available()) {
+            throw new IOException("Corrupt length " + length);
+        }
+        return length;
+    }
+
+    static void writeString(final DataOutputStream out, final String s) throws IOException {
+        if (s == null) {
+            out.writeInt(-1);
+            return;
+        }
+        final byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    static String readString(final DataInputStream in) throws IOException {
+        final int length = readLength(in, 1);
+        if (length == -1) {
+            return null;
+        }
+        final byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    static void writeStrings(final DataOutputStream out, final Collection<String> strings) throws IOException {
+        if (strings == null) {
+            out.writeInt(-1);
+            return;
+        }
+        out.writeInt(strings.size());
+        for (final String s : strings) {
+            writeString(out, s);
+        }
+    }
+
+    /**
+     * The strings written before added to the given collection, or null if null was written.
+     */
+    static <C extends Collection<String>> C readStrings(final DataInputStream in, final C collection) throws IOException {
+        final int size = readLength(in, 4);
+        if (size == -1) {
+            return null;
+        }
+        for (int i = 0; i < size; i++) {
+            collection.add(readString(in));
+        }
+        return collection;
+    }
+
+    static <E extends Enum<E>> void writeEnum(final DataOutputStream out, final E value) throws IOException {
+        writeString(out, value == null ? null : value.name());
+    }
+
+    static <E extends Enum<E>> E readEnum(final DataInputStream in, final Class<E> type) throws IOException {
+        final String name = readString(in);
+        return name == null ? null : Enum.valueOf(type, name);
+    }
+
+    static void writeType(final DataOutputStream out, final CardType type) throws IOException {
+        if (type == null) {
+            out.writeInt(-1);
+            return;
+        }
+        // parsed types have neither all creature types nor excluded ones
+        final List<String> names = new ArrayList<>();
+        for (final CardType.CoreType t : type.getCoreTypes()) {
+            names.add(t.name());
+        }
+        writeStrings(out, names);
+        names.clear();
+        for (final CardType.Supertype t : type.getSupertypes()) {
+            names.add(t.name());
+        }
+        writeStrings(out, names);
+        names.clear();
+        type.getSubtypes().forEach(names::add);
+        writeStrings(out, names);
+    }
+
+    static CardType readType(final DataInputStream in) throws IOException {
+        final List<String> coreNames = readStrings(in, new ArrayList<>());
+        if (coreNames == null) {
+            return null;
+        }
+        final EnumSet<CardType.CoreType> coreTypes = EnumSet.noneOf(CardType.CoreType.class);
+        for (final String name : coreNames) {
+            coreTypes.add(CardType.CoreType.valueOf(name));
+        }
+        final List<String> superNames = readStrings(in, new ArrayList<>());
+        final List<String> subtypes = readStrings(in, new ArrayList<>());
+        if (superNames == null || subtypes == null) {
+            throw new IOException("Corrupt card type");
+        }
+        final EnumSet<CardType.Supertype> supertypes = EnumSet.noneOf(CardType.Supertype.class);
+        for (final String name : superNames) {
+            supertypes.add(CardType.Supertype.valueOf(name));
+        }
+        return new CardType(coreTypes, supertypes, subtypes);
+    }
+
+    static void writeManaCost(final DataOutputStream out, final ManaCost cost) throws IOException {
+        if (cost == null) {
+            out.writeByte(0);
+        } else if (cost.isNoCost()) {
+            out.writeByte(1);
+        } else {
+            out.writeByte(2);
+            out.writeInt(cost.getGenericCost());
+            final List<String> shards = new ArrayList<>();
+            for (final ManaCostShard shard : cost) {
+                shards.add(shard.name());
+            }
+            writeStrings(out, shards);
+        }
+    }
+
+    static ManaCost readManaCost(final DataInputStream in) throws IOException {
+        switch (in.readByte()) {
+        case 0:
+            return null;
+        case 1:
+            return ManaCost.NO_COST;
+        case 2:
+            final int generic = in.readInt();
+            final List<String> shards = readStrings(in, new ArrayList<>());
+            if (shards == null) {
+                throw new IOException("Mana cost without shards");
+            }
+            return new ManaCost(new IParserManaCost() {
+                private int i = 0;
+
+                @Override
+                public int getTotalGenericCost() {
+                    return generic;
+                }
+
+                @Override
+                public boolean hasNext() {
+                    return i < shards.size();
+                }
+
+                @Override
+                public ManaCostShard next() {
+                    return ManaCostShard.valueOf(shards.get(i++));
+                }
+            });
+        default:
+            throw new IOException("Corrupt mana cost");
+        }
+    }
+
+    static void writeColor(final DataOutputStream out, final ColorSet color) throws IOException {
+        out.writeShort(color == null ? -1 : color.getColor());
+    }
+
+    static ColorSet readColor(final DataInputStream in) throws IOException {
+        final short mask = in.readShort();
+        return mask == -1 ? null : ColorSet.fromMask(mask);
+    }
+
+    static void writeHints(final DataOutputStream out, final DeckHints hints) throws IOException {
+        out.writeBoolean(hints != null);
+        if (hints == null) {
+            return;
+        }
+        out.writeBoolean(hints.includesTokens());
+        final List<Pair<DeckHints.Type, String>> filters = hints.getFilters();
+        out.writeInt(filters == null ? -1 : filters.size());
+        if (filters != null) {
+            for (final Pair<DeckHints.Type, String> filter : filters) {
+                writeEnum(out, filter.getLeft());
+                writeString(out, filter.getRight());
+            }
+        }
+    }
+
+    static DeckHints readHints(final DataInputStream in) throws IOException {
+        if (!in.readBoolean()) {
+            return null;
+        }
+        final boolean tokens = in.readBoolean();
+        final int size = readLength(in, 8);
+        List<Pair<DeckHints.Type, String>> filters = null;
+        if (size != -1) {
+            filters = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                filters.add(Pair.of(readEnum(in, DeckHints.Type.class), readString(in)));
+            }
+        }
+        return new DeckHints(tokens, filters);
+    }
+}
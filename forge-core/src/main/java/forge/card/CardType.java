@@ -169,6 +169,12 @@ public final class CardType implements Comparable<CardType>, CardTypeView {
     public CardType(final CardTypeView from0) {
         addAll(from0);
     }
+    // a type as it was parsed before, see CardRulesCodec
+    CardType(final Collection<CoreType> coreTypes0, final Collection<Supertype> supertypes0, final Collection<String> subtypes0) {
+        coreTypes.addAll(coreTypes0);
+        supertypes.addAll(supertypes0);
+        subtypes.addAll(subtypes0);
+    }
 
     public boolean add(final String t) {
         boolean changed;
@@ -75,6 +75,21 @@ public class DeckHints {
         }
     }
 
+    // hints as they were parsed before, see CardRulesCodec
+    DeckHints(final boolean tokens, final List<Pair<Type, String>> filters) {
+        this.tokens = tokens;
+        this.filters = filters;
+        this.valid = filters != null;
+    }
+
+    boolean includesTokens() {
+        return tokens;
+    }
+
+    List<Pair<Type, String>> getFilters() {
+        return filters;
+    }
+
     public boolean isValid() {
         return valid;
     }
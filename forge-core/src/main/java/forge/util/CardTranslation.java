@@ -8,6 +8,7 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class CardTranslation {
 
@@ -273,8 +274,8 @@ public class CardTranslation {
             translatednames = new HashMap<>();
             translatedtypes = new HashMap<>();
             translatedoracles = new HashMap<>();
-            oracleMappings = new HashMap<>();
-            translatedCaches = new HashMap<>();
+            oracleMappings = new ConcurrentHashMap<>();
+            translatedCaches = new ConcurrentHashMap<>();
             readTranslationFile(languageSelected, languagesDirectory);
         }
     }
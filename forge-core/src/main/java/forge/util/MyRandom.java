@@ -32,6 +32,8 @@ import java.util.Random;
 public class MyRandom {
     /** Constant <code>random</code>. */
     private static Random random = new SecureRandom();
+    /** Per-thread override, lets concurrently simulated games use isolated generators. */
+    private static final ThreadLocal<Random> threadRandom = new ThreadLocal<>();
 
     /**
      * <p>
@@ -52,7 +54,8 @@ public class MyRandom {
      * @return the random
      */
     public static Random getRandom() {
-        return MyRandom.random;
+        final Random r = threadRandom.get();
+        return r != null ? r : MyRandom.random;
     }
 
     /**
@@ -63,11 +66,28 @@ public class MyRandom {
         MyRandom.random = random;
     }
 
+    /**
+     * Sets the random provider for the current thread only, taking precedence
+     * over the global one until {@link #clearThreadRandom()} is called.
+     * @param random the random
+     */
+    public static void setThreadRandom(Random random) {
+        threadRandom.set(random);
+    }
+
+    public static Random getThreadRandom() {
+        return threadRandom.get();
+    }
+
+    public static void clearThreadRandom() {
+        threadRandom.remove();
+    }
+
     public static int[] splitIntoRandomGroups(final int value, final int numGroups) {
         int[] groups = new int[numGroups];
         
         for (int i = 0; i < value; i++) {
-            groups[random.nextInt(numGroups)]++;
+            groups[getRandom().nextInt(numGroups)]++;
         }
 
         return groups;
@@ -32,9 +32,17 @@ public class FCollection<T> implements List<T>, /*Set<T>,*/ FCollectionView<T>,
     }
 
     /**
-     * The {@link Set} representation of this collection.
+     * Up to this many elements, lookups scan the list instead of a hashed
+     * index. Most collections never grow larger, and going without the index
+     * saves its memory and the hashing on every change.
      */
-    private final Set<T> set = new HashSet<>();
+    private static final int INDEX_THRESHOLD = 8;
+
+    /**
+     * The {@link Set} representation of this collection, only built once it
+     * holds more than {@link #INDEX_THRESHOLD} elements.
+     */
+    private Set<T> set;
 
     /**
      * The {@link List} representation of this collection.
@@ -172,7 +180,7 @@ public class FCollection<T> implements List<T>, /*Set<T>,*/ FCollectionView<T>,
      */
     @Override
     public int size() {
-        return set.size();
+        return list.size();
     }
 
     /**
@@ -180,11 +188,52 @@ public class FCollection<T> implements List<T>, /*Set<T>,*/ FCollectionView<T>,
      */
     @Override
     public boolean isEmpty() {
-        return set.isEmpty();
+        return list.isEmpty();
     }
 
+    /**
+     * Get an unmodifiable {@link Set} view of this collection.
+     */
     public Set<T> asSet() {
-        return set;
+        return new AbstractSet<T>() {
+            @Override
+            public int size() {
+                return FCollection.this.size();
+            }
+            @Override
+            public boolean contains(final Object o) {
+                return FCollection.this.contains(o);
+            }
+            @Override
+            public Iterator<T> iterator() {
+                return Collections.unmodifiableList(list).iterator();
+            }
+        };
+    }
+
+    /**
+     * Create the empty hashed index this collection switches to once it holds
+     * more than a few elements. Subclasses may return an index better suited
+     * to their elements, which only needs to support adding, removing and
+     * looking up single elements.
+     */
+    protected Set<T> createIndex() {
+        return new HashSet<>();
+    }
+
+    /**
+     * Build the hashed index from the list if this collection needs one, or
+     * drop it if it doesn't anymore.
+     */
+    private void updateIndex() {
+        if (list.size() <= INDEX_THRESHOLD) {
+            set = null;
+            return;
+        }
+        set = createIndex();
+        for (final T e : list) {
+            set.add(e);
+        }
     }
 
     /**
@@ -196,6 +245,8 @@ public class FCollection<T> implements List<T>, /*Set<T>,*/ FCollectionView<T>,
     public boolean contains(final Object o) {
         if (o == null)
             return false;
+        if (set == null)
+            return list.contains(o);
         return set.contains(o);
     }
 
@@ -235,6 +286,14 @@ public class FCollection<T> implements List<T>, /*Set<T>,*/ FCollectionView<T>,
     public boolean add(final T e) {
         if (e == null)
             return false;
+        if (set == null) {
+            if (list.contains(e))
+                return false;
+            list.add(e);
+            if (list.size() > INDEX_THRESHOLD)
+                updateIndex();
+            return true;
+        }
         if (set.add(e)) {
             list.add(e);
             return true;
@@ -253,6 +312,8 @@ public class FCollection<T> implements List<T>, /*Set<T>,*/ FCollectionView<T>,
     public boolean remove(final Object o) {
         if (o == null)
             return false;
+        if (set == null)
+            return list.remove(o);
         if (set.remove(o)) {
             list.remove(o);
             return true;
@@ -263,7 +324,7 @@ public class FCollection<T> implements List<T>, /*Set<T>,*/ FCollectionView<T>,
     @Override
     public boolean removeIf(Predicate<? super T> filter) {
         if (list.removeIf(filter)) {
-            set.removeIf(filter);
+            updateIndex();
             return true;
         }
         return false;
@@ -274,7 +335,11 @@ public class FCollection<T> implements List<T>, /*Set<T>,*/ FCollectionView<T>,
      */
     @Override
     public boolean containsAll(final Collection<?> c) {
-        return set.containsAll(c);
+        for (final Object o : c) {
+            if (!contains(o))
+                return false;
+        }
+        return true;
     }
 
     /**
@@ -374,8 +439,8 @@ public class FCollection<T> implements List<T>, /*Set<T>,*/ FCollectionView<T>,
      */
     @Override
     public boolean retainAll(final Collection<?> c) {
-        if (set.retainAll(c)) {
-            list.retainAll(c);
+        if (list.retainAll(c)) {
+            updateIndex();
             return true;
         }
         return false;
@@ -386,8 +451,8 @@ public class FCollection<T> implements List<T>, /*Set<T>,*/ FCollectionView<T>,
      */
     @Override
     public void clear() {
-        if (set.isEmpty()) { return; }
-        set.clear();
+        if (list.isEmpty()) { return; }
+        set = null;
         list.clear();
     }
 
@@ -427,8 +492,13 @@ public class FCollection<T> implements List<T>, /*Set<T>,*/ FCollectionView<T>,
      * @return whether this collection changed as a result of this method call.
      */
     private boolean insert(int index, final T element) {
-        if (set.add(element)) {
+        if (!contains(element)) {
             list.add(index, element);
+            if (set != null) {
+                set.add(element);
+            } else if (list.size() > INDEX_THRESHOLD) {
+                updateIndex();
+            }
             return true;
         }
         //re-position in list if needed
@@ -451,7 +521,7 @@ public class FCollection<T> implements List<T>, /*Set<T>,*/ FCollectionView<T>,
     @Override
     public T remove(final int index) {
         final T removedItem = list.remove(index);
-        if (removedItem != null) {
+        if (removedItem != null && set != null) {
             set.remove(removedItem);
         }
         return removedItem;
@@ -554,12 +624,12 @@ public class FCollection<T> implements List<T>, /*Set<T>,*/ FCollectionView<T>,
 
     @Override
     public boolean anyMatch(Predicate<? super T> test) {
-        return set.stream().anyMatch(test);
+        return list.stream().anyMatch(test);
     }
 
     @Override
     public boolean allMatch(Predicate<? super T> test) {
-        return set.stream().allMatch(test);
+        return list.stream().allMatch(test);
     }
 
     /**
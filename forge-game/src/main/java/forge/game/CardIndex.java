@@ -0,0 +1,110 @@
+package forge.game;
+
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.ListMultimap;
+
+import forge.game.card.Card;
+import forge.game.player.Player;
+import forge.game.zone.Zone;
+import forge.game.zone.ZoneType;
+
+/**
+ * Id lookup of the cards visited by {@link Game#forEachCardInGame}, kept up to date by the zones as cards are
+ * added and removed, so that finding a card by id doesn't need to walk every zone of every player.
+ */
+public final class CardIndex {
+    /** Player zones that are part of the game, sideboards are only visited on request and not indexed. */
+    private static final Set<ZoneType> PLAYER_ZONES = EnumSet.of(ZoneType.Graveyard, ZoneType.Hand, ZoneType.Library,
+            ZoneType.Battlefield, ZoneType.Exile);
+    static {
+        PLAYER_ZONES.addAll(ZoneType.PART_OF_COMMAND_ZONE);
+    }
+
+    private final Game game;
+    private final Map<Integer, Card> byId = new HashMap<>();
+    // further entries for an id while it's in more than one place at once, e.g. during a zone change
+    private final ListMultimap<Integer, Card> duplicates = ArrayListMultimap.create();
+
+    CardIndex(final Game game) {
+        this.game = game;
+    }
+
+    /**
+     * Whether the cards of the given zone are visited by {@link Game#forEachCardInGame}, as opposed to
+     * LKI copies, extra zones or zones of players that left the game.
+     */
+    public boolean isIndexed(final Zone zone) {
+        if (zone.is(ZoneType.Stack)) {
+            return game.getStackZone() == zone;
+        }
+        final Player p = zone.getPlayer();
+        return p != null && PLAYER_ZONES.contains(zone.getZoneType()) && p.getZone(zone.getZoneType()) == zone
+                && game.getPlayers().contains(p);
+    }
+
+    public void add(final Card c) {
+        final Card prev = byId.putIfAbsent(c.getId(), c);
+        if (prev != null) {
+            duplicates.put(c.getId(), c);
+        }
+    }
+
+    /**
+     * @param c the very card instance that was removed, not another state of it.
+     */
+    public void remove(final Card c) {
+        final Integer id = c.getId();
+        final List<Card> dups = duplicates.get(id);
+        if (byId.get(id) == c) {
+            if (dups.isEmpty()) {
+                byId.remove(id);
+            } else {
+                byId.put(id, dups.remove(0));
+            }
+            return;
+        }
+        for (final Iterator<Card> it = dups.iterator(); it.hasNext();) {
+            if (it.next() == c) {
+                it.remove();
+                return;
+            }
+        }
+    }
+
+    public void removeAll(final Iterable<Card> cards) {
+        for (final Card c : cards) {
+            remove(c);
+        }
+    }
+
+    /**
+     * Called once the player is no longer among the players of the game, whose cards aren't visited any more.
+     */
+    void removePlayer(final Player p) {
+        for (final ZoneType zt : PLAYER_ZONES) {
+            final Zone zone = p.getZone(zt);
+            if (zone != null) {
+                removeAll(zone.getCards(false));
+            }
+        }
+        removeAll(p.getInboundTokens());
+    }
+
+    /**
+     * @return whether the index can't tell which of several cards with that id would be found first.
+     */
+    boolean isAmbiguous(final int id) {
+        return duplicates.containsKey(id);
+    }
+
+    Card get(final int id) {
+        return byId.get(id);
+    }
+}
@@ -24,7 +24,6 @@ import com.google.common.collect.Maps;
 import com.google.common.collect.Multimap;
 import com.google.common.collect.Sets;
 import com.google.common.collect.Table;
-import com.google.common.eventbus.EventBus;
 import forge.GameCommand;
 import forge.card.CardRarity;
 import forge.card.CardStateName;
@@ -32,6 +31,9 @@ import forge.game.ability.AbilityKey;
 import forge.game.card.*;
 import forge.game.combat.Combat;
 import forge.game.event.Event;
+import forge.game.event.EventDispatcher;
+import forge.game.event.GameEvent;
+import forge.game.event.GameEventCardStatsChanged;
 import forge.game.event.GameEventDayTimeChanged;
 import forge.game.event.GameEventGameOutcome;
 import forge.game.phase.Phase;
@@ -56,15 +58,17 @@ import org.apache.commons.lang3.ObjectUtils;
 import org.apache.commons.lang3.tuple.Pair;
 
 import java.util.*;
+import java.util.function.Consumer;
 import java.util.function.Predicate;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Represents the state of a <i>single game</i>, a new instance is created for each game.
  */
 public class Game {
 
-    private static int maxId = 0;
-    private static int nextId() { return ++maxId; }
+    private static final AtomicInteger maxId = new AtomicInteger();
+    private static int nextId() { return maxId.incrementAndGet(); }
 
     /** The ID. */
     private int id;
@@ -90,9 +94,11 @@ public class Game {
     private final StaticEffects staticEffects = new StaticEffects();
     private final TriggerHandler triggerHandler = new TriggerHandler(this);
     private final ReplacementHandler replacementHandler = new ReplacementHandler(this);
-    private final EventBus events = new EventBus("game events");
+    private final EventDispatcher events = new EventDispatcher("game events");
     private final GameLog gameLog = new GameLog();
 
+    private final CardIndex cardIndex = new CardIndex(this);
+    private final ZoneSnapshots zoneSnapshots = new ZoneSnapshots(this);
     private final Zone stackZone = new Zone(ZoneType.Stack, this);
     public int AI_TIMEOUT = 5;
     public boolean AI_CAN_USE_TIMEOUT = true;
@@ -104,6 +110,7 @@ public class Game {
     private GameSnapshot previousGameState = null;
     private CardCollection lastStateBattlefield = new CardCollection();
     private CardCollection lastStateGraveyard = new CardCollection();
+    private final LastStateCopies lastStateCopies = new LastStateCopies(this);
 
     private CardZoneTable untilHostLeavesPlayTriggerList = new CardZoneTable();
 
@@ -210,6 +217,21 @@ public class Game {
         lastStateBattlefield.clear();
         lastStateGraveyard.clear();
         Map<Integer, Card> cachedMap = Maps.newHashMap();
+        if (getRules().reuseLastStateCopies()) {
+            List<Zone> zones = Lists.newArrayList();
+            for (final Player p : getPlayers()) {
+                zones.add(p.getZone(ZoneType.Battlefield));
+                zones.add(p.getZone(ZoneType.Graveyard));
+            }
+            for (final Zone lki : lastStateCopies.getLKICopies(zones, cachedMap, true)) {
+                if (lki.is(ZoneType.Battlefield)) {
+                    lastStateBattlefield.addAll(lki);
+                } else {
+                    lastStateGraveyard.addAll(lki);
+                }
+            }
+            return;
+        }
         for (final Player p : getPlayers()) {
             lastStateBattlefield.addAll(p.getZone(ZoneType.Battlefield).getLKICopy(cachedMap));
             lastStateGraveyard.addAll(p.getZone(ZoneType.Graveyard).getLKICopy(cachedMap));
@@ -219,6 +241,16 @@ public class Game {
     public CardCollectionView copyLastState(ZoneType type) {
         CardCollection result = new CardCollection();
         Map<Integer, Card> cachedMap = Maps.newHashMap();
+        if (getRules().reuseLastStateCopies()) {
+            List<Zone> zones = Lists.newArrayList();
+            for (final Player p : getPlayers()) {
+                zones.add(p.getZone(type));
+            }
+            for (final Zone lki : lastStateCopies.getLKICopies(zones, cachedMap, false)) {
+                result.addAll(lki);
+            }
+            return result;
+        }
         for (final Player p : getPlayers()) {
             result.addAll(p.getZone(type).getLKICopy(cachedMap));
         }
@@ -246,7 +278,11 @@ public class Game {
         if (lookup != null) {
             lastStateBattlefield.remove(c);
             lastStateGraveyard.remove(c);
-            lookup.add(CardCopyService.getLKICopy(c));
+            Card copy = CardCopyService.getLKICopy(c);
+            if (getRules().reuseLastStateCopies()) {
+                lastStateCopies.put(c, copy);
+            }
+            lookup.add(copy);
         }
     }
 
@@ -316,6 +352,8 @@ public class Game {
         match = match0;
         maingame = maingame0;
         this.id = nextId();
+        // a subgame shares its cards with the main game, so it shares their trigger ids as well
+        triggerIdCounter = maingame0 != null ? maingame0.triggerIdCounter : new AtomicInteger();
 
         int highestTeam = -1;
         for (RegisteredPlayer psc : players0) {
@@ -364,18 +402,19 @@ public class Game {
         phaseHandler = new PhaseHandler(this);
 
         untap = new Untap(this);
-        upkeep = new Phase(PhaseType.UPKEEP);
-        beginOfCombat = new Phase(PhaseType.COMBAT_BEGIN);
-        endOfCombat = new Phase(PhaseType.COMBAT_END);
-        endOfTurn = new Phase(PhaseType.END_OF_TURN);
-        cleanup = new Phase(PhaseType.CLEANUP);
+        upkeep = new Phase(this, PhaseType.UPKEEP);
+        beginOfCombat = new Phase(this, PhaseType.COMBAT_BEGIN);
+        endOfCombat = new Phase(this, PhaseType.COMBAT_END);
+        endOfTurn = new Phase(this, PhaseType.END_OF_TURN);
+        cleanup = new Phase(this, PhaseType.CLEANUP);
 
         sbaCheckedCommandList = new ArrayList<>();
 
         // update players
         view.updatePlayers(this);
 
-        subscribeToEvents(gameLog.getEventVisitor());
+        events.setHeadless(rules.isHeadless());
+        subscribeToEvents(GameEvent.class, gameLog.getEventVisitor()::recieve);
     }
 
     public GameView getView() {
@@ -386,6 +425,21 @@ public class Game {
         return tracker;
     }
 
+    /**
+     * Grows with every change to this game: the ones shown in the views of the game, its players and its cards, and
+     * the ones counted by {@link #updateStateVersion()}, like zone, stack, phase and combat changes. Whatever is worked
+     * out from the state of the game alone stays valid as long as this doesn't move, see {@link StateVersionCache}.
+     * <p>
+     * {@link forge.game.card.Card#getLKIVersion()} and {@link forge.game.player.Player#getStateVersion()} count the
+     * changes to one card or player only.
+     */
+    public int getStateVersion() {
+        return tracker.getChangeCount();
+    }
+    public void updateStateVersion() {
+        tracker.countChange();
+    }
+
     /**
      * Gets the players who are still fighting to win.
      */
@@ -468,12 +522,15 @@ public class Game {
     }
 
     public final void updateTurnForView() {
+        updateStateVersion();
         view.updateTurn(phaseHandler);
     }
     public final void updatePhaseForView() {
+        updateStateVersion();
         view.updatePhase(phaseHandler);
     }
     public final void updatePlayerTurnForView() {
+        updateStateVersion();
         view.updatePlayerTurn(phaseHandler);
     }
 
@@ -481,6 +538,7 @@ public class Game {
         return stack;
     }
     public final void updateStackForView() {
+        updateStateVersion();
         view.updateStack(stack);
     }
 
@@ -488,6 +546,7 @@ public class Game {
         return getPhaseHandler().getCombat();
     }
     public final void updateCombatForView() {
+        updateStateVersion();
         view.updateCombat(getCombat());
     }
 
@@ -498,6 +557,14 @@ public class Game {
         view.updateGameLog(gameLog);
     }
 
+    public final CardIndex getCardIndex() {
+        return cardIndex;
+    }
+
+    public final ZoneSnapshots getZoneSnapshots() {
+        return zoneSnapshots;
+    }
+
     public final Zone getStackZone() {
         return stackZone;
     }
@@ -535,6 +602,7 @@ public class Game {
      */
     public final long getNextTimestamp() {
         timestamp = getTimestamp() + 1;
+        invalidateStaticAbilities();
         return getTimestamp();
     }
     public final long getTimestamp() {
@@ -587,11 +655,11 @@ public class Game {
         return card == null ? null : card.getLastKnownZone();
     }
 
-    public synchronized CardCollectionView getCardsIn(final ZoneType zone) {
+    public CardCollectionView getCardsIn(final ZoneType zone) {
         if (zone == ZoneType.Stack) {
             return getStackZone().getCards();
         }
-        return getPlayers().getCardsIn(zone);
+        return zoneSnapshots.get(zone);
     }
 
     public CardCollectionView getCardsIncludePhasingIn(final ZoneType zone) {
@@ -667,6 +735,10 @@ public class Game {
         return getCardState(card, card);
     }
     public Card getCardState(final Card card, final Card notFound) {
+        if (!cardIndex.isAmbiguous(card.getId())) {
+            final Card found = cardIndex.get(card.getId());
+            return found == null ? notFound : found;
+        }
         CardStateVisitor visit = new CardStateVisitor(card);
         this.forEachCardInGame(visit);
         return visit.getFound(notFound);
@@ -703,12 +775,15 @@ public class Game {
         } else if (view.getController() != null && view.getZone() != null) {
             visit.visitAll(getPlayer(view.getController()).getZone(view.getZone()));
         } else { // fallback if view doesn't has controller or zone set for some reason
-            forEachCardInGame(visit);
+            return findById(view.getId());
         }
         return visit.getFound();
     }
 
     public Card findById(int id) {
+        if (!cardIndex.isAmbiguous(id)) {
+            return cardIndex.get(id);
+        }
         CardIdVisitor visit = new CardIdVisitor(id);
         this.forEachCardInGame(visit);
         return visit.getFound();
@@ -972,6 +1047,8 @@ public class Game {
 
         ingamePlayers.remove(p);
         lostPlayers.add(p);
+        cardIndex.removePlayer(p);
+        zoneSnapshots.changedAll();
 
         final Map<AbilityKey, Object> runParams = AbilityKey.mapFromPlayer(p);
         getTriggerHandler().runTrigger(TriggerType.LosesGame, runParams, false);
@@ -984,10 +1061,32 @@ public class Game {
      * The events are sent to UI, log and sound system. Network listeners are under development.
      */
     public void fireEvent(final Event event) {
+        if (!(event instanceof GameEventCardStatsChanged)) {
+            invalidateStaticAbilities();
+        }
         events.post(event);
     }
-    public void subscribeToEvents(final Object subscriber) {
-        events.register(subscriber);
+    /**
+     * @see GameAction#invalidateStaticAbilities()
+     */
+    public void invalidateStaticAbilities() {
+        if (action != null) {
+            action.invalidateStaticAbilities();
+        }
+    }
+
+    /**
+     * Receive the events of this game of the given type and its subtypes.
+     */
+    public <E extends Event> void subscribeToEvents(final Class<E> type, final Consumer<? super E> subscriber) {
+        events.subscribe(type, subscriber);
+    }
+    /**
+     * Like {@link #subscribeToEvents}, for the UI, sound system and others that only show the events to someone
+     * watching the game, which are left out of {@link GameRules#isHeadless() headless} games.
+     */
+    public <E extends Event> void subscribePresenterToEvents(final Class<E> type, final Consumer<? super E> subscriber) {
+        events.subscribePresenter(type, subscriber);
     }
 
     public GameRules getRules() {
@@ -1008,6 +1107,27 @@ public class Game {
         age = value;
     }
 
+    // per game rather than global, so that games running at the same time don't hand out each other's ids
+    private AtomicInteger triggerIdCounter;
+    public int nextTriggerId() {
+        return triggerIdCounter.incrementAndGet();
+    }
+
+    /**
+     * Let the ids of new triggers follow those of the given game, so that a trigger copied over from it keeps an id
+     * of its own.
+     */
+    public void dangerouslySetTriggerIdsAfter(Game game) {
+        triggerIdCounter = new AtomicInteger(game.triggerIdCounter.get());
+    }
+
+    /**
+     * Hand out trigger ids together with the given game, for a copy that cards move back and forth with.
+     */
+    void shareTriggerIds(Game game) {
+        triggerIdCounter = game.triggerIdCounter;
+    }
+
     private int cardIdCounter = 0, hiddenCardIdCounter = 0;
     public int nextCardId() {
         return ++cardIdCounter;
@@ -1121,6 +1241,7 @@ public class Game {
     public void clearCaches() {
         lastStateBattlefield.clear();
         lastStateGraveyard.clear();
+        lastStateCopies.clear();
         //playerCache.clear();
     }
 
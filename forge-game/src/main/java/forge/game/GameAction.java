@@ -76,6 +76,10 @@ public class GameAction {
 
     private boolean holdCheckingStaticAbilities = false;
 
+    // see GameRules.useIncrementalStaticAbilities
+    private boolean staticAbilitiesDirty = true;
+    private boolean applyingStaticAbilities = false;
+
     private final static Comparator<StaticAbility> effectOrder = Comparator.comparing(StaticAbility::isCharacteristicDefining).reversed()
             .thenComparing(StaticAbility::getTimestamp);
 
@@ -1048,6 +1052,17 @@ public class GameAction {
         return holdCheckingStaticAbilities;
     }
 
+    /**
+     * Something a continuous effect might depend on has changed (zone, controller, counters, traits, timestamps or any
+     * other change announced by an event), so the next check can't skip reapplying the static abilities.
+     * Changes done by applying the static abilities themselves are ignored.
+     */
+    public void invalidateStaticAbilities() {
+        if (!applyingStaticAbilities) {
+            staticAbilitiesDirty = true;
+        }
+    }
+
     // This doesn't check layers or if the ability gets removed by other effects
     public boolean hasStaticAbilityAffectingZone(ZoneType zone, StaticAbilityLayer layer) {
         for (final Card ca : game.getCardsIn(ZoneType.STATIC_ABILITIES_SOURCE_ZONES)) {
@@ -1079,7 +1094,15 @@ public class GameAction {
         if (game.isGameOver()) {
             return;
         }
+        List<String> skippedResult = null;
+        if (!staticAbilitiesDirty && preList.isEmpty() && game.getRules().useIncrementalStaticAbilities()) {
+            if (!game.getRules().verifyStaticAbilities()) {
+                return;
+            }
+            skippedResult = describeStaticAbilityResults();
+        }
         game.getTracker().freeze(); //prevent views flickering during while updating for state-based effects
+        applyingStaticAbilities = true;
 
         // remove old effects
         game.getStaticEffects().clearStaticEffects(affectedCards);
@@ -1097,6 +1120,10 @@ public class GameAction {
             public boolean visit(final Card c) {
                 // need to get Card from preList if able
                 final Card co = preList.get(c);
+                if (co.hasDeferredTraits()) {
+                    // none of them could work from the library, see CardFactory#getLibraryCard
+                    return true;
+                }
                 for (StaticAbility stAb : co.getStaticAbilities()) {
                     if (stAb.checkMode(StaticAbilityMode.Continuous) && stAb.zonesCheck()) {
                         staticAbilities.add(stAb);
@@ -1166,6 +1193,9 @@ public class GameAction {
                 p.afterStaticAbilityLayer(layer);
             }
         }
+        applyingStaticAbilities = false;
+        // a pre Check with LKI objects leaves the effects applied for them
+        staticAbilitiesDirty = !preList.isEmpty();
 
         for (final CardCollectionView affected : affectedPerAbility.values()) {
             if (affected != null) {
@@ -1188,6 +1218,7 @@ public class GameAction {
                     ((GameCommand) staticCheck[3]).run();
                     toRemove.add(staticCheck);
                     affectedCards.add(c);
+                    staticAbilitiesDirty = true;
                 }
             }
             c.getStaticCommandList().removeAll(toRemove);
@@ -1208,6 +1239,7 @@ public class GameAction {
                             c.setPairedWith(null);
                             partner.setPairedWith(null);
                             affectedCards.add(c);
+                            staticAbilitiesDirty = true;
                         }
                     }
                 }
@@ -1222,12 +1254,22 @@ public class GameAction {
         }
 
         // Update P/T and type in the view only once after all the cards have been processed, to avoid flickering
+        applyingStaticAbilities = true;
         for (Card c : affectedCards) {
             c.updateNameforView();
             c.updatePTforView();
             c.updateTypesForView();
             c.updateKeywords();
         }
+        applyingStaticAbilities = false;
+
+        if (skippedResult != null) {
+            final List<String> result = describeStaticAbilityResults();
+            if (!skippedResult.equals(result)) {
+                result.removeAll(skippedResult);
+                throw new IllegalStateException("Skipped static abilities check would have missed changes: " + result);
+            }
+        }
 
         // TODO filter out old copies from zone change
 
@@ -1237,6 +1279,42 @@ public class GameAction {
         game.getTracker().unfreeze();
     }
 
+    /**
+     * What the continuous effects decide about each object, compared when verifying that a skipped check was right.
+     */
+    private List<String> describeStaticAbilityResults() {
+        final List<String> result = Lists.newArrayList();
+        // building the keyword caches isn't a change
+        applyingStaticAbilities = true;
+        game.forEachCardInGame(new Visitor<Card>() {
+            @Override
+            public boolean visit(final Card c) {
+                final StringBuilder sb = new StringBuilder();
+                sb.append(c.getId()).append(' ').append(c.getName());
+                sb.append(' ').append(c.getController()).append(' ').append(c.getZone());
+                sb.append(' ').append(c.getNetPower()).append('/').append(c.getNetToughness());
+                sb.append(' ').append(c.getType()).append(' ').append(c.getColor());
+                for (final KeywordInterface ki : c.getKeywords()) {
+                    sb.append(' ').append(ki.getOriginal());
+                }
+                sb.append(" abilities ").append(c.getSpellAbilities().size()).append(' ').append(c.getTriggers().size());
+                sb.append(' ').append(c.getStaticAbilities().size()).append(' ').append(c.getReplacementEffects().size());
+                result.add(sb.toString());
+                return true;
+            }
+        }, true);
+        for (final Player p : game.getPlayers()) {
+            final StringBuilder sb = new StringBuilder();
+            sb.append(p).append(' ').append(p.getMaxHandSize());
+            for (final KeywordInterface ki : p.getKeywords()) {
+                sb.append(' ').append(ki.getOriginal());
+            }
+            result.add(sb.toString());
+        }
+        applyingStaticAbilities = false;
+        return result;
+    }
+
     private StaticAbility findStaticAbilityToApply(StaticAbilityLayer layer, List<StaticAbility> staticsForLayer, CardCollectionView preList, Map<StaticAbility, CardCollectionView> affectedPerAbility,
                                                    Table<StaticAbility, StaticAbility, Set<StaticAbilityLayer>> dependencies) {
         StaticAbility first = staticsForLayer.get(0);
@@ -2174,6 +2252,7 @@ public class GameAction {
 
         final ZoneType zone = cards.getFirst().getZone().getZoneType();
         final Player owner = cards.getFirst().getOwner();
+        buildDeferredTraits(cards);
         for (final Player p : to) {
             p.getController().reveal(cards, zone, owner, messagePrefix, addSuffix);
         }
@@ -2200,6 +2279,7 @@ public class GameAction {
         reveal(cards, zt, cardOwner, dontRevealToOwner, messagePrefix, true);
     }
     public void reveal(CardCollectionView cards, ZoneType zt, Player cardOwner, boolean dontRevealToOwner, String messagePrefix, boolean msgAddSuffix) {
+        buildDeferredTraits(cards);
         for (Player p : game.getPlayers()) {
             if (dontRevealToOwner && cardOwner == p) {
                 continue;
@@ -2208,6 +2288,13 @@ public class GameAction {
         }
     }
 
+    // revealed library cards are shown with their abilities
+    private static void buildDeferredTraits(final CardCollectionView cards) {
+        for (final Card c : cards) {
+            c.buildDeferredTraits();
+        }
+    }
+
     public void revealUnplayableByAI(String title, Map<Player, Map<DeckSection, List<? extends PaperCard>>> unplayableCards) {
         // Notify both players
         for (Player p : game.getPlayers()) {
@@ -2249,7 +2336,7 @@ public class GameAction {
 
         //shuffle
         List<Card> shuffledCards = Lists.newArrayList(p1.getZone(ZoneType.Library).getCards().threadSafeIterable());
-        Collections.shuffle(shuffledCards);
+        Collections.shuffle(shuffledCards, MyRandom.getRandom());
 
         //check a second hand
         List<Card> hand2 = shuffledCards.subList(0,p1.getMaxHandSize());
@@ -17,12 +17,14 @@
  */
 package forge.game;
 
+import java.io.IOException;
 import java.io.Serializable;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Observable;
 
-import forge.game.event.IGameEventVisitor;
 
 /**
  * <p>
@@ -34,7 +36,7 @@ import forge.game.event.IGameEventVisitor;
 public class GameLog extends Observable implements Serializable {
     private static final long serialVersionUID = 6465283802022948827L;
 
-    private final List<GameLogEntry> log = new ArrayList<>();
+    private final ArrayDeque<GameLogEntry> log = new ArrayDeque<>();
 
     private final transient GameLogFormatter formatter = new GameLogFormatter(this);
 
@@ -46,17 +48,102 @@ public class GameLog extends Observable implements Serializable {
      * 6 - All Phase information
      */
 
+    // entries of less important types than this are dropped, null keeps all
+    private GameLogEntryType level = null;
+    // turns the log off, the events of the game aren't even formatted
+    private boolean enabled = true;
+    // how many entries are kept, the oldest are dropped first, 0 for no limit
+    private int capacity = 0;
+    // where each entry is written to as soon as it's added, whether it's kept or not
+    private transient Appendable stream = null;
+
     public GameLog() {
     }
 
     public void add(final GameLogEntryType type, final String message) {
+        if (!isLogged(type)) {
+            return;
+        }
         add(new GameLogEntry(type, message));
     }
 
     void add(GameLogEntry entry) {
-        log.add(entry);
-        this.setChanged();
-        this.notifyObservers();
+        if (!isLogged(entry.type)) {
+            return;
+        }
+        synchronized (log) {
+            if (capacity > 0 && log.size() >= capacity) {
+                log.pollFirst();
+            }
+            log.add(entry);
+            if (stream != null) {
+                try {
+                    stream.append(entry.toString()).append(System.lineSeparator());
+                } catch (final IOException e) {
+                    System.err.println("Could not write game log: " + e.getMessage());
+                    stream = null;
+                }
+            }
+        }
+        if (countObservers() > 0) {
+            this.setChanged();
+            this.notifyObservers();
+        }
+    }
+
+    private boolean isLogged(final GameLogEntryType type) {
+        return enabled && (level == null || type.compareTo(level) <= 0);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Turn the log off or on again. While it's off nothing is added to it, and the events of the game aren't turned
+     * into entries at all.
+     */
+    public void setEnabled(final boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public GameLogEntryType getLevel() {
+        return level;
+    }
+
+    /**
+     * Only add entries of the given type and the more important ones before it, or all of them for null.
+     */
+    public void setLevel(final GameLogEntryType level) {
+        this.level = level;
+    }
+
+    /**
+     * Keep no more than the given number of entries, dropping the oldest ones first, or all of them for 0.
+     */
+    public void setCapacity(final int capacity) {
+        synchronized (log) {
+            this.capacity = capacity;
+            while (capacity > 0 && log.size() > capacity) {
+                log.pollFirst();
+            }
+        }
+    }
+
+    public int size() {
+        synchronized (log) {
+            return log.size();
+        }
+    }
+
+    /**
+     * Also write each entry to the given stream as it's added, one per line, or stop writing for null. The stream
+     * isn't flushed or closed by the log.
+     */
+    public void setStream(final Appendable stream) {
+        synchronized (log) {
+            this.stream = stream;
+        }
     }
 
     /**
@@ -67,11 +154,13 @@ public class GameLog extends Observable implements Serializable {
      */
     public List<GameLogEntry> getLogEntries(final GameLogEntryType logLevel) { // null to fetch all
         final List<GameLogEntry> result = new ArrayList<>();
-    
-        for (int i = log.size() - 1; i >= 0; i--) {
-            GameLogEntry le = log.get(i);
-            if (logLevel == null || le.type.compareTo(logLevel) <= 0) {
-                result.add(le);
+
+        synchronized (log) {
+            for (final Iterator<GameLogEntry> it = log.descendingIterator(); it.hasNext(); ) {
+                GameLogEntry le = it.next();
+                if (logLevel == null || le.type.compareTo(logLevel) <= 0) {
+                    result.add(le);
+                }
             }
         }
         return result;
@@ -79,17 +168,19 @@ public class GameLog extends Observable implements Serializable {
 
     public List<GameLogEntry> getLogEntriesExact(final GameLogEntryType logLevel) { // null to fetch all
         final List<GameLogEntry> result = new ArrayList<>();
-    
-        for (int i = log.size() - 1; i >= 0; i--) {
-            GameLogEntry le = log.get(i);
-            if (logLevel == null || le.type.compareTo(logLevel) == 0) {
-                result.add(le);
+
+        synchronized (log) {
+            for (final Iterator<GameLogEntry> it = log.descendingIterator(); it.hasNext(); ) {
+                GameLogEntry le = it.next();
+                if (logLevel == null || le.type.compareTo(logLevel) == 0) {
+                    result.add(le);
+                }
             }
         }
         return result;
     }
 
-    public IGameEventVisitor<?> getEventVisitor() {
+    public GameLogFormatter getEventVisitor() {
         return formatter;
     }
 }
@@ -5,7 +5,6 @@ import java.util.HashMap;
 import java.util.Map.Entry;
 
 import com.google.common.collect.Iterables;
-import com.google.common.eventbus.Subscribe;
 
 import forge.LobbyPlayer;
 import forge.game.card.Card;
@@ -316,8 +315,10 @@ public class GameLogFormatter extends IGameEventVisitor.Base<GameLogEntry> {
         return new GameLogEntry(GameLogEntryType.STACK_RESOLVE, ev.toString());
     }
 
-    @Subscribe
     public void recieve(GameEvent ev) {
+        if (!log.isEnabled()) {
+            return;
+        }
         GameLogEntry le = ev.visit(this);
         if (le != null) {
             log.add(le);
@@ -23,6 +23,25 @@ public class GameRules {
     // whether to warn about cards AI can't play well
     private boolean warnAboutAICards = true;
 
+    // skip recomputing the continuous effects while nothing they could depend on has changed
+    private boolean incrementalStaticAbilities = false;
+    // recompute them anyway and fail if the skipped result would have differed, meant for tests
+    private boolean verifyStaticAbilities = false;
+
+    // keep the last known information of cards that didn't change instead of copying them again
+    private boolean reuseLastStateCopies = false;
+    // compare what is kept with a new copy and fail if they differ, meant for tests
+    private boolean verifyLastStateCopies = false;
+
+    // build the replacement effects cards keep by event again each time and fail if they differ, meant for tests
+    private boolean verifyReplacementEffects = false;
+
+    // nobody watches the games, so the UI and sound system don't need their events
+    private boolean headless = false;
+
+    // build the abilities of library cards when they are needed instead of at the start of the game
+    private boolean lazyLibraryCards = false;
+
     public GameRules(final GameType type) {
         this.gameType = type;
     }
@@ -133,4 +152,53 @@ public class GameRules {
     public void setSimTimeout(final int duration) {
         this.simTimeout = duration;
     }
+
+    public boolean useIncrementalStaticAbilities() {
+        return incrementalStaticAbilities;
+    }
+    public void setIncrementalStaticAbilities(final boolean incremental) {
+        this.incrementalStaticAbilities = incremental;
+    }
+
+    public boolean verifyStaticAbilities() {
+        return verifyStaticAbilities;
+    }
+    public void setVerifyStaticAbilities(final boolean verify) {
+        this.verifyStaticAbilities = verify;
+    }
+
+    public boolean reuseLastStateCopies() {
+        return reuseLastStateCopies;
+    }
+    public void setReuseLastStateCopies(final boolean reuse) {
+        this.reuseLastStateCopies = reuse;
+    }
+
+    public boolean verifyLastStateCopies() {
+        return verifyLastStateCopies;
+    }
+    public void setVerifyLastStateCopies(final boolean verify) {
+        this.verifyLastStateCopies = verify;
+    }
+
+    public boolean verifyReplacementEffects() {
+        return verifyReplacementEffects;
+    }
+    public void setVerifyReplacementEffects(final boolean verify) {
+        this.verifyReplacementEffects = verify;
+    }
+
+    public boolean isHeadless() {
+        return headless;
+    }
+    public void setHeadless(final boolean headless) {
+        this.headless = headless;
+    }
+
+    public boolean useLazyLibraryCards() {
+        return lazyLibraryCards;
+    }
+    public void setLazyLibraryCards(final boolean lazy) {
+        this.lazyLibraryCards = lazy;
+    }
 }
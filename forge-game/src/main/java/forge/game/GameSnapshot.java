@@ -48,6 +48,8 @@ public class GameSnapshot {
         GameRules currentRules = origGame.getRules();
         Match newMatch = new Match(currentRules, newPlayers, origGame.getView().getTitle());
         newGame = new Game(newPlayers, currentRules, newMatch);
+        // cards copied back keep the trigger ids they got in the copy
+        newGame.shareTriggerIds(origGame);
         restore = false;
         assignGameState(origGame, newGame, includeStack);
         //System.out.println("Storing game state with timestamp of :" + origGame.getTimestamp());
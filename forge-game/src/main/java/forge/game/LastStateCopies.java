@@ -0,0 +1,200 @@
+package forge.game;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.Iterables;
+import com.google.common.collect.ListMultimap;
+import com.google.common.collect.Maps;
+
+import forge.game.card.Card;
+import forge.game.card.CardCopyService;
+import forge.game.card.CardView.CardStateView;
+import forge.game.keyword.KeywordInterface;
+import forge.game.zone.Zone;
+
+/**
+ * The LKI copies taken by {@link Game#copyLastState}, kept from one call to the next so that cards which haven't
+ * changed since they were last copied don't need to be copied again, see {@link GameRules#reuseLastStateCopies()}.
+ * <p>
+ * Whether a card changed is told by {@link Card#getLKIVersion()} together with the view of its current state.
+ * A copy refers to the copies of the cards it's attached to, exiled with and so on, so such related cards are only
+ * reused together, and cards related to something outside the copied zones are always copied again.
+ */
+public final class LastStateCopies {
+    private static final class Entry {
+        final Card copy;
+        final long version;
+        final CardStateView stateView;
+        final int stateChanges;
+
+        Entry(final Card c, final Card copy) {
+            this.copy = copy;
+            this.version = c.getLKIVersion();
+            this.stateView = c.getCurrentState().getView();
+            this.stateChanges = stateView.getChangeCount();
+        }
+
+        boolean isUpToDate(final Card c) {
+            return version == c.getLKIVersion() && stateView == c.getCurrentState().getView()
+                    && stateChanges == stateView.getChangeCount();
+        }
+    }
+
+    private final Game game;
+    private Map<Integer, Entry> entries = new HashMap<>();
+
+    LastStateCopies(final Game game) {
+        this.game = game;
+    }
+
+    /**
+     * LKI copies of the given zones like {@link Zone#getLKICopy}, reusing earlier copies of unchanged cards.
+     *
+     * @param cachedMap copies by card id, shared with the copies of related cards like in
+     *        {@link CardCopyService#getLKICopyList}
+     * @param all whether these are all zones that will be copied again later, so the copies of cards in any other
+     *        zone can be forgotten
+     */
+    public List<Zone> getLKICopies(final List<Zone> zones, final Map<Integer, Card> cachedMap, final boolean all) {
+        final List<Card> cards = new ArrayList<>();
+        for (final Zone zone : zones) {
+            Iterables.addAll(cards, zone);
+        }
+        final Map<Integer, Card> byId = Maps.newHashMapWithExpectedSize(cards.size());
+        for (final Card c : cards) {
+            byId.put(c.getId(), c);
+        }
+
+        final Set<Integer> changed = new HashSet<>();
+        final ListMultimap<Integer, Card> related = ArrayListMultimap.create();
+        final List<Card> relatedOfCard = new ArrayList<>();
+        for (final Card c : cards) {
+            final Entry e = entries.get(c.getId());
+            if (e == null || !e.isUpToDate(c)) {
+                changed.add(c.getId());
+            }
+            relatedOfCard.clear();
+            addRelatedCards(c, relatedOfCard);
+            for (final Card r : relatedOfCard) {
+                if (byId.get(r.getId()) != r) {
+                    changed.add(c.getId());
+                    continue;
+                }
+                related.put(c.getId(), r);
+                related.put(r.getId(), c);
+            }
+        }
+        final Deque<Integer> toVisit = new ArrayDeque<>(changed);
+        while (!toVisit.isEmpty()) {
+            for (final Card r : related.get(toVisit.poll())) {
+                if (changed.add(r.getId())) {
+                    toVisit.add(r.getId());
+                }
+            }
+        }
+
+        final boolean verify = game.getRules().verifyLastStateCopies();
+        for (final Card c : cards) {
+            if (!changed.contains(c.getId())) {
+                final Card copy = entries.get(c.getId()).copy;
+                cachedMap.putIfAbsent(c.getId(), copy);
+                if (verify) {
+                    verify(c, copy);
+                }
+            }
+        }
+
+        final Map<Integer, Entry> result = all ? Maps.newHashMapWithExpectedSize(cards.size()) : entries;
+        final List<Zone> copies = new ArrayList<>(zones.size());
+        for (final Zone zone : zones) {
+            final List<Card> zoneCopies = new ArrayList<>(zone.size());
+            for (final Card c : zone) {
+                final Entry e;
+                if (changed.contains(c.getId())) {
+                    e = new Entry(c, CardCopyService.getLKICopy(c, cachedMap));
+                } else {
+                    e = entries.get(c.getId());
+                }
+                result.put(c.getId(), e);
+                zoneCopies.add(e.copy);
+            }
+            final Zone copy = new Zone(zone.getZoneType(), game);
+            copy.setCards(zoneCopies);
+            copies.add(copy);
+        }
+        entries = result;
+        return copies;
+    }
+
+    /**
+     * Remember a copy of the given card that was taken on its own.
+     */
+    public void put(final Card c, final Card copy) {
+        entries.put(c.getId(), new Entry(c, copy));
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    private static void addRelatedCards(final Card c, final List<Card> out) {
+        Iterables.addAll(out, c.getAttachedCards());
+        if (c.getEntityAttachedTo() instanceof Card) {
+            out.add((Card) c.getEntityAttachedTo());
+        }
+        if (c.getEffectSource() != null) {
+            out.add(c.getEffectSource());
+        }
+        if (c.getExiledWith() != null) {
+            out.add(c.getExiledWith());
+        }
+        if (c.getMeldedWith() != null) {
+            out.add(c.getMeldedWith());
+        }
+    }
+
+    private static void verify(final Card c, final Card copy) {
+        final String reused = describe(copy);
+        final String expected = describe(CardCopyService.getLKICopy(c));
+        if (!reused.equals(expected)) {
+            throw new IllegalStateException("Reused last known information of " + c + " is out of date: " + reused
+                    + " instead of " + expected);
+        }
+    }
+
+    /**
+     * What is compared between a reused copy and a new one when verifying.
+     */
+    private static String describe(final Card lki) {
+        final StringBuilder sb = new StringBuilder();
+        sb.append(lki.getId()).append(' ').append(lki.getName()).append(' ').append(lki.getCurrentStateName());
+        sb.append(' ').append(lki.getController()).append(' ').append(lki.getOwner());
+        sb.append(' ').append(lki.getNetPower()).append('/').append(lki.getNetToughness());
+        sb.append(' ').append(lki.getType()).append(' ').append(lki.getColor()).append(' ').append(lki.getCMC());
+        for (final KeywordInterface ki : lki.getKeywords()) {
+            sb.append(' ').append(ki.getOriginal());
+        }
+        sb.append(" abilities ").append(lki.getSpellAbilities().size()).append(' ').append(lki.getTriggers().size());
+        sb.append(' ').append(lki.getStaticAbilities().size()).append(' ').append(lki.getReplacementEffects().size());
+        sb.append(" counters ").append(lki.getCounters());
+        sb.append(" tapped ").append(lki.isTapped()).append(" phased ").append(lki.isPhasedOut());
+        sb.append(" facedown ").append(lki.isFaceDown()).append(" damage ").append(lki.getDamage());
+        sb.append(" attached ").append(lki.getAttachedCards()).append(" to ").append(lki.getEntityAttachedTo());
+        sb.append(" remembered ").append(lki.getRemembered()).append(" imprinted ").append(lki.getImprintedCards());
+        sb.append(" chosen ").append(lki.getChosenType()).append(' ').append(lki.getChosenColors());
+        sb.append(' ').append(lki.getChosenCards()).append(' ').append(lki.getNamedCards());
+        sb.append(" exiled ").append(lki.getExiledWith()).append(' ').append(lki.getExiledCards());
+        sb.append(" timestamps ").append(lki.getGameTimestamp()).append(' ').append(lki.getLayerTimestamp());
+        sb.append(" turn ").append(lki.getTurnInZone());
+        sb.append(" monstrous ").append(lki.isMonstrous()).append(" renowned ").append(lki.isRenowned());
+        return sb.toString();
+    }
+}
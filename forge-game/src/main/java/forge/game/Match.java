@@ -1,7 +1,6 @@
 package forge.game;
 
 import com.google.common.collect.*;
-import com.google.common.eventbus.EventBus;
 import forge.LobbyPlayer;
 import forge.deck.CardPool;
 import forge.deck.Deck;
@@ -10,13 +9,14 @@ import forge.deck.DeckSection;
 import forge.game.ability.AbilityKey;
 import forge.game.card.Card;
 import forge.game.card.CardCollectionView;
+import forge.game.card.CardFactory;
 import forge.game.event.Event;
+import forge.game.event.EventDispatcher;
 import forge.game.event.GameEventAnteCardsSelected;
 import forge.game.event.GameEventGameFinished;
 import forge.game.player.Player;
 import forge.game.player.PlayerController;
 import forge.game.player.RegisteredPlayer;
-import forge.game.trigger.Trigger;
 import forge.game.zone.PlayerZone;
 import forge.game.zone.ZoneType;
 import forge.item.PaperCard;
@@ -27,27 +27,38 @@ import org.apache.commons.lang3.tuple.Pair;
 
 import java.util.*;
 import java.util.Map.Entry;
+import java.util.function.Consumer;
 
 public class Match {
-    private static List<PaperCard> removedCards = Lists.newArrayList();
+    private static List<PaperCard> removedCards = Collections.synchronizedList(Lists.newArrayList());
     private final List<RegisteredPlayer> players;
     private final GameRules rules;
     private final String title;
 
-    private final EventBus events = new EventBus("match events");
+    private final EventDispatcher events = new EventDispatcher("match events");
     private final Map<Integer, GameOutcome> gameOutcomes = Maps.newHashMap();
 
     private GameOutcome lastOutcome = null;
+    private boolean collectGarbageAfterGame = true;
 
     public Match(final GameRules rules0, final List<RegisteredPlayer> players0, final String title) {
         players = Collections.unmodifiableList(Lists.newArrayList(players0));
         rules = rules0;
         this.title = title;
+        events.setHeadless(rules.isHeadless());
     }
 
     public GameRules getRules() {
         return rules;
     }
+
+    /**
+     * Batch simulations running many games side by side should not force a full collection after each of them.
+     */
+    public void setCollectGarbageAfterGame(boolean value) {
+        collectGarbageAfterGame = value;
+    }
+
     String getTitle() {
         final Multiset<RegisteredPlayer> wins = getGamesWon();
         final StringBuilder titleAppend = new StringBuilder(title);
@@ -100,7 +111,9 @@ public class Match {
         game.fireEvent(new GameEventGameFinished());
 
         //run GC after game is finished
-        System.gc();
+        if (collectGarbageAfterGame) {
+            System.gc();
+        }
     }
 
     public GameOutcome getOutcomeById(int id) {
@@ -200,10 +213,11 @@ public class Match {
     private static void preparePlayerZone(Player player, final ZoneType zoneType, CardPool section, boolean canRandomFoil) {
         PlayerZone library = player.getZone(zoneType);
         List<Card> newLibrary = new ArrayList<>();
+        final boolean lazy = zoneType == ZoneType.Library && player.getGame().getRules().useLazyLibraryCards();
         for (final Entry<PaperCard, Integer> stackOfCards : section) {
             final PaperCard cp = stackOfCards.getKey();
             for (int i = 0; i < stackOfCards.getValue(); i++) {
-                final Card card = Card.fromPaperCard(cp, player);
+                final Card card = lazy ? CardFactory.getLibraryCard(cp, player, player.getGame()) : Card.fromPaperCard(cp, player);
 
                 // Assign card-specific foiling or random foiling on approximately 1:20 cards if enabled
                 if (cp.isFoil() || (canRandomFoil && MyRandom.percentTrue(5))) {
@@ -218,8 +232,6 @@ public class Match {
     }
 
     private void prepareAllZones(final Game game) {
-        // need this code here, otherwise observables fail
-        Trigger.resetIDs();
         game.getTriggerHandler().clearDelayedTrigger();
 
         // friendliness
@@ -449,8 +461,17 @@ public class Match {
     public void fireEvent(final Event event) {
         events.post(event);
     }
-    public void subscribeToEvents(final Object subscriber) {
-        events.register(subscriber);
+    /**
+     * Receive the events of this match of the given type and its subtypes.
+     */
+    public <E extends Event> void subscribeToEvents(final Class<E> type, final Consumer<? super E> subscriber) {
+        events.subscribe(type, subscriber);
+    }
+    /**
+     * @see Game#subscribePresenterToEvents
+     */
+    public <E extends Event> void subscribePresenterToEvents(final Class<E> type, final Consumer<? super E> subscriber) {
+        events.subscribePresenter(type, subscriber);
     }
 
 }
@@ -0,0 +1,85 @@
+package forge.game;
+
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+import com.google.common.collect.MapMaker;
+
+import forge.game.card.Card;
+import forge.game.player.Player;
+
+/**
+ * Remembers a value computed for a key, like a card or a player, until the game it's in or the key itself changes,
+ * as told by {@link Game#getStateVersion()} and the version of the key.
+ * <p>
+ * The version of the game moves with anything happening in it, so most values only survive as long as a player or
+ * the AI is thinking, which is where the same things get computed over and over. The version of the key is checked
+ * as well for keys which can change without their game knowing, like the last known information copies of cards.
+ * <p>
+ * Safe to use from several threads: a value computed on two threads at once is just computed twice. Keys are held
+ * weakly and told apart by identity. Values are handed out as they are, so they shouldn't be changed by the caller.
+ */
+public final class StateVersionCache<K, V> {
+
+    private record Entry<V>(int gameVersion, long keyVersion, V value) { }
+
+    private final ConcurrentMap<K, Entry<V>> entries = new MapMaker().weakKeys().makeMap();
+    private final Function<K, Game> gameOf;
+    private final ToLongFunction<K> versionOf;
+
+    private StateVersionCache(final Function<K, Game> gameOf, final ToLongFunction<K> versionOf) {
+        this.gameOf = gameOf;
+        this.versionOf = versionOf;
+    }
+
+    /**
+     * A cache whose values are valid as long as the game of their key doesn't change.
+     */
+    public static <K, V> StateVersionCache<K, V> byGame(final Function<K, Game> gameOf) {
+        return new StateVersionCache<>(gameOf, k -> 0);
+    }
+
+    /**
+     * A cache by card, whose values are valid as long as neither the card, the state it's in nor its game change.
+     */
+    public static <V> StateVersionCache<Card, V> byCard() {
+        // the state is told apart by its ordinal, as switching states doesn't always change the version
+        return new StateVersionCache<>(Card::getGame, c -> (c.getLKIVersion() << 8) + c.getCurrentStateName().ordinal());
+    }
+
+    /**
+     * A cache by player, whose values are valid as long as neither the player nor its game change.
+     */
+    public static <V> StateVersionCache<Player, V> byPlayer() {
+        return new StateVersionCache<>(Player::getGame, Player::getStateVersion);
+    }
+
+    /**
+     * The value remembered for the key, or the one computed by the function if the game or the key changed since.
+     * Keys without a game are never remembered.
+     */
+    public V get(final K key, final Function<? super K, ? extends V> compute) {
+        final Game game = gameOf.apply(key);
+        if (game == null) {
+            return compute.apply(key);
+        }
+        // read before computing, a change while at it leaves a value that is already out of date
+        final int gameVersion = game.getStateVersion();
+        final long keyVersion = versionOf.applyAsLong(key);
+        final Entry<V> entry = entries.get(key);
+        if (entry != null && entry.gameVersion() == gameVersion && entry.keyVersion() == keyVersion) {
+            return entry.value();
+        }
+        final V value = compute.apply(key);
+        entries.put(key, new Entry<>(gameVersion, keyVersion, value));
+        return value;
+    }
+
+    /**
+     * Forgets all remembered values.
+     */
+    public void clear() {
+        entries.clear();
+    }
+}
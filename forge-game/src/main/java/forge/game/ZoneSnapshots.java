@@ -0,0 +1,88 @@
+package forge.game;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import com.google.common.collect.Iterables;
+
+import forge.game.card.CardCollection;
+import forge.game.card.CardCollectionView;
+import forge.game.player.Player;
+import forge.game.zone.ZoneType;
+
+/**
+ * The cards all players have in each zone as returned by {@link Game#getCardsIn(ZoneType)}, kept as collections that
+ * never change once built. Each zone type has a version that the zones of the players bump whenever their cards
+ * change, and a collection is only built again when it's asked for after its version moved on.
+ * <p>
+ * Readers on other threads than the one running the game, like the UI or spectators, don't need to lock the game: a
+ * collection they get is never changed anymore, and one that was built while a zone changed is tagged with the
+ * version from before, so it's built again by the next reader.
+ */
+public final class ZoneSnapshots {
+    private static final class Snapshot {
+        final int version;
+        final CardCollectionView cards;
+
+        Snapshot(final int version, final CardCollectionView cards) {
+            this.version = version;
+            this.cards = cards;
+        }
+    }
+
+    private final Game game;
+    private final AtomicIntegerArray versions = new AtomicIntegerArray(ZoneType.values().length);
+    private final AtomicReferenceArray<Snapshot> snapshots = new AtomicReferenceArray<>(ZoneType.values().length);
+
+    ZoneSnapshots(final Game game) {
+        this.game = game;
+    }
+
+    /**
+     * The cards in the given zone of all players in the game, in the order of the players, without phased out cards.
+     */
+    public CardCollectionView get(final ZoneType zone) {
+        if (zone == ZoneType.Flashback) {
+            // not a zone of its own, the cards depend on what can be cast from the other zones
+            return game.getPlayers().getCardsIn(zone);
+        }
+        final int i = zone.ordinal();
+        final int version = versions.get(i);
+        final Snapshot snapshot = snapshots.get(i);
+        if (snapshot != null && snapshot.version == version) {
+            return snapshot.cards;
+        }
+        final List<CardCollectionView> cardsOfPlayers = new ArrayList<>();
+        for (final Player p : game.getPlayers()) {
+            cardsOfPlayers.add(p.getCardsIn(zone));
+        }
+        final CardCollectionView cards = CardCollection.immutableCopyOf(Iterables.concat(cardsOfPlayers));
+        snapshots.set(i, new Snapshot(version, cards));
+        return cards;
+    }
+
+    /**
+     * The version of the given zone type, which changes whenever the cards in a zone of that type change.
+     */
+    public int getVersion(final ZoneType zone) {
+        return versions.get(zone.ordinal());
+    }
+
+    /**
+     * Called when the cards in a zone of the given type changed, or which of them are phased out.
+     */
+    public void changed(final ZoneType zone) {
+        versions.incrementAndGet(zone.ordinal());
+    }
+
+    /**
+     * Called when the players in the game changed.
+     */
+    public void changedAll() {
+        for (int i = 0; i < versions.length(); i++) {
+            versions.incrementAndGet(i);
+        }
+    }
+}
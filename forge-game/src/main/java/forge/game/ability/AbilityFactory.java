@@ -27,6 +27,8 @@ import forge.game.ability.effects.RollDiceEffect;
 import forge.game.card.Card;
 import forge.game.card.CardState;
 import forge.game.cost.Cost;
+import forge.game.cost.CostPartWithList;
+import forge.game.cost.CostPutCounter;
 import forge.game.spellability.*;
 import forge.game.zone.ZoneType;
 import forge.util.FileSection;
@@ -35,6 +37,7 @@ import io.sentry.Sentry;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 /**
@@ -66,6 +69,24 @@ public final class AbilityFactory {
             "VoteTiedAbility" // for fallback to Choices
         );
 
+    /**
+     * What can be worked out from the text of an ability alone, shared by every card with that ability in every game.
+     * The cost and the target restrictions are only ever copied, cards get a copy of their own.
+     */
+    private record AbilityTemplate(ApiType api, Cost cost, TargetRestrictions target) {
+        Cost newCost() {
+            return cost == null ? null : cost.copy();
+        }
+        TargetRestrictions newTarget() {
+            return target == null ? null : new TargetRestrictions(target);
+        }
+    }
+
+    // by ability text, shared by every thread creating cards, e.g. AI simulations running in parallel
+    private static final Map<String, AbilityTemplate> templates = new ConcurrentHashMap<>();
+    // ability texts can be built at runtime (e.g. from chosen names or numbers), so don't let the cache grow without limit
+    private static final int MAX_CACHED = 20000;
+
     public enum AbilityRecordType {
         Ability("AB"),
         Spell("SP"),
@@ -145,7 +166,19 @@ public final class AbilityFactory {
             throw new RuntimeException("AbilityFactory : getAbility -- no API in " + source + ": " + abString);
         }
         try {
-            return getAbility(mapParams, type, state, sVarHolder);
+            AbilityTemplate template = templates.get(abString);
+            if (template == null) {
+                if (templates.size() >= MAX_CACHED) {
+                    return getAbility(mapParams, type, state, sVarHolder);
+                }
+                template = makeTemplate(mapParams, type);
+                templates.putIfAbsent(abString, template);
+            }
+            Cost abCost = template.newCost();
+            if (abCost == null) {
+                abCost = parseAbilityCost(state, mapParams, type);
+            }
+            return getAbility(type, template.api(), mapParams, abCost, template.newTarget(), state, sVarHolder);
         } catch (Error | Exception ex) {
             String msg = "AbilityFactory:getAbility: crash when trying to create ability ";
             
@@ -195,10 +228,28 @@ public final class AbilityFactory {
         }
     }
 
+    private static AbilityTemplate makeTemplate(final Map<String, String> mapParams, final AbilityRecordType type) {
+        Cost cost = null;
+        String costText = mapParams.get("Cost");
+        if (costText != null && type != AbilityRecordType.SubAbility) {
+            cost = new Cost(costText, type == AbilityRecordType.Ability);
+            // copies of these share the cards paid with, so every card needs to parse its own
+            if (cost.hasSpecificCostType(CostPartWithList.class) || cost.hasSpecificCostType(CostPutCounter.class)) {
+                cost = null;
+            }
+        }
+        TargetRestrictions target = mapParams.containsKey("ValidTgts") ? readTarget(mapParams) : null;
+        return new AbilityTemplate(type.getApiTypeOf(mapParams), cost, target);
+    }
+
     public static SpellAbility getAbility(AbilityRecordType type, ApiType api, Map<String, String> mapParams,
             Cost abCost, final CardState state, final IHasSVars sVarHolder) {
+        return getAbility(type, api, mapParams, abCost, mapParams.containsKey("ValidTgts") ? readTarget(mapParams) : null, state, sVarHolder);
+    }
+
+    private static SpellAbility getAbility(AbilityRecordType type, ApiType api, Map<String, String> mapParams,
+            Cost abCost, TargetRestrictions abTgt, final CardState state, final IHasSVars sVarHolder) {
         final Card hostCard = state.getCard();
-        TargetRestrictions abTgt = mapParams.containsKey("ValidTgts") ? readTarget(mapParams) : null;
 
         if (abCost == null) {
             abCost = parseAbilityCost(state, mapParams, type);
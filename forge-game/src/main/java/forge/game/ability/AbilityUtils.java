@@ -1573,6 +1573,10 @@ public class AbilityUtils {
      */
     public static int xCount(Card c, final String s, final CardTraitBase ctb) {
         final String s2 = applyAbilityTextChangeEffects(s, ctb);
+        final CountExpression compiled = CountExpression.of(s2);
+        if (compiled != null) {
+            return compiled.evaluate(c, ctb);
+        }
         final String[] l = s2.split("/");
         final String expr = CardFactoryUtil.extractOperators(s2);
 
@@ -3188,70 +3192,7 @@ public class AbilityUtils {
     }
 
     public static int doXMath(final int num, final String operators, final Card c, CardTraitBase ctb) {
-        if (operators == null || operators.equals("none")) {
-            return num;
-        }
-
-        final String[] s = operators.split("\\.");
-        int secondaryNum = 0;
-
-        try {
-            if (s.length == 2) {
-                secondaryNum = Integer.parseInt(s[1]);
-            }
-        } catch (final Exception e) {
-            secondaryNum = calculateAmount(c, s[1], ctb);
-        }
-
-        if (s[0].contains("Plus")) {
-            return num + secondaryNum;
-        } else if (s[0].contains("NMinus")) {
-            return secondaryNum - num;
-        } else if (s[0].contains("Minus")) {
-            return num - secondaryNum;
-        } else if (s[0].contains("Twice")) {
-            return num * 2;
-        } else if (s[0].contains("Thrice")) {
-            return num * 3;
-        } else if (s[0].contains("HalfUp")) {
-            return (int) (Math.ceil(num / 2.0));
-        } else if (s[0].contains("HalfDown")) {
-            return (int) (Math.floor(num / 2.0));
-        } else if (s[0].contains("ThirdUp")) {
-            return (int) (Math.ceil(num / 3.0));
-        } else if (s[0].contains("ThirdDown")) {
-            return (int) (Math.floor(num / 3.0));
-        } else if (s[0].contains("Negative")) {
-            return num * -1;
-        } else if (s[0].contains("Times")) {
-            return num * secondaryNum;
-        } else if (s[0].contains("DivideEvenlyUp")) {
-            if (secondaryNum == 0) {
-                return 0;
-            }
-            return num / secondaryNum + (num % secondaryNum == 0 ? 0 : 1);
-        } else if (s[0].contains("DivideEvenlyDown")) {
-            if (secondaryNum == 0) {
-                return 0;
-            }
-            return num / secondaryNum;
-        } else if (s[0].contains("Mod")) {
-            return num % secondaryNum;
-        } else if (s[0].contains("Abs")) {
-            return Math.abs(num);
-        } else if (s[0].contains("LimitMax")) {
-            if (num < secondaryNum) {
-                return num;
-            }
-            return secondaryNum;
-        } else if (s[0].contains("LimitMin")) {
-            if (num > secondaryNum) {
-                return num;
-            }
-            return secondaryNum;
-        } else {
-            return num;
-        }
+        return CountExpression.doXMath(num, operators, c, ctb);
     }
 
     /**
@@ -0,0 +1,292 @@
+package forge.game.ability;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import forge.game.CardTraitBase;
+import forge.game.Game;
+import forge.game.card.Card;
+import forge.game.card.CardCollectionView;
+import forge.game.card.CardLists;
+import forge.game.card.CardPredicates;
+import forge.game.player.Player;
+import forge.game.spellability.SpellAbility;
+import forge.game.zone.ZoneType;
+
+/**
+ * A count such as {@code Count$Valid Creature.YouCtrl/Plus.2}, as read by {@link AbilityUtils#xCount}, parsed once
+ * and cached by its text. The text is taken after text changes were applied, so a card with changed text gets an
+ * expression of its own.
+ * <p>
+ * Only the most common counts are compiled: plain numbers, counting valid cards, and the power, toughness and life
+ * total ones. {@link #of} returns null for all others, which are left to {@link AbilityUtils#xCount} as before. The
+ * operators after the slash are compiled for every count, see {@link #doXMath}.
+ */
+public final class CountExpression {
+    // counts can be built at runtime (e.g. from card ids), so don't let the caches grow without limit
+    private static final int MAX_CACHED = 20000;
+    private static final Map<String, CountExpression> cache = new ConcurrentHashMap<>();
+    private static final Map<String, XMath> mathCache = new ConcurrentHashMap<>();
+
+    // stands for the counts that aren't compiled, as the cache can't hold null
+    private static final CountExpression UNSUPPORTED = new CountExpression(null, 0, null, null, null);
+
+    // parts of the name of a count that xCount looks for anywhere in it, a Valid count containing one is left to it
+    private static final String[] xCountContains = { "AbilityYouCtrl", "ByYou", "CardCounters", "CardManaCost",
+            "CardMulticolor", "ChosenNumber", "Chroma", "CombatDamage", "Converge", "DamageThisTurn", "Devotion",
+            "ExactManaCost", "HasNumChosenColors", "LKI", "Life", "Max", "Non", "Party", "SearchedLibrary", "TimesKicked",
+            "TimesMutated", "TotalOppPoisonCounters", "TotalValue", "WithFallback", "Your", "xColorPaid", "xPaid" };
+
+    private enum Kind {
+        Number, Valid, CardPower, CardToughness, YourLifeTotal
+    }
+
+    private final Kind kind;
+    private final int number;
+    // null for all cards in the game, empty for the card itself
+    private final List<ZoneType> zones;
+    private final String[] restrictions;
+    private final XMath math;
+
+    private CountExpression(final Kind kind, final int number, final List<ZoneType> zones, final String[] restrictions, final XMath math) {
+        this.kind = kind;
+        this.number = number;
+        this.zones = zones;
+        this.restrictions = restrictions;
+        this.math = math;
+    }
+
+    /**
+     * The compiled count of the given text, or null when {@link AbilityUtils#xCount} has to interpret it.
+     */
+    public static CountExpression of(final String text) {
+        CountExpression result = cache.get(text);
+        if (result == null) {
+            result = compile(text);
+            if (cache.size() < MAX_CACHED) {
+                cache.put(text, result);
+            }
+        }
+        return result == UNSUPPORTED ? null : result;
+    }
+
+    private static CountExpression compile(final String text) {
+        final String[] l = text.split("/");
+        final XMath math = XMath.of(l.length > 1 ? l[1] : null);
+        String count = l[0];
+        if (count.startsWith("Number$")) {
+            try {
+                return new CountExpression(Kind.Number, Integer.parseInt(count.substring(7)), null, null, math);
+            } catch (final NumberFormatException e) {
+                return UNSUPPORTED;
+            }
+        }
+        if (count.startsWith("Count$")) {
+            count = count.substring(6);
+        }
+        // counts with their own parts after a dot (Compare, Kicked etc.) or paid lists aren't compiled
+        final String name = count.split("\\.", 2)[0];
+        switch (name) {
+            case "CardPower":
+                return new CountExpression(Kind.CardPower, 0, null, null, math);
+            case "CardToughness":
+                return new CountExpression(Kind.CardToughness, 0, null, null, math);
+            case "YourLifeTotal":
+                return new CountExpression(Kind.YourLifeTotal, 0, null, null, math);
+            default:
+                break;
+        }
+        if (!name.startsWith("Valid") || count.indexOf('$') >= 0) {
+            return UNSUPPORTED;
+        }
+        for (final String part : xCountContains) {
+            if (name.contains(part)) {
+                return UNSUPPORTED;
+            }
+        }
+        final String[] lparts = count.split(" ", 2);
+        if (lparts.length < 2) {
+            return UNSUPPORTED;
+        }
+        final List<ZoneType> zones;
+        if (lparts[0].contains("All")) {
+            zones = null;
+        } else if (lparts[0].endsWith("Self")) {
+            zones = List.of();
+        } else {
+            zones = List.copyOf(ZoneType.listValueOf(lparts[0].length() > 5 ? lparts[0].substring(5) : "Battlefield"));
+        }
+        return new CountExpression(Kind.Valid, 0, zones, lparts[1].split(","), math);
+    }
+
+    public int evaluate(Card c, final CardTraitBase ctb) {
+        switch (kind) {
+            case Number:
+                return math.apply(number, c, ctb);
+            case Valid:
+                return math.apply(countValid(c, ctb), c, ctb);
+            default:
+                break;
+        }
+        final Game game = c.getGame();
+        if (game != null) {
+            // CR 608.2h
+            c = game.getChangeZoneLKIInfo(c);
+        }
+        switch (kind) {
+            case CardPower:
+                return math.apply(c.getNetPower(), c, ctb);
+            case CardToughness:
+                return math.apply(c.getNetToughness(), c, ctb);
+            default:
+                return math.apply(getPlayer(ctb).getLife(), c, ctb);
+        }
+    }
+
+    private int countValid(final Card c, final CardTraitBase ctb) {
+        final CardCollectionView cards;
+        if (zones == null) {
+            cards = c.getGame().getCardsInGame();
+        } else if (zones.isEmpty()) {
+            return CardPredicates.restriction(restrictions, getPlayer(ctb), c, ctb).test(c) ? 1 : 0;
+        } else {
+            cards = getCardsIn(c.getGame(), ctb);
+        }
+        return CardLists.count(cards, CardPredicates.restriction(restrictions, getPlayer(ctb), c, ctb));
+    }
+
+    private CardCollectionView getCardsIn(final Game game, final CardTraitBase ctb) {
+        // replacement effects count what was there before the event
+        if (ctb instanceof SpellAbility sa && zones.size() == 1 && sa.isReplacementAbility()) {
+            if (zones.get(0) == ZoneType.Battlefield) {
+                return sa.getRootAbility().getLastStateBattlefield();
+            } else if (zones.get(0) == ZoneType.Graveyard) {
+                return sa.getRootAbility().getLastStateGraveyard();
+            }
+        }
+        return game.getCardsIn(zones);
+    }
+
+    private static Player getPlayer(final CardTraitBase ctb) {
+        if (ctb == null) {
+            return null;
+        }
+        Player player = null;
+        if (ctb instanceof SpellAbility sa) {
+            player = sa.getActivatingPlayer();
+        }
+        return player != null ? player : ctb.getHostCard().getController();
+    }
+
+    /**
+     * Applies the operators after the slash of a count, like {@code Plus.2} or {@code Times.X}, to a number.
+     */
+    public static int doXMath(final int num, final String operators, final Card c, final CardTraitBase ctb) {
+        if (operators == null) {
+            return num;
+        }
+        return XMath.of(operators).apply(num, c, ctb);
+    }
+
+    private enum Operation {
+        // in the order AbilityUtils used to look for them, as some names contain others
+        Plus(true), NMinus(true), Minus(true), Twice(false), Thrice(false), HalfUp(false), HalfDown(false),
+        ThirdUp(false), ThirdDown(false), Negative(false), Times(true), DivideEvenlyUp(true), DivideEvenlyDown(true),
+        Mod(true), Abs(false), LimitMax(true), LimitMin(true), None(false);
+
+        private final boolean binary;
+
+        Operation(final boolean binary) {
+            this.binary = binary;
+        }
+    }
+
+    private record XMath(Operation operation, int constant, String reference) {
+        private static final XMath NONE = new XMath(Operation.None, 0, null);
+
+        static XMath of(final String operators) {
+            if (operators == null || operators.equals("none")) {
+                return NONE;
+            }
+            XMath result = mathCache.get(operators);
+            if (result == null) {
+                result = compile(operators);
+                if (mathCache.size() < MAX_CACHED) {
+                    mathCache.put(operators, result);
+                }
+            }
+            return result;
+        }
+
+        private static XMath compile(final String operators) {
+            final String[] s = operators.split("\\.");
+            Operation operation = Operation.None;
+            for (final Operation o : Operation.values()) {
+                if (s[0].contains(o.name())) {
+                    operation = o;
+                    break;
+                }
+            }
+            if (s.length != 2) {
+                return new XMath(operation, 0, null);
+            }
+            try {
+                return new XMath(operation, Integer.parseInt(s[1]), null);
+            } catch (final NumberFormatException e) {
+                return new XMath(operation, 0, s[1]);
+            }
+        }
+
+        int apply(final int num, final Card c, final CardTraitBase ctb) {
+            if (operation == Operation.None) {
+                return num;
+            }
+            final int secondaryNum = operation.binary && reference != null ? AbilityUtils.calculateAmount(c, reference, ctb) : constant;
+            switch (operation) {
+                case Plus:
+                    return num + secondaryNum;
+                case NMinus:
+                    return secondaryNum - num;
+                case Minus:
+                    return num - secondaryNum;
+                case Twice:
+                    return num * 2;
+                case Thrice:
+                    return num * 3;
+                case HalfUp:
+                    return (int) (Math.ceil(num / 2.0));
+                case HalfDown:
+                    return (int) (Math.floor(num / 2.0));
+                case ThirdUp:
+                    return (int) (Math.ceil(num / 3.0));
+                case ThirdDown:
+                    return (int) (Math.floor(num / 3.0));
+                case Negative:
+                    return num * -1;
+                case Times:
+                    return num * secondaryNum;
+                case DivideEvenlyUp:
+                    if (secondaryNum == 0) {
+                        return 0;
+                    }
+                    return num / secondaryNum + (num % secondaryNum == 0 ? 0 : 1);
+                case DivideEvenlyDown:
+                    if (secondaryNum == 0) {
+                        return 0;
+                    }
+                    return num / secondaryNum;
+                case Mod:
+                    return num % secondaryNum;
+                case Abs:
+                    return Math.abs(num);
+                case LimitMax:
+                    return Math.min(num, secondaryNum);
+                case LimitMin:
+                    return Math.max(num, secondaryNum);
+                default:
+                    return num;
+            }
+        }
+    }
+}
@@ -88,6 +88,9 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars, ITr
 
     private final Map<CardStateName, CardState> states = Maps.newEnumMap(CardStateName.class);
     private CardState currentState;
+    private int traitsVersion = 0;
+    // see getLKIVersion()
+    private int lkiVersion = 0;
     private CardStateName currentStateName = CardStateName.Original;
     private GamePieceType gamePieceType = GamePieceType.CARD;
 
@@ -347,6 +350,8 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars, ITr
     private CombatLki combatLKI;
 
     private CardRules cardRules;
+    // abilities of a library card that are only built when something asks for them, see CardFactory#getLibraryCard
+    private boolean traitsDeferred;
     protected boolean renderForUi = true;
     private final CardView view;
 
@@ -546,6 +551,7 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars, ITr
         // For Ertai's Meddling a morph spell
         currentState = CardUtil.getFaceDownCharacteristic(this, CardStateName.Original);
         states.put(CardStateName.Original, currentState);
+        updateTraitsVersion();
     }
 
     public boolean changeToState(final CardStateName state) {
@@ -590,6 +596,7 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars, ITr
 
         currentStateName = state;
         currentState = getState(state);
+        updateTraitsVersion();
 
         if (updateView) {
             updateStateForView();
@@ -627,10 +634,12 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars, ITr
     public void setStates(Map<CardStateName, CardState> map) {
         states.clear();
         states.putAll(map);
+        updateTraitsVersion();
     }
 
     public final void addAlternateState(final CardStateName state, final boolean updateView) {
         states.put(state, new CardState(this, state));
+        updateTraitsVersion();
         if (updateView) {
             updateStateForView();
         }
@@ -640,6 +649,7 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars, ITr
         if (states.remove(state) == null) {
             return;
         }
+        updateTraitsVersion();
         if (state == currentStateName) {
             currentStateName = CardStateName.Original;
         }
@@ -1288,6 +1298,7 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars, ITr
     }
 
     public final void addToChosenMap(final Player p, final CardCollection chosen) {
+        updateLKIVersion();
         chosenMap.put(p, chosen);
     }
     public final Map<Player, CardCollection> getChosenMap() {
@@ -1645,6 +1656,7 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars, ITr
         return blockedThisTurn;
     }
     public void addBlockedThisTurn(Card attacker) {
+        updateLKIVersion();
         blockedThisTurn.add(attacker);
     }
     public void clearBlockedThisTurn() {
@@ -1655,6 +1667,7 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars, ITr
         return blockedByThisTurn;
     }
     public void addBlockedByThisTurn(Card blocker) {
+        updateLKIVersion();
         blockedByThisTurn.add(blocker);
     }
     public void clearBlockedByThisTurn() {
@@ -1929,6 +1942,7 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars, ITr
     public final void setCounters(final Map<CounterType, Integer> allCounters) {
         boolean changed = counters.containsKey(CounterEnumType.MANABOND) || counters.keySet().stream().allMatch(CounterType::isKeywordCounter);
         counters = allCounters;
+        updateTraitsVersion();
         view.updateCounters(this);
 
         if (!isLKI()) {
@@ -1943,12 +1957,19 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars, ITr
         }
     }
 
+    @Override
+    public void setCounters(final CounterType counterType, final Integer num) {
+        super.setCounters(counterType, num);
+        updateTraitsVersion();
+    }
+
     @Override
     public final void clearCounters() {
         if (counters.isEmpty()) { return; }
         boolean changed = counters.containsKey(CounterEnumType.MANABOND) || counters.keySet().stream().allMatch(CounterType::isKeywordCounter);
 
         counters.clear();
+        updateTraitsVersion();
         view.updateCounters(this);
 
         if (changed) {
@@ -1998,6 +2019,7 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars, ITr
     }
 
     public final void setSVar(final String var, final String str) {
+        updateLKIVersion();
         currentState.setSVar(var, str);
     }
 
@@ -2020,9 +2042,11 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars, ITr
     }
 
     public final void addChangedSVars(Map<String, String> map, long timestamp, long staticId) {
+        updateLKIVersion();
         this.changedSVars.put(timestamp, staticId, map);
     }
     public final void removeChangedSVars(long timestamp, long staticId) {
+        updateLKIVersion();
         this.changedSVars.remove(timestamp, staticId);
     }
 
@@ -2030,6 +2054,7 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars, ITr
         return turnInZone;
     }
     public final void setTurnInZone(final int turn) {
+        updateLKIVersion();
         turnInZone = turn;
     }
 
@@ -2129,6 +2154,7 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars, ITr
 
     public final void setChosenNumber(final int i) { setChosenNumber(i, false); }
     public final void setChosenNumber(final int i, final boolean secret) {
+        updateLKIVersion();
         chosenNumber = i;
         if (!secret) view.updateChosenNumber(this);
     }
@@ -2160,11 +2186,13 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars, ITr
 
     public final Player getExiledBy() { return exiledBy; }
     public final void setExiledBy(final Player ep) {
+        updateLKIVersion();
         exiledBy = ep;
     }
 
     public final SpellAbility getExiledSA() { return exiledSA;}
     public final void setExiledSA(final SpellAbility sa) {
+        updateLKIVersion();
         exiledSA = sa;
     }
 
@@ -3738,6 +3766,7 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars, ITr
         return copiedPermanent;
     }
     public final void setCopiedPermanent(final Card c) {
+        updateLKIVersion();
         if (copiedPermanent == c) { return; }
         copiedPermanent = c;
         if(c != null) {
@@ -3903,16 +3932,19 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars, ITr
         controller = player;
         controllerTimestamp = tstamp;
         view.updateController(this);
+        invalidateStaticAbilities();
     }
 
     public final void addTempController(final Player player, final long tstamp) {
         tempControllers.put(tstamp, player);
         view.updateController(this);
+        invalidateStaticAbilities();
     }
 
     public final void removeTempController(final long tstamp) {
         if (tempControllers.remove(tstamp) != null) {
             view.updateController(this);
+            invalidateStaticAbilities();
         }
     }
 
@@ -3924,6 +3956,7 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars, ITr
         }
         if (changed) {
             view.updateController(this);
+            invalidateStaticAbilities();
         }
     }
 
@@ -3931,6 +3964,7 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars, ITr
         if (tempControllers.isEmpty()) { return; }
         tempControllers.clear();
         view.updateController(this);
+        invalidateStaticAbilities();
     }
 
     public final void clearControllers() {
@@ -3938,6 +3972,7 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars, ITr
         tempControllers.clear();
         controller = null;
         view.updateController(this);
+        invalidateStaticAbilities();
     }
 
     public boolean mayPlayerLook(final Player player) {
@@ -4268,6 +4303,9 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars, ITr
             changed = true;
         changedCardTypes.clear();
 
+        if (changed) {
+            updateTraitsVersion();
+        }
         return changed;
     }
 
@@ -4275,7 +4313,10 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars, ITr
         boolean changed = hasChangedCardColors();
 
         changedCardColorsByText.clear();
-        changedCardTypesCharacterDefining.clear();
+        if (!changedCardTypesCharacterDefining.isEmpty()) {
+            changedCardTypesCharacterDefining.clear();
+            updateTraitsVersion();
+        }
         changedCardColors.clear();
 
         return changed;
@@ -4311,6 +4352,7 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars, ITr
     public final void addChangedCardTypesByText(final CardType addType, final long timestamp, final long staticId, final boolean updateView) {
         changedCardTypesByText.put(timestamp, staticId, new CardChangedType(addType, null, false,
                 EnumSet.of(RemoveType.SuperTypes, RemoveType.CardTypes, RemoveType.SubTypes)));
+        updateTraitsVersion();
 
         // setting card type via text, does overwrite any other word change effects?
         this.changedTextColors.addEmpty(timestamp, staticId);
@@ -4328,6 +4370,7 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars, ITr
             final long timestamp, final long staticId, final boolean updateView, final boolean cda) {
         (cda ? changedCardTypesCharacterDefining : changedCardTypes).put(timestamp, staticId, new CardChangedType(
                 addType, removeType, addAllCreatureTypes, remove));
+        updateTraitsVersion();
         if (updateView) {
             updateTypesForView();
         }
@@ -4340,6 +4383,9 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars, ITr
         boolean removed = false;
         removed |= changedCardTypes.remove(timestamp, staticId) != null;
         removed |= changedCardTypesCharacterDefining.remove(timestamp, staticId) != null;
+        if (removed) {
+            updateTraitsVersion();
+        }
         if (removed && updateView) {
             updateTypesForView();
         }
@@ -4566,6 +4612,7 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars, ITr
         addNewPT(power, toughness, timestamp, staticId, false, true);
     }
     public final void addNewPT(final Integer power, final Integer toughness, final long timestamp, final long staticId, final boolean cda, final boolean updateView) {
+        updateLKIVersion();
         (cda ? newPTCharacterDefining : newPT).put(timestamp, staticId, Pair.of(power, toughness));
         if (updateView) {
             updatePTforView();
@@ -4576,6 +4623,7 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars, ITr
         removeNewPT(timestamp, staticId, true);
     }
     public final void removeNewPT(final long timestamp, final long staticId, final boolean updateView) {
+        updateLKIVersion();
         boolean removed = false;
 
         removed |= newPTText.remove(timestamp, staticId) != null;
@@ -4744,10 +4792,12 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars, ITr
     }
 
     public void addPTBoost(final Integer power, final Integer toughness, final long timestamp, final long staticId) {
+        updateLKIVersion();
         boostPT.put(timestamp, staticId, Pair.of(power, toughness));
     }
 
     public void removePTBoost(final long timestamp, final long staticId) {
+        updateLKIVersion();
         boostPT.remove(timestamp, staticId);
     }
 
@@ -4779,7 +4829,10 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars, ITr
         }
         return intensity;
     }
-    public final void setIntensity(final int n) { intensity = n; }
+    public final void setIntensity(final int n) {
+        updateLKIVersion();
+        intensity = n;
+    }
     public final boolean hasIntensity() {
         return intensity > 0;
     }
@@ -4793,10 +4846,12 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars, ITr
     }
 
     public final void addPerpetual(PerpetualInterface p) {
+        updateLKIVersion();
         perpetual.add(p);
     }
 
     public final void removePerpetual(final long timestamp) {
+        updateLKIVersion();
         PerpetualInterface toRemove = null;
         for (PerpetualInterface p : perpetual) {
             if (p.getTimestamp() == (timestamp)) {
@@ -4952,6 +5007,7 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars, ITr
     }
 
     public void setStoredReplacements(Table<StaticAbility, String, ReplacementEffect> table) {
+        updateLKIVersion();
         storedReplacementEffect.clear();
         for (Table.Cell<StaticAbility, String, ReplacementEffect> c : table.cellSet()) {
             storedReplacementEffect.put(c.getRowKey(), c.getColumnKey(), c.getValue().copy(this, true));
@@ -5065,12 +5121,14 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars, ITr
         for (Table.Cell<Long, Long, CardTraitChanges> e : changes.cellSet()) {
             changedCardTraitsByText.put(e.getRowKey(), e.getColumnKey(), e.getValue().copy(this, true));
         }
+        updateTraitsVersion();
     }
     public final void addChangedCardTraitsByText(Collection<SpellAbility> spells,
             Collection<Trigger> trigger, Collection<ReplacementEffect> replacements, Collection<StaticAbility> statics, long timestamp, long staticId) {
         changedCardTraitsByText.put(timestamp, staticId, new CardTraitChanges(
             spells, null, trigger, replacements, statics, true, false
         ));
+        updateTraitsVersion();
         updateAbilityTextForView();
     }
 
@@ -5086,6 +5144,7 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars, ITr
             spells, removedAbilities, trigger, replacements, statics, removeAll, removeNonMana
         );
         changedCardTraits.put(timestamp, staticId, result);
+        updateTraitsVersion();
         if (updateView) {
             updateAbilityTextForView();
         }
@@ -5094,6 +5153,7 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars, ITr
 
     public final void addChangedCardTraits(CardTraitChanges ctc, long timestamp, long staticId) {
         changedCardTraits.put(timestamp, staticId, ctc);
+        updateTraitsVersion();
         updateAbilityTextForView();
     }
 
@@ -5101,6 +5161,9 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars, ITr
         boolean changed = false;
         changed |= changedCardTraitsByText.remove(timestamp, staticId) != null;
         changed |= changedCardTraits.remove(timestamp, staticId) != null;
+        if (changed) {
+            updateTraitsVersion();
+        }
         return changed;
     }
 
@@ -5124,6 +5187,7 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars, ITr
         for (Table.Cell<Long, Long, CardTraitChanges> e : changes.cellSet()) {
             changedCardTraits.put(e.getRowKey(), e.getColumnKey(), e.getValue().copy(this, true));
         }
+        updateTraitsVersion();
     }
 
     public boolean clearChangedCardTraits() {
@@ -5136,6 +5200,9 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars, ITr
             changed = true;
         }
         changedCardTraits.clear();
+        if (changed) {
+            updateTraitsVersion();
+        }
         return changed;
     }
 
@@ -5195,6 +5262,7 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars, ITr
     }
     public final void addChangedCardKeywords(final List<String> keywords, final List<String> removeKeywords,
             final boolean removeAllKeywords, final long timestamp, final StaticAbility st, final boolean updateView) {
+        updateLKIVersion();
         List<KeywordInterface> kws = Lists.newArrayList();
         if (keywords != null) {
             long idx = 1;
@@ -5251,6 +5319,7 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars, ITr
     }
 
     public void setStoredKeywords(Map<Triple<String, Long, Long>, KeywordInterface> map, boolean lki) {
+        updateLKIVersion();
         storedKeywords.clear();
         for (Map.Entry<Triple<String, Long, Long>, KeywordInterface> e : map.entrySet()) {
             storedKeywords.put(e.getKey(), getCopyForStoredKeyword(e, lki));
@@ -5308,6 +5377,7 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars, ITr
         return removeChangedCardKeywords(timestamp, staticId, true);
     }
     public final boolean removeChangedCardKeywords(final long timestamp, final long staticId, final boolean updateView) {
+        updateLKIVersion();
         boolean changed = false;
         changed |= changedCardKeywords.remove(timestamp, staticId) != null;
         changed |= changedCardKeywordsByText.remove(timestamp, staticId) != null;
@@ -5635,6 +5705,7 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars, ITr
         }
 
         this.changedTypeByText = new CardChangedType(new CardType(toAdd, true), new CardType(toRemove, true), false, EnumSet.noneOf(RemoveType.class));
+        updateTraitsVersion();
 
         currentState.updateChangedText();
 
@@ -5772,6 +5843,7 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars, ITr
         return unearthed;
     }
     public final void setUnearthed(final boolean b) {
+        updateLKIVersion();
         unearthed = b;
     }
 
@@ -5788,6 +5860,9 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars, ITr
         if (phasedOut == phasedOut0) { return; }
         phasedOut = phasedOut0;
         view.updatePhasedOut(this);
+        if (game != null) {
+            game.getZoneSnapshots().changed(ZoneType.Battlefield);
+        }
     }
 
     public final void phase(final boolean fromUntapStep) {
@@ -5906,63 +5981,7 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars, ITr
     // Takes one argument like Permanent.Blue+withFlying
     @Override
     public final boolean isValid(final String restriction, final Player sourceController, final Card source, CardTraitBase spellAbility) {
-        // Inclusive restrictions are Card types
-        final String[] incR = restriction.split("\\.", 2);
-
-        boolean testFailed = false;
-        if (incR[0].startsWith("!")) {
-            testFailed = true; // a bit counter logical))
-            incR[0] = incR[0].substring(1); // consume negation sign
-        }
-
-        if (incR[0].equals("Spell")) {
-            if (!isSpell()) {
-                return testFailed;
-            }
-        } else if (incR[0].equals("Permanent")) {
-            if (!isPermanent()) {
-                return testFailed;
-            }
-        } else if (incR[0].equals("Effect")) {
-            if (!isImmutable()) {
-                return testFailed;
-            }
-        } else if (incR[0].equals("Emblem")) {
-            if (!isEmblem()) {
-                return testFailed;
-            }
-        } else if (incR[0].equals("Boon")) {
-            if (!isBoon()) {
-                return testFailed;
-            }
-        } else if (incR[0].equals("card") || incR[0].equals("Card")) {
-            if (isImmutable()) {
-                return testFailed;
-            }
-        } else if (incR[0].equals("Any")) {
-            if (!(isCreature() || isPlaneswalker() || isBattle())) {
-                return false;
-            }
-            //todo further check for Effect API and other replacement Effect
-            /*if (spellAbility == null)
-                return false;
-            ApiType apiType = ((SpellAbility) spellAbility).getApi();
-            if (!(ApiType.DealDamage.equals(apiType) || ApiType.PreventDamage.equals(apiType)))
-                return false;*/
-        } else if (!getType().hasStringType(incR[0])) {
-            return testFailed; // Check for wrong type
-        }
-
-        if (incR.length > 1) {
-            final String excR = incR[1];
-            final String[] exRs = excR.split("\\+"); // Exclusive Restrictions are ...
-            for (String exR : exRs) {
-                if (!hasProperty(exR, sourceController, source, spellAbility)) {
-                    return testFailed;
-                }
-            }
-        }
-        return !testFailed;
+        return CardRestriction.of(restriction).test(this, sourceController, source, spellAbility);
     }
 
     // Takes arguments like Blue or withFlying
@@ -6258,7 +6277,14 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars, ITr
     public final int getExcessDamageThisTurn() {
         return excessDamageThisTurnAmount;
     }
+    @Override
+    public void receiveDamage(Pair<Integer, Boolean> dmg) {
+        updateLKIVersion();
+        super.receiveDamage(dmg);
+    }
+
     public final void setExcessDamageReceivedThisTurn(final int n) {
+        updateLKIVersion();
         excessDamageThisTurnAmount = n;
     }
     private void resetExcessDamage() {
@@ -6557,6 +6583,7 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars, ITr
 
     public final boolean isTributed() { return tributed; }
     public final void setTributed(final boolean b) {
+        updateLKIVersion();
         tributed = b;
     }
 
@@ -6636,17 +6663,22 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars, ITr
     }
 
     public boolean wasDiscarded() { return discarded; }
-    public void setDiscarded(boolean state) { discarded = state; }
+    public void setDiscarded(boolean state) {
+        updateLKIVersion();
+        discarded = state;
+    }
     public boolean wasSurveilled() {
         return this.surveilled;
     }
     public void setSurveilled(boolean value) {
+        updateLKIVersion();
         this.surveilled = value;
     }
     public boolean wasMilled() {
         return milled;
     }
     public void setMilled(boolean value) {
+        updateLKIVersion();
         milled = value;
     }
 
@@ -6673,6 +6705,7 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars, ITr
         return monstrous;
     }
     public final void setMonstrous(final boolean monstrous0) {
+        updateLKIVersion();
         monstrous = monstrous0;
     }
 
@@ -6680,6 +6713,7 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars, ITr
         return renowned;
     }
     public final void setRenowned(final boolean renowned0) {
+        updateLKIVersion();
         renowned = renowned0;
     }
 
@@ -6687,6 +6721,7 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars, ITr
         return solved;
     }
     public final boolean setSolved(final boolean solved) {
+        updateLKIVersion();
         this.solved = solved;
         return true;
     }
@@ -6698,10 +6733,12 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars, ITr
         return saddledByThisTurn;
     }
     public final void addSaddledByThisTurn(final CardCollection saddlers) {
+        updateLKIVersion();
         if (saddledByThisTurn != null) saddledByThisTurn.addAll(saddlers);
         else saddledByThisTurn = saddlers;
     }
     public final void setSaddledByThisTurn(final CardCollection saddlers) {
+        updateLKIVersion();
         saddledByThisTurn = saddlers;
     }
     public void resetSaddled() {
@@ -6715,6 +6752,7 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars, ITr
         return saddled;
     }
     public final boolean setSaddled(final boolean saddled) {
+        updateLKIVersion();
         this.saddled = saddled;
         if (saddled) timesSaddledThisTurn++;
         return true;
@@ -6724,6 +6762,7 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars, ITr
         return this.suspectedStatic;
     }
     public void setSuspectedStatic(StaticAbility stAb) {
+        updateLKIVersion();
         this.suspectedStatic = stAb;
     }
 
@@ -6792,6 +6831,7 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars, ITr
         return this.plotted;
     }
     public final boolean setPlotted(final boolean plotted) {
+        updateLKIVersion();
         this.plotted = plotted;
         if (plotted == true && !isLKI()) {
             final Map<AbilityKey, Object> runParams = AbilityKey.mapFromCard(this);
@@ -6804,6 +6844,7 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars, ITr
         return foretoldCostByEffect;
     }
     public void setForetoldCostByEffect(final boolean val) {
+        updateLKIVersion();
         this.foretoldCostByEffect = val;
     }
 
@@ -6944,6 +6985,7 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars, ITr
         return bestowTimestamp;
     }
     public final void setBestowTimestamp(final long t) {
+        updateLKIVersion();
         bestowTimestamp = t;
     }
 
@@ -6951,6 +6993,7 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars, ITr
         return gameTimestamp;
     }
     public final void setGameTimestamp(final long t) {
+        updateLKIVersion();
         gameTimestamp = t;
         // 613.7d An object receives a timestamp at the time it enters a zone.
         layerTimestamp = t;
@@ -6960,6 +7003,7 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars, ITr
         return layerTimestamp;
     }
     public final void setLayerTimestamp(final long t) {
+        updateLKIVersion();
         layerTimestamp = t;
     }
 
@@ -7076,6 +7120,9 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars, ITr
     }
     public void setZone(Zone zone) {
         if (currentZone == zone) { return; }
+        if (traitsDeferred && zone != null && !zone.is(ZoneType.Library)) {
+            buildDeferredTraits();
+        }
         currentZone = zone;
         view.updateZone(this);
     }
@@ -7292,6 +7339,41 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars, ITr
     public FCollectionView<ReplacementEffect> getReplacementEffects() {
         return currentState.getReplacementEffects();
     }
+    public List<ReplacementEffect> getReplacementEffects(final ReplacementType event) {
+        return currentState.getReplacementEffects(event);
+    }
+
+    /**
+     * Counts changes to anything the traits of this card are made of, like its state, types, keywords, counters
+     * or abilities gained and lost, so results derived from them can be cached until it changes.
+     */
+    public int getTraitsVersion() {
+        return traitsVersion;
+    }
+    public void updateTraitsVersion() {
+        traitsVersion++;
+        countChange();
+        invalidateStaticAbilities();
+    }
+
+    /**
+     * Grows with every change to this card that a last known information copy of it would show, as long as the
+     * card stays in the same state: changes shown in its view, to its traits, and the ones counted by
+     * {@link #updateLKIVersion()} because they don't reach the view right away or at all.
+     */
+    public long getLKIVersion() {
+        return (long) lkiVersion + traitsVersion + view.getChangeCount();
+    }
+    private void updateLKIVersion() {
+        lkiVersion++;
+        countChange();
+    }
+    // changes that don't reach the view count towards the game too, there is no view yet while the card is set up
+    private void countChange() {
+        if (view != null && view.getTracker() != null) {
+            view.getTracker().countChange();
+        }
+    }
 
     public ReplacementEffect addReplacementEffect(final ReplacementEffect replacementEffect) {
         currentState.addReplacementEffect(replacementEffect);
@@ -7372,6 +7454,7 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars, ITr
         return castFrom;
     }
     public void setCastFrom(final Zone castFrom0) {
+        updateLKIVersion();
         castFrom = castFrom0;
     }
     public boolean wasCast() {
@@ -7392,6 +7475,7 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars, ITr
         return castSA;
     }
     public void setCastSA(SpellAbility castSA) {
+        updateLKIVersion();
         this.castSA = castSA;
     }
 
@@ -7423,6 +7507,7 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars, ITr
     }
 
     public void onEndOfCombat(final Player active) {
+        updateLKIVersion();
         setEnlistedThisCombat(false);
         if (this.getController().equals(active)) {
             chosenModesYourLastCombat.clear();
@@ -7436,6 +7521,7 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars, ITr
     }
 
     public void onCleanupPhase(final Player turn) {
+        updateLKIVersion();
         tappedThisTurn = 0;
         setRegeneratedThisTurn(0);
         resetShieldCount();
@@ -7568,11 +7654,40 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars, ITr
         currentState.getView().updateRulesText(r, getType());
     }
 
+    /**
+     * Whether this card is still in the library it was made for and its abilities, triggers, replacement and static
+     * abilities weren't built yet. Its characteristics and keywords are there, so it can be searched and checked
+     * like any other card.
+     */
+    public boolean hasDeferredTraits() {
+        return traitsDeferred;
+    }
+    void setTraitsDeferred(final boolean deferred) {
+        traitsDeferred = deferred;
+    }
+    /**
+     * Builds the traits that were left out when this card was made, if any. Asking the card for its traits or moving
+     * it out of the library does that too.
+     */
+    public void buildDeferredTraits() {
+        if (!traitsDeferred) {
+            return;
+        }
+        traitsDeferred = false;
+        CardFactory.buildDeferredTraits(this);
+    }
+
     @Override
     public Game getGame() {
         return game;
     }
 
+    private void invalidateStaticAbilities() {
+        if (game != null) {
+            game.invalidateStaticAbilities();
+        }
+    }
+
     public void dangerouslySetGame(Game newGame) {
         game = newGame;
     }
@@ -7736,7 +7851,7 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars, ITr
         return CardFactory.getCard(pc, owner, owner == null ? null : owner.getGame());
     }
 
-    private static final Map<PaperCard, Card> cp2card = Maps.newHashMap();
+    private static final Map<PaperCard, Card> cp2card = Maps.newConcurrentMap();
     public static Card getCardForUi(IPaperCard pc) {
         if (pc instanceof PaperCard) {
             Card res = cp2card.get(pc);
@@ -7914,11 +8029,13 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars, ITr
     }
 
     public final void addGoad(Long timestamp, final Player p) {
+        updateLKIVersion();
         goad.put(timestamp, p);
         updateAbilityTextForView();
     }
 
     public final void removeGoad(Long timestamp) {
+        updateLKIVersion();
         if (goad.remove(timestamp) != null) {
             updateAbilityTextForView();
         }
@@ -7979,6 +8096,7 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars, ITr
     }
 
     public void addAbilityActivated(SpellAbility ability) {
+        updateLKIVersion();
         numberTurnActivations.add(ability);
         numberGameActivations.add(ability);
 
@@ -8008,6 +8126,7 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars, ITr
     }
 
     public void addAbilityResolved(SpellAbility ability) {
+        updateLKIVersion();
         numberAbilityResolved.add(ability);
     }
     public List<Player> getAbilityResolvedThisTurnActivators(SpellAbility ability) {
@@ -8124,6 +8243,7 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars, ITr
     }
 
     public void resetActivationsPerTurn() {
+        updateLKIVersion();
         planeswalkerAbilityActivated = 0;
         planeswalkerActivationLimitUsed = false;
         numberTurnActivations.clear();
@@ -8325,6 +8445,7 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars, ITr
     public CardState getEmptyRoomState() {
         if (!states.containsKey(CardStateName.EmptyRoom)) {
             states.put(CardStateName.EmptyRoom, CardUtil.getEmptyRoomCharacteristic(this));
+            updateTraitsVersion();
         }
         return states.get(CardStateName.EmptyRoom);
     }
@@ -8345,6 +8466,7 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars, ITr
 
         this.changedCardTypes.putAll(in.changedCardTypes);
         this.changedCardTypesCharacterDefining.putAll(in.changedCardTypesCharacterDefining);
+        updateTraitsVersion();
 
         this.changedCardNames.putAll(in.changedCardNames);
         setChangedCardTraits(in.getChangedCardTraits());
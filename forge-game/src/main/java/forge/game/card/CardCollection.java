@@ -2,8 +2,14 @@ package forge.game.card;
 
 import forge.util.collect.FCollection;
 
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.Set;
 import java.util.function.Predicate;
 
+import com.google.common.collect.Iterators;
+
 public class CardCollection extends FCollection<Card> implements CardCollectionView {
     private static final long serialVersionUID = -8133537013727100275L;
 
@@ -117,6 +123,14 @@ public class CardCollection extends FCollection<Card> implements CardCollectionV
         super(cards);
     }
 
+    /**
+     * Index larger collections by card id.
+     */
+    @Override
+    protected Set<Card> createIndex() {
+        return new CardIdIndex();
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -135,6 +149,103 @@ public class CardCollection extends FCollection<Card> implements CardCollectionV
         return out;
     }
 
+    /**
+     * Create a {@link CardCollection} with the given cards that can't be
+     * changed anymore, so that it can be shared without copying it.
+     *
+     * @param cards
+     *            an {@link Iterable}.
+     * @return a collection whose methods changing it throw an
+     *         {@link UnsupportedOperationException}.
+     */
+    public static CardCollection immutableCopyOf(final Iterable<Card> cards) {
+        return new ImmutableCardCollection(cards);
+    }
+
+    /**
+     * A {@link CardCollection} that can't be changed after it's been filled.
+     */
+    private final static class ImmutableCardCollection extends CardCollection {
+        private static final long serialVersionUID = 4410574326722167312L;
+
+        private final boolean filled;
+
+        private ImmutableCardCollection(final Iterable<Card> cards) {
+            super(cards);
+            filled = true;
+        }
+
+        private void checkChange() {
+            if (filled) {
+                throw new UnsupportedOperationException("This card collection can't be changed");
+            }
+        }
+
+        @Override public boolean add(final Card e) {
+            checkChange();
+            return super.add(e);
+        }
+        @Override public void add(final int index, final Card element) {
+            checkChange();
+            super.add(index, element);
+        }
+        @Override public boolean addAll(final Collection<? extends Card> c) {
+            checkChange();
+            return super.addAll(c);
+        }
+        @Override public boolean addAll(final Iterable<? extends Card> i) {
+            checkChange();
+            return super.addAll(i);
+        }
+        @Override public boolean addAll(final Card[] c) {
+            checkChange();
+            return super.addAll(c);
+        }
+        @Override public boolean addAll(final int index, final Collection<? extends Card> c) {
+            checkChange();
+            return super.addAll(index, c);
+        }
+        @Override public boolean remove(final Object o) {
+            checkChange();
+            return super.remove(o);
+        }
+        @Override public Card remove(final int index) {
+            checkChange();
+            return super.remove(index);
+        }
+        @Override public boolean removeIf(final Predicate<? super Card> filter) {
+            checkChange();
+            return super.removeIf(filter);
+        }
+        @Override public boolean removeAll(final Collection<?> c) {
+            checkChange();
+            return super.removeAll(c);
+        }
+        @Override public boolean removeAll(final Iterable<?> c) {
+            checkChange();
+            return super.removeAll(c);
+        }
+        @Override public boolean retainAll(final Collection<?> c) {
+            checkChange();
+            return super.retainAll(c);
+        }
+        @Override public void clear() {
+            checkChange();
+            super.clear();
+        }
+        @Override public Card set(final int index, final Card element) {
+            checkChange();
+            return super.set(index, element);
+        }
+        @Override public void sort(final Comparator<? super Card> comparator) {
+            checkChange();
+            super.sort(comparator);
+        }
+        @Override public Iterator<Card> iterator() {
+            return Iterators.unmodifiableIterator(super.iterator());
+        }
+    }
+
     /**
      * An unmodifiable, empty {@link CardCollection}.
      */
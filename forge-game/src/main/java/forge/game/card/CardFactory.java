@@ -18,6 +18,7 @@
 package forge.game.card;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Iterables;
 import com.google.common.collect.Lists;
 import forge.ImageKeys;
 import forge.StaticData;
@@ -26,6 +27,7 @@ import forge.card.mana.ManaCost;
 import forge.card.mana.ManaCostParser;
 import forge.game.CardTraitBase;
 import forge.game.Game;
+import forge.game.TriggerReplacementBase;
 import forge.game.ability.AbilityFactory;
 import forge.game.ability.AbilityUtils;
 import forge.game.ability.ApiType;
@@ -42,6 +44,7 @@ import forge.game.trigger.TriggerHandler;
 import forge.game.trigger.WrappedAbility;
 import forge.item.IPaperCard;
 import forge.util.CardTranslation;
+import forge.util.FileSection;
 import forge.util.TextUtil;
 
 import java.util.Arrays;
@@ -171,11 +174,35 @@ public class CardFactory {
         return getCard(cp, owner, owner == null ? -1 : owner.getGame().nextCardId(), game);
     }
     public static Card getCard(final IPaperCard cp, final Player owner, final int cardId, final Game game) {
+        return getCard(cp, owner, cardId, game, false);
+    }
+
+    /**
+     * Makes a card to be put into a library like {@link #getCard(IPaperCard, Player, int, Game)} does, but leaves its
+     * abilities, triggers, replacement and static abilities out until something asks for them or it leaves the
+     * library, see {@link Card#buildDeferredTraits()}. Most cards of a library never leave it during a game.
+     * <p>
+     * That's only done for cards without traits that could work while the card is in a library, so the trigger,
+     * replacement and static ability handlers can pass by the ones that weren't built yet.
+     */
+    public static Card getLibraryCard(final IPaperCard cp, final Player owner, final Game game) {
+        return getLibraryCard(cp, owner, owner == null ? -1 : owner.getGame().nextCardId(), game);
+    }
+    public static Card getLibraryCard(final IPaperCard cp, final Player owner, final int cardId, final Game game) {
+        return getCard(cp, owner, cardId, game, cardId > 0 && canDeferTraits(cp.getRules()));
+    }
+
+    private static Card getCard(final IPaperCard cp, final Player owner, final int cardId, final Game game, final boolean deferTraits) {
         CardRules cardRules = cp.getRules();
-        final Card c = readCard(cardRules, cp, cardId, game);
+        final Card c = readCard(cardRules, cp, cardId, game, deferTraits);
         c.setRules(cardRules);
         c.setOwner(owner);
-        buildAbilities(c);
+        if (deferTraits) {
+            c.setTraitsDeferred(true);
+            buildCharacteristics(c);
+        } else {
+            buildAbilities(c);
+        }
 
         c.setSetCode(cp.getEdition());
         c.setRarity(cp.getRarity());
@@ -241,6 +268,158 @@ public class CardFactory {
         return c;
     }
 
+    /**
+     * Makes a new card like {@link #getCard(IPaperCard, Player, int, Game)} does, but by copying the states of a card
+     * that was made from the same paper card and hasn't been changed since. That's much cheaper than reading the card
+     * script again, so it's meant for making the same cards over and over, like the AI does when copying games.
+     */
+    public static Card copyPristineCard(final Card pristine, final Player owner, final int cardId, final Game game) {
+        final Card c = new Card(cardId, pristine.getPaperCard(), game);
+        c.setRules(pristine.getRules());
+        c.setOwner(owner);
+        for (final CardStateName state : pristine.getStates()) {
+            if (!c.getStates().contains(state)) {
+                c.addAlternateState(state, false);
+            }
+            c.getState(state).copyFrom(pristine.getState(state), false);
+            c.getState(state).setBasePowerString(pristine.getState(state).getBasePowerString());
+            c.getState(state).setBaseToughnessString(pristine.getState(state).getBaseToughnessString());
+        }
+        // disconnect from pristine card, or the copied traits would still count as copied from it
+        for (final CardStateName state : c.getStates()) {
+            final CardState cs = c.getState(state);
+            for (final CardTraitBase ctb : cs.getTraits()) {
+                resetPristineCardState(ctb, pristine, c);
+            }
+            for (final KeywordInterface kw : cs.getIntrinsicKeywords()) {
+                for (final CardTraitBase ctb : Iterables.concat(kw.getAbilities(), kw.getTriggers(), kw.getReplacements(), kw.getStaticAbilities())) {
+                    resetPristineCardState(ctb, pristine, c);
+                }
+            }
+        }
+        c.setText(pristine.getSpellText());
+        c.setGamePieceType(pristine.getGamePieceType());
+        c.setState(pristine.getCurrentStateName(), false);
+        c.updateStateForView();
+        return c;
+    }
+
+    private static void resetPristineCardState(final CardTraitBase ctb, final Card pristine, final Card c) {
+        if (ctb == null) {
+            return;
+        }
+        if (ctb.getCardState() != null && ctb.getCardState().getCard() == pristine) {
+            ctb.setCardState(c.getState(ctb.getCardState().getStateName()));
+        }
+        if (ctb instanceof TriggerReplacementBase trb) {
+            resetPristineCardState(trb.getOverridingAbility(), pristine, c);
+        } else if (ctb instanceof SpellAbility sa) {
+            resetPristineCardState(sa.getSubAbility(), pristine, c);
+            for (final SpellAbility add : sa.getAdditionalAbilities().values()) {
+                resetPristineCardState(add, pristine, c);
+            }
+            for (final List<AbilitySub> list : sa.getAdditionalAbilityLists().values()) {
+                for (final AbilitySub add : list) {
+                    resetPristineCardState(add, pristine, c);
+                }
+            }
+        }
+    }
+
+    /**
+     * Builds what {@link #getLibraryCard} left out of a card.
+     */
+    static void buildDeferredTraits(final Card card) {
+        final CardRules rules = card.getRules();
+        final CardStateName current = card.getCurrentStateName();
+        // the same faces in the same states as readCard reads them
+        final CardSplitType st = rules.getSplitType();
+        card.setState(st == CardSplitType.Split ? CardStateName.LeftSplit : CardStateName.Original, false);
+        readCardFaceTraits(card, rules.getMainPart());
+        if (st == CardSplitType.Specialize) {
+            for (Map.Entry<CardStateName, ICardFace> e : rules.getSpecializeParts().entrySet()) {
+                if (e.getValue() != null) {
+                    card.setState(e.getKey(), false);
+                    readCardFaceTraits(card, e.getValue());
+                }
+            }
+        } else if (st != CardSplitType.None && rules.getOtherPart() != null) {
+            card.setState(st.getChangedStateName(), false);
+            readCardFaceTraits(card, rules.getOtherPart());
+        }
+        buildAbilities(card);
+        card.setState(current, false);
+    }
+
+    /**
+     * Whether none of the traits of a card could work while it's in a library, so building them can wait until it
+     * leaves. Anything that mentions the library, characteristic-defining and everywhere-working static abilities,
+     * and replacement effects that aren't limited to zones and aren't about the card itself rule that out.
+     */
+    static boolean canDeferTraits(final CardRules rules) {
+        if (!rules.getMeldWith().isEmpty()) {
+            return false;
+        }
+        final List<ICardFace> faces = Lists.newArrayList(rules.getMainPart());
+        if (rules.getOtherPart() != null) {
+            faces.add(rules.getOtherPart());
+        }
+        if (rules.getSplitType() == CardSplitType.Specialize) {
+            faces.addAll(rules.getSpecializeParts().values());
+        }
+        for (final ICardFace face : faces) {
+            if (face == null) {
+                continue;
+            }
+            if (face.hasFunctionalVariants()) {
+                return false;
+            }
+            for (final String a : face.getAbilities()) {
+                final Map<String, String> params = FileSection.parseToMap(a, FileSection.DOLLAR_SIGN_KV_SEPARATOR);
+                if (params.getOrDefault("ActivationZone", "").contains("Library")) {
+                    return false;
+                }
+            }
+            for (final String t : face.getTriggers()) {
+                if (t.contains("Library")) {
+                    return false;
+                }
+            }
+            for (final String r : face.getReplacements()) {
+                final Map<String, String> params = FileSection.parseToMap(r, FileSection.DOLLAR_SIGN_KV_SEPARATOR);
+                if (r.contains("Library") || (!params.containsKey("ActiveZones") && !isAboutItself(params.get("ValidCard")))) {
+                    return false;
+                }
+            }
+            for (final String st : face.getStaticAbilities()) {
+                final Map<String, String> params = FileSection.parseToMap(st, FileSection.DOLLAR_SIGN_KV_SEPARATOR);
+                if (st.contains("Library") || params.containsKey("CharacteristicDefining") || "All".equals(params.get("EffectZone"))) {
+                    return false;
+                }
+            }
+            for (final String k : face.getKeywords()) {
+                // these make static abilities that work everywhere
+                if (k.equals("Changeling") || k.equals("Devoid") || k.equals("MayFlashSac")) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static boolean isAboutItself(final String valid) {
+        return valid != null && valid.endsWith(".Self") && !valid.contains(",");
+    }
+
+    // like buildAbilities, without the traits
+    private static void buildCharacteristics(final Card card) {
+        card.setState(CardStateName.Original, false);
+        if (card.isSplitCard()) {
+            card.updateKeywordsCache(card.getCurrentState());
+        }
+        card.updateStateForView();
+    }
+
     private static void buildAbilities(final Card card) {
         for (final CardStateName state : card.getStates()) {
             if (card.isDoubleFaced() && state == CardStateName.FaceDown) {
@@ -301,7 +480,7 @@ public class CardFactory {
         return sa;
     }
 
-    private static Card readCard(final CardRules rules, final IPaperCard paperCard, int cardId, Game game) {
+    private static Card readCard(final CardRules rules, final IPaperCard paperCard, int cardId, Game game, final boolean deferTraits) {
         final Card card = new Card(cardId, paperCard, game);
 
         // 1. The states we may have:
@@ -311,23 +490,23 @@ public class CardFactory {
             card.setState(CardStateName.LeftSplit, false);
         }
 
-        readCardFace(card, rules.getMainPart());
+        readCardFace(card, rules.getMainPart(), deferTraits);
 
         if (st == CardSplitType.Specialize) {
             for (Map.Entry<CardStateName, ICardFace> e : rules.getSpecializeParts().entrySet()) {
                 card.addAlternateState(e.getKey(), false);
                 card.setState(e.getKey(), false);
                 if (e.getValue() != null) {
-                    readCardFace(card, e.getValue());
+                    readCardFace(card, e.getValue(), deferTraits);
                 }
             }
         } else if (st != CardSplitType.None) {
             card.addAlternateState(st.getChangedStateName(), false);
             card.setState(st.getChangedStateName(), false);
             if (rules.getOtherPart() != null) {
-                readCardFace(card, rules.getOtherPart());
+                readCardFace(card, rules.getOtherPart(), deferTraits);
             } else if (!rules.getMeldWith().isEmpty()) {
-                readCardFace(card, StaticData.instance().getCommonCards().getRules(rules.getMeldWith()).getOtherPart());
+                readCardFace(card, StaticData.instance().getCommonCards().getRules(rules.getMeldWith()).getOtherPart(), deferTraits);
             }
         }
 
@@ -352,7 +531,7 @@ public class CardFactory {
         return card;
     }
 
-    private static void readCardFace(Card c, ICardFace face) {
+    private static void readCardFace(Card c, ICardFace face, final boolean deferTraits) {
         String variantName = null;
         //If it's a functional variant card, switch to that first.
         if(face.hasFunctionalVariants()) {
@@ -380,12 +559,9 @@ public class CardFactory {
         if (c.getId() >= 0) { // Set Triggers & Abilities if not for view
             for (Entry<String, String> v : face.getVariables())
                 c.setSVar(v.getKey(), v.getValue());
-            for (String r : face.getReplacements())
-                c.addReplacementEffect(ReplacementHandler.parseReplacement(r, c, true, c.getCurrentState()));
-            for (String s : face.getStaticAbilities())
-                c.addStaticAbility(s);
-            for (String t : face.getTriggers())
-                c.addTrigger(TriggerHandler.parseTrigger(t, c, true, c.getCurrentState()));
+            if (!deferTraits) {
+                readCardFaceEffects(c, face);
+            }
 
             // keywords not before variables
             c.addIntrinsicKeywords(face.getKeywords(), false);
@@ -420,10 +596,24 @@ public class CardFactory {
 
         c.setAttractionLights(face.getAttractionLights());
 
-        if (c.getId() > 0) // Set FactoryAbilities if not for view
+        if (c.getId() > 0 && !deferTraits) // Set FactoryAbilities if not for view
             CardFactoryUtil.addAbilityFactoryAbilities(c, face.getAbilities());
     }
 
+    private static void readCardFaceEffects(Card c, ICardFace face) {
+        for (String r : face.getReplacements())
+            c.addReplacementEffect(ReplacementHandler.parseReplacement(r, c, true, c.getCurrentState()));
+        for (String s : face.getStaticAbilities())
+            c.addStaticAbility(s);
+        for (String t : face.getTriggers())
+            c.addTrigger(TriggerHandler.parseTrigger(t, c, true, c.getCurrentState()));
+    }
+
+    private static void readCardFaceTraits(Card c, ICardFace face) {
+        readCardFaceEffects(c, face);
+        CardFactoryUtil.addAbilityFactoryAbilities(c, face.getAbilities());
+    }
+
     public static void copySpellAbility(SpellAbility from, SpellAbility to, final Card host, final Player p, final boolean lki, final boolean keepTextChanges) {
         if (from.usesTargeting()) {
             to.setTargetRestrictions(from.getTargetRestrictions());
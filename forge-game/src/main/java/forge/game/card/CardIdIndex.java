@@ -0,0 +1,132 @@
+package forge.game.card;
+
+import java.io.Serializable;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * The hashed index of a {@link CardCollection} that has grown past a few cards. The cards are kept in an open
+ * addressing table probed by their id, which takes a fraction of the memory of a {@link java.util.HashSet} and
+ * doesn't allocate anything per card.
+ * <p>
+ * Only adding, removing and looking up single cards is supported, which is all {@link CardCollection} needs.
+ */
+final class CardIdIndex extends AbstractSet<Card> implements Serializable {
+    private static final long serialVersionUID = 3513207937021524862L;
+
+    private Card[] table = new Card[32];
+    private int size;
+
+    private static int slot(final int id, final int mask) {
+        final int h = id * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    private int indexOf(final Card c) {
+        final int mask = table.length - 1;
+        for (int i = slot(c.getId(), mask); table[i] != null; i = (i + 1) & mask) {
+            if (table[i].equals(c)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean contains(final Object o) {
+        return o instanceof Card && indexOf((Card) o) >= 0;
+    }
+
+    @Override
+    public boolean add(final Card c) {
+        int mask = table.length - 1;
+        int i = slot(c.getId(), mask);
+        for (; table[i] != null; i = (i + 1) & mask) {
+            if (table[i].equals(c)) {
+                return false;
+            }
+        }
+        table[i] = c;
+        if (++size * 2 > table.length) {
+            final Card[] old = table;
+            table = new Card[old.length * 2];
+            mask = table.length - 1;
+            for (final Card e : old) {
+                if (e != null) {
+                    int j = slot(e.getId(), mask);
+                    while (table[j] != null) {
+                        j = (j + 1) & mask;
+                    }
+                    table[j] = e;
+                }
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean remove(final Object o) {
+        if (!(o instanceof Card)) {
+            return false;
+        }
+        int i = indexOf((Card) o);
+        if (i < 0) {
+            return false;
+        }
+        table[i] = null;
+        size--;
+        // move later cards of the same run back into the gap, so that probing doesn't stop before them
+        final int mask = table.length - 1;
+        for (int j = (i + 1) & mask; table[j] != null; j = (j + 1) & mask) {
+            final int k = slot(table[j].getId(), mask);
+            if (i <= j ? (k <= i || k > j) : (k <= i && k > j)) {
+                table[i] = table[j];
+                table[j] = null;
+                i = j;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(table, null);
+        size = 0;
+    }
+
+    @Override
+    public Iterator<Card> iterator() {
+        return new Iterator<>() {
+            private int next = advance(0);
+
+            private int advance(int i) {
+                while (i < table.length && table[i] == null) {
+                    i++;
+                }
+                return i;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return next < table.length;
+            }
+
+            @Override
+            public Card next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                final Card c = table[next];
+                next = advance(next + 1);
+                return c;
+            }
+        };
+    }
+}
@@ -0,0 +1,169 @@
+package forge.game.card;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+
+import forge.card.MagicColor;
+import forge.game.CardTraitBase;
+import forge.game.player.Player;
+
+/**
+ * A restriction such as {@code Creature.YouCtrl+nonToken}, as used by Valid parameters, parsed once and cached
+ * by its text.
+ * <p>
+ * Properties checked on nearly every card, like who controls it or its colors and types, are compiled into
+ * direct checks that behave exactly like {@link CardProperty#cardHasProperty}. All others are passed on to
+ * {@link Card#hasProperty} as before.
+ */
+public final class CardRestriction {
+    // restrictions can be built at runtime (e.g. from card ids), so don't let the cache grow without limit
+    private static final int MAX_CACHED = 20000;
+    private static final Map<String, CardRestriction> cache = new ConcurrentHashMap<>();
+
+    @FunctionalInterface
+    private interface Check {
+        boolean test(Card card, Player sourceController, Card source, CardTraitBase spellAbility);
+    }
+
+    private static final Map<String, Check> simpleProperties = ImmutableMap.<String, Check>builder()
+            .put("YouCtrl", (card, sourceController, source, sa) -> controller(card).equals(sourceController))
+            .put("YouDontCtrl", (card, sourceController, source, sa) -> !controller(card).equals(sourceController))
+            .put("OppCtrl", (card, sourceController, source, sa) -> controller(card).getOpponents().contains(sourceController))
+            .put("YouOwn", (card, sourceController, source, sa) -> card.getOwner().equals(sourceController))
+            .put("YouDontOwn", (card, sourceController, source, sa) -> !card.getOwner().equals(sourceController))
+            .put("OppOwn", (card, sourceController, source, sa) -> card.getOwner().getOpponents().contains(sourceController))
+            .put("Other", (card, sourceController, source, sa) -> !card.equals(source))
+            .put("Self", (card, sourceController, source, sa) -> card.equals(source))
+            .put("tapped", (card, sourceController, source, sa) -> card.isTapped())
+            .put("untapped", (card, sourceController, source, sa) -> card.isUntapped())
+            .put("token", (card, sourceController, source, sa) -> card.isToken() || card.isTokenCard())
+            .put("attacking", (card, sourceController, source, sa) -> card.getGame().getCombat() != null && card.isAttacking())
+            .build();
+
+    // types whose "non" property falls through to ForgeScript without being caught by anything else first
+    private static final Set<String> nonTypes = ImmutableSet.of("Token", "Land", "Creature", "Artifact", "Enchantment",
+            "Planeswalker", "Battle", "Instant", "Sorcery", "Basic", "Legendary", "Snow", "Aura", "Equipment");
+
+    private static final Set<String> colors = ImmutableSet.of("White", "Blue", "Black", "Red", "Green");
+
+    private final String text;
+    private final boolean negated;
+    private final Check type;
+    private final boolean isAny;
+    private final Check[] properties;
+
+    public static CardRestriction of(final String restriction) {
+        CardRestriction result = cache.get(restriction);
+        if (result == null) {
+            result = new CardRestriction(restriction);
+            if (cache.size() < MAX_CACHED) {
+                cache.put(restriction, result);
+            }
+        }
+        return result;
+    }
+
+    private CardRestriction(final String restriction) {
+        text = restriction;
+        // Inclusive restrictions are Card types
+        final String[] incR = restriction.split("\\.", 2);
+
+        negated = incR[0].startsWith("!");
+        final String typeName = negated ? incR[0].substring(1) : incR[0];
+        isAny = typeName.equals("Any");
+        type = compileType(typeName);
+
+        if (incR.length > 1) {
+            final String[] exRs = incR[1].split("\\+"); // Exclusive Restrictions are ...
+            properties = new Check[exRs.length];
+            for (int i = 0; i < exRs.length; i++) {
+                properties[i] = compileProperty(exRs[i]);
+            }
+        } else {
+            properties = new Check[0];
+        }
+    }
+
+    public boolean test(final Card card, final Player sourceController, final Card source, final CardTraitBase spellAbility) {
+        if (!type.test(card, sourceController, source, spellAbility)) {
+            return isAny ? false : negated;
+        }
+        for (final Check property : properties) {
+            if (!property.test(card, sourceController, source, spellAbility)) {
+                return negated;
+            }
+        }
+        return !negated;
+    }
+
+    @Override
+    public String toString() {
+        return text;
+    }
+
+    private static Check compileType(final String typeName) {
+        switch (typeName) {
+            case "Spell":
+                return (card, sourceController, source, sa) -> card.isSpell();
+            case "Permanent":
+                return (card, sourceController, source, sa) -> card.isPermanent();
+            case "Effect":
+                return (card, sourceController, source, sa) -> card.isImmutable();
+            case "Emblem":
+                return (card, sourceController, source, sa) -> card.isEmblem();
+            case "Boon":
+                return (card, sourceController, source, sa) -> card.isBoon();
+            case "card":
+            case "Card":
+                return (card, sourceController, source, sa) -> !card.isImmutable();
+            case "Any":
+                return (card, sourceController, source, sa) -> card.isCreature() || card.isPlaneswalker() || card.isBattle();
+            default:
+                return (card, sourceController, source, sa) -> card.getType().hasStringType(typeName);
+        }
+    }
+
+    private static Check compileProperty(final String property) {
+        final boolean not = property.startsWith("!");
+        Check check = compileCardProperty(not ? property.substring(1) : property);
+        if (check == null) {
+            return (card, sourceController, source, sa) -> card.hasProperty(property, sourceController, source, sa);
+        }
+        final Check compiled = check;
+        // CR 702.25b if card is phased out it will not count unless specifically asked for
+        if (not) {
+            return (card, sourceController, source, sa) -> card.isPhasedOut() || !compiled.test(card, sourceController, source, sa);
+        }
+        return (card, sourceController, source, sa) -> !card.isPhasedOut() && compiled.test(card, sourceController, source, sa);
+    }
+
+    private static Check compileCardProperty(final String property) {
+        final Check check = simpleProperties.get(property);
+        return check != null ? check : compileCardStateProperty(property);
+    }
+
+    /**
+     * Properties of the current card state that are handled by ForgeScript.
+     */
+    private static Check compileCardStateProperty(final String property) {
+        final boolean non = property.startsWith("non");
+        final String name = non ? property.substring(3) : property;
+        if (colors.contains(name)) {
+            final int color = MagicColor.fromName(name);
+            return (card, sourceController, source, sa) -> non != card.getColor(card.getCurrentState()).hasAnyColor(color);
+        }
+        if (non && nonTypes.contains(name)) {
+            return (card, sourceController, source, sa) -> !card.getCurrentState().getTypeWithChanges().hasStringType(name);
+        }
+        return null;
+    }
+
+    private static Player controller(final Card card) {
+        // lki can't be null but it does return this
+        return card.getGame().getChangeZoneLKIInfo(card).getController();
+    }
+}
@@ -35,6 +35,7 @@ import forge.game.keyword.KeywordInterface;
 import forge.game.keyword.KeywordWithType;
 import forge.game.player.Player;
 import forge.game.replacement.ReplacementEffect;
+import forge.game.replacement.ReplacementType;
 import forge.game.spellability.LandAbility;
 import forge.game.spellability.SpellAbility;
 import forge.game.spellability.SpellPermanent;
@@ -50,6 +51,8 @@ import io.sentry.Sentry;
 import org.apache.commons.lang3.StringUtils;
 
 import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.function.Predicate;
@@ -98,6 +101,11 @@ public class CardState implements GameObject, IHasSVars, ITranslatable {
     private ReplacementEffect adventureRep;
     private ReplacementEffect omenRep;
 
+    // replacement effects by the events they can replace, valid as long as the traits version of the card is unchanged
+    private Map<ReplacementType, List<ReplacementEffect>> replacementEffectsByEvent = null;
+    private Card replacementEffectsCard = null;
+    private int replacementEffectsVersion;
+
     private SpellAbility manifestUp;
     private SpellAbility cloakUp;
 
@@ -146,11 +154,13 @@ public class CardState implements GameObject, IHasSVars, ITranslatable {
     }
     public final void addType(String type0) {
         if (type.add(type0)) {
+            card.updateTraitsVersion();
             view.updateType(this);
         }
     }
     public final void addType(Iterable<String> type0) {
         if (type.addAll(type0)) {
+            card.updateTraitsVersion();
             view.updateType(this);
         }
     }
@@ -162,11 +172,13 @@ public class CardState implements GameObject, IHasSVars, ITranslatable {
         if (type0.isEmpty() && type.isEmpty()) { return; }
         type.clear();
         type.addAll(type0);
+        card.updateTraitsVersion();
         view.updateType(this);
     }
 
     public final void removeType(final CardType.Supertype st) {
         if (type.remove(st)) {
+            card.updateTraitsVersion();
             view.updateType(this);
         }
     }
@@ -176,10 +188,12 @@ public class CardState implements GameObject, IHasSVars, ITranslatable {
         if (sanisfy) {
             type.sanisfySubtypes();
         }
+        card.updateTraitsVersion();
     }
 
     public final void setCreatureTypes(Collection<String> ctypes) {
         if (type.setCreatureTypes(ctypes)) {
+            card.updateTraitsVersion();
             view.updateType(this);
         }
     }
@@ -297,6 +311,7 @@ public class CardState implements GameObject, IHasSVars, ITranslatable {
 
     public final void setCachedKeywords(final KeywordCollection col) {
         cachedKeywords = col;
+        card.updateTraitsVersion();
     }
 
     public final boolean hasKeyword(Keyword key) {
@@ -373,6 +388,7 @@ public class CardState implements GameObject, IHasSVars, ITranslatable {
     }
 
     public final FCollectionView<SpellAbility> getSpellAbilities() {
+        card.buildDeferredTraits();
         FCollection<SpellAbility> newCol = new FCollection<>();
         updateSpellAbilities(newCol, null);
         newCol.addAll(abilities);
@@ -380,6 +396,7 @@ public class CardState implements GameObject, IHasSVars, ITranslatable {
         return newCol;
     }
     public final FCollectionView<SpellAbility> getManaAbilities() {
+        card.buildDeferredTraits();
         FCollection<SpellAbility> newCol = new FCollection<>();
         updateSpellAbilities(newCol, true);
         // stream().toList() causes crash on Android 8-13, use Collectors.toList()
@@ -388,6 +405,7 @@ public class CardState implements GameObject, IHasSVars, ITranslatable {
         return newCol;
     }
     public final FCollectionView<SpellAbility> getNonManaAbilities() {
+        card.buildDeferredTraits();
         FCollection<SpellAbility> newCol = new FCollection<>();
         updateSpellAbilities(newCol, false);
         // stream().toList() causes crash on Android 8-13, use Collectors.toList()
@@ -553,6 +571,7 @@ public class CardState implements GameObject, IHasSVars, ITranslatable {
     }
 
     public final FCollectionView<Trigger> getTriggers() {
+        card.buildDeferredTraits();
         FCollection<Trigger> result = new FCollection<>(triggers);
         if (getStateName().equals(CardStateName.Original)) {
             if (getCard().hasState(CardStateName.LeftSplit))
@@ -582,6 +601,7 @@ public class CardState implements GameObject, IHasSVars, ITranslatable {
     }
 
     public final FCollectionView<StaticAbility> getStaticAbilities() {
+        card.buildDeferredTraits();
         FCollection<StaticAbility> result = new FCollection<>(staticAbilities);
         if (getStateName().equals(CardStateName.Original)) {
             if (getCard().hasState(CardStateName.LeftSplit))
@@ -600,6 +620,7 @@ public class CardState implements GameObject, IHasSVars, ITranslatable {
     }
 
     public FCollectionView<ReplacementEffect> getReplacementEffects() {
+        card.buildDeferredTraits();
         FCollection<ReplacementEffect> result = new FCollection<>(replacementEffects);
         // add Split to Original
         if (getStateName().equals(CardStateName.Original)) {
@@ -646,7 +667,36 @@ public class CardState implements GameObject, IHasSVars, ITranslatable {
 
         return result;
     }
+    /**
+     * The replacement effects that could replace the given event, in the same order as {@link #getReplacementEffects()}.
+     */
+    public List<ReplacementEffect> getReplacementEffects(final ReplacementType event) {
+        card.buildDeferredTraits();
+        if (replacementEffectsByEvent == null || replacementEffectsCard != card
+                || replacementEffectsVersion != card.getTraitsVersion()) {
+            replacementEffectsByEvent = new EnumMap<>(ReplacementType.class);
+            replacementEffectsCard = card;
+            replacementEffectsVersion = card.getTraitsVersion();
+        }
+        List<ReplacementEffect> result = replacementEffectsByEvent.get(event);
+        if (result == null) {
+            result = filterReplacementEffects(event);
+            replacementEffectsByEvent.put(event, result);
+        } else if (card.getGame() != null && card.getGame().getRules().verifyReplacementEffects()) {
+            final List<ReplacementEffect> expected = filterReplacementEffects(event);
+            if (!result.equals(expected)) {
+                throw new IllegalStateException("Kept " + event + " replacement effects of " + card + " are out of date: "
+                        + result + " instead of " + expected);
+            }
+        }
+        return result;
+    }
+    private List<ReplacementEffect> filterReplacementEffects(final ReplacementType event) {
+        return ImmutableList.copyOf(Iterables.filter(getReplacementEffects(), re -> re.canReplaceEvent(event)));
+    }
+
     public boolean addReplacementEffect(final ReplacementEffect replacementEffect) {
+        card.updateTraitsVersion();
         return replacementEffects.add(replacementEffect);
     }
 
@@ -718,6 +768,7 @@ public class CardState implements GameObject, IHasSVars, ITranslatable {
     }
     public final void copyFrom(final CardState source, final boolean lki, final CardTraitBase ctb) {
         // Makes a "deeper" copy of a CardState object
+        source.getCard().buildDeferredTraits();
         setName(source.getName());
         setType(source.type);
         setManaCost(source.getManaCost());
@@ -773,6 +824,7 @@ public class CardState implements GameObject, IHasSVars, ITranslatable {
         }
 
         replacementEffects.clear();
+        card.updateTraitsVersion();
         for (ReplacementEffect re : source.replacementEffects) {
             if (re.isIntrinsic()) {
                 ReplacementEffect reCopy = re.copy(card, lki);
@@ -840,6 +892,7 @@ public class CardState implements GameObject, IHasSVars, ITranslatable {
                 replacementEffects.add(re.copy(card, lki));
             }
         }
+        card.updateTraitsVersion();
 
         for (StaticAbility sa : source.staticAbilities) {
             if (sa.isIntrinsic()) {
@@ -896,6 +949,7 @@ public class CardState implements GameObject, IHasSVars, ITranslatable {
     }
 
     public ImmutableList<CardTraitBase> getTraits() {
+        card.buildDeferredTraits();
         return ImmutableList.<CardTraitBase>builder()
                 .addAll(abilities)
                 .addAll(triggers)
@@ -1668,13 +1668,18 @@ public class CardView extends GameEntityView {
             return get(TrackableProperty.AbilityText);
         }
         void updateAbilityText(Card c, CardState state) {
+            // don't build the traits of a library card just for the view, it's updated when they are
+            if (c.hasDeferredTraits()) {
+                return;
+            }
             set(TrackableProperty.AbilityText, c.getAbilityText(state));
         }
         void updateKeywords(Card c, CardState state) {
             c.updateKeywordsCache(state);
+            final boolean withTraits = !c.hasDeferredTraits();
             // deeper check for Idris
-            set(TrackableProperty.HasAnnihilator, c.hasKeyword(Keyword.ANNIHILATOR, state) || state.getTriggers().anyMatch(t -> t.isKeyword(Keyword.ANNIHILATOR)));
-            set(TrackableProperty.HasWard, c.hasKeyword(Keyword.WARD, state) || state.getTriggers().anyMatch(t -> t.isKeyword(Keyword.WARD)));
+            set(TrackableProperty.HasAnnihilator, c.hasKeyword(Keyword.ANNIHILATOR, state) || (withTraits && state.getTriggers().anyMatch(t -> t.isKeyword(Keyword.ANNIHILATOR))));
+            set(TrackableProperty.HasWard, c.hasKeyword(Keyword.WARD, state) || (withTraits && state.getTriggers().anyMatch(t -> t.isKeyword(Keyword.WARD))));
             set(TrackableProperty.HasDeathtouch, c.hasKeyword(Keyword.DEATHTOUCH, state));
             set(TrackableProperty.HasToxic, c.hasKeyword(Keyword.TOXIC, state));
             set(TrackableProperty.HasDevoid, c.hasKeyword(Keyword.DEVOID, state));
@@ -1711,7 +1716,9 @@ public class CardView extends GameEntityView {
             //keywordkey
             set(TrackableProperty.KeywordKey, c.getKeywordKey());
             //update Trackable Mana Color for BG Colors
-            updateManaColorBG(state);
+            if (withTraits) {
+                updateManaColorBG(state);
+            }
         }
         void updateManaColorBG(CardState state) {
             boolean anyMana = false;
@@ -11,14 +11,11 @@ public record CounterKeywordType(String keyword) implements CounterType {
     static ImmutableList<String> keywordCounter = ImmutableList.of(
             "Flying", "First Strike", "Double Strike", "Deathtouch", "Decayed", "Exalted", "Haste", "Hexproof",
             "Indestructible", "Lifelink", "Menace", "Reach", "Shadow", "Trample", "Vigilance");
-    private static Map<String, CounterKeywordType> sMap = Maps.newHashMap();
+    private static Map<String, CounterKeywordType> sMap = Maps.newConcurrentMap();
 
 
     public static CounterKeywordType get(String s) {
-        if (!sMap.containsKey(s)) {
-            sMap.put(s, new CounterKeywordType(s));
-        }
-        return sMap.get(s);
+        return sMap.computeIfAbsent(s, CounterKeywordType::new);
     }
     
     @Override
@@ -0,0 +1,165 @@
+package forge.game.event;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Delivers the events of a game or match to the subscribers of their type. Each subscriber is registered for an
+ * event type and gets all events of that type and its subtypes, in the order the subscribers were registered.
+ * <p>
+ * Which subscribers an event goes to is looked up once per event class and kept until the subscribers change, so
+ * posting an event doesn't take any lock or reflection and doesn't allocate anything once the lookup is done.
+ * Subscribers can be registered from any thread.
+ * <p>
+ * Like Guava's {@code EventBus} it replaces, events posted by a subscriber while it handles another event are
+ * delivered after that event reached all its subscribers, and an exception thrown by a subscriber is printed
+ * without keeping the event from the others.
+ */
+public final class EventDispatcher {
+    private static final Consumer<?>[] NONE = new Consumer<?>[0];
+
+    private static final class Subscriber {
+        final Class<? extends Event> type;
+        final Consumer<Event> consumer;
+        final boolean presenter;
+
+        Subscriber(final Class<? extends Event> type, final Consumer<Event> consumer, final boolean presenter) {
+            this.type = type;
+            this.consumer = consumer;
+            this.presenter = presenter;
+        }
+    }
+
+    /**
+     * The subscribers at one point, with the consumers of each event class looked up so far. Replaced as a whole
+     * when the subscribers change, so a lookup never mixes old and new subscribers.
+     */
+    private static final class Registry {
+        final Subscriber[] subscribers;
+        final boolean headless;
+        final ConcurrentHashMap<Class<?>, Consumer<Event>[]> byEventClass = new ConcurrentHashMap<>();
+
+        Registry(final Subscriber[] subscribers, final boolean headless) {
+            this.subscribers = subscribers;
+            this.headless = headless;
+        }
+
+        @SuppressWarnings("unchecked")
+        Consumer<Event>[] lookup(final Class<?> eventClass) {
+            final List<Consumer<Event>> result = new ArrayList<>();
+            for (final Subscriber s : subscribers) {
+                if (s.type.isAssignableFrom(eventClass) && !(headless && s.presenter)) {
+                    result.add(s.consumer);
+                }
+            }
+            return result.isEmpty() ? (Consumer<Event>[]) NONE : result.toArray((Consumer<Event>[]) NONE);
+        }
+    }
+
+    private static final class Pending {
+        final Deque<Delivery> deliveries = new ArrayDeque<>();
+        boolean dispatching;
+    }
+
+    private static final class Delivery {
+        final Event event;
+        final Consumer<Event>[] consumers;
+
+        Delivery(final Event event, final Consumer<Event>[] consumers) {
+            this.event = event;
+            this.consumers = consumers;
+        }
+    }
+
+    private final String name;
+    private volatile Registry registry = new Registry(new Subscriber[0], false);
+    private final ThreadLocal<Pending> pending = ThreadLocal.withInitial(Pending::new);
+
+    public EventDispatcher(final String name) {
+        this.name = name;
+    }
+
+    /**
+     * Deliver all events of the given type and its subtypes to the subscriber.
+     */
+    public <E extends Event> void subscribe(final Class<E> type, final Consumer<? super E> subscriber) {
+        add(new Subscriber(type, cast(subscriber), false));
+    }
+
+    /**
+     * Like {@link #subscribe}, for a subscriber that only presents the events to someone watching, like the UI or the
+     * sound system. These are left out while the dispatcher is headless.
+     */
+    public <E extends Event> void subscribePresenter(final Class<E> type, final Consumer<? super E> subscriber) {
+        add(new Subscriber(type, cast(subscriber), true));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <E extends Event> Consumer<Event> cast(final Consumer<? super E> subscriber) {
+        // only ever called with events of the type it was registered for
+        return (Consumer<Event>) subscriber;
+    }
+
+    private synchronized void add(final Subscriber subscriber) {
+        final Subscriber[] subscribers = Arrays.copyOf(registry.subscribers, registry.subscribers.length + 1);
+        subscribers[subscribers.length - 1] = subscriber;
+        registry = new Registry(subscribers, registry.headless);
+    }
+
+    /**
+     * Whether nobody watches the events, so presenting subscribers don't need to get them.
+     */
+    public synchronized void setHeadless(final boolean headless) {
+        if (registry.headless != headless) {
+            registry = new Registry(registry.subscribers, headless);
+        }
+    }
+
+    public boolean isHeadless() {
+        return registry.headless;
+    }
+
+    public void post(final Event event) {
+        final Registry r = registry;
+        Consumer<Event>[] consumers = r.byEventClass.get(event.getClass());
+        if (consumers == null) {
+            consumers = r.byEventClass.computeIfAbsent(event.getClass(), r::lookup);
+        }
+        if (consumers.length == 0) {
+            return;
+        }
+        final Pending p = pending.get();
+        if (p.dispatching) {
+            // posted while handling another event
+            p.deliveries.add(new Delivery(event, consumers));
+            return;
+        }
+        p.dispatching = true;
+        try {
+            deliver(event, consumers);
+            Delivery next;
+            while ((next = p.deliveries.poll()) != null) {
+                deliver(next.event, next.consumers);
+            }
+        } finally {
+            p.deliveries.clear();
+            p.dispatching = false;
+        }
+    }
+
+    private void deliver(final Event event, final Consumer<Event>[] consumers) {
+        for (final Consumer<Event> c : consumers) {
+            try {
+                c.accept(event);
+            } catch (final RuntimeException e) {
+                System.err.println("Exception in " + name + " subscriber " + c + " handling " + event);
+                e.printStackTrace();
+            }
+        }
+    }
+}
@@ -118,6 +118,7 @@ public abstract class KeywordInstance<T extends KeywordInstance<?>> implements K
             CardFactoryUtil.addReplacementEffect(this, host.getCurrentState(), intrinsic);
             CardFactoryUtil.addSpellAbility(this, host.getCurrentState(), intrinsic);
             CardFactoryUtil.addStaticAbility(this, host.getCurrentState(), intrinsic);
+            host.updateTraitsVersion();
         } catch (Exception e) {
             String msg = "KeywordInstance:createTraits: failed Traits for Keyword";
 
@@ -24,6 +24,7 @@ import java.util.List;
 import com.google.common.collect.Lists;
 
 import forge.GameCommand;
+import forge.game.Game;
 import forge.game.player.Player;
 
 
@@ -39,9 +40,11 @@ public class Phase implements java.io.Serializable {
 
     private static final long serialVersionUID = 4665309652476851977L;
 
+    protected final Game game;
     protected final PhaseType type; // mostly decorative field - it's never used
 
-    public Phase(PhaseType type) {
+    public Phase(final Game game0, PhaseType type) {
+        this.game = game0;
         this.type = type;
     }
 
@@ -171,5 +174,8 @@ public class Phase implements java.io.Serializable {
         for (int i = 0; i < length; i++) {
             c.remove(0).run();
         }
+        if (length > 0) {
+            game.getAction().invalidateStaticAbilities();
+        }
     }
 }
@@ -104,6 +104,8 @@ public class Player extends GameEntity implements Comparable<Player> {
     private int numPowerSurgeLands;
     private int spellsCastThisTurn;
     private int spellsCastThisGame;
+    // changes to what isn't shown in the view, see getStateVersion
+    private int stateVersion;
     private int spellsCastLastTurn;
     private List<Card> spellsCastSinceBeginningOfLastTurn = Lists.newArrayList();
     private int investigatedThisTurn;
@@ -485,6 +487,7 @@ public class Player extends GameEntity implements Comparable<Player> {
             boolean firstGain = lifeGainedTimesThisTurn == 0;
             lifeGainedThisTurn += lifeGain;
             lifeGainedTimesThisTurn++;
+            updateStateVersion();
 
             // team mates need to be notified about life gained
             for (final Player p : getTeamMates(true)) {
@@ -552,6 +555,7 @@ public class Player extends GameEntity implements Comparable<Player> {
 
         boolean firstLost = lifeLostThisTurn == 0;
         lifeLostThisTurn += toLose;
+        updateStateVersion();
 
         final Map<AbilityKey, Object> runParams = AbilityKey.mapFromPlayer(this);
         runParams.put(AbilityKey.LifeAmount, toLose);
@@ -2348,6 +2352,7 @@ public class Player extends GameEntity implements Comparable<Player> {
         return spellsCastLastTurn;
     }
     public final void addSpellCastThisTurn() {
+        updateStateVersion();
         spellsCastThisTurn++;
         spellsCastThisGame++;
         achievementTracker.spellsCast++;
@@ -2356,6 +2361,7 @@ public class Player extends GameEntity implements Comparable<Player> {
         }
     }
     public final void resetSpellsCastThisTurn() {
+        updateStateVersion();
         spellsCastThisTurn = 0;
     }
     public final void setSpellsCastLastTurn(int num) {
@@ -2380,6 +2386,7 @@ public class Player extends GameEntity implements Comparable<Player> {
     }
     public final void setLifeGainedThisTurn(final int n) {
         lifeGainedThisTurn = n;
+        updateStateVersion();
     }
 
     public final int getLifeGainedTimesThisTurn() {
@@ -2391,6 +2398,7 @@ public class Player extends GameEntity implements Comparable<Player> {
     }
     public final void setLifeLostThisTurn(final int n) {
         lifeLostThisTurn = n;
+        updateStateVersion();
     }
 
     public final int getLifeLostLastTurn() {
@@ -2764,10 +2772,19 @@ public class Player extends GameEntity implements Comparable<Player> {
         return inboundTokens;
     }
     public void addInboundToken(Card c) {
-        inboundTokens.add(c);
+        if (inboundTokens.add(c) && game.getPlayers().contains(this)) {
+            game.getCardIndex().add(c);
+        }
     }
     public void removeInboundToken(Card c) {
-        inboundTokens.remove(c);
+        final int idx = inboundTokens.indexOf(c);
+        if (idx >= 0) {
+            final Card removed = inboundTokens.get(idx);
+            inboundTokens.remove(c);
+            if (game.getPlayers().contains(this)) {
+                game.getCardIndex().remove(removed);
+            }
+        }
     }
 
     public void onMulliganned() {
@@ -3420,6 +3437,18 @@ public class Player extends GameEntity implements Comparable<Player> {
         return view;
     }
 
+    /**
+     * Grows with every change to this player: the ones shown in its view, like life, counters, mana and the cards in
+     * its zones, and the ones that aren't, like the life gained and lost and the spells cast this turn.
+     */
+    public long getStateVersion() {
+        return (long) stateVersion + view.getChangeCount();
+    }
+    private void updateStateVersion() {
+        stateVersion++;
+        game.updateStateVersion();
+    }
+
     public SpellAbility getPaidForSA() {
         return paidForStack.peek();
     }
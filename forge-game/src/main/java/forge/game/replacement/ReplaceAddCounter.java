@@ -107,6 +107,11 @@ public class ReplaceAddCounter extends ReplacementEffect {
         return false;
     }
 
+    @Override
+    public boolean canReplaceEvent(ReplacementType event) {
+        return super.canReplaceEvent(event) || event.equals(ReplacementType.Moved);
+    }
+
     @Override
     public boolean modeCheck(ReplacementType event, Map<AbilityKey, Object> runParams) {
         if (super.modeCheck(event, runParams)) {
@@ -20,6 +20,7 @@ package forge.game.replacement;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import com.google.common.collect.*;
 
@@ -47,8 +48,8 @@ import forge.util.TextUtil;
  *
  */
 public abstract class ReplacementEffect extends TriggerReplacementBase {
-    private static int maxId = 0;
-    private static int nextId() { return ++maxId; }
+    private static final AtomicInteger maxId = new AtomicInteger();
+    private static int nextId() { return maxId.incrementAndGet(); }
 
     /** The ID. */
     private int id;
@@ -354,6 +355,13 @@ public abstract class ReplacementEffect extends TriggerReplacementBase {
         return true;
     }
 
+    /**
+     * Whether events of this type are looked at by {@link #modeCheck} at all, regardless of their parameters.
+     */
+    public boolean canReplaceEvent(ReplacementType event) {
+        return event.equals(getMode());
+    }
+
     public boolean modeCheck(ReplacementType event, Map<AbilityKey, Object> runParams) {
         return event.equals(getMode());
     }
@@ -70,6 +70,11 @@ public class ReplacementHandler {
         Card affectedLKI = null;
         Card affectedCard = null;
 
+        // a library card can't be passed by when something happens to it, as it may replace that itself
+        if (runParams.get(AbilityKey.Affected) instanceof Card affected) {
+            affected.buildDeferredTraits();
+        }
+
         if (ReplacementType.Moved.equals(event) && ZoneType.Battlefield.equals(runParams.get(AbilityKey.Destination))) {
             // if it was caused by an replacement effect, use the already calculated RE list
             // otherwise the RIOT card would cause a StackError
@@ -104,6 +109,10 @@ public class ReplacementHandler {
             @Override
             public boolean visit(Card crd) {
                 Card c = preList.get(crd);
+                if (c.hasDeferredTraits()) {
+                    // none of them could work from the library, see CardFactory#getLibraryCard
+                    return true;
+                }
                 Zone cardZone = game.getZoneOf(c);
 
                 // only when not prelist
@@ -120,7 +129,7 @@ public class ReplacementHandler {
                     }
                 }
 
-                for (final ReplacementEffect replacementEffect : c.getReplacementEffects()) {
+                for (final ReplacementEffect replacementEffect : c.getReplacementEffects(event)) {
                     if (!replacementEffect.hasRun() && !hasRun.contains(replacementEffect)
                             && (layer == null || replacementEffect.getLayer() == layer)
                             && replacementEffect.modeCheck(event, runParams)
@@ -881,6 +890,9 @@ public class ReplacementHandler {
         game.forEachCardInGame(new Visitor<Card>() {
             @Override
             public boolean visit(Card c) {
+                if (c.hasDeferredTraits()) {
+                    return true;
+                }
                 for (final ReplacementEffect re : c.getReplacementEffects()) {
                     if (re.getMode() == ReplacementType.DamageDone
                             && re.getLayer() == ReplacementLayer.Other
@@ -924,6 +936,9 @@ public class ReplacementHandler {
         game.forEachCardInGame(new Visitor<Card>() {
             @Override
             public boolean visit(Card c) {
+                if (c.hasDeferredTraits()) {
+                    return true;
+                }
                 for (final ReplacementEffect re : c.getReplacementEffects()) {
                     if (re.getMode() == ReplacementType.DamageDone
                             && re.getLayer() == ReplacementLayer.Other
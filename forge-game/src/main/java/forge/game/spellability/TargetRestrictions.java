@@ -93,8 +93,9 @@ public class TargetRestrictions {
      */
     public TargetRestrictions(final TargetRestrictions target) {
         this.uiPrompt = target.getVTSelection();
-        this.originalValidTgts = target.getValidTgts();
-        this.validTgts = this.originalValidTgts.clone();
+        this.originalValidTgts = target.originalValidTgts;
+        this.validTgts = target.getValidTgts().clone();
+        this.validTgtsDesc = target.getValidDesc();
         this.minTargets = target.getMinTargets();
         this.maxTargets = target.getMaxTargets();
         this.maxTotalCMC = target.getMaxTotalCMC();
@@ -112,6 +113,8 @@ public class TargetRestrictions {
         this.withSameCardType = target.isWithSameCardType();
         this.randomTarget = target.isRandomTarget();
         this.randomNumTargets = target.isRandomNumTargets();
+        this.differentNames = target.isDifferentNames();
+        this.bMandatory = target.getMandatory();
     }
 
     /**
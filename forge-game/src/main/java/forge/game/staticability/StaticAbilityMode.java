@@ -1,6 +1,9 @@
 package forge.game.staticability;
 
 import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Set;
 
 public enum StaticAbilityMode {
@@ -193,15 +196,21 @@ public enum StaticAbilityMode {
 
     ;
 
+    private static final Map<String, StaticAbilityMode> allValues = new HashMap<>();
+
+    static {
+        for (StaticAbilityMode t : StaticAbilityMode.values()) {
+            allValues.put(t.name().toLowerCase(Locale.ENGLISH), t);
+        }
+    }
+
     public static StaticAbilityMode smartValueOf(final String value) {
         if (value == null) {
             return null;
         }
-        final String valToCompate = value.trim();
-        for (final StaticAbilityMode v : StaticAbilityMode.values()) {
-            if (v.name().compareToIgnoreCase(valToCompate) == 0) {
-                return v;
-            }
+        final StaticAbilityMode v = allValues.get(value.trim().toLowerCase(Locale.ENGLISH));
+        if (v != null) {
+            return v;
         }
         throw new IllegalArgumentException("No element named " + value + " in enum StaticAbilityMode");
     }
@@ -41,6 +41,7 @@ import forge.util.Lang;
 import forge.util.TextUtil;
 
 import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * <p>
@@ -51,16 +52,11 @@ import java.util.*;
  * @version $Id$
  */
 public abstract class Trigger extends TriggerReplacementBase {
-    private static int maxId = 0;
-    private static int nextId() { return ++maxId; }
-
-    /**
-     * <p>
-     * resetIDs.
-     * </p>
-     */
-    public static void resetIDs() {
-        Trigger.maxId = 50000;
+    // only for triggers of cards outside of any game, those in a game get their id from it
+    private static final AtomicInteger maxId = new AtomicInteger();
+    private static int nextId(final Card host) {
+        final Game game = host == null ? null : host.getGame();
+        return game == null ? maxId.incrementAndGet() : game.nextTriggerId();
     }
 
     /** The ID. */
@@ -87,7 +83,7 @@ public abstract class Trigger extends TriggerReplacementBase {
      *            the intrinsic
      */
     public Trigger(final Map<String, String> params, final Card host, final boolean intrinsic) {
-        this.id = nextId();
+        this.id = nextId(host);
         this.intrinsic = intrinsic;
 
         this.originalMapParams.putAll(params);
@@ -561,7 +557,7 @@ public abstract class Trigger extends TriggerReplacementBase {
         }
 
         if (!lki) {
-            copy.setId(nextId());
+            copy.setId(nextId(newHost));
         }
 
         if (validPhases != null) {
@@ -46,7 +46,9 @@ import io.sentry.Sentry;
 public class TriggerHandler {
     private final Set<TriggerType> suppressedModes = Collections.synchronizedSet(EnumSet.noneOf(TriggerType.class));
     private boolean allSuppressed = false;
-    private final List<Trigger> activeTriggers = Collections.synchronizedList(new ArrayList<>());
+    // active triggers by mode, so that running a trigger only looks at those that can match
+    private final Map<TriggerType, List<Trigger>> activeTriggers = new EnumMap<>(TriggerType.class);
+    private final Set<Integer> activeTriggerIds = Collections.synchronizedSet(new HashSet<>());
 
     private final List<Trigger> delayedTriggers = Collections.synchronizedList(new ArrayList<>());
     private final List<Trigger> thisTurnDelayedTriggers = Collections.synchronizedList(new ArrayList<>());
@@ -56,6 +58,9 @@ public class TriggerHandler {
 
     public TriggerHandler(final Game gameState) {
         game = gameState;
+        for (final TriggerType mode : TriggerType.values()) {
+            activeTriggers.put(mode, Collections.synchronizedList(new ArrayList<>()));
+        }
     }
 
     public final void registerDelayedTrigger(final Trigger trig) {
@@ -186,20 +191,30 @@ public class TriggerHandler {
     }
 
     private void buildActiveTrigger() {
-        activeTriggers.clear();
+        for (final List<Trigger> triggers : activeTriggers.values()) {
+            triggers.clear();
+        }
+        activeTriggerIds.clear();
         game.forEachCardInGame(new Visitor<Card>() {
             @Override
             public boolean visit(Card c) {
+                if (c.hasDeferredTraits()) {
+                    // none of them could work from the library, see CardFactory#getLibraryCard
+                    return true;
+                }
                 for (final Trigger t : c.getTriggers()) {
-                    if (isTriggerActive(t)) {
-                        activeTriggers.add(t);
-                    }
+                    registerOneTrigger(t);
                 }
                 return true;
             }
         });
     }
 
+    private void addActiveTrigger(final Trigger t) {
+        activeTriggers.get(t.getMode()).add(t);
+        activeTriggerIds.add(t.getId());
+    }
+
     public final void resetActiveTriggers() {
         resetActiveTriggers(true);
     }
@@ -211,17 +226,23 @@ public class TriggerHandler {
     }
 
     public final void clearActiveTriggers(final Card c, Zone zoneFrom) {
-        final List<Trigger> toBeRemoved = Lists.newArrayList();
-
-        for (Trigger t : activeTriggers) {
-            // Clear if no ZoneFrom, or not coming from the TriggerZone
-            if (c.getId() == t.getHostCard().getId()) {
-                if (!c.getTriggers().contains(t) || !t.zonesCheck(zoneFrom))
-                    toBeRemoved.add(t);
+        for (final List<Trigger> triggers : activeTriggers.values()) {
+            synchronized (triggers) {
+                if (triggers.isEmpty()) {
+                    continue;
+                }
+                for (final Iterator<Trigger> it = triggers.iterator(); it.hasNext();) {
+                    final Trigger t = it.next();
+                    // Clear if no ZoneFrom, or not coming from the TriggerZone
+                    if (c.getId() == t.getHostCard().getId()) {
+                        if (!c.getTriggers().contains(t) || !t.zonesCheck(zoneFrom)) {
+                            it.remove();
+                            activeTriggerIds.remove(t.getId());
+                        }
+                    }
+                }
             }
         }
-
-        activeTriggers.removeAll(toBeRemoved);
     }
 
     public final void registerActiveTrigger(final Card c, final boolean onlyExtrinsic) {
@@ -247,7 +268,7 @@ public class TriggerHandler {
 
     public final boolean registerOneTrigger(final Trigger t) {
         if (isTriggerActive(t)) {
-            activeTriggers.add(t);
+            addActiveTrigger(t);
             return true;
         }
         return false;
@@ -275,7 +296,7 @@ public class TriggerHandler {
     }
 
     private void runStateTrigger(final Map<AbilityKey, Object> runParams) {
-        for (final Trigger t: Lists.newArrayList(activeTriggers)) {
+        for (final Trigger t: Lists.newArrayList(activeTriggers.get(TriggerType.Always))) {
             if (canRunTrigger(t, TriggerType.Always, runParams)) {
                 runSingleTrigger(t, runParams);
             }
@@ -311,7 +332,7 @@ public class TriggerHandler {
         boolean checkStatics = false;
 
         // Static ones should happen first
-        for (final Trigger t : Lists.newArrayList(activeTriggers)) {
+        for (final Trigger t : Lists.newArrayList(activeTriggers.get(mode))) {
             if (t.isStatic() && canRunTrigger(t, mode, runParams)) {
                 int trigAmt = 1 + StaticAbilityPanharmonicon.handlePanharmonicon(game, t, runParams);
                 for (int i = 0; i < trigAmt; ++i) {
@@ -335,7 +356,7 @@ public class TriggerHandler {
         }
 
         final boolean wasCollected = wt.getTriggers() != null;
-        final Iterable<Trigger> triggers = wasCollected ? wt.getTriggers() : activeTriggers;
+        final Iterable<Trigger> triggers = wasCollected ? wt.getTriggers() : activeTriggers.get(mode);
 
         // the trigger will be ordered later in MagicStack
         for (final Trigger t : triggers) {
@@ -384,11 +405,9 @@ public class TriggerHandler {
             return false; // Host card isn't where it needs to be.
         }
 
-        for (Trigger t : this.activeTriggers) {
-            // If an ID that matches this ID is already active, don't add it
-            if (regtrig.getId() == t.getId()) {
-                return false;
-            }
+        // If an ID that matches this ID is already active, don't add it
+        if (activeTriggerIds.contains(regtrig.getId())) {
+            return false;
         }
 
         return true;
@@ -596,7 +615,7 @@ public class TriggerHandler {
 
     public List<Trigger> getActiveTrigger(final TriggerType mode, final Map<AbilityKey, Object> runParams) {
         List<Trigger> trigger = Lists.newArrayList();
-        for (final Trigger t : activeTriggers) {
+        for (final Trigger t : activeTriggers.get(mode)) {
             if (canRunTrigger(t, mode, runParams)) {
                 trigger.add(t);
             }
@@ -4,6 +4,8 @@ import forge.game.card.Card;
 
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
+import java.util.HashMap;
+import java.util.Locale;
 import java.util.Map;
 
 
@@ -161,6 +163,14 @@ public enum TriggerType {
 
     private final Constructor<? extends Trigger> constructor;
 
+    private static final Map<String, TriggerType> allValues = new HashMap<>();
+
+    static {
+        for (TriggerType t : TriggerType.values()) {
+            allValues.put(t.name().toLowerCase(Locale.ENGLISH), t);
+        }
+    }
+
     TriggerType(Class<? extends Trigger> clasz) {
         constructor = findConstructor(clasz);
     }
@@ -183,11 +193,9 @@ public enum TriggerType {
      * @return
      */
     public static TriggerType smartValueOf(String value) {
-        final String valToCompate = value.trim();
-        for (final TriggerType v : TriggerType.values()) {
-            if (v.name().compareToIgnoreCase(valToCompate) == 0) {
-                return v;
-            }
+        final TriggerType v = allValues.get(value.trim().toLowerCase(Locale.ENGLISH));
+        if (v != null) {
+            return v;
         }
 
         throw new RuntimeException("Element " + value + " not found in TriggerType enum");
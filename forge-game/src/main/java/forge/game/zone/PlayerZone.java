@@ -54,6 +54,11 @@ public class PlayerZone extends Zone {
                 return true;
             }
 
+            // none of its own abilities work from the library, only another card letting it be played could
+            if (c.hasDeferredTraits() && c.mayPlay(c.getController()).isEmpty()) {
+                return false;
+            }
+
             boolean graveyardCastable = c.hasKeyword(Keyword.FLASHBACK) ||
                     c.hasKeyword(Keyword.RETRACE) || c.hasKeyword(Keyword.JUMP_START) || c.hasKeyword(Keyword.ESCAPE) ||
                     c.hasKeyword(Keyword.DISTURB);
@@ -60,6 +60,7 @@ public class Zone implements java.io.Serializable, Iterable<Card> {
 
     protected void sort() {
         cardList.sort(COMPARATOR);
+        cardsChanged();
     }
 
     public Zone(final ZoneType zone0, Game game0) {
@@ -70,13 +71,28 @@ public class Zone implements java.io.Serializable, Iterable<Card> {
     protected void onChanged() {
     }
 
+    /**
+     * Let the game know that the cards of this zone changed, if it's one of the zones of a player or the stack and
+     * not a copy.
+     */
+    private void cardsChanged() {
+        if (getPlayer() != null) {
+            game.getZoneSnapshots().changed(zoneType);
+            game.updateStateVersion();
+        } else if (this == game.getStackZone()) {
+            game.updateStateVersion();
+        }
+    }
+
     public Player getPlayer() { // generic zones like stack have no player associated
         return null;
     }
 
     public final void reorder(final Card c, final int index) {
+        game.invalidateStaticAbilities();
         cardList.remove(c);
         cardList.add(index, c);
+        cardsChanged();
     }
 
     public final void add(final Card c) {
@@ -133,11 +149,16 @@ public class Zone implements java.io.Serializable, Iterable<Card> {
         c.setZone(this);
 
         if ((zoneType == ZoneType.Battlefield || !c.isToken()) || (zoneType == ZoneType.Stack && c.getCopiedPermanent() != null)) {
+            final int size = cardList.size();
             if (index == null) {
                 cardList.add(c);
             } else {
                 cardList.add(index, c);
             }
+            if (cardList.size() > size && game.getCardIndex().isIndexed(this)) {
+                game.getCardIndex().add(c);
+            }
+            cardsChanged();
         }
         onChanged();
 
@@ -153,25 +174,47 @@ public class Zone implements java.io.Serializable, Iterable<Card> {
     }
 
     public void remove(final Card c) {
+        final int idx = cardList.indexOf(c);
+        if (idx < 0) {
+            return;
+        }
+        // the card in the zone may be another state of c
+        final Card removed = cardList.get(idx);
         if (cardList.remove(c)) {
+            if (game.getCardIndex().isIndexed(this)) {
+                game.getCardIndex().remove(removed);
+            }
+            cardsChanged();
             onChanged();
             game.fireEvent(new GameEventZone(zoneType, getPlayer(), EventValueChangeType.Removed, c));
         }
     }
 
     public final void setCards(final Iterable<Card> cards) {
+        final boolean indexed = game.getCardIndex().isIndexed(this);
+        if (indexed) {
+            game.getCardIndex().removeAll(cardList);
+        }
         cardList.clear();
         for (Card c : cards) {
             c.setZone(this);
-            cardList.add(c);
+            if (cardList.add(c) && indexed) {
+                game.getCardIndex().add(c);
+            }
         }
+        cardsChanged();
         onChanged();
         game.fireEvent(new GameEventZone(zoneType, getPlayer(), EventValueChangeType.ComplexUpdate, null));
     }
 
     public final void removeAllCards(boolean forcedWithoutEvents) {
         if (forcedWithoutEvents) {
+            if (game.getCardIndex().isIndexed(this)) {
+                game.getCardIndex().removeAll(cardList);
+            }
             cardList.clear();
+            cardsChanged();
+            game.invalidateStaticAbilities();
         } else {
             for (Card c : cardList) {
                 remove(c);
@@ -282,6 +325,7 @@ public class Zone implements java.io.Serializable, Iterable<Card> {
 
     public void shuffle() {
         Collections.shuffle(cardList, MyRandom.getRandom());
+        cardsChanged();
         onChanged();
     }
 
@@ -18,6 +18,9 @@ public abstract class TrackableObject implements IIdentifiable, Serializable {
     private final Map<TrackableProperty, Object> props;
     private final Set<TrackableProperty> changedProps;
     private boolean copyingProps;
+    private transient int changeCount;
+    // the change count each property last changed at, see getChangesSince
+    private transient Map<TrackableProperty, Integer> propChangeCounts;
 
     protected TrackableObject(final int id0, final Tracker tracker) {
         id = id0;
@@ -50,6 +53,50 @@ public abstract class TrackableObject implements IIdentifiable, Serializable {
         return o.hashCode() == hashCode() && o.getClass().equals(getClass());
     }
 
+    /**
+     * Number of property changes made to this object so far, including the ones still delayed by a frozen tracker,
+     * used to tell whether it changed since it was last sent to a remote client.
+     */
+    public final int getChangeCount() {
+        return changeCount;
+    }
+
+    private void countChange() {
+        changeCount++;
+        if (tracker != null) {
+            tracker.countChange();
+        }
+    }
+
+    private void countChange(final TrackableProperty key) {
+        countChange();
+        if (propChangeCounts == null) {
+            propChangeCounts = new EnumMap<>(TrackableProperty.class);
+        }
+        propChangeCounts.put(key, changeCount);
+    }
+
+    /**
+     * Collect the properties that changed after the given change count: the ones set into changed and the ones
+     * back at their default value into removed.
+     */
+    public final void getChangesSince(final int count, final Map<TrackableProperty, Object> changed, final Set<TrackableProperty> removed) {
+        if (propChangeCounts == null) {
+            return;
+        }
+        for (final Entry<TrackableProperty, Integer> e : propChangeCounts.entrySet()) {
+            if (e.getValue() <= count) {
+                continue;
+            }
+            final Object value = props.get(e.getKey());
+            if (value == null) {
+                removed.add(e.getKey());
+            } else {
+                changed.put(e.getKey(), value);
+            }
+        }
+    }
+
     // don't know if this is really needed, but don't know a better way
     public <T> T getProps() {
         return (T)props;
@@ -74,17 +121,20 @@ public abstract class TrackableObject implements IIdentifiable, Serializable {
             }
             if (respectsFreeze) {
                 tracker.addDelayedPropChange(this, key, value);
+                countChange();
                 return;
             }
         }
         if (value == null || value.equals(key.getDefaultValue())) {
             if (props.remove(key) != null) {
                 changedProps.add(key);
+                countChange(key);
                 key.updateObjLookup(tracker, value);
             }
         }
         else if (!value.equals(props.put(key, value))) {
             changedProps.add(key);
+            countChange(key);
             key.updateObjLookup(tracker, value);
         }
     }
@@ -107,9 +157,38 @@ public abstract class TrackableObject implements IIdentifiable, Serializable {
         copyingProps = false;
     }
 
+    /**
+     * Replace all properties of this object by the given ones, flagging every property that was set or removed
+     * as changed. Used to update an object received over the network in place.
+     */
+    public final void replaceProps(final Map<TrackableProperty, Object> newProps) {
+        final Set<TrackableProperty> removed = EnumSet.noneOf(TrackableProperty.class);
+        removed.addAll(props.keySet());
+        removed.removeAll(newProps.keySet());
+        applyChanges(newProps, removed);
+    }
+
+    /**
+     * Set the given properties and remove the others given, flagging them as changed. Used to update an object
+     * received over the network in place with the changes collected by {@link #getChangesSince}.
+     */
+    public final void applyChanges(final Map<TrackableProperty, Object> changed, final Set<TrackableProperty> removed) {
+        for (final Entry<TrackableProperty, Object> e : changed.entrySet()) {
+            props.put(e.getKey(), e.getValue());
+            changedProps.add(e.getKey());
+            countChange(e.getKey());
+        }
+        for (final TrackableProperty key : removed) {
+            props.remove(key);
+            changedProps.add(key);
+            countChange(key);
+        }
+    }
+
     //use when updating collection type properties with using set
     protected final void flagAsChanged(final TrackableProperty key) {
         changedProps.add(key);
+        countChange(key);
         key.updateObjLookup(tracker, props.get(key));
     }
 
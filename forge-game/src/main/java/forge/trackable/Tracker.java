@@ -10,10 +10,24 @@ import forge.trackable.TrackableTypes.TrackableType;
 
 public class Tracker {
     private int freezeCounter = 0;
+    private int changeCount = 0;
     private final List<DelayedPropChange> delayedPropChanges = Lists.newArrayList();
 
     private final Table<TrackableType<?>, Integer, Object> objLookups = HashBasedTable.create();
 
+    /**
+     * Number of changes made to all objects of this tracker so far, plus the changes to the game counted through
+     * {@link #countChange()}. Whatever is worked out from the state of the game alone stays valid as long as this
+     * doesn't move.
+     */
+    public final int getChangeCount() {
+        return changeCount;
+    }
+
+    public final void countChange() {
+        changeCount++;
+    }
+
     public final boolean isFrozen() {
         return freezeCounter > 0;
     }
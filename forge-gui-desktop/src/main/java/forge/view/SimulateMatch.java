@@ -1,9 +1,8 @@
 package forge.view;
 
 import java.io.File;
+import java.io.IOException;
 import java.util.*;
-import java.util.concurrent.TimeUnit;
-import java.util.concurrent.TimeoutException;
 
 import org.apache.commons.lang3.time.StopWatch;
 
@@ -11,10 +10,6 @@ import forge.LobbyPlayer;
 import forge.deck.Deck;
 import forge.deck.DeckGroup;
 import forge.deck.io.DeckSerializer;
-import forge.game.Game;
-import forge.game.GameEndReason;
-import forge.game.GameLogEntry;
-import forge.game.GameLogEntryType;
 import forge.game.GameRules;
 import forge.game.GameType;
 import forge.game.Match;
@@ -80,6 +75,7 @@ public class SimulateMatch {
         }
 
         boolean outputGamelog = !params.containsKey("q");
+        File logDir = params.containsKey("L") ? new File(params.get("L").get(0)) : null;
 
         GameType type = GameType.Constructed;
         if (params.containsKey("f")) {
@@ -88,6 +84,10 @@ public class SimulateMatch {
 
         GameRules rules = new GameRules(type);
         rules.setAppliedVariants(EnumSet.of(type));
+        // nothing is shown while simulating
+        rules.setHeadless(true);
+        // most library cards are never played, so their abilities can be built only when needed
+        rules.setLazyLibraryCards(params.containsKey("lazy"));
 
         if (matchSize != 0) {
             rules.setGamesPerMatch(matchSize);
@@ -100,6 +100,8 @@ public class SimulateMatch {
         }
 
         List<RegisteredPlayer> pp = new ArrayList<>();
+        List<Deck> decks = new ArrayList<>();
+        List<String> names = new ArrayList<>();
         StringBuilder sb = new StringBuilder();
 
         int i = 1;
@@ -117,15 +119,9 @@ public class SimulateMatch {
                 String name = TextUtil.concatNoSpace("Ai(", String.valueOf(i), ")-", d.getName());
                 sb.append(name);
 
-                RegisteredPlayer rp;
-
-                if (type.equals(GameType.Commander)) {
-                    rp = RegisteredPlayer.forCommander(d);
-                } else {
-                    rp = new RegisteredPlayer(d);
-                }
-                rp.setPlayer(GamePlayerUtil.createAiPlayer(name, i - 1));
-                pp.add(rp);
+                decks.add(d);
+                names.add(name);
+                pp.add(registerAiPlayer(d, name, i - 1, type));
                 i++;
             }
         }
@@ -134,22 +130,39 @@ public class SimulateMatch {
             rules.setSimTimeout(Integer.parseInt(params.get("c").get(0)));
         }
 
+        Long baseSeed = null;
+        if (params.containsKey("seed")) {
+            baseSeed = Long.parseLong(params.get("seed").get(0));
+        }
+
         sb.append(" - ").append(Lang.nounWithNumeral(nGames, "game")).append(" of ").append(type);
 
         System.out.println(sb.toString());
 
+        if (params.containsKey("j")) {
+            if (matchSize != 0) {
+                System.out.println("Parallel simulation plays independent games, ignoring match setting");
+            }
+            int nThreads = Integer.parseInt(params.get("j").get(0));
+            String summaryFile = params.containsKey("o") ? params.get("o").get(0) : null;
+            simulateParallel(rules, decks, names, nGames, nThreads, baseSeed, summaryFile, outputGamelog, logDir);
+            System.out.flush();
+            return;
+        }
+
         Match mc = new Match(rules, pp, "Test");
 
         if (matchSize != 0) {
             int iGame = 0;
             while (!mc.isMatchOver()) {
                 // play games until the match ends
-                simulateSingleMatch(mc, iGame, outputGamelog);
+                SimulateMatchBatch.playGame(mc, iGame, nextSeed(baseSeed, iGame), outputGamelog, logDir);
                 iGame++;
             }
         } else {
+            long[] seeds = SimulateMatchBatch.gameSeeds(nGames, baseSeed);
             for (int iGame = 0; iGame < nGames; iGame++) {
-                simulateSingleMatch(mc, iGame, outputGamelog);
+                SimulateMatchBatch.playGame(mc, iGame, seeds[iGame], outputGamelog, logDir);
             }
         }
 
@@ -157,7 +170,7 @@ public class SimulateMatch {
     }
 
     private static void argumentHelp() {
-        System.out.println("Syntax: forge.exe sim -d <deck1[.dck]> ... <deckX[.dck]> -D [D] -n [N] -m [M] -t [T] -p [P] -f [F] -q");
+        System.out.println("Syntax: forge.exe sim -d <deck1[.dck]> ... <deckX[.dck]> -D [D] -n [N] -m [M] -t [T] -p [P] -f [F] -j [J] -o [O] -seed [S] -L [L] -lazy -q");
         System.out.println("\tsim - stands for simulation mode");
         System.out.println("\tdeck1 (or deck2,...,X) - constructed deck name or filename (has to be quoted when contains multiple words)");
         System.out.println("\tdeck is treated as file if it ends with a dot followed by three numbers or letters");
@@ -168,52 +181,64 @@ public class SimulateMatch {
         System.out.println("\tP - Amount of players per match (used only with Tournaments, defaults to 2)");
         System.out.println("\tF - format of games, defaults to constructed");
         System.out.println("\tc - Clock flag. Set the maximum time in seconds before calling the match a draw, defaults to 120.");
+        System.out.println("\tJ - Number of games to play in parallel threads, each game with its own random seed (ignores match setting)");
+        System.out.println("\tO - File to write per-game results of a parallel run to, as JSON if it ends with .json and CSV otherwise");
+        System.out.println("\tS - Random seed of the first game, following games use S+1, S+2... Each game result shows its seed, so a single game can be replayed with -n 1 -seed S");
+        System.out.println("\tL - Folder to write the full log of each game to while it's played, also with the quiet flag");
+        System.out.println("\tlazy - Lazy library flag. Build the abilities of library cards only once they leave the library, off by default.");
         System.out.println("\tq - Quiet flag. Output just the game result, not the entire game log.");
     }
 
-    public static void simulateSingleMatch(final Match mc, int iGame, boolean outputGamelog) {
-        final StopWatch sw = new StopWatch();
-        sw.start();
+    private static long nextSeed(Long baseSeed, int iGame) {
+        return baseSeed != null ? baseSeed + iGame : SimulateMatchBatch.gameSeeds(1, null)[0];
+    }
 
-        final Game g1 = mc.createGame();
-        // will run match in the same thread
-        try {
-            TimeLimitedCodeBlock.runWithTimeout(() -> {
-                mc.startGame(g1);
-                sw.stop();
-            }, mc.getRules().getSimTimeout(), TimeUnit.SECONDS);
-        } catch (TimeoutException e) {
-            System.out.println("Stopping slow match as draw");
-        } catch (Exception | StackOverflowError e) {
-            e.printStackTrace();
-        } finally {
-            if (sw.isStarted()) {
-                sw.stop();
-            }
-            if (!g1.isGameOver()) {
-                g1.setGameOver(GameEndReason.Draw);
-            }
-        }
+    private static RegisteredPlayer registerAiPlayer(Deck d, String name, int avatarIndex, GameType type) {
+        RegisteredPlayer rp;
 
-        List<GameLogEntry> log;
-        if (outputGamelog) {
-            log = g1.getGameLog().getLogEntries(null);
+        if (type.equals(GameType.Commander)) {
+            rp = RegisteredPlayer.forCommander(d);
         } else {
-            log = g1.getGameLog().getLogEntries(GameLogEntryType.MATCH_RESULTS);
-        }
-        Collections.reverse(log);
-        for (GameLogEntry l : log) {
-            System.out.println(l);
+            rp = new RegisteredPlayer(d);
         }
+        rp.setPlayer(GamePlayerUtil.createAiPlayer(name, avatarIndex));
+        return rp;
+    }
 
-        // If both players life totals to 0 in a single turn, the game should end in a draw
-        if (g1.getOutcome().isDraw()) {
-            System.out.printf("\nGame Result: Game %d ended in a Draw! Took %d ms.%n", 1 + iGame, sw.getTime());
-        } else {
-            System.out.printf("\nGame Result: Game %d ended in %d ms. %s has won!\n%n", 1 + iGame, sw.getTime(), g1.getOutcome().getWinningLobbyPlayer().getName());
+    private static void simulateParallel(GameRules rules, List<Deck> decks, List<String> names, int nGames, int nThreads, Long baseSeed, String summaryFile, boolean outputGamelog, File logDir) {
+        // every game gets its own players, nothing is shared between concurrently running matches
+        SimulateMatchBatch batch = new SimulateMatchBatch(rules, () -> {
+            List<RegisteredPlayer> players = new ArrayList<>();
+            for (int i = 0; i < decks.size(); i++) {
+                players.add(registerAiPlayer(decks.get(i), names.get(i), i, rules.getGameType()));
+            }
+            return players;
+        }, names, outputGamelog);
+        batch.setLogDir(logDir);
+
+        final StopWatch sw = new StopWatch();
+        sw.start();
+        List<SimulateMatchBatch.GameRecord> records = batch.run(nGames, Math.max(1, nThreads), baseSeed);
+        sw.stop();
+
+        batch.printSummary(records, sw.getTime());
+        if (summaryFile != null) {
+            try {
+                batch.writeSummary(records, new File(summaryFile));
+            } catch (IOException e) {
+                System.err.println("Could not write simulation summary to " + summaryFile + ": " + e.getMessage());
+            }
         }
     }
 
+    public static void simulateSingleMatch(final Match mc, int iGame, boolean outputGamelog) {
+        simulateSingleMatch(mc, iGame, SimulateMatchBatch.gameSeeds(1, null)[0], outputGamelog);
+    }
+
+    public static void simulateSingleMatch(final Match mc, int iGame, long seed, boolean outputGamelog) {
+        SimulateMatchBatch.playGame(mc, iGame, seed, outputGamelog);
+    }
+
     private static void simulateTournament(Map<String, List<String>> params, GameRules rules, boolean outputGamelog) {
         String tournament = params.get("t").get(0);
         AbstractTournament tourney = null;
@@ -0,0 +1,393 @@
+package forge.view;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.apache.commons.lang3.time.StopWatch;
+
+import forge.game.Game;
+import forge.game.GameEndReason;
+import forge.game.GameLogEntry;
+import forge.game.GameLogEntryType;
+import forge.game.GameRules;
+import forge.game.Match;
+import forge.game.player.RegisteredPlayer;
+import forge.util.MyRandom;
+
+/**
+ * Plays independent games of a simulation on several threads at once.
+ * Every game gets its own {@link Match} and its own random generator seeded
+ * from a per-game seed, so games don't share any mutable match state.
+ */
+public class SimulateMatchBatch {
+
+    /** Outcome of a single simulated game, as reported in the summary. */
+    public static final class GameRecord {
+        public final int game;
+        public final long seed;
+        public final String winner; // null on a draw
+        public final int turns;
+        public final long timeMs;
+        public final boolean timedOut;
+        public final String error; // null unless the game failed with an exception
+
+        GameRecord(int game, long seed, String winner, int turns, long timeMs, boolean timedOut, String error) {
+            this.game = game;
+            this.seed = seed;
+            this.winner = winner;
+            this.turns = turns;
+            this.timeMs = timeMs;
+            this.timedOut = timedOut;
+            this.error = error;
+        }
+
+        static GameRecord failed(int game, long seed, long timeMs, Throwable error) {
+            return new GameRecord(game, seed, null, 0, timeMs, false, String.valueOf(error));
+        }
+
+        public boolean isFailed() {
+            return error != null;
+        }
+
+        public boolean isDraw() {
+            return winner == null && !isFailed();
+        }
+    }
+
+    /** Counts of a batch, where the averages are taken over the games that didn't fail. */
+    private static final class Totals {
+        final int games;
+        int draws, failed;
+        long turns, timeMs;
+
+        Totals(List<GameRecord> records) {
+            games = records.size();
+            for (GameRecord r : records) {
+                if (r.isFailed()) {
+                    failed++;
+                    continue;
+                }
+                if (r.isDraw()) {
+                    draws++;
+                }
+                turns += r.turns;
+                timeMs += r.timeMs;
+            }
+        }
+
+        double averageTurns() {
+            return (double) turns / Math.max(1, games - failed);
+        }
+
+        long averageTimeMs() {
+            return timeMs / Math.max(1, games - failed);
+        }
+    }
+
+    private final GameRules rules;
+    private final Supplier<List<RegisteredPlayer>> playerFactory;
+    private final List<String> playerNames;
+    private final boolean outputGamelog;
+    private File logDir = null;
+
+    public SimulateMatchBatch(GameRules rules, Supplier<List<RegisteredPlayer>> playerFactory, List<String> playerNames, boolean outputGamelog) {
+        this.rules = rules;
+        this.playerFactory = playerFactory;
+        this.playerNames = playerNames;
+        this.outputGamelog = outputGamelog;
+    }
+
+    /**
+     * Write the full log of each game to its own file in the given folder while it's played.
+     */
+    public void setLogDir(File logDir) {
+        this.logDir = logDir;
+    }
+
+    /**
+     * Seeds of consecutive games: either independent random seeds, or baseSeed, baseSeed + 1, ...
+     * when a base seed was given.
+     */
+    public static long[] gameSeeds(int nGames, Long baseSeed) {
+        final Random seeder = new SecureRandom();
+        final long[] seeds = new long[nGames];
+        for (int i = 0; i < nGames; i++) {
+            seeds[i] = baseSeed != null ? baseSeed + i : seeder.nextLong();
+        }
+        return seeds;
+    }
+
+    public List<GameRecord> run(int nGames, int nThreads, Long baseSeed) {
+        final long[] seeds = gameSeeds(nGames, baseSeed);
+
+        final AtomicInteger threadCount = new AtomicInteger();
+        final ExecutorService pool = Executors.newFixedThreadPool(nThreads, r -> {
+            Thread t = new Thread(r, "Simulation-" + threadCount.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+
+        final List<Future<GameRecord>> futures = new ArrayList<>(nGames);
+        for (int i = 0; i < nGames; i++) {
+            final int iGame = i;
+            futures.add(pool.submit(() -> playGame(iGame, seeds[iGame])));
+        }
+        pool.shutdown();
+
+        final List<GameRecord> records = new ArrayList<>(nGames);
+        for (int i = 0; i < nGames; i++) {
+            try {
+                records.add(futures.get(i).get());
+            } catch (ExecutionException e) {
+                // the game couldn't even be created
+                e.getCause().printStackTrace();
+                records.add(GameRecord.failed(i + 1, seeds[i], 0, e.getCause()));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                records.add(GameRecord.failed(i + 1, seeds[i], 0, e));
+            }
+        }
+        return records;
+    }
+
+    private GameRecord playGame(final int iGame, final long seed) {
+        final List<RegisteredPlayer> players;
+        synchronized (this) {
+            // player creation reads (and may update) shared preferences
+            players = playerFactory.get();
+        }
+        final Match mc = new Match(rules, players, "Test");
+        mc.setCollectGarbageAfterGame(false);
+        return playGame(mc, iGame, seed, outputGamelog, logDir);
+    }
+
+    public static GameRecord playGame(final Match mc, final int iGame, final long seed, final boolean outputGamelog) {
+        return playGame(mc, iGame, seed, outputGamelog, null);
+    }
+
+    /**
+     * Plays the next game of the match with all randomness drawn from a generator seeded with the given seed,
+     * and prints its log and result. The first game of a match played with the same seed and decks is replayed
+     * identically, later games also depend on the outcome of the previous one.
+     * <p>
+     * Unless the whole log is printed or written to a file in the given folder, only the results are logged.
+     */
+    public static GameRecord playGame(final Match mc, final int iGame, final long seed, final boolean outputGamelog, final File logDir) {
+        // the same generator drives game creation here and the game itself on the timed thread
+        final Random random = new Random(seed);
+        final Game g1;
+        MyRandom.setThreadRandom(random);
+        try {
+            g1 = mc.createGame();
+        } finally {
+            MyRandom.clearThreadRandom();
+        }
+        final Writer logFile = openLogFile(g1, iGame, seed, logDir);
+        if (logFile == null && !outputGamelog) {
+            // none of the rest is printed, so don't keep it
+            g1.getGameLog().setLevel(GameLogEntryType.MATCH_RESULTS);
+        }
+
+        final StopWatch sw = new StopWatch();
+        sw.start();
+        boolean timedOut = false;
+        Throwable error = null;
+        final StringBuilder out = new StringBuilder();
+        try {
+            TimeLimitedCodeBlock.runWithTimeout(() -> {
+                MyRandom.setThreadRandom(random);
+                try {
+                    mc.startGame(g1);
+                } finally {
+                    MyRandom.clearThreadRandom();
+                }
+            }, mc.getRules().getSimTimeout(), TimeUnit.SECONDS);
+        } catch (TimeoutException e) {
+            timedOut = true;
+            out.append("Stopping slow match as draw\n");
+        } catch (Exception | StackOverflowError e) {
+            e.printStackTrace();
+            error = e;
+        } finally {
+            if (sw.isStarted()) {
+                sw.stop();
+            }
+            if (!g1.isGameOver()) {
+                g1.setGameOver(GameEndReason.Draw);
+            }
+            if (logFile != null) {
+                g1.getGameLog().setStream(null);
+                try {
+                    logFile.close();
+                } catch (IOException e) {
+                    System.err.println("Could not write game log: " + e.getMessage());
+                }
+            }
+        }
+
+        List<GameLogEntry> log = g1.getGameLog().getLogEntries(outputGamelog ? null : GameLogEntryType.MATCH_RESULTS);
+        Collections.reverse(log);
+        for (GameLogEntry l : log) {
+            out.append(l).append('\n');
+        }
+
+        if (error != null) {
+            out.append(String.format("\nGame Result: Game %d failed after %d ms: %s. Seed: %d%n", 1 + iGame, sw.getTime(), error, seed));
+            synchronized (System.out) {
+                System.out.print(out);
+            }
+            return GameRecord.failed(iGame + 1, seed, sw.getTime(), error);
+        }
+
+        // If both players life totals to 0 in a single turn, the game should end in a draw
+        final String winner = g1.getOutcome().isDraw() ? null : g1.getOutcome().getWinningLobbyPlayer().getName();
+        if (winner == null) {
+            out.append(String.format("\nGame Result: Game %d ended in a Draw! Took %d ms. Seed: %d%n", 1 + iGame, sw.getTime(), seed));
+        } else {
+            out.append(String.format("\nGame Result: Game %d ended in %d ms. %s has won! Seed: %d\n%n", 1 + iGame, sw.getTime(), winner, seed));
+        }
+        synchronized (System.out) {
+            System.out.print(out);
+        }
+
+        return new GameRecord(iGame + 1, seed, winner, g1.getOutcome().getLastTurnNumber(), sw.getTime(), timedOut, null);
+    }
+
+    private static Writer openLogFile(final Game game, final int iGame, final long seed, final File logDir) {
+        if (logDir == null) {
+            return null;
+        }
+        final File file = new File(logDir, String.format("game-%d-%d.log", 1 + iGame, seed));
+        try {
+            logDir.mkdirs();
+            final Writer w = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8);
+            game.getGameLog().setStream(w);
+            return w;
+        } catch (IOException e) {
+            System.err.println("Could not write game log to " + file + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    public void printSummary(List<GameRecord> records, long wallTimeMs) {
+        final Map<String, Integer> wins = countWins(records);
+        final Totals totals = new Totals(records);
+        System.out.println();
+        System.out.printf("Batch Result: %d games in %d ms%n", records.size(), wallTimeMs);
+        for (Map.Entry<String, Integer> e : wins.entrySet()) {
+            System.out.printf("\t%s: %d wins%n", e.getKey(), e.getValue());
+        }
+        System.out.printf("\tDraws: %d%n", totals.draws);
+        System.out.printf("\tFailed: %d%n", totals.failed);
+        System.out.printf(Locale.ROOT, "\tAverage game length: %.2f turns, %d ms%n", totals.averageTurns(), totals.averageTimeMs());
+    }
+
+    /**
+     * Writes per-game results to the given file, as JSON if its name ends with .json and as CSV otherwise.
+     */
+    public void writeSummary(List<GameRecord> records, File file) throws IOException {
+        try (PrintWriter w = new PrintWriter(file, StandardCharsets.UTF_8)) {
+            if (file.getName().toLowerCase().endsWith(".json")) {
+                writeJson(records, w);
+            } else {
+                writeCsv(records, w);
+            }
+        }
+    }
+
+    private Map<String, Integer> countWins(List<GameRecord> records) {
+        final Map<String, Integer> wins = new LinkedHashMap<>();
+        for (String name : playerNames) {
+            wins.put(name, 0);
+        }
+        for (GameRecord r : records) {
+            if (r.winner != null) {
+                wins.merge(r.winner, 1, Integer::sum);
+            }
+        }
+        return wins;
+    }
+
+    private static void writeCsv(List<GameRecord> records, PrintWriter w) {
+        w.println("game,seed,winner,turns,time_ms,timed_out,error");
+        for (GameRecord r : records) {
+            w.printf(Locale.ROOT, "%d,%d,%s,%d,%d,%b,%s%n", r.game, r.seed, r.winner == null ? "" : csvEscape(r.winner),
+                    r.turns, r.timeMs, r.timedOut, r.isFailed() ? csvEscape(r.error) : "");
+        }
+    }
+
+    private void writeJson(List<GameRecord> records, PrintWriter w) {
+        final Totals totals = new Totals(records);
+
+        // JSON numbers always have a decimal point, whatever the default locale
+        w.println("{");
+        w.printf(Locale.ROOT, "  \"games\": %d,%n", records.size());
+        w.printf(Locale.ROOT, "  \"draws\": %d,%n", totals.draws);
+        w.printf(Locale.ROOT, "  \"failed\": %d,%n", totals.failed);
+        w.printf(Locale.ROOT, "  \"averageTurns\": %.2f,%n", totals.averageTurns());
+        w.printf(Locale.ROOT, "  \"averageTimeMs\": %d,%n", totals.averageTimeMs());
+        w.println("  \"wins\": {");
+        final Map<String, Integer> wins = countWins(records);
+        int i = 0;
+        for (Map.Entry<String, Integer> e : wins.entrySet()) {
+            w.printf(Locale.ROOT, "    %s: %d%s%n", jsonString(e.getKey()), e.getValue(), ++i < wins.size() ? "," : "");
+        }
+        w.println("  },");
+        w.println("  \"results\": [");
+        i = 0;
+        for (GameRecord r : records) {
+            w.printf(Locale.ROOT, "    {\"game\": %d, \"seed\": %d, \"winner\": %s, \"turns\": %d, \"timeMs\": %d, \"timedOut\": %b, \"error\": %s}%s%n",
+                    r.game, r.seed, r.winner == null ? "null" : jsonString(r.winner), r.turns, r.timeMs, r.timedOut,
+                    r.isFailed() ? jsonString(r.error) : "null", ++i < records.size() ? "," : "");
+        }
+        w.println("  ]");
+        w.println("}");
+    }
+
+    private static String csvEscape(String s) {
+        if (s.indexOf(',') < 0 && s.indexOf('"') < 0) {
+            return s;
+        }
+        return '"' + s.replace("\"", "\"\"") + '"';
+    }
+
+    private static String jsonString(String s) {
+        final StringBuilder sb = new StringBuilder("\"");
+        for (char c : s.toCharArray()) {
+            switch (c) {
+                case '"': sb.append("\\\""); break;
+                case '\\': sb.append("\\\\"); break;
+                case '\n': sb.append("\\n"); break;
+                case '\r': sb.append("\\r"); break;
+                case '\t': sb.append("\\t"); break;
+                default:
+                    if (c < 0x20) {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+            }
+        }
+        return sb.append('"').toString();
+    }
+}
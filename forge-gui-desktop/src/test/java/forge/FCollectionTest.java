@@ -5,7 +5,10 @@ import forge.game.card.CardCollection;
 import org.testng.annotations.Test;
 
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Random;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 
 import static org.testng.Assert.assertEquals;
@@ -60,4 +63,31 @@ public class FCollectionTest {
         futures.clear();
         assertEquals(cc.size(), 2);
     }
+
+    @Test
+    void testGrowingAndShrinking() {
+        // first around the size where the collection starts indexing its elements, then beyond it
+        List<Card> cards = new ArrayList<>();
+        for (int i = 1; i <= 200; i++)
+            cards.add(new Card(i, null));
+        Random random = new Random(7);
+        CardCollection cc = new CardCollection();
+        Set<Card> expected = new LinkedHashSet<>();
+        for (int step = 0; step < 5000; step++) {
+            Card c = cards.get(random.nextInt(step < 2500 ? 12 : cards.size()));
+            if (random.nextInt(3) == 0) {
+                assertEquals(cc.remove(c), expected.remove(c));
+            } else {
+                assertEquals(cc.add(c), expected.add(c));
+            }
+            if (step % 1000 == 999) {
+                cc.removeIf(card -> card.getId() % 3 == 0);
+                expected.removeIf(card -> card.getId() % 3 == 0);
+            }
+            assertEquals(cc.size(), expected.size());
+            assertEquals(new ArrayList<>(cc), new ArrayList<>(expected));
+            for (Card card : cards)
+                assertEquals(cc.contains(card), expected.contains(card));
+        }
+    }
 }
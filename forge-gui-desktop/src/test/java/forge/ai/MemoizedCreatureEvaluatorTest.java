@@ -0,0 +1,84 @@
+package forge.ai;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.testng.AssertJUnit;
+import org.testng.annotations.Test;
+
+import forge.game.Game;
+import forge.game.card.Card;
+import forge.game.card.CounterEnumType;
+import forge.game.player.Player;
+
+public class MemoizedCreatureEvaluatorTest extends AITest {
+
+    @Test
+    public void testScoresFollowChanges() {
+        final Game game = initAndCreateGame();
+        final Player p = game.getPlayers().get(0);
+        final Card bear = addCard("Grizzly Bears", p);
+        game.getAction().checkStateEffects(true);
+
+        final CreatureEvaluator memoized = new MemoizedCreatureEvaluator();
+        final CreatureEvaluator fresh = new CreatureEvaluator();
+        final int base = memoized.evaluateCreature(bear);
+        AssertJUnit.assertEquals(fresh.evaluateCreature(bear), base);
+        AssertJUnit.assertEquals(base, memoized.evaluateCreature(bear));
+        AssertJUnit.assertEquals(fresh.evaluateCreature(bear, false, true), memoized.evaluateCreature(bear, false, true));
+
+        // the card itself
+        bear.addCounterInternal(CounterEnumType.P1P1, 1, p, false, null, null);
+        final int countered = memoized.evaluateCreature(bear);
+        AssertJUnit.assertTrue(countered > base);
+        AssertJUnit.assertEquals(fresh.evaluateCreature(bear), countered);
+        bear.tap(true, null, null);
+        AssertJUnit.assertEquals(fresh.evaluateCreature(bear), memoized.evaluateCreature(bear));
+
+        // another card buffing it
+        addCard("Glorious Anthem", p);
+        game.getAction().checkStateEffects(true);
+        final int buffed = memoized.evaluateCreature(bear);
+        AssertJUnit.assertTrue(buffed > countered);
+        AssertJUnit.assertEquals(fresh.evaluateCreature(bear), buffed);
+    }
+
+    @Test
+    public void testConcurrentEvaluation() throws Exception {
+        final Game game = initAndCreateGame();
+        final Player p = game.getPlayers().get(0);
+        final List<Card> creatures = new ArrayList<>();
+        creatures.addAll(addCards("Grizzly Bears", 5, p));
+        creatures.addAll(addCards("Serra Angel", 5, p));
+        game.getAction().checkStateEffects(true);
+
+        final CreatureEvaluator memoized = new MemoizedCreatureEvaluator();
+        final CreatureEvaluator fresh = new CreatureEvaluator();
+        final ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            final List<Future<int[]>> results = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                results.add(pool.submit(() -> {
+                    final int[] scores = new int[creatures.size()];
+                    for (int round = 0; round < 50; round++) {
+                        for (int i = 0; i < scores.length; i++) {
+                            scores[i] = memoized.evaluateCreature(creatures.get(i));
+                        }
+                    }
+                    return scores;
+                }));
+            }
+            for (final Future<int[]> result : results) {
+                final int[] scores = result.get();
+                for (int i = 0; i < scores.length; i++) {
+                    AssertJUnit.assertEquals(fresh.evaluateCreature(creatures.get(i)), scores[i]);
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
@@ -3,24 +3,52 @@ package forge.ai.simulation;
 import com.google.common.collect.Lists;
 import forge.ai.ComputerUtilAbility;
 import forge.card.CardStateName;
+import forge.card.CardType;
 import forge.card.MagicColor;
+import forge.card.RemoveType;
 import forge.game.Game;
+import forge.game.GameLog;
+import forge.game.GameLogEntry;
+import forge.game.GameLogEntryType;
+import forge.game.StateVersionCache;
+import forge.game.ability.AbilityKey;
+import forge.game.ability.AbilityUtils;
 import forge.game.ability.ApiType;
 import forge.game.card.Card;
 import forge.game.card.CardCollection;
 import forge.game.card.CardCollectionView;
+import forge.game.card.CardCopyService;
+import forge.game.card.CardFactory;
 import forge.game.card.CounterEnumType;
+import forge.game.combat.Combat;
+import forge.game.event.EventDispatcher;
+import forge.game.event.GameEvent;
+import forge.game.event.GameEventCardTapped;
+import forge.game.event.GameEventTurnBegan;
 import forge.game.keyword.Keyword;
+import forge.game.mana.Mana;
 import forge.game.phase.PhaseType;
 import forge.game.player.Player;
+import forge.game.replacement.ReplacementEffect;
+import forge.game.replacement.ReplacementHandler;
+import forge.game.replacement.ReplacementType;
 import forge.game.spellability.SpellAbility;
+import forge.game.spellability.TargetRestrictions;
+import forge.game.trigger.Trigger;
+import forge.game.trigger.TriggerHandler;
+import forge.game.trigger.TriggerType;
 import forge.game.zone.ZoneType;
+import forge.model.FModel;
+import forge.util.Visitor;
 import org.testng.AssertJUnit;
 import org.testng.annotations.Test;
 
+import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
 
 public class GameSimulationTest extends SimulationTest {
 
@@ -2690,6 +2718,780 @@ public class GameSimulationTest extends SimulationTest {
         }
     }
 
+    @Test
+    public void testIncrementalStaticAbilities() {
+        Game game = initAndCreateGame();
+        game.getRules().setIncrementalStaticAbilities(true);
+        game.getRules().setVerifyStaticAbilities(true);
+        Player p = game.getPlayers().get(1);
+        Player opp = game.getPlayers().get(0);
+        Card anthem = addCard("Glorious Anthem", p);
+        Card bear = addCard("Runeclaw Bear", p);
+        bear.setSickness(false);
+
+        game.getPhaseHandler().devModeSet(PhaseType.MAIN1, p);
+        game.getAction().checkStateEffects(true);
+        AssertJUnit.assertEquals(3, bear.getNetPower());
+
+        // nothing changed, verifying the skipped check must not fail
+        game.getAction().checkStaticAbilities();
+        game.getAction().checkStateEffects(true);
+        AssertJUnit.assertEquals(3, bear.getNetPower());
+
+        bear.addCounterInternal(CounterEnumType.P1P1, 1, p, false, null, null);
+        game.getAction().checkStaticAbilities();
+        AssertJUnit.assertEquals(4, bear.getNetPower());
+
+        bear.setController(opp, game.getNextTimestamp());
+        game.getAction().checkStaticAbilities();
+        AssertJUnit.assertEquals(opp, bear.getController());
+        AssertJUnit.assertEquals(3, bear.getNetPower());
+
+        bear.setController(p, game.getNextTimestamp());
+        game.getAction().checkStaticAbilities();
+        AssertJUnit.assertEquals(4, bear.getNetPower());
+
+        game.getAction().moveToGraveyard(anthem, null);
+        game.getAction().checkStaticAbilities();
+        AssertJUnit.assertEquals(3, bear.getNetPower());
+        game.getAction().checkStateEffects(true);
+        AssertJUnit.assertEquals(3, bear.getNetPower());
+    }
+
+    @Test
+    public void testIncrementalStaticAbilitiesSimulation() {
+        String sliverCardName = "Sidewinder Sliver";
+        Game game = initAndCreateGame();
+        game.getRules().setIncrementalStaticAbilities(true);
+        game.getRules().setVerifyStaticAbilities(true);
+        Player p = game.getPlayers().get(1);
+        Card sliver = addCard(sliverCardName, p);
+        sliver.setSickness(false);
+        Card herald = addCard("Herald of Anafenza", p);
+        herald.setSickness(false);
+        addCards("Plains", 3, p);
+        addCard("Spear of Heliod", p);
+
+        game.getPhaseHandler().devModeSet(PhaseType.MAIN1, p);
+        game.getAction().checkStateEffects(true);
+        game.getAction().checkStateEffects(true);
+
+        SpellAbility outlastSA = findSAWithPrefix(herald, "Outlast");
+        GameSimulator sim = createSimulator(game, p);
+        int score = sim.simulateSpellAbility(outlastSA).value;
+        AssertJUnit.assertTrue(score > 0);
+        Game simGame = sim.getSimulatedGameState();
+        Card heraldCopy = findCardWithName(simGame, "Herald of Anafenza");
+        // Outlast counter on top of the Spear bonus
+        AssertJUnit.assertEquals(3, heraldCopy.getNetPower());
+        Card sliverCopy = findCardWithName(simGame, sliverCardName);
+        AssertJUnit.assertEquals(1, sliverCopy.getAmountOfKeyword(Keyword.FLANKING));
+        AssertJUnit.assertEquals(2, sliverCopy.getNetPower());
+    }
+
+    @Test
+    public void testReuseLastStateCopies() {
+        Game game = initAndCreateGame();
+        game.getRules().setReuseLastStateCopies(true);
+        game.getRules().setVerifyLastStateCopies(true);
+        Player p = game.getPlayers().get(1);
+        Card bear = addCard("Runeclaw Bear", p);
+        Card elf = addCard("Llanowar Elves", p);
+
+        game.getPhaseHandler().devModeSet(PhaseType.MAIN1, p);
+        game.getAction().checkStateEffects(true);
+        game.copyLastState();
+        Card bearLKI = game.getLastStateBattlefield().get(bear);
+        Card elfLKI = game.getLastStateBattlefield().get(elf);
+        AssertJUnit.assertNotSame(bear, bearLKI);
+
+        // nothing changed, verifying the kept copies must not fail
+        game.copyLastState();
+        AssertJUnit.assertSame(bearLKI, game.getLastStateBattlefield().get(bear));
+        AssertJUnit.assertSame(elfLKI, game.getLastStateBattlefield().get(elf));
+
+        bear.tap(true, null, p);
+        bear.addCounterInternal(CounterEnumType.P1P1, 1, p, false, null, null);
+        game.copyLastState();
+        bearLKI = game.getLastStateBattlefield().get(bear);
+        AssertJUnit.assertTrue(bearLKI.isTapped());
+        AssertJUnit.assertEquals(3, bearLKI.getNetPower());
+        AssertJUnit.assertSame(elfLKI, game.getLastStateBattlefield().get(elf));
+
+        bear.addPTBoost(2, 2, game.getNextTimestamp(), 0);
+        game.copyLastState();
+        AssertJUnit.assertEquals(5, game.getLastStateBattlefield().get(bear).getNetPower());
+
+        game.getAction().moveToGraveyard(elf, null);
+        Card elfInGraveyard = game.getCardState(elf);
+        game.copyLastState();
+        AssertJUnit.assertFalse(game.getLastStateBattlefield().contains(elfInGraveyard));
+        AssertJUnit.assertNotSame(elfLKI, game.getLastStateGraveyard().get(elfInGraveyard));
+        AssertJUnit.assertEquals(ZoneType.Graveyard, game.getLastStateGraveyard().get(elfInGraveyard).getLastKnownZone().getZoneType());
+    }
+
+    @Test
+    public void testCardsInZoneSnapshots() {
+        Game game = initAndCreateGame();
+        Player p = game.getPlayers().get(1);
+        Player opp = game.getPlayers().get(0);
+        Card bear = addCard("Runeclaw Bear", p);
+        Card elf = addCard("Llanowar Elves", opp);
+        game.getPhaseHandler().devModeSet(PhaseType.MAIN1, p);
+
+        CardCollectionView battlefield = game.getCardsIn(ZoneType.Battlefield);
+        AssertJUnit.assertEquals(2, battlefield.size());
+        AssertJUnit.assertSame(battlefield, game.getCardsIn(ZoneType.Battlefield));
+        try {
+            ((CardCollection) battlefield).add(addCardToZone("Forest", p, ZoneType.Hand));
+            AssertJUnit.fail("The cards in a zone were changed from outside");
+        } catch (UnsupportedOperationException e) {
+            // expected
+        }
+
+        Card forest = addCard("Forest", p);
+        CardCollectionView changed = game.getCardsIn(ZoneType.Battlefield);
+        AssertJUnit.assertNotSame(battlefield, changed);
+        AssertJUnit.assertTrue(changed.contains(forest));
+        AssertJUnit.assertEquals(2, battlefield.size());
+
+        elf.setPhasedOut(opp);
+        AssertJUnit.assertFalse(game.getCardsIn(ZoneType.Battlefield).contains(elf));
+        elf.setPhasedOut(null);
+        AssertJUnit.assertTrue(game.getCardsIn(ZoneType.Battlefield).contains(elf));
+
+        game.getAction().moveToGraveyard(bear, null);
+        AssertJUnit.assertFalse(game.getCardsIn(ZoneType.Battlefield).contains(bear));
+        AssertJUnit.assertEquals(1, game.getCardsIn(ZoneType.Graveyard).size());
+    }
+
+    @Test
+    public void testCardsInZoneSnapshotsAfterShuffle() {
+        Game game = initAndCreateGame();
+        Player p = game.getPlayers().get(1);
+        for (int i = 0; i < 20; i++) {
+            addCardToZone(i % 2 == 0 ? "Forest" : "Runeclaw Bear", p, ZoneType.Library);
+        }
+        List<Card> before = Lists.newArrayList(game.getCardsIn(ZoneType.Library));
+
+        p.getZone(ZoneType.Library).shuffle();
+        List<Card> library = Lists.newArrayList(p.getCardsIn(ZoneType.Library));
+        AssertJUnit.assertFalse(before.equals(library));
+        AssertJUnit.assertEquals(library, Lists.newArrayList(game.getCardsIn(ZoneType.Library)));
+    }
+
+    @Test
+    public void testEventDispatcher() {
+        Game game = initAndCreateGame();
+        Player p = game.getPlayers().get(1);
+        Card bear = addCard("Runeclaw Bear", p);
+        List<String> received = new ArrayList<>();
+
+        game.subscribeToEvents(GameEventCardTapped.class, ev -> {
+            received.add("tapped " + ev.tapped());
+            // delivered once this event reached everyone
+            game.fireEvent(new GameEventTurnBegan(p, 2));
+        });
+        game.subscribeToEvents(GameEvent.class, ev -> received.add(ev.getClass().getSimpleName()));
+        game.fireEvent(new GameEventCardTapped(bear, true));
+        AssertJUnit.assertEquals(List.of("tapped true", "GameEventCardTapped", "GameEventTurnBegan"), received);
+
+        received.clear();
+        EventDispatcher dispatcher = new EventDispatcher("test events");
+        dispatcher.subscribe(GameEventCardTapped.class, ev -> received.add("subscriber"));
+        dispatcher.subscribePresenter(GameEvent.class, ev -> received.add("presenter"));
+        dispatcher.setHeadless(true);
+        dispatcher.post(new GameEventCardTapped(bear, false));
+        dispatcher.post(new GameEventTurnBegan(p, 2));
+        AssertJUnit.assertEquals(List.of("subscriber"), received);
+        dispatcher.setHeadless(false);
+        dispatcher.post(new GameEventTurnBegan(p, 2));
+        AssertJUnit.assertEquals(List.of("subscriber", "presenter"), received);
+    }
+
+    @Test
+    public void testGameLogLevelCapacityAndStream() {
+        Game game = initAndCreateGame();
+        Player p = game.getPlayers().get(1);
+        GameLog log = game.getGameLog();
+        StringBuilder stream = new StringBuilder();
+        log.setStream(stream);
+        log.setCapacity(3);
+        log.setLevel(GameLogEntryType.COMBAT);
+        for (int i = 1; i <= 5; i++) {
+            log.add(GameLogEntryType.TURN, "Turn " + i);
+            log.add(GameLogEntryType.PHASE, "Phase " + i);
+        }
+        List<GameLogEntry> entries = log.getLogEntries(null);
+        AssertJUnit.assertEquals(3, entries.size());
+        AssertJUnit.assertEquals("Turn 5", entries.get(0).message);
+        AssertJUnit.assertEquals("Turn 3", entries.get(2).message);
+        AssertJUnit.assertEquals(5, stream.toString().lines().count());
+        AssertJUnit.assertFalse(stream.toString().contains("Phase"));
+
+        log.setEnabled(false);
+        game.fireEvent(new GameEventTurnBegan(p, 6));
+        log.add(GameLogEntryType.TURN, "Turn 6");
+        AssertJUnit.assertEquals("Turn 5", log.getLogEntries(null).get(0).message);
+        log.setEnabled(true);
+        game.fireEvent(new GameEventTurnBegan(p, 6));
+        AssertJUnit.assertEquals(GameLogEntryType.TURN, log.getLogEntries(null).get(0).type);
+        AssertJUnit.assertEquals(6, stream.toString().lines().count());
+    }
+
+    @Test
+    public void testAbilitiesFromSharedTemplatesAreIndependent() {
+        Game game = initAndCreateGame();
+        Player p = game.getPlayers().get(1);
+        Card sorcerer1 = addCard("Prodigal Sorcerer", p);
+        Card sorcerer2 = addCard("Prodigal Sorcerer", p);
+        Card elder1 = addCard("Sakura-Tribe Elder", p);
+        Card elder2 = addCard("Sakura-Tribe Elder", p);
+
+        SpellAbility ping1 = findSAWithPrefix(sorcerer1, "{T}:");
+        SpellAbility ping2 = findSAWithPrefix(sorcerer2, "{T}:");
+        AssertJUnit.assertNotSame(ping1.getPayCosts(), ping2.getPayCosts());
+        AssertJUnit.assertEquals(ping1.getPayCosts().toSimpleString(), ping2.getPayCosts().toSimpleString());
+        AssertJUnit.assertTrue(ping1.getPayCosts().hasTapCost());
+        AssertJUnit.assertNotSame(ping1.getTargetRestrictions(), ping2.getTargetRestrictions());
+        AssertJUnit.assertEquals(ping1.getTargetRestrictions().getValidDesc(), ping2.getTargetRestrictions().getValidDesc());
+
+        ping1.getTargetRestrictions().setMaxTotalCMC("2");
+        AssertJUnit.assertEquals(2, ping1.getTargetRestrictions().getMaxTotalCMC(sorcerer1, ping1));
+        AssertJUnit.assertEquals(0, ping2.getTargetRestrictions().getMaxTotalCMC(sorcerer2, ping2));
+        Card sorcerer3 = addCard("Prodigal Sorcerer", p);
+        SpellAbility ping3 = findSAWithPrefix(sorcerer3, "{T}:");
+        AssertJUnit.assertEquals(0, ping3.getTargetRestrictions().getMaxTotalCMC(sorcerer3, ping3));
+
+        AssertJUnit.assertNotSame(findSAWithPrefix(elder1, "Sacrifice").getPayCosts().getCostParts().get(0),
+                findSAWithPrefix(elder2, "Sacrifice").getPayCosts().getCostParts().get(0));
+    }
+
+    @Test
+    public void testCopiedTargetRestrictionsKeepPrintedTargets() {
+        Game game = initAndCreateGame();
+        Player p = game.getPlayers().get(1);
+        Card terror = addCardToZone("Terror", p, ZoneType.Hand);
+        SpellAbility sa = terror.getFirstSpellAbility();
+        TargetRestrictions tgt = sa.getTargetRestrictions();
+        AssertJUnit.assertEquals("Creature.nonArtifact+nonBlack", String.join(",", tgt.getValidTgts()));
+
+        long ts = game.getNextTimestamp();
+        terror.addChangedTextColorWord("Black", "Green", ts, 0);
+        tgt.applyTargetTextChanges(sa);
+        AssertJUnit.assertEquals("Creature.nonArtifact+nonGreen", String.join(",", tgt.getValidTgts()));
+
+        // the copy targets what the changed ability targets, and goes back to the printed text with it
+        TargetRestrictions copy = new TargetRestrictions(tgt);
+        AssertJUnit.assertEquals("Creature.nonArtifact+nonGreen", String.join(",", copy.getValidTgts()));
+        terror.removeChangedTextColorWord(ts, 0);
+        copy.applyTargetTextChanges(sa);
+        AssertJUnit.assertEquals("Creature.nonArtifact+nonBlack", String.join(",", copy.getValidTgts()));
+    }
+
+    @Test
+    public void testCompiledCounts() {
+        Game game = initAndCreateGame();
+        Player p = game.getPlayers().get(1);
+        Player opponent = game.getPlayers().get(0);
+        Card sorcerer = addCard("Prodigal Sorcerer", p);
+        addCards("Grizzly Bears", 2, p);
+        addCard("Grizzly Bears", opponent);
+        addCard("Forest", p);
+        game.getAction().checkStateEffects(true);
+        SpellAbility sa = sorcerer.getFirstSpellAbility();
+
+        AssertJUnit.assertEquals(3, AbilityUtils.calculateAmount(sorcerer, "Count$Valid Creature.YouCtrl", sa));
+        AssertJUnit.assertEquals(4, AbilityUtils.calculateAmount(sorcerer, "Count$Valid Creature", sa));
+        AssertJUnit.assertEquals(2, AbilityUtils.calculateAmount(sorcerer, "Count$Valid Creature.YouCtrl+Other/Minus.0", sa));
+        AssertJUnit.assertEquals(5, AbilityUtils.calculateAmount(sorcerer, "Count$Valid Creature.YouCtrl/Plus.2", sa));
+        AssertJUnit.assertEquals(1, AbilityUtils.calculateAmount(sorcerer, "Count$ValidSelf Creature", sa));
+        AssertJUnit.assertEquals(2, AbilityUtils.calculateAmount(sorcerer, "Count$CardPower/Twice", sa));
+        AssertJUnit.assertEquals(-20, AbilityUtils.calculateAmount(sorcerer, "Count$YourLifeTotal/Negative", sa));
+        AssertJUnit.assertEquals(4, AbilityUtils.calculateAmount(sorcerer, "Number$7/LimitMax.4", sa));
+
+        sorcerer.setSVar("Bears", "Count$Valid Creature.namedGrizzly Bears");
+        AssertJUnit.assertEquals(9, AbilityUtils.calculateAmount(sorcerer, "Number$3/Times.Bears", sa));
+        AssertJUnit.assertEquals(0, AbilityUtils.calculateAmount(sorcerer, "Count$CardToughness/HalfDown", sa));
+        AssertJUnit.assertEquals(6, AbilityUtils.doXMath(3, "Twice", sorcerer, sa));
+        AssertJUnit.assertEquals(3, AbilityUtils.doXMath(3, "none", sorcerer, sa));
+    }
+
+    private Card addLibraryCard(String name, Player p) {
+        Card c = CardFactory.getLibraryCard(FModel.getMagicDb().getCommonCards().getCard(name), p, p.getGame());
+        p.getZone(ZoneType.Library).add(c);
+        return c;
+    }
+
+    @Test
+    public void testLazyLibraryCards() {
+        Game game = initAndCreateGame();
+        Player p = game.getPlayers().get(1);
+        Card bears = addLibraryCard("Grizzly Bears", p);
+        Card commons = addLibraryCard("Guildless Commons", p);
+        Card elves = addLibraryCard("Llanowar Elves", p);
+        // works from the library, so it's built right away
+        Card narcomoeba = addLibraryCard("Narcomoeba", p);
+        AssertJUnit.assertTrue(bears.hasDeferredTraits());
+        AssertJUnit.assertTrue(commons.hasDeferredTraits());
+        AssertJUnit.assertFalse(narcomoeba.hasDeferredTraits());
+        AssertJUnit.assertFalse(narcomoeba.getTriggers().isEmpty());
+
+        // characteristics are there without building the traits
+        game.getAction().checkStateEffects(true);
+        game.getTriggerHandler().resetActiveTriggers();
+        AssertJUnit.assertTrue(bears.isCreature());
+        AssertJUnit.assertEquals(2, bears.getNetPower());
+        AssertJUnit.assertEquals("Grizzly Bears", bears.getName());
+        AssertJUnit.assertTrue(bears.hasDeferredTraits());
+
+        // asking for them builds them
+        AssertJUnit.assertFalse(elves.getManaAbilities().isEmpty());
+        AssertJUnit.assertFalse(elves.hasDeferredTraits());
+
+        // a game copy keeps them deferred
+        Game copy = new GameCopier(game).makeCopy();
+        Card copyBears = copy.findById(bears.getId());
+        AssertJUnit.assertTrue(copyBears.hasDeferredTraits());
+        AssertJUnit.assertFalse(copyBears.getSpellAbilities().isEmpty());
+
+        // leaving the library builds them before its replacement effects are looked at
+        Card played = game.getAction().moveToPlay(commons, null, null);
+        AssertJUnit.assertFalse(played.hasDeferredTraits());
+        AssertJUnit.assertTrue(played.isInZone(ZoneType.Battlefield));
+        AssertJUnit.assertTrue(played.isTapped());
+
+        Card drawn = game.getAction().moveToHand(bears, null);
+        AssertJUnit.assertFalse(drawn.hasDeferredTraits());
+        AssertJUnit.assertFalse(drawn.getSpellAbilities().isEmpty());
+    }
+
+    @Test
+    public void testStateVersionCache() {
+        Game game = initAndCreateGame();
+        Player p = game.getPlayers().get(1);
+        game.getPhaseHandler().devModeSet(PhaseType.MAIN1, p);
+        Player opp = game.getPlayers().get(0);
+        Card bears = addCard("Grizzly Bears", p);
+        Card elves = addCardToZone("Llanowar Elves", p, ZoneType.Hand);
+        Card bonesplitter = addCard("Bonesplitter", p);
+        Card giant = addCard("Hill Giant", p);
+        Card delver = addCard("Delver of Secrets", p);
+        Card blocker = addCard("Runeclaw Bear", opp);
+        for (int i = 0; i < 10; i++) {
+            addCardToZone(i % 2 == 0 ? "Forest" : "Hill Giant", p, ZoneType.Library);
+        }
+        Combat combat = new Combat(p);
+        game.getPhaseHandler().setCombat(combat);
+        game.getAction().checkStateEffects(true);
+
+        int[] computed = new int[1];
+        StateVersionCache<Card, Integer> byCard = StateVersionCache.byCard();
+        StateVersionCache<Player, Integer> byPlayer = StateVersionCache.byPlayer();
+        Function<Object, Integer> compute = k -> ++computed[0];
+        byCard.get(bears, compute);
+        byPlayer.get(p, compute);
+
+        // nothing changed, nothing computed
+        AssertJUnit.assertEquals(1, (int) byCard.get(bears, compute));
+        AssertJUnit.assertEquals(2, (int) byPlayer.get(p, compute));
+        AssertJUnit.assertEquals(2, computed[0]);
+
+        List<Runnable> changes = List.of(
+                () -> bears.addCounterInternal(CounterEnumType.P1P1, 1, p, false, null, null),
+                () -> bears.tap(true, null, p),
+                () -> bears.setDamage(1),
+                () -> {
+                    addCard("Glorious Anthem", p);
+                    game.getAction().checkStaticAbilities();
+                },
+                () -> game.getAction().moveToHand(addCard("Forest", p), null),
+                () -> game.getStackZone().add(elves),
+                () -> game.getPhaseHandler().devModeSet(PhaseType.MAIN2, p),
+                () -> p.gainLife(2, null, null),
+                p::addSpellCastThisTurn,
+                () -> p.getZone(ZoneType.Library).shuffle(),
+                () -> bears.addTempController(opp, game.getNextTimestamp()),
+                () -> bears.removeTempController(opp),
+                () -> bonesplitter.attachToEntity(bears, null),
+                () -> bonesplitter.unattachFromEntity(bears),
+                () -> combat.addAttacker(bears, opp),
+                () -> combat.addBlocker(bears, blocker),
+                () -> combat.removeFromCombat(blocker),
+                () -> combat.removeFromCombat(bears),
+                () -> bears.subtractCounter(CounterEnumType.P1P1, 1, p),
+                () -> bears.addPTBoost(1, 1, game.getNextTimestamp(), 0),
+                () -> bears.addChangedCardKeywords(List.of("Flying"), null, false, game.getNextTimestamp(), null),
+                () -> giant.turnFaceDown(true),
+                () -> giant.turnFaceUp(null),
+                () -> delver.changeCardState("Transform", null, null),
+                () -> elves.setPhasedOut(p),
+                () -> p.getManaPool().addMana(new Mana(MagicColor.GREEN, elves, null)),
+                p::addLandPlayedThisTurn,
+                () -> p.addCounterInternal(CounterEnumType.POISON, 1, opp, false, null, null),
+                () -> game.getAction().exile(giant, null, null),
+                () -> game.getAction().destroy(blocker, null, false, null));
+        for (Runnable change : changes) {
+            int gameVersion = game.getStateVersion();
+            int before = computed[0];
+            change.run();
+            AssertJUnit.assertTrue(game.getStateVersion() != gameVersion);
+            byCard.get(bears, compute);
+            byPlayer.get(p, compute);
+            AssertJUnit.assertEquals(before + 2, computed[0]);
+        }
+
+        // the card and player versions count their own changes only
+        long bearsVersion = bears.getLKIVersion();
+        long playerVersion = p.getStateVersion();
+        bears.untap();
+        AssertJUnit.assertTrue(bears.getLKIVersion() != bearsVersion);
+        AssertJUnit.assertEquals(playerVersion, p.getStateVersion());
+        p.setLifeLostThisTurn(3);
+        AssertJUnit.assertTrue(p.getStateVersion() != playerVersion);
+
+        // last known information is told apart from the card, even though it's equal to it and the game didn't change
+        Card lki = CardCopyService.getLKICopy(bears);
+        AssertJUnit.assertEquals(bears, lki);
+        int gameVersion = game.getStateVersion();
+        int forBears = byCard.get(bears, compute);
+        int forLki = byCard.get(lki, compute);
+        AssertJUnit.assertTrue(forBears != forLki);
+        AssertJUnit.assertEquals(gameVersion, game.getStateVersion());
+        AssertJUnit.assertEquals(forBears, (int) byCard.get(bears, compute));
+        AssertJUnit.assertEquals(forLki, (int) byCard.get(lki, compute));
+    }
+
+    @Test
+    public void testCardIndexMatchesScanningTheZones() {
+        Game game = initAndCreateGame();
+        Player p = game.getPlayers().get(1);
+        Player opp = game.getPlayers().get(0);
+        game.getPhaseHandler().devModeSet(PhaseType.MAIN1, p);
+        Card bears = addCard("Grizzly Bears", p);
+        Card elves = addCardToZone("Llanowar Elves", p, ZoneType.Hand);
+        Card giant = addCardToZone("Hill Giant", opp, ZoneType.Library);
+        addCardToZone("Forest", p, ZoneType.Graveyard);
+        List<Integer> ids = new ArrayList<>();
+        assertCardIndexMatchesScan(game, ids);
+
+        // zone changes
+        Card drawn = game.getAction().moveToHand(giant, null);
+        game.getAction().moveToGraveyard(game.getAction().moveToPlay(elves, null, null), null);
+        game.getAction().exile(drawn, null, null);
+        game.getAction().moveToLibrary(bears, null);
+        assertCardIndexMatchesScan(game, ids);
+        Card bolt = game.getAction().moveToStack(addCardToZone("Lightning Bolt", p, ZoneType.Hand), null);
+        assertCardIndexMatchesScan(game, ids);
+        game.getAction().moveToGraveyard(bolt, null);
+        assertCardIndexMatchesScan(game, ids);
+
+        // tokens, which cease to exist once they leave the battlefield
+        Card goblin = addToken("r_1_1_goblin", p);
+        assertCardIndexMatchesScan(game, ids);
+        game.getAction().moveToGraveyard(goblin, null);
+        game.getAction().checkStateEffects(true);
+        assertCardIndexMatchesScan(game, ids);
+        AssertJUnit.assertNull(game.findById(goblin.getId()));
+
+        // a game copy has an index of its own
+        Game copy = new GameCopier(game).makeCopy();
+        assertCardIndexMatchesScan(copy, ids);
+        AssertJUnit.assertNotSame(game.findById(bears.getId()), copy.findById(bears.getId()));
+
+        // an id in two places at once, as while a card is added to its new zone before it leaves the old one
+        Card serra = addCard("Serra Angel", p);
+        Card moving = new CardCopyService(serra).copyCard(false);
+        p.getZone(ZoneType.Graveyard).add(moving);
+        assertCardIndexMatchesScan(game, ids);
+        AssertJUnit.assertSame(moving, game.findById(serra.getId()));
+        p.getZone(ZoneType.Battlefield).remove(serra);
+        assertCardIndexMatchesScan(game, ids);
+        AssertJUnit.assertSame(moving, game.findById(serra.getId()));
+        p.getZone(ZoneType.Graveyard).remove(moving);
+        assertCardIndexMatchesScan(game, ids);
+        AssertJUnit.assertNull(game.findById(serra.getId()));
+
+        // and the other way round, leaving the new zone first
+        Card angel = addCard("Serra Angel", p);
+        Card returning = new CardCopyService(angel).copyCard(false);
+        p.getZone(ZoneType.Hand).add(returning);
+        assertCardIndexMatchesScan(game, ids);
+        p.getZone(ZoneType.Hand).remove(returning);
+        assertCardIndexMatchesScan(game, ids);
+        AssertJUnit.assertSame(angel, game.findById(angel.getId()));
+    }
+
+    /**
+     * Checks that finding each card by id gives the card the first walk over all zones finds, like the lookups did
+     * before they had an index. Ids seen before that are gone by now must not be found either.
+     */
+    private static void assertCardIndexMatchesScan(Game game, List<Integer> ids) {
+        Map<Integer, Card> firstFound = new HashMap<>();
+        game.forEachCardInGame(new Visitor<Card>() {
+            @Override
+            public boolean visit(Card c) {
+                firstFound.putIfAbsent(c.getId(), c);
+                if (!ids.contains(c.getId())) {
+                    ids.add(c.getId());
+                }
+                return true;
+            }
+        });
+        for (int id : ids) {
+            Card expected = firstFound.get(id);
+            AssertJUnit.assertSame("card " + id, expected, game.findById(id));
+            if (expected != null) {
+                AssertJUnit.assertSame("card " + id, expected, game.getCardState(expected));
+                AssertJUnit.assertSame("card " + id, expected, game.getCardState(CardCopyService.getLKICopy(expected)));
+            }
+        }
+    }
+
+    @Test
+    public void testActiveTriggersKeepTheirOrderAndStopWhenRemoved() {
+        Game game = initAndCreateGame();
+        Player p = game.getPlayers().get(1);
+        Player opp = game.getPlayers().get(0);
+        game.getPhaseHandler().devModeSet(PhaseType.MAIN1, p);
+        TriggerHandler handler = game.getTriggerHandler();
+
+        Card warden = addCard("Soul Warden", p);
+        // a trigger of the same mode for creatures dying in between
+        addCard("Blood Artist", p);
+        Card essence = addCard("Essence Warden", opp);
+        Card attendant = addCard("Soul's Attendant", p);
+        // and one of another mode
+        addCard("Herald of Anafenza", p);
+        handler.resetActiveTriggers(false);
+
+        // which triggers fire for a creature that just entered
+        Card bears = game.getAction().moveToPlay(addCardToZone("Grizzly Bears", p, ZoneType.Hand), null, null);
+        Map<AbilityKey, Object> entering = AbilityKey.mapFromCard(bears);
+        entering.put(AbilityKey.Origin, ZoneType.Hand.name());
+        entering.put(AbilityKey.Destination, ZoneType.Battlefield.name());
+
+        // the triggers of a mode come in the order all triggers of the game were kept in before they were split by mode
+        List<Card> hosts = List.of(warden, essence, attendant);
+        List<Trigger> expected = new ArrayList<>();
+        game.forEachCardInGame(new Visitor<Card>() {
+            @Override
+            public boolean visit(Card c) {
+                if (hosts.contains(c)) {
+                    c.getTriggers().forEach(expected::add);
+                }
+                return true;
+            }
+        });
+        AssertJUnit.assertEquals(3, expected.size());
+        AssertJUnit.assertEquals(expected, handler.getActiveTrigger(TriggerType.ChangesZone, entering));
+        handler.runWaitingTriggers();
+        game.getStack().addAllTriggeredAbilitiesToStack();
+        AssertJUnit.assertEquals(3, game.getStack().size());
+        playUntilStackClear(game);
+
+        // a trigger of a card that left the battlefield doesn't fire any more
+        game.getAction().exile(warden, null, null);
+        List<Trigger> withoutWarden = new ArrayList<>(expected);
+        withoutWarden.removeIf(t -> t.getHostCard().equals(warden));
+        AssertJUnit.assertEquals(withoutWarden, handler.getActiveTrigger(TriggerType.ChangesZone, entering));
+
+        // nor does one the card lost
+        long ts = game.getNextTimestamp();
+        attendant.addChangedCardTraits(null, null, null, null, null, true, false, ts, 0);
+        handler.clearActiveTriggers(attendant, null);
+        List<Trigger> onlyEssence = new ArrayList<>(withoutWarden);
+        onlyEssence.removeIf(t -> t.getHostCard().equals(attendant));
+        AssertJUnit.assertEquals(onlyEssence, handler.getActiveTrigger(TriggerType.ChangesZone, entering));
+
+        game.getAction().moveToPlay(addCardToZone("Runeclaw Bear", p, ZoneType.Hand), null, null);
+        handler.runWaitingTriggers();
+        game.getStack().addAllTriggeredAbilitiesToStack();
+        AssertJUnit.assertEquals(1, game.getStack().size());
+        AssertJUnit.assertEquals(essence, game.getStack().peekAbility().getHostCard());
+
+        playUntilStackClear(game);
+
+        // once it has it back its trigger fires again, also when it's registered right after it was cleared
+        attendant.removeChangedCardTraits(ts, 0);
+        handler.registerActiveTrigger(attendant, false);
+        AssertJUnit.assertEquals(withoutWarden, handler.getActiveTrigger(TriggerType.ChangesZone, entering));
+        ts = game.getNextTimestamp();
+        attendant.addChangedCardTraits(null, null, null, null, null, true, false, ts, 0);
+        handler.clearActiveTriggers(attendant, null);
+        attendant.removeChangedCardTraits(ts, 0);
+        handler.registerActiveTrigger(attendant, false);
+        AssertJUnit.assertEquals(withoutWarden, handler.getActiveTrigger(TriggerType.ChangesZone, entering));
+    }
+
+    @Test
+    public void testCompiledValidRestrictionsMatchForgeScript() {
+        Game game = initAndCreateGame();
+        Player p = game.getPlayers().get(1);
+        Player opp = game.getPlayers().get(0);
+        game.getPhaseHandler().devModeSet(PhaseType.MAIN1, p);
+
+        Card bears = addCard("Grizzly Bears", p);
+        Card tappedBears = addCard("Grizzly Bears", p);
+        tappedBears.setTapped(true);
+        Card ornithopter = addCard("Ornithopter", p);
+        Card vampire = addCard("Vampire Nighthawk", opp);
+        Card goblin = addToken("r_1_1_goblin", p);
+        Card soldier = addToken("w_1_1_soldier", opp);
+        Card phasedOut = addCard("Serra Angel", p);
+        phasedOut.setPhasedOut(p);
+        Card faceDown = addCard("Hill Giant", opp);
+        faceDown.turnFaceDown(true);
+        Card forest = addCard("Forest", p);
+        Card bolt = addCardToZone("Lightning Bolt", p, ZoneType.Hand);
+        Card counterspell = addCardToZone("Counterspell", opp, ZoneType.Graveyard);
+        // owned by one player and controlled by the other
+        Card stolen = addCard("Llanowar Elves", p);
+        stolen.addTempController(opp, game.getNextTimestamp());
+        Combat combat = new Combat(p);
+        combat.addAttacker(bears, opp);
+        combat.addAttacker(phasedOut, opp);
+        game.getPhaseHandler().setCombat(combat);
+        game.getAction().checkStateEffects(true);
+
+        List<Card> cards = List.of(bears, tappedBears, ornithopter, vampire, goblin, soldier, phasedOut, faceDown,
+                forest, bolt, counterspell, stolen);
+        List<String> restrictions = List.of("Creature.YouCtrl", "Creature.YouDontCtrl", "Card.OppCtrl",
+                "Card.YouOwn", "Permanent.YouDontOwn", "Card.OppOwn", "Creature.Other", "Card.Self",
+                "Creature.tapped", "Permanent.untapped", "Creature.token", "Card.nonToken", "Creature.attacking",
+                "Card.Red", "Card.nonBlack", "Card.Green+nonCreature", "Creature.nonArtifact+nonBlack",
+                "Permanent.nonLand+YouCtrl", "Card.nonInstant+nonSorcery", "Creature.YouCtrl+untapped+nonToken",
+                "Creature.!YouCtrl", "Creature.!tapped+!token", "Card.!Blue", "!Creature.YouCtrl",
+                "!Card.attacking+Other", "Any.YouCtrl", "Any.OppCtrl+nonWhite", "Permanent.nonLegendary+nonSnow",
+                "Creature.withFlying+YouCtrl", "Creature.powerGE2+OppCtrl", "Card.Self+tapped");
+        List<Card> sources = List.of(bears, vampire, faceDown);
+        List<Player> players = Lists.newArrayList(p, opp, null);
+
+        for (Card card : cards) {
+            for (String restriction : restrictions) {
+                for (Card source : sources) {
+                    for (Player player : players) {
+                        AssertJUnit.assertEquals(restriction + " of " + card + " for " + player + " from " + source,
+                                isValidByForgeScript(card, restriction, player, source),
+                                card.isValid(restriction, player, source, null));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testReplacementEffectsKeptByEventFollowTraitChanges() {
+        Game game = initAndCreateGame();
+        // every lookup of effects kept for an event also builds them again and fails if they differ
+        game.getRules().setVerifyReplacementEffects(true);
+        Player p = game.getPlayers().get(1);
+        game.getPhaseHandler().devModeSet(PhaseType.MAIN1, p);
+        Card bears = addCard("Grizzly Bears", p);
+        game.getAction().checkStateEffects(true);
+        Runnable lookUpAll = () -> {
+            for (ReplacementType event : ReplacementType.values()) {
+                bears.getReplacementEffects(event);
+            }
+        };
+        lookUpAll.run();
+        List<ReplacementEffect> moved = bears.getReplacementEffects(ReplacementType.Moved);
+        AssertJUnit.assertTrue(bears.getReplacementEffects(ReplacementType.Destroy).isEmpty());
+        AssertJUnit.assertTrue(bears.getReplacementEffects(ReplacementType.Untap).isEmpty());
+
+        // shield counters
+        bears.addCounterInternal(CounterEnumType.SHIELD, 1, p, false, null, null);
+        lookUpAll.run();
+        AssertJUnit.assertEquals(1, bears.getReplacementEffects(ReplacementType.Destroy).size());
+        AssertJUnit.assertTrue(bears.getReplacementEffects(ReplacementType.Destroy).get(0).hasParam("ShieldCounter"));
+        AssertJUnit.assertEquals(1, bears.getReplacementEffects(ReplacementType.DamageDone).size());
+        bears.subtractCounter(CounterEnumType.SHIELD, 1, p);
+        lookUpAll.run();
+        AssertJUnit.assertTrue(bears.getReplacementEffects(ReplacementType.Destroy).isEmpty());
+
+        // stun counters, the replacement removes the last one so the next untap happens
+        bears.tap(true, null, p);
+        bears.addCounterInternal(CounterEnumType.STUN, 1, p, false, null, null);
+        lookUpAll.run();
+        AssertJUnit.assertEquals(1, bears.getReplacementEffects(ReplacementType.Untap).size());
+        bears.untap();
+        AssertJUnit.assertTrue(bears.isTapped());
+        AssertJUnit.assertEquals(0, bears.getCounters(CounterEnumType.STUN));
+        lookUpAll.run();
+        AssertJUnit.assertTrue(bears.getReplacementEffects(ReplacementType.Untap).isEmpty());
+        bears.untap();
+        AssertJUnit.assertFalse(bears.isTapped());
+
+        // changed traits
+        ReplacementEffect gained = ReplacementHandler.parseReplacement("Event$ Destroy | ActiveZones$ Battlefield"
+                + " | ValidCard$ Card.Self | Description$ Test", bears, false);
+        long ts = game.getNextTimestamp();
+        bears.addChangedCardTraits(null, null, null, List.of(gained), null, false, false, ts, 0);
+        lookUpAll.run();
+        AssertJUnit.assertEquals(List.of(gained), bears.getReplacementEffects(ReplacementType.Destroy));
+        bears.removeChangedCardTraits(ts, 0);
+        lookUpAll.run();
+        AssertJUnit.assertTrue(bears.getReplacementEffects(ReplacementType.Destroy).isEmpty());
+
+        // a keyword granted by a static ability, riot makes the creature enter with a counter or haste
+        Card rhythm = addCard("Rhythm of the Wild", p);
+        game.getAction().checkStaticAbilities();
+        lookUpAll.run();
+        AssertJUnit.assertTrue(bears.hasKeyword(Keyword.RIOT));
+        AssertJUnit.assertEquals(moved.size() + 1, bears.getReplacementEffects(ReplacementType.Moved).size());
+        game.getAction().moveToGraveyard(rhythm, null);
+        game.getAction().checkStaticAbilities();
+        lookUpAll.run();
+        AssertJUnit.assertFalse(bears.hasKeyword(Keyword.RIOT));
+        AssertJUnit.assertEquals(moved, bears.getReplacementEffects(ReplacementType.Moved));
+
+        // types that come with a replacement effect of their own, a planeswalker enters with its loyalty
+        bears.setBaseLoyalty(3);
+        for (String type : List.of("Enchantment Saga", "Sorcery Adventure", "Planeswalker")) {
+            ts = game.getNextTimestamp();
+            bears.addChangedCardTypes(CardType.parse(type, true), null, false, EnumSet.noneOf(RemoveType.class),
+                    ts, 0, true, false);
+            lookUpAll.run();
+            AssertJUnit.assertEquals(type, moved.size() + 1, bears.getReplacementEffects(ReplacementType.Moved).size());
+            bears.removeChangedCardTypes(ts, 0);
+            lookUpAll.run();
+            AssertJUnit.assertEquals(type, moved, bears.getReplacementEffects(ReplacementType.Moved));
+        }
+    }
+
+    /**
+     * Card.isValid the way it was before the restrictions were compiled, with every property checked by
+     * ForgeScript.
+     */
+    private static boolean isValidByForgeScript(Card card, String restriction, Player sourceController, Card source) {
+        String[] incR = restriction.split("\\.", 2);
+        boolean testFailed = incR[0].startsWith("!");
+        String type = testFailed ? incR[0].substring(1) : incR[0];
+        if (type.equals("Any")) {
+            if (!(card.isCreature() || card.isPlaneswalker() || card.isBattle())) {
+                return false;
+            }
+        } else if (type.equals("Permanent")) {
+            if (!card.isPermanent()) {
+                return testFailed;
+            }
+        } else if (type.equals("Card")) {
+            if (card.isImmutable()) {
+                return testFailed;
+            }
+        } else if (!card.getType().hasStringType(type)) {
+            return testFailed;
+        }
+        if (incR.length > 1) {
+            for (String exR : incR[1].split("\\+")) {
+                if (!card.hasProperty(exR, sourceController, source, null)) {
+                    return testFailed;
+                }
+            }
+        }
+        return !testFailed;
+    }
+
     /**
      * Helper method to check if all words in the given list are present in the iterable and unique.
      *
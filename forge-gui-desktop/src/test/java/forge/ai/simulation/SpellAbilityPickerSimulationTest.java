@@ -121,6 +121,41 @@ public class SpellAbilityPickerSimulationTest extends SimulationTest {
         AssertJUnit.assertEquals("Play land", plan.getDecisions().get(1).saRef.toString());
     }
 
+    @Test
+    public void testParallelSearchPicksSamePlan() {
+        Game game = initAndCreateGame();
+        Player p = game.getPlayers().get(1);
+
+        addCards("Island", 2, p);
+        addCards("Forest", 3, p);
+
+        Card tatyova = addCardToZone("Tatyova, Benthic Druid", p, ZoneType.Hand);
+        addCardToZone("Forest", p, ZoneType.Hand);
+        addCardToZone("Forest", p, ZoneType.Library);
+
+        game.getPhaseHandler().devModeSet(PhaseType.MAIN1, p);
+        game.getAction().checkStateEffects(true);
+
+        SpellAbilityPicker picker = new SpellAbilityPicker(game, p);
+        picker.setWorkerThreads(1);
+        SpellAbility sa = picker.chooseSpellAbilityToPlay(null);
+        Plan plan = picker.getPlan();
+
+        SpellAbilityPicker parallelPicker = new SpellAbilityPicker(game, p);
+        parallelPicker.setWorkerThreads(2);
+        SpellAbility parallelSa = parallelPicker.chooseSpellAbilityToPlay(null);
+        Plan parallelPlan = parallelPicker.getPlan();
+
+        AssertJUnit.assertEquals(tatyova, sa.getHostCard());
+        AssertJUnit.assertEquals(sa, parallelSa);
+        AssertJUnit.assertEquals(plan.getFinalScore().value, parallelPlan.getFinalScore().value);
+        AssertJUnit.assertEquals(plan.getDecisions().size(), parallelPlan.getDecisions().size());
+        for (int i = 0; i < plan.getDecisions().size(); i++) {
+            AssertJUnit.assertEquals(plan.getDecisions().get(i).saRef.toString(), parallelPlan.getDecisions().get(i).saRef.toString());
+        }
+        AssertJUnit.assertEquals(picker.getNumSimulations(), parallelPicker.getNumSimulations());
+    }
+
     @Test
     public void testModeSelection() {
         Game game = initAndCreateGame();
@@ -0,0 +1,142 @@
+package forge.card;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import org.testng.AssertJUnit;
+import org.testng.annotations.Test;
+
+import forge.CardStorageReader;
+import forge.util.FileUtil;
+import forge.util.Lang;
+import forge.util.Localizer;
+
+public class CardScriptSnapshotTest {
+
+    private static final String RES = "../forge-gui/res/";
+    private static final String[] SCRIPTS = {
+            "g/grizzly_bears.txt", "s/shock.txt", "f/fire_ice.txt", "d/delver_of_secrets_insectile_aberration.txt",
+            "b/balloon_stand.txt", "b/bosh_iron_golem_avatar.txt", "i/imoen_trickster_friend.txt", "b/blind_zealot.txt" };
+
+    private static List<CardRules> load(final Path folder, final File snapshot) {
+        final CardStorageReader reader = new CardStorageReader(folder.toString(), null, false);
+        reader.setSnapshotFile(snapshot);
+        final List<CardRules> result = new ArrayList<>();
+        reader.loadCards().forEach(result::add);
+        return result;
+    }
+
+    private static String describe(final CardRules rules) {
+        final StringBuilder sb = new StringBuilder();
+        sb.append(rules.getName()).append('|').append(rules.getNormalizedName()).append('|').append(rules.getPath())
+                .append('|').append(rules.getSplitType()).append('|').append(rules.getColorIdentity())
+                .append('|').append(rules.getHand()).append('/').append(rules.getLife())
+                .append('|').append(rules.getTokens()).append('|').append(rules.getMeldWith())
+                .append('|').append(rules.getPartnerWith()).append('|').append(rules.getSetColorID())
+                .append('|').append(rules.getSupportedFunctionalVariants() == null ? null : new TreeSet<>(rules.getSupportedFunctionalVariants()));
+        final CardAiHints hints = rules.getAiHints();
+        sb.append('|').append(hints.getRemAIDecks()).append(hints.getRemRandomDecks()).append(hints.getRemNonCommanderDecks())
+                .append(hints.getDeckHints() != null && hints.getDeckHints().isValid())
+                .append(hints.getDeckNeeds() != null && hints.getDeckNeeds().isValid())
+                .append(hints.getDeckHas() != null && hints.getDeckHas().isValid());
+        for (final ICardFace face : rules.getAllFaces()) {
+            describe(face, sb);
+        }
+        return sb.toString();
+    }
+
+    private static void describe(final ICardFace face, final StringBuilder sb) {
+        sb.append("\n").append(face.getName()).append('|').append(face.getFlavorName()).append('|').append(face.getType())
+                .append('|').append(face.getManaCost()).append('|').append(face.getColor())
+                .append('|').append(face.getOracleText()).append('|').append(face.getPower()).append('/').append(face.getToughness())
+                .append('|').append(face.getIntPower()).append('/').append(face.getIntToughness())
+                .append('|').append(face.getInitialLoyalty()).append('|').append(face.getDefense())
+                .append('|').append(face.getAttractionLights()).append('|').append(face.getNonAbilityText())
+                .append('|').append(face.getKeywords()).append('|').append(face.getAbilities())
+                .append('|').append(face.getStaticAbilities()).append('|').append(face.getTriggers())
+                .append('|').append(face.getReplacements()).append('|').append(face.getDraftActions())
+                .append('|').append(face.getVariables());
+        if (face.hasFunctionalVariants()) {
+            for (final Map.Entry<String, ? extends ICardFace> variant : new TreeMap<>(face.getFunctionalVariants()).entrySet()) {
+                sb.append("\nvariant ").append(variant.getKey());
+                describe(variant.getValue(), sb);
+            }
+        }
+    }
+
+    @Test
+    public void testSnapshotFollowsCardFolder() throws IOException {
+        Localizer.getInstance().initialize("en-US", RES + "languages/");
+        Lang.createInstance("en-US");
+        final Path folder = Files.createTempDirectory("forge-cards");
+        final File snapshot = new File(folder.toFile(), "../" + folder.getFileName() + ".snapshot");
+        try {
+            for (final String script : SCRIPTS) {
+                Files.createDirectories(folder.resolve(script).getParent());
+                Files.copy(new File(RES + "cardsfolder/" + script).toPath(), folder.resolve(script));
+            }
+
+            final List<CardRules> read = load(folder, snapshot);
+            AssertJUnit.assertTrue(snapshot.isFile());
+            final List<CardRules> fromSnapshot = load(folder, snapshot);
+            AssertJUnit.assertEquals(SCRIPTS.length, fromSnapshot.size());
+            for (int i = 0; i < read.size(); i++) {
+                AssertJUnit.assertNotSame(read.get(i), fromSnapshot.get(i));
+                AssertJUnit.assertEquals(describe(read.get(i)), describe(fromSnapshot.get(i)));
+            }
+
+            // an edited script is read again, even with its size and time unchanged
+            final Path shock = folder.resolve("s/shock.txt");
+            final FileTime time = Files.getLastModifiedTime(shock);
+            final String script = Files.readString(shock, StandardCharsets.UTF_8);
+            Files.writeString(shock, script.replace("Name:Shock", "Name:Shick"), StandardCharsets.UTF_8);
+            Files.setLastModifiedTime(shock, time);
+            AssertJUnit.assertTrue(load(folder, snapshot).stream().anyMatch(r -> r.getName().equals("Shick")));
+
+            // and so is a removed one
+            Files.delete(folder.resolve("g/grizzly_bears.txt"));
+            AssertJUnit.assertEquals(SCRIPTS.length - 1, load(folder, snapshot).size());
+        } finally {
+            FileUtil.deleteDirectory(folder.toFile());
+            snapshot.delete();
+        }
+    }
+
+    @Test
+    public void testDamagedSnapshotIsWrittenAgain() throws IOException {
+        Localizer.getInstance().initialize("en-US", RES + "languages/");
+        Lang.createInstance("en-US");
+        final Path folder = Files.createTempDirectory("forge-cards");
+        final File snapshot = new File(folder.toFile(), "../" + folder.getFileName() + ".snapshot");
+        try {
+            Files.createDirectories(folder.resolve("g"));
+            Files.copy(new File(RES + "cardsfolder/g/grizzly_bears.txt").toPath(), folder.resolve("g/grizzly_bears.txt"));
+            final String expected = describe(load(folder, snapshot).get(0));
+
+            // the length of the first string after the header, the count and the hash
+            try (RandomAccessFile file = new RandomAccessFile(snapshot, "rw")) {
+                file.seek(4 + 4 + 32 + 4);
+                file.writeInt(Integer.MAX_VALUE);
+            }
+            AssertJUnit.assertEquals(expected, describe(load(folder, snapshot).get(0)));
+            try (RandomAccessFile file = new RandomAccessFile(snapshot, "r")) {
+                file.seek(4 + 4 + 32 + 4);
+                AssertJUnit.assertTrue(file.readInt() < 100);
+            }
+            AssertJUnit.assertEquals(expected, describe(load(folder, snapshot).get(0)));
+        } finally {
+            FileUtil.deleteDirectory(folder.toFile());
+            snapshot.delete();
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package forge.gamemodes.net;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.testng.AssertJUnit;
+import org.testng.annotations.Test;
+
+import forge.ai.AITest;
+import forge.game.Game;
+import forge.game.card.Card;
+import forge.game.card.CardView;
+import forge.game.phase.PhaseType;
+import forge.game.player.Player;
+import forge.game.player.PlayerView;
+import forge.gamemodes.net.event.GuiGameEvent;
+import forge.gamemodes.net.event.ReplyEvent;
+import forge.trackable.TrackableCollection;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.serialization.ClassResolvers;
+
+public class BinaryCodecTest extends AITest {
+
+    private final EmbeddedChannel server = new EmbeddedChannel(new CompatibleObjectEncoder());
+    private final EmbeddedChannel client = new EmbeddedChannel(new CompatibleObjectDecoder(9766 * 1024, ClassResolvers.cacheDisabled(null)));
+    private int lastFrameSize;
+
+    private Object send(final Object msg) {
+        server.writeOutbound(msg);
+        final ByteBuf frame = server.readOutbound();
+        lastFrameSize = frame.readableBytes();
+        AssertJUnit.assertEquals(CompatibleObjectEncoder.BINARY_FRAME, frame.getByte(4));
+        client.writeInbound(frame);
+        return client.readInbound();
+    }
+
+    private GuiGameEvent call(final ProtocolMethod method, final Object... args) {
+        final GuiGameEvent sent = new GuiGameEvent(method, args);
+        final GuiGameEvent received = (GuiGameEvent) send(sent);
+        AssertJUnit.assertEquals(sent.getId(), received.getId());
+        AssertJUnit.assertEquals(method, received.getMethod());
+        AssertJUnit.assertEquals(args.length, received.getObjects().length);
+        return received;
+    }
+
+    @Test
+    public void testCallsAndRepliesRoundTrip() {
+        final Game game = initAndCreateGame();
+        final Player p = game.getPlayers().get(0);
+        final Card bear = addCard("Grizzly Bears", p);
+        ((CompatibleObjectEncoder) server.pipeline().first()).enableBinaryCodec();
+
+        final TrackableCollection<PlayerView> players = new TrackableCollection<>();
+        for (final Player pl : game.getPlayers()) {
+            players.add(pl.getView());
+        }
+        final TrackableCollection<?> opened = (TrackableCollection<?>) call(ProtocolMethod.openView, players).getObjects()[0];
+        AssertJUnit.assertEquals(2, opened.size());
+        final PlayerView receivedPlayer = (PlayerView) opened.get(0);
+        AssertJUnit.assertEquals(p.getId(), receivedPlayer.getId());
+        AssertJUnit.assertEquals(20, receivedPlayer.getLife());
+
+        // known objects come back as the instance received before, changed in place
+        p.setLife(17, null);
+        final List<PlayerView> lives = new ArrayList<>();
+        lives.add(p.getView());
+        final List<?> updated = (List<?>) call(ProtocolMethod.updateLives, lives).getObjects()[0];
+        AssertJUnit.assertSame(receivedPlayer, updated.get(0));
+        AssertJUnit.assertEquals(17, receivedPlayer.getLife());
+
+        // a card not sent before is serialized along
+        final Object[] shown = call(ProtocolMethod.showCardPromptMessage, p.getView(), "Attack with", bear.getView()).getObjects();
+        AssertJUnit.assertSame(receivedPlayer, shown[0]);
+        AssertJUnit.assertEquals("Attack with", shown[1]);
+        AssertJUnit.assertEquals(bear.getId(), ((CardView) shown[2]).getId());
+
+        // strings are only written out the first time
+        call(ProtocolMethod.showPromptMessage, p.getView(), "Declare attackers for the turn");
+        final int first = lastFrameSize;
+        final Object[] prompt = call(ProtocolMethod.showPromptMessage, p.getView(), "Declare attackers for the turn").getObjects();
+        AssertJUnit.assertEquals("Declare attackers for the turn", prompt[1]);
+        AssertJUnit.assertTrue(lastFrameSize < first);
+
+        final Object[] skip = call(ProtocolMethod.isUiSetToSkipPhase, p.getView(), PhaseType.COMBAT_DECLARE_ATTACKERS).getObjects();
+        AssertJUnit.assertEquals(PhaseType.COMBAT_DECLARE_ATTACKERS, skip[1]);
+        final Object[] buttons = call(ProtocolMethod.updateButtons, p.getView(), "OK", null, true, false, true).getObjects();
+        AssertJUnit.assertNull(buttons[2]);
+        AssertJUnit.assertEquals(Boolean.TRUE, buttons[3]);
+        AssertJUnit.assertEquals(Boolean.FALSE, buttons[4]);
+
+        final ReplyEvent reply = (ReplyEvent) send(new ReplyEvent(-3, 42));
+        AssertJUnit.assertEquals(-3, reply.getIndex());
+        AssertJUnit.assertEquals(42, reply.getReply());
+    }
+}
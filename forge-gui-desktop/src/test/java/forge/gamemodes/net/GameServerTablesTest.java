@@ -0,0 +1,92 @@
+package forge.gamemodes.net;
+
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.testng.AssertJUnit;
+import org.testng.annotations.Test;
+
+import forge.ai.AITest;
+import forge.deck.Deck;
+import forge.gamemodes.net.client.LocalTableClient;
+import forge.gamemodes.net.server.FServerManager;
+import forge.gamemodes.net.server.GameTable;
+import forge.localinstance.properties.ForgeNetPreferences.FNetPref;
+import forge.localinstance.properties.ForgePreferences.FPref;
+import forge.model.FModel;
+
+public class GameServerTablesTest extends AITest {
+
+    private static Deck burnDeck() {
+        // over in a few turns, whoever plays it
+        final Deck deck = new Deck();
+        deck.getMain().add("Mountain", 24);
+        deck.getMain().add("Lightning Bolt", 36);
+        return deck;
+    }
+
+    @Test
+    public void testTablesPlayOnBoundedScheduler() throws Exception {
+        initAndCreateGame();
+        FModel.getNetPreferences().setPref(FNetPref.UPnP, "NEVER");
+        FModel.getNetPreferences().setPref(FNetPref.NET_GAME_THREADS, "2");
+        FModel.getPreferences().setPref(FPref.UI_MATCHES_PER_GAME, "1");
+        FModel.getPreferences().setPref(FPref.ENFORCE_DECK_LEGALITY, false);
+
+        final FServerManager server = FServerManager.getInstance();
+        server.startServer(0);
+        final List<LocalTableClient> clients = new ArrayList<>();
+        try {
+            final int adminPort = server.startAdminEndpoint(0);
+            final List<GameTable> tables = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                final GameTable table = server.addTable("Table " + i, 2);
+                AssertJUnit.assertEquals(0, table.getLobby().seatAi("AI " + i, burnDeck()));
+                tables.add(table);
+            }
+            for (final GameTable table : tables) {
+                final LocalTableClient client = new LocalTableClient("Player " + table.getId());
+                clients.add(client);
+                client.connect(server.getInProcessAddress(), table.getId());
+                client.handSeatToAi(burnDeck());
+            }
+
+            final long deadline = System.currentTimeMillis() + 600_000;
+            for (final GameTable table : tables) {
+                while (table.getMatchesPlayed() == 0 && System.currentTimeMillis() < deadline) {
+                    Thread.sleep(100);
+                }
+                AssertJUnit.assertEquals(1, table.getMatchesPlayed());
+                AssertJUnit.assertEquals(1, table.getGamesPlayed());
+                AssertJUnit.assertEquals(2, table.getTakenSeats());
+                AssertJUnit.assertTrue(table.getCpuNanos() > 0);
+            }
+            for (final LocalTableClient client : clients) {
+                AssertJUnit.assertEquals(1, client.getSlot());
+                AssertJUnit.assertNotNull(client.getLobby());
+                AssertJUnit.assertTrue(client.getMessagesReceived() > 0);
+            }
+
+            final HttpURLConnection admin = (HttpURLConnection) new URL("http://127.0.0.1:" + adminPort + "/tables").openConnection();
+            final String body;
+            try (InputStream in = admin.getInputStream()) {
+                body = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            }
+            AssertJUnit.assertEquals(200, admin.getResponseCode());
+            final String[] lines = body.split("\n");
+            AssertJUnit.assertEquals(tables.size() + 1, lines.length);
+            AssertJUnit.assertTrue(lines[1].startsWith(tables.get(0).getId() + "\tTable 0\t"));
+            final HttpURLConnection unknown = (HttpURLConnection) new URL("http://127.0.0.1:" + adminPort + "/games").openConnection();
+            AssertJUnit.assertEquals(404, unknown.getResponseCode());
+        } finally {
+            for (final LocalTableClient client : clients) {
+                client.close();
+            }
+            server.stopServer();
+        }
+    }
+}
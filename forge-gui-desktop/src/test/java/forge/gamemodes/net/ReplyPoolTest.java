@@ -0,0 +1,56 @@
+package forge.gamemodes.net;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.testng.AssertJUnit;
+import org.testng.annotations.Test;
+
+public class ReplyPoolTest {
+
+    @Test
+    public void testReplyBeforeWaiting() throws TimeoutException {
+        final ReplyPool pool = new ReplyPool();
+        final CompletableFuture<Object> reply = pool.initialize(1);
+        pool.complete(1, "yes");
+        AssertJUnit.assertEquals("yes", ReplyPool.await(reply));
+        AssertJUnit.assertEquals(0, pool.size());
+
+        // too late, nobody waits for it any more
+        pool.complete(1, "no");
+        AssertJUnit.assertEquals("yes", ReplyPool.await(reply));
+    }
+
+    @Test
+    public void testContinuationRunsOnReply() {
+        final ReplyPool pool = new ReplyPool();
+        final AtomicReference<Object> answer = new AtomicReference<>();
+        pool.initialize(2).thenAccept(answer::set);
+        AssertJUnit.assertNull(answer.get());
+        AssertJUnit.assertEquals(1, pool.size());
+        pool.complete(2, 7);
+        AssertJUnit.assertEquals(7, answer.get());
+        AssertJUnit.assertEquals(0, pool.size());
+    }
+
+    @Test
+    public void testCancelReleasesWaitingThreads() throws Exception {
+        final ReplyPool pool = new ReplyPool();
+        final CompletableFuture<Object> reply = pool.initialize(3);
+        final AtomicReference<Object> answer = new AtomicReference<>("none");
+        final Thread waiting = new Thread(() -> {
+            try {
+                answer.set(ReplyPool.await(reply));
+            } catch (final TimeoutException e) {
+                answer.set(e);
+            }
+        });
+        waiting.start();
+        pool.cancelAll();
+        waiting.join(10000);
+        AssertJUnit.assertFalse(waiting.isAlive());
+        AssertJUnit.assertNull(answer.get());
+        AssertJUnit.assertEquals(0, pool.size());
+    }
+}
@@ -0,0 +1,109 @@
+package forge.gamemodes.net;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+
+import org.testng.AssertJUnit;
+import org.testng.annotations.Test;
+
+import forge.ai.AITest;
+import forge.game.Game;
+import forge.game.card.Card;
+import forge.game.card.CardView;
+import forge.game.player.Player;
+import forge.game.player.PlayerView;
+import forge.game.zone.ZoneType;
+import forge.gamemodes.net.event.GuiGameEvent;
+import forge.gamemodes.net.event.ReplyEvent;
+import forge.player.PlayerZoneUpdate;
+import forge.player.PlayerZoneUpdates;
+import forge.trackable.TrackableCollection;
+import forge.trackable.TrackableProperty;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.serialization.ClassResolvers;
+
+public class TrackableSyncTest extends AITest {
+
+    private final EmbeddedChannel server = new EmbeddedChannel(new CompatibleObjectEncoder());
+    private final EmbeddedChannel client = new EmbeddedChannel(new CompatibleObjectDecoder(9766 * 1024, ClassResolvers.cacheDisabled(null)));
+
+    private Object send(final Object msg) {
+        server.writeOutbound(msg);
+        final ByteBuf frame = server.readOutbound();
+        AssertJUnit.assertEquals(CompatibleObjectEncoder.SYNC_FRAME, frame.getByte(4));
+        client.writeInbound(frame);
+        return client.readInbound();
+    }
+
+    private Object[] call(final ProtocolMethod method, final Object... args) {
+        return ((GuiGameEvent) send(new GuiGameEvent(method, args))).getObjects();
+    }
+
+    @Test
+    public void testViewsChangedBetweenMessagesAreUpdatedInPlace() {
+        final Game game = initAndCreateGame();
+        final Player p = game.getPlayers().get(0);
+        final Card bear = addCard("Grizzly Bears", p);
+        ((CompatibleObjectEncoder) server.pipeline().first()).enableTrackableSync();
+
+        final TrackableCollection<PlayerView> players = new TrackableCollection<>();
+        for (final Player pl : game.getPlayers()) {
+            players.add(pl.getView());
+        }
+        final PlayerView receivedPlayer = (PlayerView) ((TrackableCollection<?>) call(ProtocolMethod.openView, players)[0]).get(0);
+        final CardView receivedBear = (CardView) call(ProtocolMethod.showCardPromptMessage, p.getView(), "Attack with", bear.getView())[2];
+        AssertJUnit.assertFalse(receivedBear.isTapped());
+
+        // a view inside a list argument
+        bear.setTapped(true);
+        final List<CardView> cards = new ArrayList<>();
+        cards.add(bear.getView());
+        final List<?> updated = (List<?>) call(ProtocolMethod.updateCards, cards)[0];
+        AssertJUnit.assertSame(receivedBear, updated.get(0));
+        AssertJUnit.assertTrue(receivedBear.isTapped());
+
+        // a property going back to its default is removed on the other side as well
+        bear.setTapped(false);
+        call(ProtocolMethod.updateCards, cards);
+        AssertJUnit.assertFalse(receivedBear.isTapped());
+
+        // the player of a zone update
+        p.setLife(15, null);
+        final PlayerZoneUpdates zones = new PlayerZoneUpdates();
+        zones.add(new PlayerZoneUpdate(p.getView(), ZoneType.Battlefield));
+        call(ProtocolMethod.updateZones, zones);
+        AssertJUnit.assertEquals(15, receivedPlayer.getLife());
+
+        // the reply to a call
+        bear.setTapped(true);
+        final ReplyEvent reply = (ReplyEvent) send(new ReplyEvent(7, bear.getView()));
+        AssertJUnit.assertSame(receivedBear, reply.getReply());
+        AssertJUnit.assertTrue(receivedBear.isTapped());
+    }
+
+    @Test
+    public void testUpdatesOnlyCarryChangedProperties() {
+        final Game game = initAndCreateGame();
+        final Player p = game.getPlayers().get(0);
+        final Card bear = addCard("Grizzly Bears", p);
+        final TrackableSync sync = new TrackableSync();
+        sync.replace(bear.getView());
+
+        AssertJUnit.assertTrue(sync.collectUpdates(bear.getView()).isEmpty());
+
+        bear.setTapped(true);
+        List<TrackableSync.Update> updates = sync.collectUpdates(bear.getView());
+        AssertJUnit.assertEquals(1, updates.size());
+        AssertJUnit.assertEquals(EnumSet.of(TrackableProperty.Tapped), updates.get(0).props().keySet());
+        AssertJUnit.assertTrue(updates.get(0).removed().isEmpty());
+        AssertJUnit.assertTrue(sync.collectUpdates(bear.getView()).isEmpty());
+
+        bear.setTapped(false);
+        updates = sync.collectUpdates(bear.getView());
+        AssertJUnit.assertEquals(1, updates.size());
+        AssertJUnit.assertTrue(updates.get(0).props().isEmpty());
+        AssertJUnit.assertEquals(EnumSet.of(TrackableProperty.Tapped), updates.get(0).removed());
+    }
+}
@@ -0,0 +1,143 @@
+package forge.view;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.testng.AssertJUnit;
+import org.testng.annotations.Test;
+
+import forge.ai.AITest;
+import forge.ai.LobbyPlayerAi;
+import forge.deck.Deck;
+import forge.game.Game;
+import forge.game.GameEndReason;
+import forge.game.GameRules;
+import forge.game.GameType;
+import forge.game.Match;
+import forge.game.card.Card;
+import forge.card.CardStateName;
+import forge.game.player.RegisteredPlayer;
+import forge.game.trigger.Trigger;
+
+public class SimulateMatchBatchTest extends AITest {
+
+    private static Deck makeDeck() {
+        final Deck deck = new Deck();
+        deck.getMain().add("Mountain", 17);
+        deck.getMain().add("Goblin Arsonist", 8);
+        deck.getMain().add("Mogg War Marshal", 8);
+        deck.getMain().add("Shock", 7);
+        return deck;
+    }
+
+    private static Deck makeBurnDeck() {
+        // nothing to block with, so the game is over in a few turns rather than stalling
+        final Deck deck = new Deck();
+        deck.getMain().add("Mountain", 24);
+        deck.getMain().add("Lava Spike", 24);
+        deck.getMain().add("Shock", 12);
+        return deck;
+    }
+
+    private static Match makeMatch() {
+        return makeMatch(makeDeck());
+    }
+
+    private static Match makeMatch(final Deck deck) {
+        final List<RegisteredPlayer> players = new ArrayList<>();
+        players.add(new RegisteredPlayer(deck).setPlayer(new LobbyPlayerAi("Ai 1", null)));
+        players.add(new RegisteredPlayer(deck).setPlayer(new LobbyPlayerAi("Ai 2", null)));
+        final GameRules rules = new GameRules(GameType.Constructed);
+        rules.setGamesPerMatch(1);
+        return new Match(rules, players, "Test");
+    }
+
+    @Test
+    public void testTriggerIdsAreUniqueInGamesPlayedAtTheSameTime() throws Exception {
+        initAndCreateGame();
+        // both are set up before either starts, the way the batch creates games while others are running
+        final List<Match> matches = List.of(makeMatch(), makeMatch());
+        final List<Game> games = new ArrayList<>();
+        for (final Match match : matches) {
+            games.add(match.createGame());
+        }
+
+        final ExecutorService pool = Executors.newFixedThreadPool(games.size());
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < games.size(); i++) {
+                final Match match = matches.get(i);
+                final Game game = games.get(i);
+                futures.add(pool.submit(() -> match.startGame(game)));
+            }
+            for (int i = 0; i < futures.size(); i++) {
+                try {
+                    futures.get(i).get(3, TimeUnit.MINUTES);
+                } catch (final TimeoutException e) {
+                    // the ids are checked all the same, stop a slow game as a draw like the batch does
+                    games.get(i).setGameOver(GameEndReason.Draw);
+                    futures.get(i).get(1, TimeUnit.MINUTES);
+                }
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        for (final Game game : games) {
+            AssertJUnit.assertTrue(game.isGameOver());
+            final Set<Trigger> triggers = Collections.newSetFromMap(new IdentityHashMap<>());
+            for (final Card c : game.getCardsInGame()) {
+                for (final CardStateName state : c.getStates()) {
+                    c.getState(state).getTriggers().forEach(triggers::add);
+                }
+                c.getTriggers().forEach(triggers::add);
+            }
+            final Map<Integer, Trigger> byId = new HashMap<>();
+            for (final Trigger t : triggers) {
+                final Trigger other = byId.put(t.getId(), t);
+                AssertJUnit.assertNull("Trigger id " + t.getId() + " of " + t.getHostCard() + " is also used by " + (other == null ? null : other.getHostCard()), other);
+            }
+        }
+    }
+
+    @Test
+    public void testSeededGameIsPlayedTheSameTwice() throws Exception {
+        initAndCreateGame();
+        final long seed = 20240611L;
+        final List<SimulateMatchBatch.GameRecord> records = new ArrayList<>();
+        final List<String> logs = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            final File logDir = Files.createTempDirectory("seeded-game").toFile();
+            try {
+                records.add(SimulateMatchBatch.playGame(makeMatch(makeBurnDeck()), 0, seed, false, logDir));
+                final File logFile = new File(logDir, "game-1-" + seed + ".log");
+                logs.add(new String(Files.readAllBytes(logFile.toPath()), StandardCharsets.UTF_8));
+                logFile.delete();
+            } finally {
+                logDir.delete();
+            }
+        }
+
+        final SimulateMatchBatch.GameRecord first = records.get(0), second = records.get(1);
+        AssertJUnit.assertNull(first.error);
+        // a game stopped by the timeout ends wherever the clock ran out, which says nothing about the seed
+        AssertJUnit.assertFalse(first.timedOut || second.timedOut);
+        AssertJUnit.assertFalse(logs.get(0).isEmpty());
+        AssertJUnit.assertEquals(logs.get(0), logs.get(1));
+        AssertJUnit.assertEquals(first.winner, second.winner);
+        AssertJUnit.assertEquals(first.turns, second.turns);
+    }
+}
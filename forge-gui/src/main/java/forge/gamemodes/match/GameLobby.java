@@ -144,6 +144,11 @@ public abstract class GameLobby implements IHasGameType {
     protected abstract IGuiGame getGui(int index);
     protected abstract void onGameStarted();
 
+    /** The match the game started from this lobby is hosted in. */
+    protected HostedMatch hostMatch() {
+        return GuiBase.getInterface().hostMatch();
+    }
+
     public void addSlot() {
         final int newIndex = getNumberOfSlots();
         final LobbySlotType type = allowNetworking ? LobbySlotType.OPEN : LobbySlotType.AI;
@@ -521,7 +526,7 @@ public abstract class GameLobby implements IHasGameType {
 
         //if above checks succeed, return runnable that can be used to finish starting game
         return () -> {
-            hostedMatch = GuiBase.getInterface().hostMatch();
+            hostedMatch = hostMatch();
             hostedMatch.startMatch(GameType.Constructed, variantTypes, players, guis);
 
             for (final Player p : hostedMatch.getGame().getPlayers()) {
@@ -3,7 +3,6 @@ package forge.gamemodes.match;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
-import com.google.common.eventbus.Subscribe;
 import forge.LobbyPlayer;
 import forge.StaticData;
 import forge.ai.AiProfileUtil;
@@ -43,6 +42,7 @@ import org.apache.commons.lang3.StringUtils;
 
 import java.util.*;
 import java.util.Map.Entry;
+import java.util.concurrent.Executor;
 
 public class HostedMatch {
     private Match match;
@@ -59,6 +59,8 @@ public class HostedMatch {
     private final MatchUiEventVisitor visitor = new MatchUiEventVisitor();
     private final Map<PlayerControllerHuman, NextGameDecision> nextGameDecisions = Maps.newHashMap();
     private boolean isMatchOver = false;
+    private boolean unattended = false;
+    private Executor gameExecutor = null;
     public int subGameCount = 0;
 
     public HostedMatch() {}
@@ -68,6 +70,21 @@ public class HostedMatch {
     }
     public void setEndGameHook(Runnable hook) { endGameHook = hook; }
 
+    /**
+     * Host the match without anyone watching it on this machine, like the tables of a server do: nobody gets to
+     * spectate a match of AI players only, and no music is played.
+     */
+    public void setUnattended(final boolean unattended) {
+        this.unattended = unattended;
+    }
+
+    /**
+     * Play the games of the match on the given executor instead of the game thread pool.
+     */
+    public void setGameExecutor(final Executor executor) {
+        gameExecutor = executor;
+    }
+
     private static GameRules getDefaultRules(final GameType gameType) {
         final GameRules gameRules = new GameRules(gameType);
         gameRules.setPlayForAnte(FModel.getPreferences().getPrefBoolean(FPref.UI_ANTE));
@@ -76,6 +93,9 @@ public class HostedMatch {
         gameRules.setOrderCombatants(FModel.getPreferences().getPrefBoolean(FPref.LEGACY_ORDER_COMBATANTS));
         gameRules.setUseGrayText(FModel.getPreferences().getPrefBoolean(FPref.UI_GRAY_INACTIVE_TEXT));
         gameRules.setGamesPerMatch(FModel.getPreferences().getPrefInt(FPref.UI_MATCHES_PER_GAME));
+        gameRules.setIncrementalStaticAbilities(FModel.getPreferences().getPrefBoolean(FPref.MATCH_INCREMENTAL_STATIC_ABILITIES));
+        gameRules.setReuseLastStateCopies(FModel.getPreferences().getPrefBoolean(FPref.MATCH_REUSE_LAST_STATE_COPIES));
+        gameRules.setLazyLibraryCards(FModel.getPreferences().getPrefBoolean(FPref.MATCH_LAZY_LIBRARY_CARDS));
         // AI specific sideboarding rules
         switch (AiProfileUtil.getAISideboardingMode()) {
             case Off:
@@ -117,6 +137,9 @@ public class HostedMatch {
         if (appliedVariants != null && !appliedVariants.isEmpty()) {
             gameRules.setAppliedVariants(appliedVariants);
         }
+        if (unattended && this.guis.isEmpty()) {
+            gameRules.setHeadless(true);
+        }
 
         final List<RegisteredPlayer> sortedPlayers = Lists.newArrayList(players);
         sortedPlayers.sort((p1, p2) -> {
@@ -132,8 +155,10 @@ public class HostedMatch {
             title = TextUtil.concatNoSpace("Multiplayer Game (", String.valueOf(sortedPlayers.size()), " players)");
         }
         this.match = new Match(gameRules, sortedPlayers, title);
-        this.match.subscribeToEvents(SoundSystem.instance);
-        this.match.subscribeToEvents(visitor);
+        this.match.subscribePresenterToEvents(GameEvent.class, SoundSystem.instance::receiveEvent);
+        this.match.subscribePresenterToEvents(UiEvent.class, SoundSystem.instance::receiveEvent);
+        this.match.subscribeToEvents(GameEvent.class, visitor::receiveGameEvent);
+        this.match.subscribeToEvents(UiEvent.class, visitor::receiveEvent);
         this.matchPlaylist = playlist;
         startGame();
     }
@@ -150,7 +175,9 @@ public class HostedMatch {
 
     public void startGame() {
         nextGameDecisions.clear();
-        SoundSystem.instance.setBackgroundMusic(this.matchPlaylist == null ? MusicPlaylist.MATCH : this.matchPlaylist);
+        if (!unattended) {
+            SoundSystem.instance.setBackgroundMusic(this.matchPlaylist == null ? MusicPlaylist.MATCH : this.matchPlaylist);
+        }
 
         game = match.createGame();
         game.EXPERIMENTAL_RESTORE_SNAPSHOT = FModel.getPreferences().getPrefBoolean(FPref.MATCH_EXPERIMENTAL_RESTORE);
@@ -167,11 +194,11 @@ public class HostedMatch {
             if (game.getMatch().getOutcomes().isEmpty()) {
                 qc.getCards().resetNewList();
             }
-            game.subscribeToEvents(qc); // this one listens to player's mulligans ATM
+            game.subscribeToEvents(GameEvent.class, qc::receiveGameEvent); // this one listens to player's mulligans ATM
         }
 
-        game.subscribeToEvents(SoundSystem.instance);
-        game.subscribeToEvents(visitor);
+        game.subscribePresenterToEvents(GameEvent.class, SoundSystem.instance::receiveEvent);
+        game.subscribeToEvents(GameEvent.class, visitor::receiveGameEvent);
 
         final FCollectionView<Player> players = game.getPlayers();
         final String[] avatarIndices = FModel.getPreferences().getPref(FPref.UI_AVATARS).split(",");
@@ -212,7 +239,7 @@ public class HostedMatch {
                 gui.setGameView(gameView);
                 gui.setOriginalGameController(p.getView(), humanController);
 
-                game.subscribeToEvents(new FControlGameEventHandler(humanController));
+                game.subscribePresenterToEvents(GameEvent.class, new FControlGameEventHandler(humanController)::receiveGameEvent);
                 playersPerGui.add(gui, p.getView());
 
                 if (gameControllers != null ) {
@@ -229,7 +256,7 @@ public class HostedMatch {
             e.getKey().openView(new TrackableCollection<>(e.getValue()));
         }
 
-        if (humanCount == 0) { //watch game but do not participate
+        if (humanCount == 0 && !unattended) { //watch game but do not participate
             final IGuiGame gui = GuiBase.getInterface().getNewGuiGame();
             gui.setGameView(null); //clear the view so when the game restarts again, it updates correctly
             gui.setGameView(gameView);
@@ -248,12 +275,12 @@ public class HostedMatch {
 
         // It's important to run match in a different thread to allow GUI inputs to be invoked from inside game. 
         // Game is set on pause while gui player takes decisions
-        game.getAction().invoke(() -> {
-            if (humanCount == 0) {
+        final Runnable playGame = () -> {
+            if (humanCount == 0 && !unattended) {
                 // Create FControlGamePlayback in game thread to allow pausing
                 playbackControl = new FControlGamePlayback(humanControllers.get(0));
                 playbackControl.setGame(game);
-                game.subscribeToEvents(playbackControl);
+                game.subscribePresenterToEvents(GameEvent.class, playbackControl::receiveGameEvent);
             }
             // Actually start the game!
             match.startGame(game, startGameHook);
@@ -272,7 +299,12 @@ public class HostedMatch {
                     addNextGameDecision(null, NextGameDecision.CONTINUE);
                 }
             }
-        });
+        };
+        if (gameExecutor != null) {
+            gameExecutor.execute(playGame);
+        } else {
+            game.getAction().invoke(playGame);
+        }
     }
 
     private LobbySlot getLobbySlot(LobbyPlayer lobbyPlayer) {
@@ -295,7 +327,7 @@ public class HostedMatch {
     public void registerSpectator(final IGuiGame gui, final PlayerControllerHuman humanController) {
         gui.setSpectator(humanController);
         gui.openView(null);
-        game.subscribeToEvents(new FControlGameEventHandler(humanController));
+        game.subscribePresenterToEvents(GameEvent.class, new FControlGameEventHandler(humanController)::receiveGameEvent);
         humanControllers.add(humanController);
     }
 
@@ -376,8 +408,8 @@ public class HostedMatch {
         @Override
         public Void visit(final GameEventSubgameStart event) {
             subGameCount++;
-            event.subgame().subscribeToEvents(SoundSystem.instance);
-            event.subgame().subscribeToEvents(visitor);
+            event.subgame().subscribePresenterToEvents(GameEvent.class, SoundSystem.instance::receiveEvent);
+            event.subgame().subscribeToEvents(GameEvent.class, visitor::receiveGameEvent);
 
             final GameView gameView = event.subgame().getView();
 
@@ -393,7 +425,7 @@ public class HostedMatch {
                         gui.openView(new TrackableCollection<>(p.getView()));
                         gui.setGameView(null);
                         gui.setGameView(gameView);
-                        event.subgame().subscribeToEvents(new FControlGameEventHandler(humanController));
+                        event.subgame().subscribePresenterToEvents(GameEvent.class, new FControlGameEventHandler(humanController)::receiveGameEvent);
                         gui.message(event.message());
                     }
                 }
@@ -438,7 +470,6 @@ public class HostedMatch {
             return null;
         }
 
-        @Subscribe
         public void receiveEvent(final UiEvent evt) {
             try {
                 evt.visit(this);
@@ -448,7 +479,6 @@ public class HostedMatch {
             }
         }
 
-        @Subscribe
         public void receiveGameEvent(final GameEvent evt) {
             try {
                 evt.visit(this);
@@ -0,0 +1,462 @@
+package forge.gamemodes.net;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.google.common.collect.ImmutableList;
+
+import forge.game.player.PlayerView;
+import forge.game.zone.ZoneType;
+import forge.gamemodes.net.event.GuiGameEvent;
+import forge.gamemodes.net.event.ReplyEvent;
+import forge.gui.GuiBase;
+import forge.player.PlayerZoneUpdate;
+import forge.player.PlayerZoneUpdates;
+import forge.trackable.TrackableCollection;
+import forge.trackable.TrackableObject;
+import forge.trackable.TrackableProperty;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufInputStream;
+import io.netty.buffer.ByteBufOutputStream;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.handler.codec.serialization.ClassResolver;
+import net.jpountz.lz4.LZ4BlockInputStream;
+import net.jpountz.lz4.LZ4BlockOutputStream;
+
+/**
+ * Writes the calls of the game to the GUI and their replies in a compact binary form, on top of
+ * {@link TrackableSync}.
+ * <p>
+ * Trackable objects the peer already has are written as their type and id, the properties of those that changed as
+ * the ordinal of each property and its value, or just its ordinal when it went back to its default. Primitives, strings, enums and the usual collections are written as
+ * they are, strings and type names the first time only: both sides give them the same index in a dictionary kept for
+ * the connection. Whatever else there is, new trackable objects among it, is serialized the way it always was, after
+ * the binary part of the frame.
+ * <p>
+ * Each side of a connection keeps its own instance, the encoder writing and the decoder reading.
+ */
+final class BinaryCodec {
+    private static final byte NULL = 0;
+    private static final byte FALSE = 1;
+    private static final byte TRUE = 2;
+    private static final byte INT = 3;
+    private static final byte LONG = 4;
+    private static final byte BYTE = 5;
+    private static final byte FLOAT = 6;
+    private static final byte STRING = 7;
+    private static final byte ENUM = 8;
+    private static final byte TRACKABLE = 9;
+    private static final byte LIST = 10;
+    private static final byte TRACKABLE_COLLECTION = 11;
+    private static final byte SET = 12;
+    private static final byte MAP = 13;
+    private static final byte ZONE_UPDATES = 14;
+    private static final byte SERIALIZED = 15;
+
+    private static final byte EVENT_CALL = 0;
+    private static final byte EVENT_REPLY = 1;
+
+    private static final int FLAG_RESET = 1;
+    private static final int FLAG_SERIALIZED = 2;
+
+    // past these the dictionary stops growing and strings are written out every time
+    private static final int MAX_DICTIONARY_STRING = 256;
+    private static final int MAX_DICTIONARY_SIZE = 8192;
+
+    private static final ProtocolMethod[] methods = ProtocolMethod.values();
+    private static final TrackableProperty[] properties = TrackableProperty.values();
+    private static final ZoneType[] zoneTypes = ZoneType.values();
+
+    // writing side
+    private final Map<String, Integer> written = new HashMap<>();
+    // reading side
+    private final List<String> read = new ArrayList<>();
+    private final Map<String, Class<?>> classes = new HashMap<>();
+
+    /**
+     * Whether the message is one this codec writes, all others go the way they always did.
+     */
+    static boolean handles(final Object msg) {
+        return msg instanceof GuiGameEvent || msg instanceof ReplyEvent;
+    }
+
+    /**
+     * Write the message and the updates of the objects it refers to.
+     */
+    void encode(final Object msg, final TrackableSync sync, final ByteBuf out) throws IOException {
+        final List<TrackableSync.Update> updates = sync.collectUpdates(msg);
+        final Writer writer = new Writer(sync, out.alloc().heapBuffer());
+        try {
+            writer.writeVarInt(updates.size());
+            for (final TrackableSync.Update update : updates) {
+                writer.writeRef(update.target());
+                final Map<TrackableProperty, Object> props = update.props();
+                writer.writeVarInt(props.size());
+                for (final Map.Entry<TrackableProperty, Object> e : props.entrySet()) {
+                    writer.writeVarInt(e.getKey().ordinal());
+                    writer.writeValue(e.getValue());
+                }
+                writer.writeVarInt(update.removed().size());
+                for (final TrackableProperty prop : update.removed()) {
+                    writer.writeVarInt(prop.ordinal());
+                }
+            }
+            if (msg instanceof GuiGameEvent) {
+                final GuiGameEvent event = (GuiGameEvent) msg;
+                writer.buf.writeByte(EVENT_CALL);
+                writer.writeVarInt(event.getId());
+                writer.writeVarInt(event.getMethod().ordinal());
+                writer.writeVarInt(event.getObjects().length);
+                for (final Object o : event.getObjects()) {
+                    writer.writeValue(o);
+                }
+            } else {
+                final ReplyEvent event = (ReplyEvent) msg;
+                writer.buf.writeByte(EVENT_REPLY);
+                writer.writeVarInt(event.getIndex());
+                writer.writeValue(event.getReply());
+            }
+
+            final boolean serialized = !writer.serialized.isEmpty();
+            out.writeByte((sync.takeReset() ? FLAG_RESET : 0) | (serialized ? FLAG_SERIALIZED : 0));
+            if (!serialized) {
+                out.writeBytes(writer.buf);
+                return;
+            }
+            // the rest is read first, the binary part refers to the objects in it
+            out.writeInt(writer.buf.readableBytes());
+            out.writeBytes(writer.buf);
+            try (ObjectOutputStream oout = new CObjectOutputStream(new LZ4BlockOutputStream(new ByteBufOutputStream(out)), !GuiBase.hasPropertyConfig(), sync)) {
+                oout.writeObject(writer.serialized.toArray());
+            }
+        } finally {
+            writer.buf.release();
+        }
+    }
+
+    /**
+     * Read a message written by {@link #encode}, applying the updates written with it.
+     */
+    Object decode(final ByteBuf frame, final TrackableSync sync, final ClassResolver classResolver) throws IOException, ClassNotFoundException {
+        final int flags = frame.readByte();
+        if ((flags & FLAG_RESET) != 0) {
+            sync.clearReceived();
+        }
+        Object[] serialized = new Object[0];
+        ByteBuf binary = frame;
+        if ((flags & FLAG_SERIALIZED) != 0) {
+            final int length = frame.readInt();
+            binary = frame.readSlice(length);
+            try (ObjectInputStream ois = new CObjectInputStream(new LZ4BlockInputStream(new ByteBufInputStream(frame)), classResolver, !GuiBase.hasPropertyConfig(), sync)) {
+                serialized = (Object[]) ois.readObject();
+            }
+        }
+
+        final Reader reader = new Reader(sync, classResolver, binary, serialized);
+        final int nUpdates = reader.readVarInt();
+        for (int i = 0; i < nUpdates; i++) {
+            final TrackableObject target = (TrackableObject) reader.readValue();
+            final int nProps = reader.readVarInt();
+            final Map<TrackableProperty, Object> props = new EnumMap<>(TrackableProperty.class);
+            for (int j = 0; j < nProps; j++) {
+                final TrackableProperty prop = properties[reader.readVarInt()];
+                props.put(prop, reader.readValue());
+            }
+            final int nRemoved = reader.readVarInt();
+            final Set<TrackableProperty> removed = EnumSet.noneOf(TrackableProperty.class);
+            for (int j = 0; j < nRemoved; j++) {
+                removed.add(properties[reader.readVarInt()]);
+            }
+            sync.applyUpdate(target, props, removed);
+        }
+        if (binary.readByte() == EVENT_CALL) {
+            final int id = reader.readVarInt();
+            final ProtocolMethod method = methods[reader.readVarInt()];
+            final Object[] objects = new Object[reader.readVarInt()];
+            for (int i = 0; i < objects.length; i++) {
+                objects[i] = reader.readValue();
+            }
+            return new GuiGameEvent(id, method, objects);
+        }
+        final int index = reader.readVarInt();
+        return new ReplyEvent(index, (Serializable) reader.readValue());
+    }
+
+    private final class Writer {
+        private final TrackableSync sync;
+        private final ByteBuf buf;
+        // what is left to serialize, and where each is in the list
+        private final List<Object> serialized = new ArrayList<>();
+        private final Map<Object, Integer> serializedIndex = new IdentityHashMap<>();
+
+        private Writer(final TrackableSync sync, final ByteBuf buf) {
+            this.sync = sync;
+            this.buf = buf;
+        }
+
+        private void writeValue(final Object obj) {
+            if (obj == null) {
+                buf.writeByte(NULL);
+                return;
+            }
+            final Class<?> cls = obj.getClass();
+            if (cls == Boolean.class) {
+                buf.writeByte((Boolean) obj ? TRUE : FALSE);
+            } else if (cls == Integer.class) {
+                buf.writeByte(INT);
+                writeVarInt(zigZag((Integer) obj));
+            } else if (cls == Long.class) {
+                buf.writeByte(LONG);
+                writeVarLong(((Long) obj << 1) ^ ((Long) obj >> 63));
+            } else if (cls == Byte.class) {
+                buf.writeByte(BYTE);
+                buf.writeByte((Byte) obj);
+            } else if (cls == Float.class) {
+                buf.writeByte(FLOAT);
+                buf.writeFloat((Float) obj);
+            } else if (cls == String.class) {
+                buf.writeByte(STRING);
+                writeString((String) obj);
+            } else if (obj instanceof Enum) {
+                buf.writeByte(ENUM);
+                writeString(((Enum<?>) obj).getDeclaringClass().getName());
+                writeVarInt(((Enum<?>) obj).ordinal());
+            } else if (obj instanceof TrackableObject && sync.isKnown((TrackableObject) obj)) {
+                writeRef((TrackableObject) obj);
+            } else if (cls == ArrayList.class || obj instanceof ImmutableList) {
+                buf.writeByte(LIST);
+                writeItems((Collection<?>) obj);
+            } else if (cls == TrackableCollection.class) {
+                buf.writeByte(TRACKABLE_COLLECTION);
+                writeItems((Collection<?>) obj);
+            } else if (cls == HashSet.class || cls == LinkedHashSet.class) {
+                buf.writeByte(SET);
+                writeItems((Collection<?>) obj);
+            } else if (cls == HashMap.class || cls == LinkedHashMap.class) {
+                buf.writeByte(MAP);
+                final Map<?, ?> map = (Map<?, ?>) obj;
+                writeVarInt(map.size());
+                for (final Map.Entry<?, ?> e : map.entrySet()) {
+                    writeValue(e.getKey());
+                    writeValue(e.getValue());
+                }
+            } else if (cls == PlayerZoneUpdates.class) {
+                buf.writeByte(ZONE_UPDATES);
+                final List<PlayerZoneUpdate> zoneUpdates = new ArrayList<>();
+                for (final PlayerZoneUpdate update : (PlayerZoneUpdates) obj) {
+                    zoneUpdates.add(update);
+                }
+                writeVarInt(zoneUpdates.size());
+                for (final PlayerZoneUpdate update : zoneUpdates) {
+                    writeValue(update.getPlayer());
+                    long zones = 0;
+                    for (final ZoneType zone : update.getZones()) {
+                        zones |= 1L << zone.ordinal();
+                    }
+                    writeVarLong(zones);
+                }
+            } else {
+                buf.writeByte(SERIALIZED);
+                Integer index = serializedIndex.get(obj);
+                if (index == null) {
+                    index = serialized.size();
+                    serialized.add(obj);
+                    serializedIndex.put(obj, index);
+                }
+                writeVarInt(index);
+            }
+        }
+
+        private void writeRef(final TrackableObject obj) {
+            buf.writeByte(TRACKABLE);
+            writeString(obj.getClass().getName());
+            writeVarInt(zigZag(obj.getId()));
+            writeValue(TrackableSync.discriminatorOf(obj));
+        }
+
+        private void writeItems(final Collection<?> items) {
+            writeVarInt(items.size());
+            for (final Object item : items) {
+                writeValue(item);
+            }
+        }
+
+        /**
+         * The index of a string already in the dictionary, or the string itself after the index it gets, or after
+         * -1 if the dictionary is full.
+         */
+        private void writeString(final String s) {
+            final Integer index = written.get(s);
+            if (index != null) {
+                writeVarInt(index + 1);
+                return;
+            }
+            if (s.length() <= MAX_DICTIONARY_STRING && written.size() < MAX_DICTIONARY_SIZE) {
+                written.put(s, written.size());
+            }
+            writeVarInt(0);
+            writeVarInt(ByteBufUtil.utf8Bytes(s));
+            buf.writeCharSequence(s, StandardCharsets.UTF_8);
+        }
+
+        private void writeVarInt(final int value) {
+            writeVarLong(value & 0xFFFFFFFFL);
+        }
+
+        private void writeVarLong(long value) {
+            while ((value & ~0x7FL) != 0) {
+                buf.writeByte((int) (value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buf.writeByte((int) value);
+        }
+    }
+
+    private final class Reader {
+        private final TrackableSync sync;
+        private final ClassResolver classResolver;
+        private final ByteBuf buf;
+        private final Object[] serialized;
+
+        private Reader(final TrackableSync sync, final ClassResolver classResolver, final ByteBuf buf, final Object[] serialized) {
+            this.sync = sync;
+            this.classResolver = classResolver;
+            this.buf = buf;
+            this.serialized = serialized;
+        }
+
+        private Object readValue() throws ClassNotFoundException {
+            final byte tag = buf.readByte();
+            switch (tag) {
+            case NULL:
+                return null;
+            case FALSE:
+                return Boolean.FALSE;
+            case TRUE:
+                return Boolean.TRUE;
+            case INT:
+                return unZigZag(readVarInt());
+            case LONG:
+                final long l = readVarLong();
+                return (l >>> 1) ^ -(l & 1);
+            case BYTE:
+                return buf.readByte();
+            case FLOAT:
+                return buf.readFloat();
+            case STRING:
+                return readString();
+            case ENUM:
+                return resolveClass(readString()).getEnumConstants()[readVarInt()];
+            case TRACKABLE:
+                final Class<?> type = resolveClass(readString());
+                final int id = unZigZag(readVarInt());
+                return sync.lookup(type, id, (Serializable) readValue());
+            case LIST:
+                return readItems(new ArrayList<>());
+            case TRACKABLE_COLLECTION:
+                return readItems(new TrackableCollection<>());
+            case SET:
+                return readItems(new LinkedHashSet<>());
+            case MAP:
+                final int size = readVarInt();
+                final Map<Object, Object> map = new LinkedHashMap<>();
+                for (int i = 0; i < size; i++) {
+                    final Object key = readValue();
+                    map.put(key, readValue());
+                }
+                return map;
+            case ZONE_UPDATES:
+                final int nUpdates = readVarInt();
+                final PlayerZoneUpdates zoneUpdates = new PlayerZoneUpdates();
+                for (int i = 0; i < nUpdates; i++) {
+                    final PlayerView player = (PlayerView) readValue();
+                    final long zones = readVarLong();
+                    if (player == null) {
+                        continue; // unknown reference, already reported
+                    }
+                    zoneUpdates.add(new PlayerZoneUpdate(player, null));
+                    for (final ZoneType zone : zoneTypes) {
+                        if ((zones & (1L << zone.ordinal())) != 0) {
+                            zoneUpdates.add(new PlayerZoneUpdate(player, zone));
+                        }
+                    }
+                }
+                return zoneUpdates;
+            case SERIALIZED:
+                return serialized[readVarInt()];
+            default:
+                throw new IllegalStateException("Unknown value tag " + tag);
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private <C extends Collection<?>> C readItems(final C items) throws ClassNotFoundException {
+            final int size = readVarInt();
+            for (int i = 0; i < size; i++) {
+                ((Collection<Object>) items).add(readValue());
+            }
+            return items;
+        }
+
+        private String readString() {
+            final int index = readVarInt();
+            if (index > 0) {
+                return read.get(index - 1);
+            }
+            final int length = readVarInt();
+            final String s = buf.readCharSequence(length, StandardCharsets.UTF_8).toString();
+            if (s.length() <= MAX_DICTIONARY_STRING && read.size() < MAX_DICTIONARY_SIZE) {
+                read.add(s);
+            }
+            return s;
+        }
+
+        private Class<?> resolveClass(final String name) throws ClassNotFoundException {
+            Class<?> cls = classes.get(name);
+            if (cls == null) {
+                cls = classResolver.resolve(name);
+                classes.put(name, cls);
+            }
+            return cls;
+        }
+
+        private int readVarInt() {
+            return (int) readVarLong();
+        }
+
+        private long readVarLong() {
+            long value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = buf.readByte();
+                value |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            return value;
+        }
+    }
+
+    private static int zigZag(final int value) {
+        return (value << 1) ^ (value >> 31);
+    }
+
+    private static int unZigZag(final int value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
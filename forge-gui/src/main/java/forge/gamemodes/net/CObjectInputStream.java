@@ -6,14 +6,28 @@ import java.io.*;
 
 public class CObjectInputStream extends ObjectInputStream {
     private final ClassResolver classResolver;
+    private final boolean thinDescriptors;
+    private final TrackableSync sync;
 
     CObjectInputStream(InputStream in, ClassResolver classResolver) throws IOException {
+        this(in, classResolver, true, null);
+    }
+
+    CObjectInputStream(InputStream in, ClassResolver classResolver, boolean thinDescriptors, TrackableSync sync) throws IOException {
         super(in);
         this.classResolver = classResolver;
+        this.thinDescriptors = thinDescriptors;
+        this.sync = sync;
+        if (sync != null) {
+            enableResolveObject(true);
+        }
     }
 
     @Override
     protected ObjectStreamClass readClassDescriptor() throws IOException, ClassNotFoundException {
+        if (!thinDescriptors) {
+            return super.readClassDescriptor();
+        }
         int type = read();
         if (type < 0) {
             throw new EOFException();
@@ -35,4 +49,9 @@ public class CObjectInputStream extends ObjectInputStream {
         }
         return clazz;
     }
+
+    @Override
+    protected Object resolveObject(Object obj) throws IOException {
+        return sync == null ? obj : sync.resolve(obj);
+    }
 }
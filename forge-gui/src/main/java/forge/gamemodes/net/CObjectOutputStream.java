@@ -8,14 +8,35 @@ import java.io.OutputStream;
 public class CObjectOutputStream extends ObjectOutputStream {
     static final int TYPE_THIN_DESCRIPTOR = 1;
 
+    private final boolean thinDescriptors;
+    private final TrackableSync sync;
+
     CObjectOutputStream(OutputStream out) throws IOException {
+        this(out, true, null);
+    }
+
+    CObjectOutputStream(OutputStream out, boolean thinDescriptors, TrackableSync sync) throws IOException {
         super(out);
+        this.thinDescriptors = thinDescriptors;
+        this.sync = sync;
+        if (sync != null) {
+            enableReplaceObject(true);
+        }
     }
 
     @Override
     protected void writeClassDescriptor(ObjectStreamClass desc) throws IOException {
+        if (!thinDescriptors) {
+            super.writeClassDescriptor(desc);
+            return;
+        }
         //we only pass this and the decoder will lookup in the stream (faster method both mobile and desktop)
         write(TYPE_THIN_DESCRIPTOR);
         writeUTF(desc.getName());
     }
+
+    @Override
+    protected Object replaceObject(Object obj) throws IOException {
+        return sync == null ? obj : sync.replace(obj);
+    }
 }
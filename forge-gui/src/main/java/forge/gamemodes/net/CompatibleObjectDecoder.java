@@ -10,9 +10,12 @@ import net.jpountz.lz4.LZ4BlockInputStream;
 
 import java.io.ObjectInputStream;
 import java.io.StreamCorruptedException;
+import java.util.List;
 
 public class CompatibleObjectDecoder extends LengthFieldBasedFrameDecoder {
     private final ClassResolver classResolver;
+    private TrackableSync sync;
+    private BinaryCodec binaryCodec;
 
     public CompatibleObjectDecoder(ClassResolver classResolver) {
         this(1048576, classResolver);
@@ -29,12 +32,42 @@ public class CompatibleObjectDecoder extends LengthFieldBasedFrameDecoder {
         if (frame == null) {
             return null;
         }
-        ObjectInputStream ois = GuiBase.hasPropertyConfig() ?
+        if (frame.isReadable() && frame.getByte(frame.readerIndex()) == CompatibleObjectEncoder.BINARY_FRAME) {
+            frame.skipBytes(1);
+            if (sync == null) {
+                sync = new TrackableSync();
+            }
+            if (binaryCodec == null) {
+                binaryCodec = new BinaryCodec();
+            }
+            try {
+                return binaryCodec.decode(frame, sync, this.classResolver);
+            } finally {
+                frame.release();
+            }
+        }
+        final boolean syncFrame = frame.isReadable() && frame.getByte(frame.readerIndex()) == CompatibleObjectEncoder.SYNC_FRAME;
+        ObjectInputStream ois;
+        if (syncFrame) {
+            frame.skipBytes(1);
+            if (sync == null) {
+                sync = new TrackableSync();
+            }
+            ois = new CObjectInputStream(new LZ4BlockInputStream(new ByteBufInputStream(frame, true)), this.classResolver, !GuiBase.hasPropertyConfig(), sync);
+        } else {
+            ois = GuiBase.hasPropertyConfig() ?
                 new ObjectInputStream(new LZ4BlockInputStream(new ByteBufInputStream(frame, true))):
                     new CObjectInputStream(new LZ4BlockInputStream(new ByteBufInputStream(frame, true)),this.classResolver);
+        }
 
         Object var5 = null;
         try {
+            if (syncFrame) {
+                if (ois.readBoolean()) {
+                    sync.clearReceived();
+                }
+                sync.applyUpdates((List<?>) ois.readObject());
+            }
             var5 = ois.readObject();
         } catch (StreamCorruptedException e) {
             System.err.printf("Version Mismatch: %s%n", e.getMessage());
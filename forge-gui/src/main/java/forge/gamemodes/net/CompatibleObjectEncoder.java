@@ -1,5 +1,6 @@
 package forge.gamemodes.net;
 
+import forge.gamemodes.net.event.GuiGameEvent;
 import forge.gui.GuiBase;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufOutputStream;
@@ -12,6 +13,42 @@ import java.io.Serializable;
 
 public class CompatibleObjectEncoder extends MessageToByteEncoder<Serializable> {
     private static final byte[] LENGTH_PLACEHOLDER = new byte[4];
+    /** First byte of a frame written with trackable sync; plain frames start with the LZ4 block magic. */
+    static final byte SYNC_FRAME = 0;
+    /** First byte of a frame written by the {@link BinaryCodec}. */
+    static final byte BINARY_FRAME = 1;
+
+    private TrackableSync sync;
+    private BinaryCodec binaryCodec;
+
+    /**
+     * Only send trackable objects that changed since the last message from now on, the peer must be able to
+     * decode such frames.
+     */
+    public void enableTrackableSync() {
+        if (sync == null) {
+            sync = new TrackableSync();
+        }
+    }
+
+    public boolean isTrackableSyncEnabled() {
+        return sync != null;
+    }
+
+    /**
+     * Write the calls of the game to the GUI and their replies in compact binary form from now on, which implies
+     * trackable sync. The peer must be able to decode such frames.
+     */
+    public void enableBinaryCodec() {
+        enableTrackableSync();
+        if (binaryCodec == null) {
+            binaryCodec = new BinaryCodec();
+        }
+    }
+
+    public boolean isBinaryCodecEnabled() {
+        return binaryCodec != null;
+    }
 
     @Override
     protected void encode(ChannelHandlerContext ctx, Serializable msg, ByteBuf out) throws Exception {
@@ -21,9 +58,25 @@ public class CompatibleObjectEncoder extends MessageToByteEncoder<Serializable>
 
         try {
             bout.write(LENGTH_PLACEHOLDER);
-            oout = GuiBase.hasPropertyConfig() ? new ObjectOutputStream(new LZ4BlockOutputStream(bout)) : new CObjectOutputStream(new LZ4BlockOutputStream(bout));
-            oout.writeObject(msg);
-            oout.flush();
+            if (sync != null && msg instanceof GuiGameEvent && ((GuiGameEvent) msg).getMethod() == ProtocolMethod.openView) {
+                // a new game, the client sets up its views from scratch
+                sync.reset();
+            }
+            if (binaryCodec != null && BinaryCodec.handles(msg)) {
+                bout.write(BINARY_FRAME);
+                binaryCodec.encode(msg, sync, out);
+            } else if (sync != null) {
+                bout.write(SYNC_FRAME);
+                oout = new CObjectOutputStream(new LZ4BlockOutputStream(bout), !GuiBase.hasPropertyConfig(), sync);
+                oout.writeBoolean(sync.takeReset());
+                oout.writeObject(sync.collectUpdates(msg));
+            } else {
+                oout = GuiBase.hasPropertyConfig() ? new ObjectOutputStream(new LZ4BlockOutputStream(bout)) : new CObjectOutputStream(new LZ4BlockOutputStream(bout));
+            }
+            if (oout != null) {
+                oout.writeObject(msg);
+                oout.flush();
+            }
         } finally {
             if (oout != null) {
                 oout.close();
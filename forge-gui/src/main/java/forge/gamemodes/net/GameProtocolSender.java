@@ -2,6 +2,7 @@ package forge.gamemodes.net;
 
 import forge.gamemodes.net.event.GuiGameEvent;
 
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeoutException;
 
 public final class GameProtocolSender {
@@ -28,4 +29,17 @@ public final class GameProtocolSender {
         }
         return null;
     }
+
+    /**
+     * Send the call without waiting for the reply, for callers that can go on with it later. The future fails with
+     * a {@link TimeoutException} if the reply doesn't come in time.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> CompletableFuture<T> sendAsync(final ProtocolMethod method, final Object... args) {
+        method.checkArgs(args);
+        return remote.sendAsync(new GuiGameEvent(method, args)).thenApply(returned -> {
+            method.checkReturnValue(returned);
+            return (T) returned;
+        });
+    }
 }
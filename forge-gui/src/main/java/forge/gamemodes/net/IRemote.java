@@ -3,9 +3,14 @@ package forge.gamemodes.net;
 import forge.gamemodes.net.event.IdentifiableNetEvent;
 import forge.gamemodes.net.event.NetEvent;
 
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeoutException;
 
 public interface IRemote {
     void send(NetEvent event);
     Object sendAndWait(IdentifiableNetEvent event) throws TimeoutException;
+    /**
+     * Send the event without waiting, the reply completes the future returned.
+     */
+    CompletableFuture<Object> sendAsync(IdentifiableNetEvent event);
 }
@@ -24,6 +24,8 @@ import forge.util.Localizer;
 import forge.util.URLValidator;
 import org.apache.commons.lang3.StringUtils;
 
+import java.util.concurrent.CompletableFuture;
+
 import static forge.util.URLValidator.parseURL;
 
 public class NetConnectUtil {
@@ -95,6 +97,11 @@ public class NetConnectUtil {
                 send(event);
                 return null;
             }
+            @Override
+            public CompletableFuture<Object> sendAsync(final IdentifiableNetEvent event) {
+                send(event);
+                return CompletableFuture.completedFuture(null);
+            }
         });
 
         view.update(true);
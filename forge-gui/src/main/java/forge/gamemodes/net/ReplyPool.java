@@ -1,52 +1,83 @@
 package forge.gamemodes.net;
 
-import com.google.common.collect.Maps;
-
 import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.FutureTask;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
+/**
+ * The replies a connection is waiting for, by the id of the event asking for them.
+ * <p>
+ * Waiting for a reply takes no thread of its own: each is a future completed by the network thread that receives it,
+ * so whoever asked can block on it or go on with a continuation. A reply that doesn't come in time fails the future
+ * with a {@link TimeoutException}, and a reply for an event nobody waits for any more is dropped. Either way the
+ * entry is removed, so abandoned questions don't pile up.
+ */
 public class ReplyPool {
+    /** How long to wait for the other side to answer, a player thinking it over included. */
+    public static final long TIMEOUT_MINUTES = 5;
 
-    private final Map<Integer, CompletableFuture> pool = Maps.newHashMap();
+    private final Map<Integer, CompletableFuture<Object>> pool = new ConcurrentHashMap<>();
 
     public ReplyPool() {
     }
 
-    public void initialize(final int index) {
-        synchronized (pool) {
-            pool.put(index, new CompletableFuture());
-        }
+    /**
+     * Start waiting for the reply to the event with the given id, before sending it.
+     */
+    public CompletableFuture<Object> initialize(final int index) {
+        final CompletableFuture<Object> future = new CompletableFuture<>();
+        pool.put(index, future);
+        future.orTimeout(TIMEOUT_MINUTES, TimeUnit.MINUTES)
+              .whenComplete((value, error) -> pool.remove(index, future));
+        return future;
     }
 
     public void complete(final int index, final Object value) {
-        synchronized (pool) {
-            pool.get(index).set(value);
+        final CompletableFuture<Object> future = pool.get(index);
+        if (future == null) {
+            System.err.printf("Dropping reply %d, nothing waits for it any more%n", index);
+            return;
         }
+        future.complete(value);
     }
 
-    public Object get(final int index) throws TimeoutException {
-        final CompletableFuture future;
-        synchronized (pool) {
-            future = pool.get(index);
-        }
+    /**
+     * Wait for a reply, on threads that can't go on without it.
+     */
+    public static Object await(final CompletableFuture<Object> reply) throws TimeoutException {
         try {
-            return future.get(5, TimeUnit.MINUTES);
-        } catch (final InterruptedException | ExecutionException e) {
+            return reply.get();
+        } catch (final InterruptedException e) {
+            reply.cancel(false);
+            Thread.currentThread().interrupt();
             throw new RuntimeException(e);
+        } catch (final CancellationException e) {
+            return null;
+        } catch (final ExecutionException e) {
+            if (e.getCause() instanceof TimeoutException) {
+                throw (TimeoutException) e.getCause();
+            }
+            throw new RuntimeException(e.getCause());
         }
     }
 
-    private static final class CompletableFuture extends FutureTask<Object> {
-        public CompletableFuture() {
-            super(() -> null);
+    /**
+     * Stop waiting for all replies, when the other side is gone. Whoever waits gets no answer.
+     */
+    public void cancelAll() {
+        for (final CompletableFuture<Object> future : pool.values()) {
+            future.cancel(false);
         }
+    }
 
-        @Override
-        public void set(final Object v) {
-            super.set(v);
-        }
+    /**
+     * The number of replies still waited for.
+     */
+    public int size() {
+        return pool.size();
     }
 }
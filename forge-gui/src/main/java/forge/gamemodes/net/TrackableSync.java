@@ -0,0 +1,247 @@
+package forge.gamemodes.net;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import forge.game.card.CardView;
+import forge.gamemodes.net.event.GuiGameEvent;
+import forge.gamemodes.net.event.ReplyEvent;
+import forge.player.PlayerZoneUpdate;
+import forge.trackable.TrackableObject;
+import forge.trackable.TrackableProperty;
+import forge.trackable.Tracker;
+
+/**
+ * Keeps the trackable objects of one connection in step between server and client, so that each message only
+ * carries the objects that changed since they were last sent.
+ * <p>
+ * The sending side remembers every object it has sent along with its change count. An object the client already
+ * has in its current state is written as a {@link Ref}; an object that changed since is written as a reference
+ * too, with the properties that changed since it was last sent written separately as an {@link Update}, so the
+ * client updates its copy in place and every reference to it stays valid. Objects are looked for everywhere in a
+ * message, including the arguments of calls, replies, the players of zone updates and the properties of other
+ * objects. Objects the client hasn't seen yet are serialized in full. The receiving side
+ * resolves references from the objects it received before.
+ * <p>
+ * Both sides start over when a new game view is opened.
+ */
+public final class TrackableSync {
+
+    /** Identifies a trackable object across messages. */
+    private record Key(Class<?> type, int id, Serializable discriminator) implements Serializable { }
+
+    /** Stands in for an object the other side already has. */
+    private record Ref(Key key) implements Serializable { }
+
+    /**
+     * The properties that changed of an object the other side already has, which is itself written as a reference:
+     * the ones set to a new value and the ones back at their default.
+     */
+    record Update(TrackableObject target, Map<TrackableProperty, Object> props, Set<TrackableProperty> removed) implements Serializable { }
+
+    private static final class Sent {
+        private final TrackableObject obj;
+        private int changeCount;
+
+        private Sent(TrackableObject obj) {
+            this.obj = obj;
+            this.changeCount = obj.getChangeCount();
+        }
+    }
+
+    // sending side
+    private final Map<Key, Sent> sent = new HashMap<>();
+    private boolean resetPending;
+
+    // receiving side
+    private final Map<Key, TrackableObject> received = new HashMap<>();
+
+    private static Key keyOf(final TrackableObject obj) {
+        return new Key(obj.getClass(), obj.getId(), discriminatorOf(obj));
+    }
+
+    /**
+     * What tells apart objects of the same type and id, the state of a card for its state views.
+     */
+    static Serializable discriminatorOf(final TrackableObject obj) {
+        return obj instanceof CardView.CardStateView ? ((CardView.CardStateView) obj).getState() : null;
+    }
+
+    /**
+     * Forget everything sent so far, the receiving side is told to do the same with the next message.
+     */
+    public void reset() {
+        sent.clear();
+        resetPending = true;
+    }
+
+    boolean takeReset() {
+        final boolean result = resetPending;
+        resetPending = false;
+        return result;
+    }
+
+    /**
+     * Collect the updates for all objects reachable from the given message that were sent before and changed since.
+     */
+    List<Update> collectUpdates(final Object msg) {
+        final List<Update> updates = new ArrayList<>();
+        // the arguments of a call are what refers to the objects, the event itself isn't looked into
+        final Object payload;
+        if (msg instanceof GuiGameEvent) {
+            payload = ((GuiGameEvent) msg).getObjects();
+        } else if (msg instanceof ReplyEvent) {
+            payload = ((ReplyEvent) msg).getReply();
+        } else {
+            payload = msg;
+        }
+        collectUpdates(payload, Collections.newSetFromMap(new IdentityHashMap<>()), updates);
+        return updates;
+    }
+
+    private void collectUpdates(final Object obj, final Set<Object> visited, final List<Update> updates) {
+        if (obj instanceof TrackableObject) {
+            final TrackableObject trackable = (TrackableObject) obj;
+            if (!visited.add(trackable)) {
+                return;
+            }
+            final Key key = keyOf(trackable);
+            final Sent s = sent.get(key);
+            if (s != null && s.obj == trackable && s.changeCount != trackable.getChangeCount()) {
+                final Map<TrackableProperty, Object> changed = new EnumMap<>(TrackableProperty.class);
+                final Set<TrackableProperty> removed = EnumSet.noneOf(TrackableProperty.class);
+                trackable.getChangesSince(s.changeCount, changed, removed);
+                s.changeCount = trackable.getChangeCount();
+                if (!changed.isEmpty() || !removed.isEmpty()) {
+                    updates.add(new Update(trackable, changed, removed));
+                }
+            }
+            final Map<TrackableProperty, Object> props = trackable.getProps();
+            for (final Object value : props.values()) {
+                collectUpdates(value, visited, updates);
+            }
+        } else if (obj instanceof Iterable) {
+            if (visited.add(obj)) {
+                for (final Object item : (Iterable<?>) obj) {
+                    collectUpdates(item, visited, updates);
+                }
+            }
+        } else if (obj instanceof PlayerZoneUpdate) {
+            collectUpdates(((PlayerZoneUpdate) obj).getPlayer(), visited, updates);
+        } else if (obj instanceof Map) {
+            if (visited.add(obj)) {
+                for (final Map.Entry<?, ?> e : ((Map<?, ?>) obj).entrySet()) {
+                    collectUpdates(e.getKey(), visited, updates);
+                    collectUpdates(e.getValue(), visited, updates);
+                }
+            }
+        } else if (obj instanceof Object[]) {
+            for (final Object item : (Object[]) obj) {
+                collectUpdates(item, visited, updates);
+            }
+        }
+    }
+
+    /**
+     * Replace an object the receiving side already has by a reference while writing a message.
+     */
+    Object replace(final Object obj) {
+        if (!(obj instanceof TrackableObject)) {
+            return obj;
+        }
+        final TrackableObject trackable = (TrackableObject) obj;
+        final Key key = keyOf(trackable);
+        final Sent s = sent.get(key);
+        if (s != null && s.obj == trackable) {
+            // changes were sent as an update ahead of the message
+            return new Ref(key);
+        }
+        sent.put(key, new Sent(trackable));
+        return obj;
+    }
+
+    /**
+     * Whether the receiving side already has this very object, so it can be written as a reference.
+     */
+    boolean isKnown(final TrackableObject obj) {
+        final Sent s = sent.get(keyOf(obj));
+        return s != null && s.obj == obj;
+    }
+
+    /**
+     * The object received before with the given type, id and discriminator, or null if there is none.
+     */
+    TrackableObject lookup(final Class<?> type, final int id, final Serializable discriminator) {
+        final Key key = new Key(type, id, discriminator);
+        final TrackableObject existing = received.get(key);
+        if (existing == null) {
+            System.err.printf("Received reference to unknown object %s%n", key);
+        }
+        return existing;
+    }
+
+    /**
+     * Resolve a reference to an object received before, and remember the objects received in full.
+     */
+    Object resolve(final Object obj) {
+        if (obj instanceof Ref) {
+            final TrackableObject existing = received.get(((Ref) obj).key());
+            if (existing == null) {
+                System.err.printf("Received reference to unknown object %s%n", ((Ref) obj).key());
+            }
+            return existing;
+        }
+        if (obj instanceof TrackableObject) {
+            received.put(keyOf((TrackableObject) obj), (TrackableObject) obj);
+        }
+        return obj;
+    }
+
+    void clearReceived() {
+        received.clear();
+    }
+
+    /**
+     * Apply updates read ahead of a message to the objects received before.
+     */
+    void applyUpdates(final List<?> updates) {
+        for (final Object o : updates) {
+            final Update update = (Update) o;
+            applyUpdate(update.target(), update.props(), update.removed());
+        }
+    }
+
+    void applyUpdate(final TrackableObject existing, final Map<TrackableProperty, Object> props, final Set<TrackableProperty> removed) {
+        if (existing == null) {
+            return; // unknown reference, already reported
+        }
+        existing.applyChanges(props, removed);
+        // objects first received with this update belong to the same game
+        if (existing.getTracker() != null) {
+            adoptTracker(existing.getTracker(), props.values());
+        }
+    }
+
+    private static void adoptTracker(final Tracker tracker, final Iterable<?> objs) {
+        for (final Object obj : objs) {
+            if (obj instanceof TrackableObject) {
+                final TrackableObject trackable = (TrackableObject) obj;
+                if (trackable.getTracker() == null) {
+                    trackable.setTracker(tracker);
+                    final Map<TrackableProperty, Object> props = trackable.getProps();
+                    adoptTracker(tracker, props.values());
+                }
+            } else if (obj instanceof Iterable) {
+                adoptTracker(tracker, (Iterable<?>) obj);
+            }
+        }
+    }
+}
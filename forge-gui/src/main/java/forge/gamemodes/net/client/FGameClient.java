@@ -20,6 +20,7 @@ import io.netty.handler.codec.serialization.ClassResolvers;
 
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeoutException;
 
 public class FGameClient implements IToServer {
@@ -72,6 +73,8 @@ public class FGameClient implements IToServer {
                     System.out.println(e.getMessage());
                     e.printStackTrace();
                 } finally {
+                    // nobody is going to answer any more
+                    replies.cancelAll();
                     group.shutdownGracefully();
                 }
             }).start();
@@ -94,12 +97,14 @@ public class FGameClient implements IToServer {
 
     @Override
     public Object sendAndWait(final IdentifiableNetEvent event) throws TimeoutException {
-        replies.initialize(event.getId());
+        return ReplyPool.await(sendAsync(event));
+    }
 
+    @Override
+    public CompletableFuture<Object> sendAsync(final IdentifiableNetEvent event) {
+        final CompletableFuture<Object> reply = replies.initialize(event.getId());
         send(event);
-
-        // Wait for reply
-        return replies.get(event.getId());
+        return reply;
     }
 
     List<ILobbyListener> getLobbyListeners() {
@@ -0,0 +1,132 @@
+package forge.gamemodes.net.client;
+
+import forge.deck.Deck;
+import forge.gamemodes.match.GameLobby.GameLobbyData;
+import forge.gamemodes.match.LobbySlotType;
+import forge.gamemodes.net.CompatibleObjectDecoder;
+import forge.gamemodes.net.CompatibleObjectEncoder;
+import forge.gamemodes.net.event.LobbyUpdateEvent;
+import forge.gamemodes.net.event.LoginEvent;
+import forge.gamemodes.net.event.MessageEvent;
+import forge.gamemodes.net.event.NetEvent;
+import forge.gamemodes.net.event.UpdateLobbyPlayerEvent;
+import io.netty.bootstrap.Bootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.DefaultEventLoopGroup;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.local.LocalAddress;
+import io.netty.channel.local.LocalChannel;
+import io.netty.handler.codec.serialization.ClassResolvers;
+
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Stands in for a player at a table of a server hosted in the same process, to put load on the server without
+ * starting a client for each player. It connects the way {@link FGameClient} does, only in memory, takes a seat and
+ * hands it to the AI with the deck given, so the table plays its match without anyone answering the prompts of the
+ * game. Everything the server sends it is counted and otherwise dropped.
+ */
+public final class LocalTableClient {
+    // shared by all stand-ins, they hardly do anything with what they get
+    private static final EventLoopGroup group = new DefaultEventLoopGroup(1);
+
+    private final String username;
+    private final AtomicInteger received = new AtomicInteger();
+    private final AtomicInteger messages = new AtomicInteger();
+    private volatile GameLobbyData lobby;
+    private volatile int slot = -1;
+    private Channel channel;
+
+    public LocalTableClient(final String username) {
+        this.username = username;
+    }
+
+    /**
+     * Connect to the server at the given in-process address and join the table.
+     */
+    public void connect(final LocalAddress address, final int tableId) throws InterruptedException {
+        channel = new Bootstrap()
+                .group(group)
+                .channel(LocalChannel.class)
+                .handler(new ChannelInitializer<LocalChannel>() {
+                    @Override
+                    public void initChannel(final LocalChannel ch) {
+                        ch.pipeline().addLast(
+                                new CompatibleObjectEncoder(),
+                                new CompatibleObjectDecoder(9766 * 1024, ClassResolvers.cacheDisabled(null)),
+                                new CountingHandler());
+                    }
+                })
+                .connect(address).sync().channel();
+        send(new LoginEvent(username, 0, 0, false, tableId));
+    }
+
+    /**
+     * Let the AI play the seat with the given deck, ready for the match to start.
+     */
+    public void handSeatToAi(final Deck deck) {
+        // the deck alone doesn't update the lobby, the seat after it does
+        send(UpdateLobbyPlayerEvent.deckUpdate(deck));
+        send(UpdateLobbyPlayerEvent.create(LobbySlotType.AI, username, -1, -1, -1, false, true, Collections.emptySet()));
+    }
+
+    public void say(final String message) {
+        send(new MessageEvent(username, message));
+    }
+
+    private void send(final NetEvent event) {
+        channel.writeAndFlush(event);
+    }
+
+    public void close() {
+        if (channel != null) {
+            channel.close().syncUninterruptibly();
+        }
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    /**
+     * The number of events the server sent so far.
+     */
+    public int getReceived() {
+        return received.get();
+    }
+
+    public int getMessagesReceived() {
+        return messages.get();
+    }
+
+    /**
+     * The last state of the lobby of the table the server sent, or null before the first.
+     */
+    public GameLobbyData getLobby() {
+        return lobby;
+    }
+
+    /**
+     * The seat at the table, -1 until seated.
+     */
+    public int getSlot() {
+        return slot;
+    }
+
+    private class CountingHandler extends ChannelInboundHandlerAdapter {
+        @Override
+        public void channelRead(final ChannelHandlerContext ctx, final Object msg) {
+            received.incrementAndGet();
+            if (msg instanceof LobbyUpdateEvent) {
+                slot = ((LobbyUpdateEvent) msg).getSlot();
+                lobby = ((LobbyUpdateEvent) msg).getState();
+            } else if (msg instanceof MessageEvent) {
+                messages.incrementAndGet();
+            }
+        }
+    }
+}
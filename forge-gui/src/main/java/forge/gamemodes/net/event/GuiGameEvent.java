@@ -16,6 +16,14 @@ public final class GuiGameEvent implements IdentifiableNetEvent {
         this.method = method;
         this.objects = objects == null ? new Object[0] : objects;
     }
+    /**
+     * The event with the id it was sent with, for decoders that don't deserialize it.
+     */
+    public GuiGameEvent(final int id, final ProtocolMethod method, final Object[] objects) {
+        this.id = id;
+        this.method = method;
+        this.objects = objects == null ? new Object[0] : objects;
+    }
 
     @Override
     public String toString() {
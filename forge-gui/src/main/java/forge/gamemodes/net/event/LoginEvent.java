@@ -7,10 +7,28 @@ public class LoginEvent implements NetEvent {
 
     private final String username;
     private final int avatarIndex, sleeveIndex;
+    // false when received from a client that doesn't know about trackable sync
+    private final boolean trackableSync;
+    // 0, the table of the host, when received from a client that doesn't know about tables
+    private final int tableId;
+    // false when received from a client that doesn't know about the binary codec
+    private final boolean binaryCodec;
     public LoginEvent(final String username, final int avatarIndex, final int sleeveIndex) {
+        this(username, avatarIndex, sleeveIndex, false);
+    }
+    public LoginEvent(final String username, final int avatarIndex, final int sleeveIndex, final boolean trackableSync) {
+        this(username, avatarIndex, sleeveIndex, trackableSync, 0);
+    }
+    public LoginEvent(final String username, final int avatarIndex, final int sleeveIndex, final boolean trackableSync, final int tableId) {
+        this(username, avatarIndex, sleeveIndex, trackableSync, tableId, false);
+    }
+    public LoginEvent(final String username, final int avatarIndex, final int sleeveIndex, final boolean trackableSync, final int tableId, final boolean binaryCodec) {
         this.username = username;
         this.avatarIndex = avatarIndex;
         this.sleeveIndex = sleeveIndex;
+        this.trackableSync = trackableSync;
+        this.tableId = tableId;
+        this.binaryCodec = binaryCodec;
     }
 
     @Override
@@ -28,4 +46,25 @@ public class LoginEvent implements NetEvent {
     public int getSleeveIndex() {
         return sleeveIndex;
     }
+
+    /**
+     * Whether the client can decode messages that only carry changed trackable objects.
+     */
+    public boolean supportsTrackableSync() {
+        return trackableSync;
+    }
+
+    /**
+     * Whether the client can decode the calls of the game written in compact binary form.
+     */
+    public boolean supportsBinaryCodec() {
+        return binaryCodec;
+    }
+
+    /**
+     * The table of the server the client wants to sit at.
+     */
+    public int getTableId() {
+        return tableId;
+    }
 }
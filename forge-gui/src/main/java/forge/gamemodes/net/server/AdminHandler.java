@@ -0,0 +1,75 @@
+package forge.gamemodes.net.server;
+
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.SimpleChannelInboundHandler;
+import io.netty.handler.codec.http.DefaultFullHttpResponse;
+import io.netty.handler.codec.http.FullHttpRequest;
+import io.netty.handler.codec.http.FullHttpResponse;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.HttpVersion;
+import io.netty.handler.codec.http.QueryStringDecoder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Answers the requests to the admin endpoint of the server, see {@link FServerManager#startAdminEndpoint}.
+ */
+final class AdminHandler extends SimpleChannelInboundHandler<FullHttpRequest> {
+    private final FServerManager server;
+
+    AdminHandler(final FServerManager server) {
+        this.server = server;
+    }
+
+    @Override
+    protected void channelRead0(final ChannelHandlerContext ctx, final FullHttpRequest request) {
+        final HttpResponseStatus status;
+        final String body;
+        if (!HttpMethod.GET.equals(request.method())) {
+            status = HttpResponseStatus.METHOD_NOT_ALLOWED;
+            body = "";
+        } else if ("/tables".equals(new QueryStringDecoder(request.uri()).path())) {
+            status = HttpResponseStatus.OK;
+            body = describeTables(server.getTables());
+        } else {
+            status = HttpResponseStatus.NOT_FOUND;
+            body = "";
+        }
+        final FullHttpResponse response = new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, status,
+                Unpooled.copiedBuffer(body, StandardCharsets.UTF_8));
+        response.headers().set(HttpHeaderNames.CONTENT_TYPE, "text/plain; charset=UTF-8");
+        response.headers().setInt(HttpHeaderNames.CONTENT_LENGTH, response.content().readableBytes());
+        ctx.writeAndFlush(response).addListener(ChannelFutureListener.CLOSE);
+    }
+
+    /**
+     * A line of tab separated values for each table, after a line naming them.
+     */
+    static String describeTables(final Collection<GameTable> tables) {
+        final StringBuilder sb = new StringBuilder();
+        sb.append("id\tname\tstate\tseats\ttaken\tclients\tqueued\tgames\tmatches\tcpu_ms\tallocated_mb\twait_ms\tlog_entries\tpending_replies\n");
+        for (final GameTable t : tables) {
+            sb.append(t.getId()).append('\t')
+              .append(t.getName()).append('\t')
+              .append(t.getState()).append('\t')
+              .append(t.getSeats()).append('\t')
+              .append(t.getTakenSeats()).append('\t')
+              .append(t.getClientCount()).append('\t')
+              .append(t.getQueued()).append('\t')
+              .append(t.getGamesPlayed()).append('\t')
+              .append(t.getMatchesPlayed()).append('\t')
+              .append(TimeUnit.NANOSECONDS.toMillis(t.getCpuNanos())).append('\t')
+              .append(t.getAllocatedBytes() >> 20).append('\t')
+              .append(TimeUnit.NANOSECONDS.toMillis(t.getWaitNanos())).append('\t')
+              .append(t.getGameLogSize()).append('\t')
+              .append(t.getPendingReplies()).append('\n');
+        }
+        return sb.toString();
+    }
+}
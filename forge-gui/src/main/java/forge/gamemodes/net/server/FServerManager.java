@@ -2,15 +2,12 @@ package forge.gamemodes.net.server;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Maps;
-import forge.gamemodes.match.LobbySlot;
-import forge.gamemodes.match.LobbySlotType;
 import forge.gamemodes.net.CompatibleObjectDecoder;
 import forge.gamemodes.net.CompatibleObjectEncoder;
 import forge.gamemodes.net.event.*;
 import forge.gui.GuiBase;
 import forge.gui.interfaces.IGuiGame;
 import forge.gui.util.SOptionPane;
-import forge.interfaces.IGameController;
 import forge.interfaces.ILobbyListener;
 import forge.model.FModel;
 import forge.util.IterableUtil;
@@ -19,9 +16,13 @@ import forge.localinstance.properties.ForgeNetPreferences;
 
 import io.netty.bootstrap.ServerBootstrap;
 import io.netty.channel.*;
+import io.netty.channel.local.LocalAddress;
+import io.netty.channel.local.LocalServerChannel;
 import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.channel.socket.SocketChannel;
 import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.handler.codec.http.HttpObjectAggregator;
+import io.netty.handler.codec.http.HttpServerCodec;
 import io.netty.handler.codec.serialization.ClassResolvers;
 import io.netty.handler.logging.LogLevel;
 import io.netty.handler.logging.LoggingHandler;
@@ -36,19 +37,26 @@ import java.io.IOException;
 import java.io.InputStreamReader;
 import java.net.*;
 import java.util.*;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Predicate;
 
 public final class FServerManager {
     private static FServerManager instance = null;
-    private final Map<Channel, RemoteClient> clients = Maps.newTreeMap();
+    private final Map<Channel, RemoteClient> clients = Maps.newConcurrentMap();
+    // the table of the host is 0, the others are added while hosting
+    private final Map<Integer, GameTable> tables = new ConcurrentSkipListMap<>();
+    private final AtomicInteger nextTableId = new AtomicInteger(1);
+    private TableScheduler scheduler = null;
     private boolean isHosting = false;
     private EventLoopGroup bossGroup = new NioEventLoopGroup(1);
     private EventLoopGroup workerGroup = new NioEventLoopGroup();
     private UpnpService upnpService = null;
-    private ServerGameLobby localLobby;
+    private GameTable hostTable;
     private ILobbyListener lobbyListener;
     private boolean UPnPMapped = false;
     private int port;
+    private LocalAddress inProcessAddress;
     private static final Localizer localizer = Localizer.getInstance();
     private final Thread shutdownHook = new Thread(() -> {
         if (isHosting()) {
@@ -64,10 +72,6 @@ public final class FServerManager {
         return clients.get(ch);
     }
 
-    IGameController getController(final int index) {
-        return localLobby.getController(index);
-    }
-
     /**
      * Get the singleton instance of {@link FServerManager}.
      *
@@ -95,23 +99,21 @@ public final class FServerManager {
                     .group(bossGroup, workerGroup)
                     .channel(NioServerSocketChannel.class)
                     .handler(new LoggingHandler(LogLevel.INFO))
-                    .childHandler(new ChannelInitializer<SocketChannel>() {
-                        @Override
-                        public void initChannel(final SocketChannel ch) throws Exception {
-                            final ChannelPipeline p = ch.pipeline();
-                            p.addLast(
-                                    new CompatibleObjectEncoder(),
-                                    new CompatibleObjectDecoder(9766 * 1024, ClassResolvers.cacheDisabled(null)),
-                                    new MessageHandler(),
-                                    new RegisterClientHandler(),
-                                    new LobbyInputHandler(),
-                                    new DeregisterClientHandler(),
-                                    new GameServerHandler());
-                        }
-                    });
+                    .childHandler(new ClientInitializer());
 
             // Bind and start to accept incoming connections.
             final ChannelFuture ch = b.bind(port).sync().channel().closeFuture();
+            // the same for clients in this process, which don't need to go through the network
+            inProcessAddress = new LocalAddress("forge-server-" + port);
+            new ServerBootstrap()
+                    .group(bossGroup, workerGroup)
+                    .channel(LocalServerChannel.class)
+                    .childHandler(new ClientInitializer())
+                    .bind(inProcessAddress).sync();
+            final int adminPort = FModel.getNetPreferences().getPrefInt(ForgeNetPreferences.FNetPref.NET_ADMIN_PORT);
+            if (adminPort > 0) {
+                startAdminEndpoint(adminPort);
+            }
             new Thread(() -> {
                 try {
                     ch.sync();
@@ -133,6 +135,52 @@ public final class FServerManager {
         }
     }
 
+    private class ClientInitializer extends ChannelInitializer<Channel> {
+        @Override
+        public void initChannel(final Channel ch) throws Exception {
+            final ChannelPipeline p = ch.pipeline();
+            p.addLast(
+                    new CompatibleObjectEncoder(),
+                    new CompatibleObjectDecoder(9766 * 1024, ClassResolvers.cacheDisabled(null)),
+                    new MessageHandler(),
+                    new RegisterClientHandler(),
+                    new LobbyInputHandler(),
+                    new DeregisterClientHandler(),
+                    new GameServerHandler());
+        }
+    }
+
+    /**
+     * Answer {@code GET /tables} on the given port of this machine with the state of the tables and what they took
+     * so far, one table per line.
+     *
+     * @return the port it listens on, which is picked by the system for 0.
+     */
+    public int startAdminEndpoint(final int adminPort) throws InterruptedException {
+        final ServerBootstrap b = new ServerBootstrap()
+                .group(bossGroup, workerGroup)
+                .channel(NioServerSocketChannel.class)
+                .childHandler(new ChannelInitializer<SocketChannel>() {
+                    @Override
+                    public void initChannel(final SocketChannel ch) throws Exception {
+                        ch.pipeline().addLast(
+                                new HttpServerCodec(),
+                                new HttpObjectAggregator(64 * 1024),
+                                new AdminHandler(FServerManager.this));
+                    }
+                });
+        // not meant for the players, so it's only reachable from here
+        final Channel adminChannel = b.bind(InetAddress.getLoopbackAddress(), adminPort).sync().channel();
+        return ((InetSocketAddress) adminChannel.localAddress()).getPort();
+    }
+
+    /**
+     * The address clients in this process connect to without going through the network, while hosting.
+     */
+    public LocalAddress getInProcessAddress() {
+        return inProcessAddress;
+    }
+
     private boolean callUPnPDialog() {
         switch (SOptionPane.showOptionDialog(localizer.getMessageorUseDefault("lblUPnPQuestion", String.format("Attempt to open port %d automatically?", port), port),
                 localizer.getMessageorUseDefault("lblUPnPTitle", "UPnP option"),
@@ -161,6 +209,16 @@ public final class FServerManager {
     }
 
     private void stopServer(final boolean removeShutdownHook) {
+        for (final GameTable table : tables.values()) {
+            if (table != hostTable) {
+                removeTable(table.getId());
+            }
+        }
+        if (scheduler != null) {
+            scheduler.shutdown();
+            scheduler = null;
+        }
+        inProcessAddress = null;
         bossGroup.shutdownGracefully();
         workerGroup.shutdownGracefully();
         if (upnpService != null) {
@@ -180,12 +238,21 @@ public final class FServerManager {
         return isHosting;
     }
 
+    /**
+     * Send the event to all clients at the table of the host.
+     */
     public void broadcast(final NetEvent event) {
-        if (event instanceof MessageEvent) {
+        if (hostTable != null) {
+            broadcast(hostTable, event);
+        }
+    }
+
+    void broadcast(final GameTable table, final NetEvent event) {
+        if (event instanceof MessageEvent && table == hostTable && lobbyListener != null) {
             MessageEvent msgEvent = (MessageEvent) event;
             lobbyListener.message(msgEvent.getSource(), msgEvent.getMessage());
         }
-        broadcastTo(event, clients.values());
+        broadcastTo(event, table.getClients());
     }
 
     public void broadcastExcept(final NetEvent event, final RemoteClient notTo) {
@@ -193,8 +260,11 @@ public final class FServerManager {
     }
 
     public void broadcastExcept(final NetEvent event, final Collection<RemoteClient> notTo) {
+        if (hostTable == null) {
+            return;
+        }
         Predicate<RemoteClient> filter = Predicate.not(notTo::contains);
-        broadcastTo(event, IterableUtil.filter(clients.values(), filter));
+        broadcastTo(event, IterableUtil.filter(hostTable.getClients(), filter));
     }
 
     private void broadcastTo(final NetEvent event, final Iterable<RemoteClient> to) {
@@ -209,18 +279,57 @@ public final class FServerManager {
     }
 
     public void setLobby(final ServerGameLobby lobby) {
-        this.localLobby = lobby;
+        this.hostTable = new GameTable(this, 0, "Host", lobby, null);
+        tables.put(0, hostTable);
+    }
+
+    /**
+     * Open a new table with the given number of seats, which starts a match as soon as all taken seats are ready.
+     */
+    public GameTable addTable(final String name, final int seats) {
+        synchronized (tables) {
+            if (scheduler == null) {
+                int nThreads = FModel.getNetPreferences().getPrefInt(ForgeNetPreferences.FNetPref.NET_GAME_THREADS);
+                if (nThreads <= 0) {
+                    nThreads = Runtime.getRuntime().availableProcessors();
+                }
+                scheduler = new TableScheduler(nThreads);
+            }
+            final GameTable table = new GameTable(this, nextTableId.getAndIncrement(), name, new ServerGameLobby(seats), scheduler);
+            tables.put(table.getId(), table);
+            return table;
+        }
+    }
+
+    /**
+     * Close a table, sending away the clients sitting at it.
+     */
+    public void removeTable(final int id) {
+        final GameTable table = tables.get(id);
+        if (table == null || table == hostTable) {
+            return;
+        }
+        tables.remove(id);
+        table.close();
+    }
+
+    public GameTable getTable(final int id) {
+        return tables.get(id);
+    }
+
+    public Collection<GameTable> getTables() {
+        return Collections.unmodifiableCollection(tables.values());
     }
 
     public void unsetReady() {
-        if (this.localLobby != null && this.localLobby.getSlot(0) != null) {
-                this.localLobby.getSlot(0).setIsReady(false);
+        if (this.hostTable != null && this.hostTable.getLobby().getSlot(0) != null) {
+                this.hostTable.getLobby().getSlot(0).setIsReady(false);
                 updateLobbyState();
         }
     }
 
     public boolean isMatchActive() {
-        return this.localLobby != null && this.localLobby.isMatchActive();
+        return this.hostTable != null && this.hostTable.getLobby().isMatchActive();
     }
 
     public void setLobbyListener(final ILobbyListener listener) {
@@ -228,27 +337,15 @@ public final class FServerManager {
     }
 
     public void updateLobbyState() {
-        final LobbyUpdateEvent event = new LobbyUpdateEvent(localLobby.getData());
-        broadcast(event);
+        hostTable.updateLobbyState();
     }
 
     public void updateSlot(final int index, final UpdateLobbyPlayerEvent event) {
-        localLobby.applyToSlot(index, event);
+        hostTable.getLobby().applyToSlot(index, event);
     }
 
     public IGuiGame getGui(final int index) {
-        final LobbySlot slot = localLobby.getSlot(index);
-        final LobbySlotType type = slot.getType();
-        if (type == LobbySlotType.LOCAL) {
-            return GuiBase.getInterface().getNewGuiGame();
-        } else if (type == LobbySlotType.REMOTE) {
-            for (final RemoteClient client : clients.values()) {
-                if (client.getIndex() == index) {
-                    return new NetGuiGame(client);
-                }
-            }
-        }
-        return null;
+        return hostTable.getGui(index);
     }
 
     // inspired by:
@@ -338,8 +435,8 @@ public final class FServerManager {
         @Override
         public final void channelRead(final ChannelHandlerContext ctx, final Object msg) throws Exception {
             final RemoteClient client = clients.get(ctx.channel());
-            if (msg instanceof MessageEvent) {
-                broadcast(new MessageEvent(client.getUsername(), ((MessageEvent) msg).getMessage()));
+            if (msg instanceof MessageEvent && client.getTable() != null) {
+                broadcast(client.getTable(), new MessageEvent(client.getUsername(), ((MessageEvent) msg).getMessage()));
             }
             super.channelRead(ctx, msg);
         }
@@ -351,7 +448,6 @@ public final class FServerManager {
             final RemoteClient client = new RemoteClient(ctx.channel());
             clients.put(ctx.channel(), client);
             System.out.println("Client connected to server at " + ctx.channel().remoteAddress());
-            updateLobbyState();
             super.channelActive(ctx);
         }
 
@@ -359,12 +455,27 @@ public final class FServerManager {
         public void channelRead(final ChannelHandlerContext ctx, final Object msg) throws Exception {
             final RemoteClient client = clients.get(ctx.channel());
             if (msg instanceof LoginEvent) {
+                final GameTable table = tables.get(((LoginEvent) msg).getTableId());
+                if (table == null) {
+                    ctx.close();
+                    return;
+                }
+                client.setTable(table);
+                table.addClient(client);
                 final String username = ((LoginEvent) msg).getUsername();
                 client.setUsername(username);
-                broadcast(new MessageEvent(String.format("%s joined the room", username)));
-                updateLobbyState();
-            } else if (msg instanceof UpdateLobbyPlayerEvent) {
-                localLobby.applyToSlot(client.getIndex(), (UpdateLobbyPlayerEvent) msg);
+                if (((LoginEvent) msg).supportsTrackableSync() && FModel.getNetPreferences().getPrefBoolean(ForgeNetPreferences.FNetPref.NET_DELTA_SYNC)) {
+                    final CompatibleObjectEncoder encoder = ctx.pipeline().get(CompatibleObjectEncoder.class);
+                    if (((LoginEvent) msg).supportsBinaryCodec() && FModel.getNetPreferences().getPrefBoolean(ForgeNetPreferences.FNetPref.NET_BINARY_CODEC)) {
+                        encoder.enableBinaryCodec();
+                    } else {
+                        encoder.enableTrackableSync();
+                    }
+                }
+                table.broadcast(new MessageEvent(String.format("%s joined the room", username)));
+                table.updateLobbyState();
+            } else if (msg instanceof UpdateLobbyPlayerEvent && client.getIndex() >= 0) {
+                client.getTable().getLobby().applyToSlot(client.getIndex(), (UpdateLobbyPlayerEvent) msg);
             }
             super.channelRead(ctx, msg);
         }
@@ -374,19 +485,20 @@ public final class FServerManager {
         @Override
         public void channelRead(final ChannelHandlerContext ctx, final Object msg) throws Exception {
             final RemoteClient client = clients.get(ctx.channel());
+            final GameTable table = client.getTable();
             if (msg instanceof LoginEvent) {
                 final LoginEvent event = (LoginEvent) msg;
-                final int index = localLobby.connectPlayer(event.getUsername(), event.getAvatarIndex(), event.getSleeveIndex());
+                final int index = table.getLobby().connectPlayer(event.getUsername(), event.getAvatarIndex(), event.getSleeveIndex());
                 if (index == -1) {
                     ctx.close();
                 } else {
                     client.setIndex(index);
-                    broadcast(event);
-                    updateLobbyState();
+                    table.broadcast(event);
+                    table.updateLobbyState();
                 }
-            } else if (msg instanceof UpdateLobbyPlayerEvent) {
-                updateSlot(client.getIndex(), (UpdateLobbyPlayerEvent) msg);
-            } else if (msg instanceof MessageEvent) {
+            } else if (msg instanceof UpdateLobbyPlayerEvent && client.getIndex() >= 0) {
+                table.getLobby().applyToSlot(client.getIndex(), (UpdateLobbyPlayerEvent) msg);
+            } else if (msg instanceof MessageEvent && table == hostTable && lobbyListener != null) {
                 final MessageEvent event = (MessageEvent) msg;
                 lobbyListener.message(event.getSource(), event.getMessage());
             }
@@ -398,10 +510,18 @@ public final class FServerManager {
         @Override
         public void channelInactive(final ChannelHandlerContext ctx) throws Exception {
             final RemoteClient client = clients.remove(ctx.channel());
-            final String username = client.getUsername();
-            localLobby.disconnectPlayer(client.getIndex());
-            broadcast(new MessageEvent(String.format("%s left the room", username)));
-            broadcast(new LogoutEvent(username));
+            // let the game go on instead of waiting for the client to answer until the timeout
+            client.getReplyPool().cancelAll();
+            final GameTable table = client.getTable();
+            if (table != null) {
+                final String username = client.getUsername();
+                table.removeClient(client);
+                if (client.getIndex() >= 0) {
+                    table.getLobby().disconnectPlayer(client.getIndex());
+                }
+                table.broadcast(new MessageEvent(String.format("%s left the room", username)));
+                table.broadcast(new LogoutEvent(username));
+            }
             super.channelInactive(ctx);
         }
     }
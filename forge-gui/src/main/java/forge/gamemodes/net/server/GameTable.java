@@ -0,0 +1,290 @@
+package forge.gamemodes.net.server;
+
+import com.google.common.collect.Maps;
+import forge.game.Game;
+import forge.gamemodes.match.HostedMatch;
+import forge.gamemodes.match.LobbySlot;
+import forge.gamemodes.match.LobbySlotType;
+import forge.gamemodes.net.event.LobbyUpdateEvent;
+import forge.gamemodes.net.event.NetEvent;
+import forge.gui.GuiBase;
+import forge.gui.interfaces.IGuiGame;
+import forge.interfaces.IUpdateable;
+import io.netty.channel.Channel;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A table of the server: a lobby with its own seats, the clients that joined it and the match played at it.
+ * <p>
+ * The table of the host is the lobby shown in the UI of whoever hosts the server, started from there like before.
+ * The other tables are nobody's locally: they start a match on their own once all taken seats are ready, and play
+ * it on the {@link TableScheduler} of the server, which counts the time and memory it takes towards the table.
+ */
+public final class GameTable {
+    public enum State {
+        OPEN,
+        STARTING,
+        PLAYING
+    }
+
+    // the log of a game played on a server is only there for the players to look back on, so the oldest is dropped
+    private static final int GAME_LOG_CAPACITY = 2000;
+
+    private final FServerManager server;
+    private final int id;
+    private final String name;
+    private final ServerGameLobby lobby;
+    private final TableScheduler scheduler;
+    private final Map<Channel, RemoteClient> clients = Maps.newConcurrentMap();
+    private volatile HostedMatch hostedMatch;
+    private boolean starting = false;
+
+    private final AtomicLong cpuNanos = new AtomicLong();
+    private final AtomicLong allocatedBytes = new AtomicLong();
+    private final AtomicLong waitNanos = new AtomicLong();
+    private final AtomicInteger gamesPlayed = new AtomicInteger();
+    private final AtomicInteger matchesPlayed = new AtomicInteger();
+
+    GameTable(final FServerManager server, final int id, final String name, final ServerGameLobby lobby, final TableScheduler scheduler) {
+        this.server = server;
+        this.id = id;
+        this.name = name;
+        this.lobby = lobby;
+        this.scheduler = scheduler;
+        lobby.setTable(this);
+        if (scheduler != null) {
+            lobby.setListener(new IUpdateable() {
+                @Override
+                public void update(final boolean fullUpdate) {
+                    updateLobbyState();
+                    startIfReady();
+                }
+                @Override
+                public void update(final int slot, final LobbySlotType type) {
+                }
+            });
+        }
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public ServerGameLobby getLobby() {
+        return lobby;
+    }
+
+    boolean isHostTable() {
+        return scheduler == null;
+    }
+
+    void addClient(final RemoteClient client) {
+        clients.put(client.getChannel(), client);
+    }
+    void removeClient(final RemoteClient client) {
+        clients.remove(client.getChannel());
+    }
+
+    Collection<RemoteClient> getClients() {
+        return clients.values();
+    }
+
+    public int getClientCount() {
+        return clients.size();
+    }
+
+    public void broadcast(final NetEvent event) {
+        server.broadcast(this, event);
+    }
+
+    public void updateLobbyState() {
+        broadcast(new LobbyUpdateEvent(lobby.getData()));
+    }
+
+    IGuiGame getGui(final int index) {
+        final LobbySlotType type = lobby.getSlot(index).getType();
+        if (type == LobbySlotType.LOCAL) {
+            return GuiBase.getInterface().getNewGuiGame();
+        } else if (type == LobbySlotType.REMOTE) {
+            for (final RemoteClient client : clients.values()) {
+                if (client.getIndex() == index) {
+                    return new NetGuiGame(client);
+                }
+            }
+        }
+        return null;
+    }
+
+    private boolean isReadyToStart() {
+        int taken = 0;
+        for (int index = 0; index < lobby.getNumberOfSlots(); index++) {
+            final LobbySlot slot = lobby.getSlot(index);
+            if (slot.getType() == LobbySlotType.OPEN) {
+                continue;
+            }
+            if (!slot.isReady() || slot.getDeck() == null) {
+                return false;
+            }
+            taken++;
+        }
+        return taken >= 2;
+    }
+
+    private void startIfReady() {
+        synchronized (this) {
+            if (starting || lobby.isMatchActive() || !isReadyToStart()) {
+                return;
+            }
+            starting = true;
+        }
+        scheduler.submit(this, () -> {
+            try {
+                final Runnable start = lobby.startGame();
+                if (start != null) {
+                    start.run();
+                }
+            } finally {
+                synchronized (this) {
+                    starting = false;
+                }
+            }
+        });
+    }
+
+    /**
+     * The match started from the lobby of a table that isn't the host's, played on the scheduler of the server.
+     */
+    HostedMatch hostMatch() {
+        final HostedMatch match = new HostedMatch();
+        match.setUnattended(true);
+        match.setGameExecutor(game -> scheduler.submit(this, game));
+        match.setStartGameHook(() -> match.getGame().getGameLog().setCapacity(GAME_LOG_CAPACITY));
+        match.setEndGameHook(() -> {
+            gamesPlayed.incrementAndGet();
+            if (match.getGame().getMatch().isMatchOver()) {
+                matchesPlayed.incrementAndGet();
+                // back to the lobby, the players say when they are ready for another match
+                for (int index = 0; index < lobby.getNumberOfSlots(); index++) {
+                    final LobbySlot slot = lobby.getSlot(index);
+                    if (slot.getType() == LobbySlotType.REMOTE) {
+                        slot.setIsReady(false);
+                    }
+                }
+                updateLobbyState();
+            }
+        });
+        hostedMatch = match;
+        return match;
+    }
+
+    void addUsage(final long cpu, final long allocated, final long waited) {
+        cpuNanos.addAndGet(cpu);
+        allocatedBytes.addAndGet(allocated);
+        waitNanos.addAndGet(waited);
+    }
+
+    public State getState() {
+        if (lobby.isMatchActive()) {
+            return State.PLAYING;
+        }
+        synchronized (this) {
+            return starting ? State.STARTING : State.OPEN;
+        }
+    }
+
+    public int getSeats() {
+        return lobby.getNumberOfSlots();
+    }
+
+    public int getTakenSeats() {
+        int taken = 0;
+        for (int index = 0; index < lobby.getNumberOfSlots(); index++) {
+            if (lobby.getSlot(index).getType() != LobbySlotType.OPEN) {
+                taken++;
+            }
+        }
+        return taken;
+    }
+
+    /**
+     * The games of the table waiting for a game thread, including the one playing.
+     */
+    public int getQueued() {
+        return scheduler == null ? 0 : scheduler.getQueued(this);
+    }
+
+    public int getGamesPlayed() {
+        return gamesPlayed.get();
+    }
+
+    public int getMatchesPlayed() {
+        return matchesPlayed.get();
+    }
+
+    /**
+     * The CPU time the game threads spent on the table. Doesn't include the network threads sending its games to the
+     * clients, or what the AI of its players does on other threads.
+     */
+    public long getCpuNanos() {
+        return cpuNanos.get();
+    }
+
+    /**
+     * The memory the game threads took for the table, most of which is garbage long before the match is over.
+     */
+    public long getAllocatedBytes() {
+        return allocatedBytes.get();
+    }
+
+    /**
+     * The time the work of the table waited for a game thread.
+     */
+    public long getWaitNanos() {
+        return waitNanos.get();
+    }
+
+    /**
+     * The questions to the clients at the table still waiting for an answer.
+     */
+    public int getPendingReplies() {
+        int pending = 0;
+        for (final RemoteClient client : clients.values()) {
+            pending += client.getReplyPool().size();
+        }
+        return pending;
+    }
+
+    /**
+     * The entries in the log of the game playing, bounded for all tables but the host's.
+     */
+    public int getGameLogSize() {
+        final HostedMatch match = hostedMatch;
+        final Game game = match == null ? null : match.getGame();
+        return game == null ? 0 : game.getGameLog().size();
+    }
+
+    /**
+     * Close the connections of all clients at the table.
+     */
+    void close() {
+        final List<RemoteClient> toClose = new ArrayList<>(clients.values());
+        for (final RemoteClient client : toClose) {
+            client.getChannel().close();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "table " + id + " (" + name + ")";
+    }
+}
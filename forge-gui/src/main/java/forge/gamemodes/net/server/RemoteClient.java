@@ -5,13 +5,16 @@ import forge.gamemodes.net.event.IdentifiableNetEvent;
 import forge.gamemodes.net.event.NetEvent;
 import io.netty.channel.Channel;
 
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeoutException;
 
 public final class RemoteClient implements IToClient {
 
     private final Channel channel;
     private String username;
-    private int index;
+    private GameTable table;
+    // -1 until seated at the table
+    private int index = -1;
     private ReplyPool replies = new ReplyPool();
     public RemoteClient(final Channel channel) {
         this.channel = channel;
@@ -29,11 +32,19 @@ public final class RemoteClient implements IToClient {
 
     @Override
     public Object sendAndWait(final IdentifiableNetEvent event) throws TimeoutException {
-        replies.initialize(event.getId());
-
-        send(event);
+        return ReplyPool.await(sendAsync(event));
+    }
 
-        return replies.get(event.getId());
+    @Override
+    public CompletableFuture<Object> sendAsync(final IdentifiableNetEvent event) {
+        final CompletableFuture<Object> reply = replies.initialize(event.getId());
+        System.out.println("Sending event " + event + " to " + channel);
+        channel.writeAndFlush(event).addListener(future -> {
+            if (!future.isSuccess()) {
+                reply.completeExceptionally(future.cause());
+            }
+        });
+        return reply;
     }
 
     public String getUsername() {
@@ -43,6 +54,17 @@ public final class RemoteClient implements IToClient {
         this.username = username;
     }
 
+    Channel getChannel() {
+        return channel;
+    }
+
+    public GameTable getTable() {
+        return table;
+    }
+    void setTable(final GameTable table) {
+        this.table = table;
+    }
+
     public int getIndex() {
         return index;
     }
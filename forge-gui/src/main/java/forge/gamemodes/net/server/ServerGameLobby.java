@@ -1,6 +1,8 @@
 package forge.gamemodes.net.server;
 
+import forge.deck.Deck;
 import forge.gamemodes.match.GameLobby;
+import forge.gamemodes.match.HostedMatch;
 import forge.gamemodes.match.LobbySlot;
 import forge.gamemodes.match.LobbySlotType;
 import forge.gui.interfaces.IGuiGame;
@@ -10,12 +12,31 @@ import java.util.Collections;
 
 public final class ServerGameLobby extends GameLobby {
 
+    private GameTable table;
+
     public ServerGameLobby() {
         super(true);
         addSlot(new LobbySlot(LobbySlotType.LOCAL, localName(), localAvatarIndices()[0], localSleeveIndices()[0],0, true, false, Collections.emptySet()));
         addSlot(new LobbySlot(LobbySlotType.OPEN, null, -1, -1, 1, false, false, Collections.emptySet()));
     }
 
+    /**
+     * A lobby for a table of the server nobody plays at locally, with the given number of open seats.
+     */
+    ServerGameLobby(final int seats) {
+        super(true);
+        for (int index = 0; index < seats; index++) {
+            addSlot(new LobbySlot(LobbySlotType.OPEN, null, -1, -1, index, false, false, Collections.emptySet()));
+        }
+    }
+
+    GameTable getTable() {
+        return table;
+    }
+    void setTable(final GameTable table) {
+        this.table = table;
+    }
+
     public int connectPlayer(final String name, final int avatarIndex, final int sleeveIndex) {
         final int nSlots = getNumberOfSlots();
         for (int index = 0; index < nSlots; index++) {
@@ -34,6 +55,26 @@ public final class ServerGameLobby extends GameLobby {
         slot.setSleeveIndex(sleeveIndex);
         updateView(false);
     }
+    /**
+     * Seat an AI player playing the given deck at the first open seat.
+     *
+     * @return the index of the seat, or -1 if there is no open one.
+     */
+    public int seatAi(final String name, final Deck deck) {
+        final int nSlots = getNumberOfSlots();
+        for (int index = 0; index < nSlots; index++) {
+            final LobbySlot slot = getSlot(index);
+            if (slot.getType() == LobbySlotType.OPEN) {
+                slot.setType(LobbySlotType.AI);
+                slot.setName(name);
+                slot.setDeck(deck);
+                slot.setIsReady(true);
+                updateView(false);
+                return index;
+            }
+        }
+        return -1;
+    }
     public void disconnectPlayer(final int index) {
         final LobbySlot slot = getSlot(index);
         slot.setType(LobbySlotType.OPEN);
@@ -65,7 +106,12 @@ public final class ServerGameLobby extends GameLobby {
 
     @Override
     protected IGuiGame getGui(final int index) {
-        return FServerManager.getInstance().getGui(index);
+        return table.getGui(index);
+    }
+
+    @Override
+    protected HostedMatch hostMatch() {
+        return table.isHostTable() ? super.hostMatch() : table.hostMatch();
     }
 
     @Override
@@ -0,0 +1,161 @@
+package forge.gamemodes.net.server;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Runs the games of the tables of a server on a fixed number of game threads, so that many tables don't start as
+ * many threads as they have games at once.
+ * <p>
+ * The work of a table is done in the order it's submitted and never by two threads at once. Tables take turns: a
+ * thread picks the table that has waited the longest, runs one piece of its work and puts it back at the end of the
+ * line if it has more. A game holds its thread until it's over, so with all threads busy the next table waits for a
+ * game to end.
+ * <p>
+ * Games of different tables share nothing that one of them resets when it starts, trigger ids included, as those are
+ * handed out by each game.
+ * <p>
+ * The time and memory spent running the work is counted towards its table.
+ */
+final class TableScheduler {
+    private static final ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+    private static final boolean allocatedMemorySupported = isAllocatedMemorySupported();
+
+    private static boolean isAllocatedMemorySupported() {
+        try {
+            // only the JVMs coming with the JDK tell the memory a thread took
+            return threadBean instanceof com.sun.management.ThreadMXBean
+                    && ((com.sun.management.ThreadMXBean) threadBean).isThreadAllocatedMemoryEnabled();
+        } catch (final LinkageError e) {
+            return false;
+        }
+    }
+
+    private static final class Task {
+        final Runnable work;
+        final long submitted = System.nanoTime();
+
+        Task(final Runnable work) {
+            this.work = work;
+        }
+    }
+
+    private final Thread[] threads;
+    // tables with work waiting, in the order they get a thread
+    private final Deque<GameTable> ready = new ArrayDeque<>();
+    // work waiting of the tables that are ready or running
+    private final Map<GameTable, Deque<Task>> queues = new IdentityHashMap<>();
+    private boolean shutdown = false;
+
+    TableScheduler(final int nThreads) {
+        threads = new Thread[nThreads];
+        for (int i = 0; i < nThreads; i++) {
+            // the name tells the game code it's already on a game thread
+            threads[i] = new Thread(this::work, "Game-table-" + i);
+            threads[i].setDaemon(true);
+            threads[i].start();
+        }
+    }
+
+    int getThreadCount() {
+        return threads.length;
+    }
+
+    synchronized void submit(final GameTable table, final Runnable work) {
+        if (shutdown) {
+            throw new IllegalStateException("Scheduler is shut down");
+        }
+        Deque<Task> queue = queues.get(table);
+        if (queue == null) {
+            queue = new ArrayDeque<>();
+            queues.put(table, queue);
+            ready.add(table);
+            notify();
+        }
+        queue.add(new Task(work));
+    }
+
+    /**
+     * The number of pieces of work of the table that wait for a thread, including the one running.
+     */
+    synchronized int getQueued(final GameTable table) {
+        final Deque<Task> queue = queues.get(table);
+        return queue == null ? 0 : queue.size();
+    }
+
+    /**
+     * Stop taking work. Games still running are interrupted, work still waiting is dropped.
+     */
+    void shutdown() {
+        synchronized (this) {
+            shutdown = true;
+            ready.clear();
+            queues.clear();
+            notifyAll();
+        }
+        for (final Thread t : threads) {
+            t.interrupt();
+        }
+    }
+
+    private void work() {
+        final boolean cpuTime = threadBean.isCurrentThreadCpuTimeSupported();
+        while (true) {
+            final GameTable table;
+            final Task task;
+            synchronized (this) {
+                while (ready.isEmpty() && !shutdown) {
+                    try {
+                        wait();
+                    } catch (final InterruptedException e) {
+                        // checked below
+                    }
+                }
+                if (shutdown) {
+                    return;
+                }
+                table = ready.poll();
+                task = queues.get(table).peek();
+            }
+
+            final long waited = System.nanoTime() - task.submitted;
+            final long cpuBefore = cpuTime ? threadBean.getCurrentThreadCpuTime() : 0;
+            final long allocatedBefore = allocatedBytes();
+            try {
+                task.work.run();
+            } catch (final RuntimeException e) {
+                System.err.println("Exception running the game of " + table);
+                e.printStackTrace();
+            } finally {
+                table.addUsage(cpuTime ? threadBean.getCurrentThreadCpuTime() - cpuBefore : 0,
+                        allocatedBytes() - allocatedBefore, waited);
+                // a game stopped by an interrupt mustn't leave it for the next one
+                Thread.interrupted();
+            }
+
+            synchronized (this) {
+                final Deque<Task> queue = queues.get(table);
+                if (queue != null) {
+                    queue.poll();
+                    if (queue.isEmpty()) {
+                        queues.remove(table);
+                    } else {
+                        ready.add(table);
+                        notify();
+                    }
+                }
+            }
+        }
+    }
+
+    private static long allocatedBytes() {
+        if (!allocatedMemorySupported) {
+            return 0;
+        }
+        return ((com.sun.management.ThreadMXBean) threadBean).getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+}
@@ -2,7 +2,6 @@ package forge.gui.control;
 
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
-import com.google.common.eventbus.Subscribe;
 import forge.game.Game;
 import forge.game.card.Card;
 import forge.game.card.CardCollection;
@@ -139,7 +138,6 @@ public class FControlGameEventHandler extends IGameEventVisitor.Base<Void> {
         }
     };
 
-    @Subscribe
     public void receiveGameEvent(final GameEvent ev) {
         ev.visit(this);
     }
@@ -1,6 +1,5 @@
 package forge.gui.control;
 
-import com.google.common.eventbus.Subscribe;
 import forge.game.Game;
 import forge.game.card.CardView;
 import forge.game.event.*;
@@ -42,7 +41,6 @@ public class FControlGamePlayback extends IGameEventVisitor.Base<Void> {
         inputPlayback = new InputPlaybackControl(game, this);
     }
 
-    @Subscribe
     public void receiveGameEvent(final GameEvent ev) {
         ev.visit(this);
     }
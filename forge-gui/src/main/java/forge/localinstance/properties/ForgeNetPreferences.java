@@ -26,7 +26,11 @@ public class ForgeNetPreferences extends PreferencesStore<ForgeNetPreferences.FN
      */
     public enum FNetPref implements PreferencesStore.IPref {
         NET_PORT("36743"),
-        UPnP("ASK");
+        UPnP("ASK"),
+        NET_DELTA_SYNC("true"),
+        NET_BINARY_CODEC("true"),
+        NET_GAME_THREADS("0"),
+        NET_ADMIN_PORT("0");
 
         private final String strDefaultVal;
 
@@ -203,6 +203,9 @@ public class ForgePreferences extends PreferencesStore<ForgePreferences.FPref> {
         MATCH_AI_SIDEBOARDING_MODE("Human For AI"),
         MATCH_EXPERIMENTAL_RESTORE("false"),
         MATCH_AI_TIMEOUT("5"),
+        MATCH_INCREMENTAL_STATIC_ABILITIES("false"),
+        MATCH_REUSE_LAST_STATE_COPIES("false"),
+        MATCH_LAZY_LIBRARY_CARDS("false"),
         ENFORCE_DECK_LEGALITY ("true"),
         PERFORMANCE_MODE ("false"),
         FILTERED_HANDS ("false"),
@@ -216,6 +219,7 @@ public class ForgePreferences extends PreferencesStore<ForgePreferences.FPref> {
         DEV_LOG_ENTRY_TYPE (GameLogEntryType.DAMAGE.toString()),
 
         LOAD_CARD_SCRIPTS_LAZILY ("false"),
+        LOAD_CARD_SCRIPTS_FROM_SNAPSHOT ("false"),
         LOAD_ARCHIVED_FORMATS ("false"),
         PRELOAD_CUSTOM_DRAFTS ("false"),
 
@@ -209,6 +209,10 @@ public final class FModel {
                 false);
         tokenReader = new CardStorageReader(ForgeConstants.TOKEN_DATA_DIR, progressBarBridge,
                 false);
+        if (getPreferences().getPrefBoolean(FPref.LOAD_CARD_SCRIPTS_FROM_SNAPSHOT)) {
+            reader.setSnapshotFile(new File(ForgeConstants.CACHE_DIR, "cardsfolder.snapshot"));
+            tokenReader.setSnapshotFile(new File(ForgeConstants.CACHE_DIR, "tokenscripts.snapshot"));
+        }
 
         try {
            customReader  = new CardStorageReader(ForgeConstants.USER_CUSTOM_CARDS_DIR, progressBarBridge, false);
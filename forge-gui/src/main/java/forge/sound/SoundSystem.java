@@ -1,6 +1,5 @@
 package forge.sound;
 
-import com.google.common.eventbus.Subscribe;
 import forge.game.event.GameEvent;
 import forge.gui.GuiBase;
 import forge.gui.events.UiEvent;
@@ -143,7 +142,6 @@ public class SoundSystem {
         }
     }
 
-    @Subscribe
     public void receiveEvent(final GameEvent evt) {
         final SoundEffectType effect = evt.visit(visualizer);
         if (null == effect) {
@@ -159,7 +157,6 @@ public class SoundSystem {
         }
     }
 
-    @Subscribe
     public void receiveEvent(final UiEvent evt) {
         final SoundEffectType effect = evt.visit(visualizer);
         if (null != effect) {